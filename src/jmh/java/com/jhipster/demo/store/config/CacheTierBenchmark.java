@@ -0,0 +1,115 @@
+package com.jhipster.demo.store.config;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Compares a {@code Product} region held entirely on heap with one keeping 1% of the products on heap and the rest
+ * off-heap, under a catalog-read workload: 4 threads reading, 80% of the reads on the hot 1% of the products, and 2% of
+ * the reads followed by an update of the product.
+ * <p>
+ * The regions are configured by {@link CacheConfiguration}, with entries shaped like the disassembled state Hibernate
+ * caches for a product. Throughput is the score; GC counts and pause times are reported by the {@code gc} profiler. Run
+ * with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-XX:MaxDirectMemorySize=1g" })
+public class CacheTierBenchmark {
+
+    private static final int HOT_PERCENT = 80;
+
+    private static final int UPDATE_PERCENT = 2;
+
+    @Param({ "heap", "offheap" })
+    private String tier;
+
+    @Param({ "200000" })
+    private int products;
+
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> cache;
+
+    @Setup
+    public void setUp() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setTimeToLive(Duration.ofHours(1));
+        if ("heap".equals(tier)) {
+            region.setHeapEntries((long) products);
+        } else {
+            region.setHeapEntries(products / 100L);
+            region.setOffHeapSize(DataSize.ofMegabytes(512));
+        }
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getRegions().put("Product", region);
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(new JHipsterProperties(), applicationProperties);
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = provider.getCacheManager(URI.create("urn:benchmark:" + tier), getClass().getClassLoader());
+        cache = cacheManager.createCache("Product", cacheConfiguration.regionConfiguration("Product"));
+        for (long id = 1; id <= products; id++) {
+            cache.put(id, entry(id, 0));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Benchmark
+    public Object read() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hotProducts = Math.max(1, products / 100);
+        long id = random.nextInt(100) < HOT_PERCENT ? random.nextInt(hotProducts) + 1 : random.nextInt(products) + 1;
+        Object entry = cache.get(id);
+        if (random.nextInt(100) < UPDATE_PERCENT) {
+            cache.put(id, entry(id, random.nextInt()));
+        }
+        return entry;
+    }
+
+    private static ProductEntry entry(long id, int version) {
+        return new ProductEntry(
+            new Serializable[] {
+                "Product " + id,
+                "A fairly ordinary description for product " + id,
+                BigDecimal.valueOf(id * 7, 2),
+                "M",
+                "%064x".formatted(id),
+                "image/jpeg",
+                id % 50 + 1,
+            },
+            version
+        );
+    }
+
+    /**
+     * Same content as Hibernate's cache entry of an entity: its disassembled properties and its version.
+     */
+    private record ProductEntry(Serializable[] disassembledState, int version) implements Serializable {}
+}
@@ -0,0 +1,126 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.domain.Authority;
+import com.jhipster.demo.store.domain.CustomerDetails;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.domain.User;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+
+/**
+ * Compares persisting the order lines of a checkout through an {@link EntityManager} with JDBC batches of
+ * {@code hibernate.jdbc.batch_size} rows, as configured for the application, and without batching (one statement and
+ * round trip per row).
+ * <p>
+ * Lines are persisted with the entity mappings of the application, so ids come from their pooled sequence (one id
+ * allocation per 50 rows). Runs against MySQL, by default the dev database, whose faker data provides the product and
+ * the cart the lines reference; override with {@code -Dbenchmark.jdbc.url}, {@code -Dbenchmark.jdbc.username} and
+ * {@code -Dbenchmark.jdbc.password}. The lines inserted by the benchmark are deleted at the end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderLineInsertBenchmark {
+
+    private static final String DEFAULT_URL =
+        "jdbc:mysql://localhost:3306/store?useSSL=false&cachePrepStmts=true&useServerPrepStmts=true&rewriteBatchedStatements=true";
+
+    private static final int BATCH_SIZE = 25;
+
+    @Param({ "20", "200" })
+    private int lines;
+
+    @Param({ "batched", "unbatched" })
+    private String mode;
+
+    private SessionFactory sessionFactory;
+
+    private Long productId;
+
+    private Long cartId;
+
+    private long lastIdBefore;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(Authority.class)
+            .addAnnotatedClass(User.class)
+            .addAnnotatedClass(CustomerDetails.class)
+            .addAnnotatedClass(ShoppingCart.class)
+            .addAnnotatedClass(ProductCategory.class)
+            .addAnnotatedClass(Product.class)
+            .addAnnotatedClass(ProductOrder.class)
+            .setProperty(AvailableSettings.JAKARTA_JDBC_URL, System.getProperty("benchmark.jdbc.url", DEFAULT_URL))
+            .setProperty(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.jdbc.username", "root"))
+            .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("benchmark.jdbc.password", ""))
+            .setProperty(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+            .setProperty(AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName())
+            .setProperty(AvailableSettings.JDBC_TIME_ZONE, "UTC")
+            .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, Integer.toString(BATCH_SIZE))
+            .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+            .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+            .setProperty(AvailableSettings.JAKARTA_VALIDATION_MODE, "none")
+            .buildSessionFactory();
+        sessionFactory.inTransaction(session -> {
+            productId = session.createQuery("select min(product.id) from Product product", Long.class).getSingleResult();
+            cartId = session.createQuery("select min(cart.id) from ShoppingCart cart", Long.class).getSingleResult();
+            lastIdBefore = session
+                .createQuery("select coalesce(max(productOrder.id), 0) from ProductOrder productOrder", Long.class)
+                .getSingleResult();
+        });
+        if (productId == null || cartId == null) {
+            throw new IllegalStateException("The benchmark needs a product and a shopping cart, such as the dev faker data");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.inTransaction(session ->
+            session
+                .createMutationQuery("delete from ProductOrder productOrder where productOrder.id > :lastIdBefore")
+                .setParameter("lastIdBefore", lastIdBefore)
+                .executeUpdate()
+        );
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Long persist() {
+        try (Session session = sessionFactory.openSession()) {
+            if ("unbatched".equals(mode)) {
+                session.setJdbcBatchSize(1);
+            }
+            EntityManager entityManager = session;
+            entityManager.getTransaction().begin();
+            Product product = entityManager.getReference(Product.class, productId);
+            ShoppingCart cart = entityManager.getReference(ShoppingCart.class, cartId);
+            ProductOrder line = null;
+            for (int i = 0; i < lines; i++) {
+                line = new ProductOrder().quantity(i % 5 + 1).totalPrice(BigDecimal.valueOf(1999 + i, 2)).product(product).cart(cart);
+                entityManager.persist(line);
+            }
+            entityManager.getTransaction().commit();
+            return line.getId();
+        }
+    }
+}
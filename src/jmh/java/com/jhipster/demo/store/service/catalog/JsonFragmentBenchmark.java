@@ -0,0 +1,79 @@
+package com.jhipster.demo.store.service.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.config.JacksonConfiguration;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compares writing a page of products with the Jackson converter setup against concatenating cached fragments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonFragmentBenchmark {
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private JsonFragmentCache jsonFragmentCache;
+
+    private List<Product> products;
+
+    @Setup
+    public void setUp() throws IOException {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(
+                jacksonConfiguration.javaTimeModule(),
+                jacksonConfiguration.jdk8TimeModule(),
+                jacksonConfiguration.hibernate6Module()
+            )
+            .build();
+        jsonFragmentCache = new JsonFragmentCache(objectMapper);
+        ProductCategory category = new ProductCategory().id(1L).name("Shirts").description("Shirts and blouses");
+        products = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            products.add(
+                new Product()
+                    .id(id)
+                    .name("Product " + id)
+                    .description("A fairly ordinary description for product " + id)
+                    .price(BigDecimal.valueOf(id * 7, 2))
+                    .productSize(Size.values()[(int) (id % Size.values().length)])
+                    .imageHash("%064x".formatted(id))
+                    .imageContentType("image/jpeg")
+                    .productCategory(category)
+            );
+        }
+        jsonFragmentCache.products(products).writeTo(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void jackson() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), products);
+    }
+
+    @Benchmark
+    public void fragments() throws IOException {
+        jsonFragmentCache.products(products).writeTo(OutputStream.nullOutputStream());
+    }
+}
@@ -1,6 +1,10 @@
 package com.jhipster.demo.store.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Store.
@@ -13,12 +17,30 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final BlobStore blobStore = new BlobStore();
+
+    private final Catalog catalog = new Catalog();
+
+    private final Cache cache = new Cache();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public BlobStore getBlobStore() {
+        return blobStore;
+    }
+
+    public Catalog getCatalog() {
+        return catalog;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +55,395 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class BlobStore {
+
+        private String root = "data/blob-store";
+
+        private long cacheMaxAgeSeconds = 31536000;
+
+        /**
+         * How long an unreferenced blob is kept before being deleted, long enough for the upload that stored it to commit.
+         */
+        private long orphanRetentionHours = 24;
+
+        /**
+         * Largest image, in pixels, decoded to generate variants; a decoded pixel takes 4 bytes of heap.
+         */
+        private long maxImagePixels = 25_000_000;
+
+        public String getRoot() {
+            return root;
+        }
+
+        public void setRoot(String root) {
+            this.root = root;
+        }
+
+        public long getCacheMaxAgeSeconds() {
+            return cacheMaxAgeSeconds;
+        }
+
+        public void setCacheMaxAgeSeconds(long cacheMaxAgeSeconds) {
+            this.cacheMaxAgeSeconds = cacheMaxAgeSeconds;
+        }
+
+        public long getOrphanRetentionHours() {
+            return orphanRetentionHours;
+        }
+
+        public void setOrphanRetentionHours(long orphanRetentionHours) {
+            this.orphanRetentionHours = orphanRetentionHours;
+        }
+
+        public long getMaxImagePixels() {
+            return maxImagePixels;
+        }
+
+        public void setMaxImagePixels(long maxImagePixels) {
+            this.maxImagePixels = maxImagePixels;
+        }
+    }
+
+    public static class Catalog {
+
+        private boolean enabled = true;
+
+        private long refreshSeconds = 60;
+
+        private long maxStalenessSeconds = 300;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getRefreshSeconds() {
+            return refreshSeconds;
+        }
+
+        public void setRefreshSeconds(long refreshSeconds) {
+            this.refreshSeconds = refreshSeconds;
+        }
+
+        public long getMaxStalenessSeconds() {
+            return maxStalenessSeconds;
+        }
+
+        public void setMaxStalenessSeconds(long maxStalenessSeconds) {
+            this.maxStalenessSeconds = maxStalenessSeconds;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Settings of the cache regions, by region name without the {@code com.jhipster.demo.store.domain.} prefix.
+         * Regions not listed use {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        /**
+         * Upper bound of the off-heap tiers of all regions together, unbounded if not set.
+         */
+        private DataSize maxOffHeapSize;
+
+        /**
+         * Directory of the disk tiers, which can only be used when it is set.
+         */
+        private String diskPath;
+
+        /**
+         * Upper bound of the disk tiers of all regions together, unbounded if not set.
+         */
+        private DataSize maxDiskSize;
+
+        /**
+         * Name of the cache manager, to run several managers in one JVM; the provider's default manager if not set.
+         */
+        private String managerName;
+
+        private final WarmUp warmUp = new WarmUp();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public DataSize getMaxOffHeapSize() {
+            return maxOffHeapSize;
+        }
+
+        public void setMaxOffHeapSize(DataSize maxOffHeapSize) {
+            this.maxOffHeapSize = maxOffHeapSize;
+        }
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public DataSize getMaxDiskSize() {
+            return maxDiskSize;
+        }
+
+        public void setMaxDiskSize(DataSize maxDiskSize) {
+            this.maxDiskSize = maxDiskSize;
+        }
+
+        public String getManagerName() {
+            return managerName;
+        }
+
+        public void setManagerName(String managerName) {
+            this.managerName = managerName;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        /**
+         * Propagation of the second-level cache invalidations between the nodes through the {@code cache_invalidation}
+         * table.
+         */
+        public static class Invalidation {
+
+            private boolean enabled = true;
+
+            private long pollMillis = 200;
+
+            /**
+             * Maximum number of invalidations read per query.
+             */
+            private int batchSize = 1000;
+
+            /**
+             * Time during which a missing id of the table is read again, in case its transaction commits late.
+             */
+            private int gapTimeoutSeconds = 10;
+
+            /**
+             * Delay after which the entries evicted for the other nodes are evicted again, in case a load that read
+             * the data before their change put it back in the cache meanwhile.
+             */
+            private long secondEvictionMillis = 1000;
+
+            private int retentionMinutes = 60;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getPollMillis() {
+                return pollMillis;
+            }
+
+            public void setPollMillis(long pollMillis) {
+                this.pollMillis = pollMillis;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public int getGapTimeoutSeconds() {
+                return gapTimeoutSeconds;
+            }
+
+            public void setGapTimeoutSeconds(int gapTimeoutSeconds) {
+                this.gapTimeoutSeconds = gapTimeoutSeconds;
+            }
+
+            public long getSecondEvictionMillis() {
+                return secondEvictionMillis;
+            }
+
+            public void setSecondEvictionMillis(long secondEvictionMillis) {
+                this.secondEvictionMillis = secondEvictionMillis;
+            }
+
+            public int getRetentionMinutes() {
+                return retentionMinutes;
+            }
+
+            public void setRetentionMinutes(int retentionMinutes) {
+                this.retentionMinutes = retentionMinutes;
+            }
+        }
+
+        /**
+         * Preloading of the catalog regions and of the {@code usersByLogin} hot set at startup, before the application
+         * reports ready.
+         */
+        public static class WarmUp {
+
+            private boolean enabled = true;
+
+            /**
+             * Time after which the batches not loaded yet are abandoned.
+             */
+            private Duration timeBudget = Duration.ofSeconds(60);
+
+            private int threads = 4;
+
+            private int batchSize = 500;
+
+            /**
+             * Maximum number of products loaded, by id.
+             */
+            private int maxProducts = 20000;
+
+            /**
+             * Number of users loaded, those of the most recent carts first.
+             */
+            private int users = 1000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getTimeBudget() {
+                return timeBudget;
+            }
+
+            public void setTimeBudget(Duration timeBudget) {
+                this.timeBudget = timeBudget;
+            }
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public int getMaxProducts() {
+                return maxProducts;
+            }
+
+            public void setMaxProducts(int maxProducts) {
+                this.maxProducts = maxProducts;
+            }
+
+            public int getUsers() {
+                return users;
+            }
+
+            public void setUsers(int users) {
+                this.users = users;
+            }
+        }
+
+        /**
+         * Resource pools and expiry of a cache region. The heap tier is sized by {@code heapEntries} or by
+         * {@code heapSize}; the off-heap and disk tiers, if any, must each be larger than the tier above them when
+         * sized in bytes. A persistent disk tier is kept across restarts, so it may serve entries changed meanwhile.
+         */
+        public static class Region {
+
+            private Long heapEntries;
+
+            private DataSize heapSize;
+
+            private DataSize offHeapSize;
+
+            private DataSize diskSize;
+
+            private boolean diskPersistent;
+
+            private Duration timeToLive;
+
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public DataSize getHeapSize() {
+                return heapSize;
+            }
+
+            public void setHeapSize(DataSize heapSize) {
+                this.heapSize = heapSize;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public DataSize getDiskSize() {
+                return diskSize;
+            }
+
+            public void setDiskSize(DataSize diskSize) {
+                this.diskSize = diskSize;
+            }
+
+            public boolean isDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
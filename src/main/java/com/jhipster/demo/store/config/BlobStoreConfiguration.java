@@ -0,0 +1,22 @@
+package com.jhipster.demo.store.config;
+
+import com.jhipster.demo.store.service.storage.BlobStore;
+import com.jhipster.demo.store.service.storage.FileSystemBlobStore;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BlobStoreConfiguration {
+
+    /**
+     * Default {@link BlobStore} backed by the local filesystem; declare another {@link BlobStore} bean to replace it.
+     */
+    @Bean
+    @ConditionalOnMissingBean(BlobStore.class)
+    public BlobStore blobStore(ApplicationProperties applicationProperties) throws IOException {
+        return new FileSystemBlobStore(Path.of(applicationProperties.getBlobStore().getRoot()));
+    }
+}
@@ -1,9 +1,31 @@
 package com.jhipster.demo.store.config;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
 import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+import javax.cache.Caching;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -12,29 +34,66 @@ import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.*;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
+/**
+ * Configuration of the Hibernate second-level cache and Spring cache regions.
+ * <p>
+ * Each region gets its own resource pools and expiry from {@code application.cache.regions}, so that large, rarely read
+ * regions do not evict the hot ones; regions not configured there share the {@code jhipster.cache.ehcache} settings.
+ * Regions with an off-heap or disk tier store serialized entries there, so their keys and values must be
+ * {@link java.io.Serializable}, as Hibernate cache entries and keys are. Off-heap tiers are allocated as direct memory,
+ * bounded by {@code -XX:MaxDirectMemorySize}.
+ * <p>
+ * Statistics are enabled on every region and published as {@code store.cache.region.*} meters tagged with the region name;
+ * the size of a region is read from the Ehcache tier statistics, through the {@link RegionStatisticsService}.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CacheConfiguration.class);
+
+    public static final String REGION_METER_PREFIX = "store.cache.region.";
+
+    private static final String DOMAIN_PREFIX = "com.jhipster.demo.store.domain.";
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
+    private final RegionStatisticsService.CreationConfiguration regionStatistics = new RegionStatisticsService.CreationConfiguration();
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+    }
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
+    /**
+     * The cache manager, built here rather than by Spring Boot so that it holds the persistence service of the disk tiers.
+     * The {@link JCacheManagerCustomizer}s are applied to it as Spring Boot would.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheManager(ObjectProvider<JCacheManagerCustomizer> customizers) {
+        checkMemoryCaps();
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        ClassLoader classLoader = getClass().getClassLoader();
+        DefaultConfiguration configuration = StringUtils.hasText(cacheProperties.getDiskPath())
+            ? new DefaultConfiguration(
+                classLoader,
+                new DefaultPersistenceConfiguration(new File(cacheProperties.getDiskPath())),
+                regionStatistics
             )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
-        );
+            : new DefaultConfiguration(classLoader, regionStatistics);
+        URI uri = StringUtils.hasText(cacheProperties.getManagerName())
+            ? URI.create("urn:store:" + cacheProperties.getManagerName())
+            : provider.getDefaultURI();
+        javax.cache.CacheManager cm = provider.getCacheManager(uri, configuration);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(cm));
+        return cm;
     }
 
     @Bean
@@ -43,31 +102,176 @@ public class CacheConfiguration {
     }
 
     @Bean
-    public JCacheManagerCustomizer cacheManagerCustomizer() {
+    public JCacheManagerCustomizer cacheManagerCustomizer(MeterRegistry meterRegistry) {
         return cm -> {
-            createCache(cm, com.jhipster.demo.store.repository.UserRepository.USERS_BY_LOGIN_CACHE);
-            createCache(cm, com.jhipster.demo.store.repository.UserRepository.USERS_BY_EMAIL_CACHE);
-            createCache(cm, com.jhipster.demo.store.domain.User.class.getName());
-            createCache(cm, com.jhipster.demo.store.domain.Authority.class.getName());
-            createCache(cm, com.jhipster.demo.store.domain.User.class.getName() + ".authorities");
-            createCache(cm, com.jhipster.demo.store.domain.Product.class.getName());
-            createCache(cm, com.jhipster.demo.store.domain.ProductCategory.class.getName());
-            createCache(cm, com.jhipster.demo.store.domain.ProductCategory.class.getName() + ".products");
-            createCache(cm, com.jhipster.demo.store.domain.CustomerDetails.class.getName());
-            createCache(cm, com.jhipster.demo.store.domain.CustomerDetails.class.getName() + ".carts");
-            createCache(cm, com.jhipster.demo.store.domain.ShoppingCart.class.getName());
-            createCache(cm, com.jhipster.demo.store.domain.ShoppingCart.class.getName() + ".orders");
-            createCache(cm, com.jhipster.demo.store.domain.ProductOrder.class.getName());
+            createCache(cm, com.jhipster.demo.store.repository.UserRepository.USERS_BY_LOGIN_CACHE, meterRegistry);
+            createCache(cm, com.jhipster.demo.store.repository.UserRepository.USERS_BY_EMAIL_CACHE, meterRegistry);
+            createCache(cm, com.jhipster.demo.store.repository.UserRepository.MISSING_USERS_BY_LOGIN_CACHE, meterRegistry);
+            createCache(cm, com.jhipster.demo.store.repository.UserRepository.MISSING_USERS_BY_EMAIL_CACHE, meterRegistry);
+            createCache(cm, com.jhipster.demo.store.domain.User.class.getName(), meterRegistry);
+            createCache(cm, com.jhipster.demo.store.domain.Authority.class.getName(), meterRegistry);
+            createCache(cm, com.jhipster.demo.store.domain.User.class.getName() + ".authorities", meterRegistry);
+            createCache(cm, com.jhipster.demo.store.domain.Product.class.getName(), meterRegistry);
+            createCache(cm, com.jhipster.demo.store.domain.ProductCategory.class.getName(), meterRegistry);
+            createCache(cm, com.jhipster.demo.store.domain.ProductCategory.class.getName() + ".products", meterRegistry);
+            createCache(cm, com.jhipster.demo.store.domain.CustomerDetails.class.getName(), meterRegistry);
+            createCache(cm, com.jhipster.demo.store.domain.CustomerDetails.class.getName() + ".carts", meterRegistry);
+            createCache(cm, com.jhipster.demo.store.domain.ShoppingCart.class.getName(), meterRegistry);
+            createCache(cm, com.jhipster.demo.store.domain.ShoppingCart.class.getName() + ".orders", meterRegistry);
+            createCache(cm, com.jhipster.demo.store.domain.ProductOrder.class.getName(), meterRegistry);
             // jhipster-needle-ehcache-add-entry
         };
     }
 
-    private void createCache(javax.cache.CacheManager cm, String cacheName) {
+    private void createCache(javax.cache.CacheManager cm, String cacheName, MeterRegistry meterRegistry) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cache = cm.createCache(cacheName, regionConfiguration(regionName(cacheName)));
+        }
+        cm.enableStatistics(cacheName, true);
+        bindMetrics(cache, regionName(cacheName), regionStatistics.getService(), meterRegistry);
+    }
+
+    private void checkMemoryCaps() {
+        long offHeapBytes = totalBytes(ApplicationProperties.Cache.Region::getOffHeapSize);
+        if (cacheProperties.getMaxOffHeapSize() != null && offHeapBytes > cacheProperties.getMaxOffHeapSize().toBytes()) {
+            throw new IllegalStateException(
+                "The off-heap tiers of the cache regions take " + offHeapBytes + " bytes, more than max-off-heap-size"
+            );
+        }
+        long diskBytes = totalBytes(ApplicationProperties.Cache.Region::getDiskSize);
+        if (diskBytes > 0 && !StringUtils.hasText(cacheProperties.getDiskPath())) {
+            throw new IllegalStateException("Cache regions have disk tiers but application.cache.disk-path is not set");
+        }
+        if (cacheProperties.getMaxDiskSize() != null && diskBytes > cacheProperties.getMaxDiskSize().toBytes()) {
+            throw new IllegalStateException("The disk tiers of the cache regions take " + diskBytes + " bytes, more than max-disk-size");
+        }
+        LOG.debug("Cache regions take {} bytes off-heap and {} bytes on disk", offHeapBytes, diskBytes);
+    }
+
+    private long totalBytes(Function<ApplicationProperties.Cache.Region, DataSize> tier) {
+        return cacheProperties.getRegions().values().stream().map(tier).filter(Objects::nonNull).mapToLong(DataSize::toBytes).sum();
+    }
+
+    /**
+     * @param cacheName the name of a cache.
+     * @return the name of its region in {@code application.cache.regions}.
+     */
+    static String regionName(String cacheName) {
+        return cacheName.startsWith(DOMAIN_PREFIX) ? cacheName.substring(DOMAIN_PREFIX.length()) : cacheName;
+    }
+
+    javax.cache.configuration.Configuration<Object, Object> regionConfiguration(String regionName) {
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegions().get(regionName);
+        if (region == null) {
+            return Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                    Object.class,
+                    Object.class,
+                    ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
+                )
+                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
+                    .build()
+            );
+        }
+        if (region.getHeapEntries() != null && region.getHeapSize() != null) {
+            throw new IllegalStateException("Cache region " + regionName + " sets both heap-entries and heap-size");
+        }
+        if (region.getTimeToLive() != null && region.getTimeToIdle() != null) {
+            // reads would keep pushing back the expiry of hot entries, which would never reach their time to live
+            throw new IllegalStateException("Cache region " + regionName + " sets both time-to-live and time-to-idle");
+        }
+        ResourcePoolsBuilder pools = region.getHeapSize() != null
+            ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(region.getHeapSize().toBytes(), MemoryUnit.B)
+            : ResourcePoolsBuilder.newResourcePoolsBuilder()
+                .heap(region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries(), EntryUnit.ENTRIES);
+        if (region.getOffHeapSize() != null) {
+            pools = pools.offheap(region.getOffHeapSize().toBytes(), MemoryUnit.B);
+        }
+        if (region.getDiskSize() != null) {
+            pools = pools.disk(region.getDiskSize().toBytes(), MemoryUnit.B, region.isDiskPersistent());
+        }
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            pools
+        ).withExpiry(expiry(region));
+        if (region.getOffHeapSize() != null || region.getDiskSize() != null) {
+            // Hibernate entries, keys and collection entries are Serializable; Ehcache has no default serializer for Object
+            ClassLoader classLoader = getClass().getClassLoader();
+            builder = builder
+                .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                .withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+        LOG.debug("Cache region {}: {}", regionName, pools.build());
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+    }
+
+    /**
+     * Entries live {@code timeToLive} after they are written, or {@code timeToIdle} after they are last written or read.
+     */
+    private ExpiryPolicy<Object, Object> expiry(ApplicationProperties.Cache.Region region) {
+        if (region.getTimeToLive() != null) {
+            return ExpiryPolicyBuilder.timeToLiveExpiration(region.getTimeToLive());
+        }
+        if (region.getTimeToIdle() != null) {
+            return ExpiryPolicyBuilder.timeToIdleExpiration(region.getTimeToIdle());
+        }
+        return ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds()));
+    }
+
+    private static void bindMetrics(
+        javax.cache.Cache<Object, Object> cache,
+        String regionName,
+        RegionStatisticsService regionStatisticsService,
+        MeterRegistry meterRegistry
+    ) {
+        String cacheName = cache.getName();
+        Gauge.builder(REGION_METER_PREFIX + "size", regionStatisticsService, service -> service.countEntries(cacheName))
+            .description("Number of entries in the cache region, as counted by its authoritative tier")
+            .tag("region", regionName)
+            .register(meterRegistry);
+        RegionStatistics statistics = new RegionStatistics(cache.getCacheManager().getURI(), cache.getName());
+        FunctionCounter.builder(REGION_METER_PREFIX + "hits", statistics, s -> s.get("CacheHits"))
+            .description("Reads of the cache region that found an entry")
+            .tag("region", regionName)
+            .register(meterRegistry);
+        FunctionCounter.builder(REGION_METER_PREFIX + "misses", statistics, s -> s.get("CacheMisses"))
+            .description("Reads of the cache region that found no entry")
+            .tag("region", regionName)
+            .register(meterRegistry);
+        FunctionCounter.builder(REGION_METER_PREFIX + "evictions", statistics, s -> s.get("CacheEvictions"))
+            .description("Entries evicted from the cache region to stay within its resource pools")
+            .tag("region", regionName)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reads the JSR-107 statistics MBean of a cache, registered by {@link javax.cache.CacheManager#enableStatistics}.
+     */
+    private static final class RegionStatistics {
+
+        private static final MBeanServer SERVER = ManagementFactory.getPlatformMBeanServer();
+
+        private final String objectName;
+
+        RegionStatistics(URI cacheManagerUri, String cacheName) {
+            // the names are sanitized the way Ehcache registers them
+            this.objectName =
+                "javax.cache:type=CacheStatistics,CacheManager=" +
+                cacheManagerUri.toString().replaceAll("[,:=\n]", ".") +
+                ",Cache=" +
+                cacheName.replaceAll("[,:=\n]", ".");
+        }
+
+        double get(String attribute) {
+            try {
+                return ((Number) SERVER.getAttribute(new ObjectName(objectName), attribute)).doubleValue();
+            } catch (JMException e) {
+                return Double.NaN;
+            }
         }
     }
 
@@ -0,0 +1,18 @@
+package com.jhipster.demo.store.config;
+
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Register the converter for pre-rendered JSON fragments ahead of the Jackson converter.
+ */
+@Configuration
+public class JsonFragmentConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new JsonFragmentHttpMessageConverter());
+    }
+}
@@ -0,0 +1,39 @@
+package com.jhipster.demo.store.config;
+
+import com.jhipster.demo.store.service.catalog.JsonFragmentList;
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes {@link JsonFragmentList} response bodies by copying their pre-rendered fragments to the response stream.
+ */
+public class JsonFragmentHttpMessageConverter extends AbstractHttpMessageConverter<JsonFragmentList<?>> {
+
+    public JsonFragmentHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonFragmentList.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected JsonFragmentList<?> readInternal(Class<? extends JsonFragmentList<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("JSON fragments are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(JsonFragmentList<?> body, HttpOutputMessage outputMessage) throws IOException {
+        body.writeTo(outputMessage.getBody());
+    }
+}
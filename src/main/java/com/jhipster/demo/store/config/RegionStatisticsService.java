@@ -0,0 +1,93 @@
+package com.jhipster.demo.store.config;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.ehcache.core.spi.service.ServiceFactory;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.statistics.TierStatistics;
+import org.ehcache.spi.service.Service;
+import org.ehcache.spi.service.ServiceCreationConfiguration;
+import org.ehcache.spi.service.ServiceDependencies;
+import org.ehcache.spi.service.ServiceProvider;
+
+/**
+ * Ehcache service reading the size of the cache regions from the {@link StatisticsService} of the cache manager, which
+ * keeps the number of mappings of each tier, rather than by walking their entries.
+ * <p>
+ * The cache manager starts it when its configuration holds a {@link CreationConfiguration}, which then gives access to
+ * it; the {@link Factory} is registered in {@code META-INF/services}.
+ */
+@ServiceDependencies(StatisticsService.class)
+public final class RegionStatisticsService implements Service {
+
+    private volatile StatisticsService statisticsService;
+
+    @Override
+    public void start(ServiceProvider<Service> serviceProvider) {
+        statisticsService = serviceProvider.getService(StatisticsService.class);
+    }
+
+    @Override
+    public void stop() {
+        statisticsService = null;
+    }
+
+    /**
+     * Count the entries of a cache, the mappings of its authoritative tier, the largest, which holds all of them.
+     *
+     * @param cacheName the name of the cache.
+     * @return the number of entries, or {@code NaN} if the cache manager is closed or does not have the cache.
+     */
+    public double countEntries(String cacheName) {
+        StatisticsService statistics = statisticsService;
+        if (statistics == null) {
+            return Double.NaN;
+        }
+        try {
+            return statistics
+                .getCacheStatistics(cacheName)
+                .getTierStatistics()
+                .values()
+                .stream()
+                .mapToLong(TierStatistics::getMappings)
+                .max()
+                .orElse(0);
+        } catch (IllegalArgumentException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Asks the cache manager to start a {@link RegionStatisticsService}, available from {@link #getService()} once it is
+     * created.
+     */
+    public static final class CreationConfiguration implements ServiceCreationConfiguration<RegionStatisticsService, Void> {
+
+        private final AtomicReference<RegionStatisticsService> service = new AtomicReference<>();
+
+        @Override
+        public Class<RegionStatisticsService> getServiceType() {
+            return RegionStatisticsService.class;
+        }
+
+        public RegionStatisticsService getService() {
+            return service.get();
+        }
+    }
+
+    public static final class Factory implements ServiceFactory<RegionStatisticsService> {
+
+        @Override
+        public RegionStatisticsService create(ServiceCreationConfiguration<RegionStatisticsService, ?> configuration) {
+            RegionStatisticsService created = new RegionStatisticsService();
+            if (configuration instanceof CreationConfiguration creationConfiguration) {
+                creationConfiguration.service.set(created);
+            }
+            return created;
+        }
+
+        @Override
+        public Class<? extends RegionStatisticsService> getServiceType() {
+            return RegionStatisticsService.class;
+        }
+    }
+}
@@ -22,7 +22,8 @@ public class CustomerDetails implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customerDetailsSequenceGenerator")
+    @SequenceGenerator(name = "customerDetailsSequenceGenerator", sequenceName = "customer_details_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -60,6 +61,10 @@ public class CustomerDetails implements Serializable {
     @JsonIgnoreProperties(value = { "orders", "customerDetails" }, allowSetters = true)
     private Set<ShoppingCart> carts = new HashSet<>();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -197,6 +202,19 @@ public class CustomerDetails implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public CustomerDetails version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
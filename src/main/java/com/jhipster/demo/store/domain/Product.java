@@ -1,6 +1,7 @@
 package com.jhipster.demo.store.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.jhipster.demo.store.domain.enumeration.Size;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
@@ -23,7 +24,8 @@ public class Product implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productSequenceGenerator")
+    @SequenceGenerator(name = "productSequenceGenerator", sequenceName = "product_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -44,18 +46,34 @@ public class Product implements Serializable {
     @Column(name = "product_size", nullable = false)
     private Size productSize;
 
-    @Lob
-    @Column(name = "image")
+    /**
+     * Uploaded image content, only accepted on writes: the service moves it to the blob store and keeps {@link #imageHash}.
+     */
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] image;
 
     @Column(name = "image_content_type")
     private String imageContentType;
 
+    /**
+     * Hash of the image in the blob store, only set by the service when an image is uploaded: never accepted on writes,
+     * so that a product cannot be pointed at a blob it did not upload.
+     */
+    @Pattern(regexp = "^[0-9a-f]{64}$")
+    @Column(name = "image_hash", length = 64)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String imageHash;
+
     @ManyToOne(optional = false)
     @NotNull
     @JsonIgnoreProperties(value = { "products" }, allowSetters = true)
     private ProductCategory productCategory;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -149,6 +167,19 @@ public class Product implements Serializable {
         this.imageContentType = imageContentType;
     }
 
+    public String getImageHash() {
+        return this.imageHash;
+    }
+
+    public Product imageHash(String imageHash) {
+        this.setImageHash(imageHash);
+        return this;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
     public ProductCategory getProductCategory() {
         return this.productCategory;
     }
@@ -162,6 +193,19 @@ public class Product implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Product version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -190,8 +234,8 @@ public class Product implements Serializable {
             ", description='" + getDescription() + "'" +
             ", price=" + getPrice() +
             ", productSize='" + getProductSize() + "'" +
-            ", image='" + getImage() + "'" +
             ", imageContentType='" + getImageContentType() + "'" +
+            ", imageHash='" + getImageHash() + "'" +
             "}";
     }
 }
@@ -21,7 +21,8 @@ public class ProductCategory implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productCategorySequenceGenerator")
+    @SequenceGenerator(name = "productCategorySequenceGenerator", sequenceName = "product_category_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -37,6 +38,10 @@ public class ProductCategory implements Serializable {
     @JsonIgnoreProperties(value = { "productCategory" }, allowSetters = true)
     private Set<Product> products = new HashSet<>();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -109,6 +114,19 @@ public class ProductCategory implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public ProductCategory version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
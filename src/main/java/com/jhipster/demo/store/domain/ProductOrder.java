@@ -20,7 +20,8 @@ public class ProductOrder implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productOrderSequenceGenerator")
+    @SequenceGenerator(name = "productOrderSequenceGenerator", sequenceName = "product_order_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
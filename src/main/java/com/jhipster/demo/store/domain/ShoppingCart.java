@@ -25,7 +25,8 @@ public class ShoppingCart implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shoppingCartSequenceGenerator")
+    @SequenceGenerator(name = "shoppingCartSequenceGenerator", sequenceName = "shopping_cart_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -61,6 +62,10 @@ public class ShoppingCart implements Serializable {
     @JsonIgnoreProperties(value = { "user", "carts" }, allowSetters = true)
     private CustomerDetails customerDetails;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -185,6 +190,19 @@ public class ShoppingCart implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public ShoppingCart version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
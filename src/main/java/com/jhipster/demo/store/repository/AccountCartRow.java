@@ -0,0 +1,19 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.domain.enumeration.PaymentMethod;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read-only projection of a {@link com.jhipster.demo.store.domain.ShoppingCart} for the order history of its customer.
+ *
+ * @param id the cart id.
+ * @param placedDate the date the cart was placed.
+ * @param status the status of the cart.
+ * @param totalPrice the total price of the cart.
+ * @param paymentMethod the payment method of the cart.
+ */
+public record AccountCartRow(Long id, Instant placedDate, OrderStatus status, BigDecimal totalPrice, PaymentMethod paymentMethod)
+    implements Serializable {}
@@ -0,0 +1,17 @@
+package com.jhipster.demo.store.repository;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of a {@link com.jhipster.demo.store.domain.ProductOrder} for the order history of a customer.
+ *
+ * @param cartId the id of the shopping cart.
+ * @param id the order line id.
+ * @param productId the id of the product ordered.
+ * @param productName the name of the product ordered.
+ * @param quantity the quantity ordered.
+ * @param totalPrice the total price of the line.
+ */
+public record AccountOrderLineRow(Long cartId, Long id, Long productId, String productName, Integer quantity, BigDecimal totalPrice)
+    implements Serializable {}
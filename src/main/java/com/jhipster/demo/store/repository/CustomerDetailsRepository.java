@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -37,4 +38,23 @@ public interface CustomerDetailsRepository extends JpaRepository<CustomerDetails
 
     @Query("select customerDetails from CustomerDetails customerDetails left join fetch customerDetails.user where customerDetails.id =:id")
     Optional<CustomerDetails> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query("select customerDetails from CustomerDetails customerDetails left join fetch customerDetails.user")
+    Slice<CustomerDetails> findSliceWithToOneRelationships(Pageable pageable);
+
+    @Query(
+        "select customerDetails from CustomerDetails customerDetails left join fetch customerDetails.user " +
+        "where customerDetails.id > :id order by customerDetails.id"
+    )
+    Slice<CustomerDetails> findAllAfterId(@Param("id") Long id, Pageable pageable);
+
+    @Query(
+        "select customerDetails from CustomerDetails customerDetails left join fetch customerDetails.user " +
+        "where customerDetails.country > :country or (customerDetails.country = :country and customerDetails.id > :id) " +
+        "order by customerDetails.country, customerDetails.id"
+    )
+    Slice<CustomerDetails> findAllAfterCountry(@Param("country") String country, @Param("id") Long id, Pageable pageable);
+
+    @Query("select customerDetails.version from CustomerDetails customerDetails where customerDetails.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
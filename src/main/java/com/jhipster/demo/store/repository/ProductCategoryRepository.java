@@ -1,7 +1,11 @@
 package com.jhipster.demo.store.repository;
 
 import com.jhipster.demo.store.domain.ProductCategory;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProductCategoryRepository extends JpaRepository<ProductCategory, Long> {}
+public interface ProductCategoryRepository extends JpaRepository<ProductCategory, Long> {
+    @Query("select productCategory from ProductCategory productCategory")
+    Slice<ProductCategory> findSliceBy(Pageable pageable);
+
+    @Query("select productCategory.version from ProductCategory productCategory where productCategory.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,31 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.domain.enumeration.Size;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of a {@link com.jhipster.demo.store.domain.Product} for exports, without its image content.
+ *
+ * @param id the product id.
+ * @param name the product name.
+ * @param description the product description.
+ * @param price the product price.
+ * @param productSize the product size.
+ * @param imageContentType the content type of the product image, if any.
+ * @param imageHash the hash of the product image, if any.
+ * @param productCategoryId the id of the product category.
+ * @param productCategoryName the name of the product category.
+ */
+public record ProductExportRow(
+    Long id,
+    String name,
+    String description,
+    BigDecimal price,
+    Size productSize,
+    String imageContentType,
+    String imageHash,
+    Long productCategoryId,
+    String productCategoryName
+)
+    implements Serializable {}
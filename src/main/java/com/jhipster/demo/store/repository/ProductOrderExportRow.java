@@ -0,0 +1,35 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.domain.enumeration.PaymentMethod;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read-only projection of a {@link com.jhipster.demo.store.domain.ProductOrder} for exports, flattened with its cart.
+ *
+ * @param id the order line id.
+ * @param quantity the quantity ordered.
+ * @param totalPrice the total price of the line.
+ * @param productId the id of the product ordered.
+ * @param productName the name of the product ordered.
+ * @param cartId the id of the shopping cart.
+ * @param placedDate the date the cart was placed.
+ * @param status the status of the cart.
+ * @param paymentMethod the payment method of the cart.
+ * @param customerDetailsId the id of the customer, if any.
+ */
+public record ProductOrderExportRow(
+    Long id,
+    Integer quantity,
+    BigDecimal totalPrice,
+    Long productId,
+    String productName,
+    Long cartId,
+    Instant placedDate,
+    OrderStatus status,
+    PaymentMethod paymentMethod,
+    Long customerDetailsId
+)
+    implements Serializable {}
@@ -1,8 +1,14 @@
 package com.jhipster.demo.store.repository;
 
 import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -13,7 +19,15 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository for the ProductOrder entity.
  */
 @Repository
-public interface ProductOrderRepository extends JpaRepository<ProductOrder, Long> {
+public interface ProductOrderRepository extends ProductOrderRepositoryWithFilter, JpaRepository<ProductOrder, Long> {
+    /**
+     * Sales lines, see {@link SalesLine}.
+     */
+    String SELECT_SALES_LINES =
+        "select new com.jhipster.demo.store.repository.SalesLine(cart.id, cart.placedDate, cart.status, product.id, " +
+        "productCategory.id, productOrder.quantity, productOrder.totalPrice) from ProductOrder productOrder " +
+        "join productOrder.cart cart join productOrder.product product join product.productCategory productCategory ";
+
     default Optional<ProductOrder> findOneWithEagerRelationships(Long id) {
         return this.findOneWithToOneRelationships(id);
     }
@@ -37,4 +51,57 @@ public interface ProductOrderRepository extends JpaRepository<ProductOrder, Long
 
     @Query("select productOrder from ProductOrder productOrder left join fetch productOrder.product where productOrder.id =:id")
     Optional<ProductOrder> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query(SELECT_SALES_LINES + "where cart.id = :cartId")
+    List<SalesLine> findSalesLinesByCartId(@Param("cartId") Long cartId);
+
+    @Query("select distinct productOrder.product.id from ProductOrder productOrder where productOrder.cart.id = :cartId")
+    List<Long> findProductIdsByCartId(@Param("cartId") Long cartId);
+
+    /**
+     * Get the lines of some carts, read from the {@code idx_product_order__cart_id} covering index and the product key.
+     *
+     * @param cartIds the ids of the carts.
+     * @return the lines, ordered by cart then id.
+     */
+    @Query(
+        "select new com.jhipster.demo.store.repository.AccountOrderLineRow(productOrder.cart.id, productOrder.id, product.id, " +
+        "product.name, productOrder.quantity, productOrder.totalPrice) from ProductOrder productOrder " +
+        "join productOrder.product product where productOrder.cart.id in :cartIds order by productOrder.cart.id, productOrder.id"
+    )
+    List<AccountOrderLineRow> findAccountOrderLinesByCartIdIn(@Param("cartIds") Collection<Long> cartIds);
+
+    /**
+     * Stream the sales lines of the carts placed in a range with one of the given statuses, ordered by placed date
+     * then cart, so that the lines of a cart are contiguous.
+     * <p>
+     * See {@link ShoppingCartRepository#streamAllWithToOneRelationships()} for the MySQL streaming requirements.
+     *
+     * @param statuses the statuses of the carts to read.
+     * @param from the lower bound of the cart placed date, inclusive.
+     * @param to the upper bound of the cart placed date, exclusive.
+     * @return the stream of rows.
+     */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648") })
+    @Query(
+        SELECT_SALES_LINES +
+        "where cart.status in :statuses and cart.placedDate >= :from and cart.placedDate < :to order by cart.placedDate, cart.id"
+    )
+    Stream<SalesLine> streamSalesLines(
+        @Param("statuses") Collection<OrderStatus> statuses,
+        @Param("from") Instant from,
+        @Param("to") Instant to
+    );
+
+    /**
+     * Stream the sales lines of all the carts with one of the given statuses, ordered by cart.
+     * <p>
+     * See {@link ShoppingCartRepository#streamAllWithToOneRelationships()} for the MySQL streaming requirements.
+     *
+     * @param statuses the statuses of the carts to read.
+     * @return the stream of rows.
+     */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648") })
+    @Query(SELECT_SALES_LINES + "where cart.status in :statuses order by cart.id")
+    Stream<SalesLine> streamSalesLinesByStatus(@Param("statuses") Collection<OrderStatus> statuses);
 }
@@ -0,0 +1,67 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.domain.ProductOrder;
+import java.time.Instant;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Queries on the order lines matching optional filters, a {@code null} filter does not filter.
+ * <p>
+ * Only the predicates of the given filters are part of the statement, so that MySQL plans each combination on its
+ * own: the foreign key indexes of {@code product_order} and {@code idx_shopping_cart__placed_date}.
+ */
+public interface ProductOrderRepositoryWithFilter {
+    /**
+     * Get a page of the order lines matching the filter, with every to-one relationship their JSON form needs.
+     *
+     * @param cartId the cart to filter on, or {@code null}.
+     * @param productId the product to filter on, or {@code null}.
+     * @param placedFrom the lower bound of the cart placed date, inclusive, or {@code null}.
+     * @param placedTo the upper bound of the cart placed date, exclusive, or {@code null}.
+     * @param pageable the pagination information.
+     * @return the page of entities.
+     */
+    Page<ProductOrder> findAllByFilter(Long cartId, Long productId, Instant placedFrom, Instant placedTo, Pageable pageable);
+
+    /**
+     * Get a slice of the order lines matching the filter, without counting them.
+     *
+     * @param cartId the cart to filter on, or {@code null}.
+     * @param productId the product to filter on, or {@code null}.
+     * @param placedFrom the lower bound of the cart placed date, inclusive, or {@code null}.
+     * @param placedTo the upper bound of the cart placed date, exclusive, or {@code null}.
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    Slice<ProductOrder> findSliceByFilter(Long cartId, Long productId, Instant placedFrom, Instant placedTo, Pageable pageable);
+
+    /**
+     * Stream the order lines matching the filter in id order, read-only.
+     * <p>
+     * See {@link ShoppingCartRepository#streamAllWithToOneRelationships()} for the MySQL streaming requirements.
+     *
+     * @param cartId the cart to filter on, or {@code null}.
+     * @param productId the product to filter on, or {@code null}.
+     * @param placedFrom the lower bound of the cart placed date, inclusive, or {@code null}.
+     * @param placedTo the upper bound of the cart placed date, exclusive, or {@code null}.
+     * @return the stream of entities.
+     */
+    Stream<ProductOrder> streamAllByFilter(Long cartId, Long productId, Instant placedFrom, Instant placedTo);
+
+    /**
+     * Stream the export projection of the order lines matching the filter in id order.
+     * <p>
+     * Projections are not managed, so the persistence context stays empty whatever the number of rows. See
+     * {@link ShoppingCartRepository#streamAllWithToOneRelationships()} for the MySQL streaming requirements.
+     *
+     * @param cartId the cart to filter on, or {@code null}.
+     * @param productId the product to filter on, or {@code null}.
+     * @param placedFrom the lower bound of the cart placed date, inclusive, or {@code null}.
+     * @param placedTo the upper bound of the cart placed date, exclusive, or {@code null}.
+     * @return the stream of rows.
+     */
+    Stream<ProductOrderExportRow> streamExportRowsByFilter(Long cartId, Long productId, Instant placedFrom, Instant placedTo);
+}
@@ -0,0 +1,140 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.domain.ProductOrder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Builds the filter queries of {@link ProductOrderRepositoryWithFilter} with the predicates of the given filters only.
+ */
+public class ProductOrderRepositoryWithFilterImpl implements ProductOrderRepositoryWithFilter {
+
+    /**
+     * Order lines with every to-one relationship their JSON form needs, so that reading them issues a single statement.
+     */
+    private static final String SELECT_WITH_TO_ONE_RELATIONSHIPS =
+        "select productOrder from ProductOrder productOrder " +
+        "join fetch productOrder.product product left join fetch product.productCategory " +
+        "join fetch productOrder.cart cart left join fetch cart.customerDetails ";
+
+    private static final String SELECT_COUNT =
+        "select count(productOrder) from ProductOrder productOrder join productOrder.product product join productOrder.cart cart ";
+
+    private static final String SELECT_EXPORT_ROWS =
+        "select new com.jhipster.demo.store.repository.ProductOrderExportRow(productOrder.id, productOrder.quantity, " +
+        "productOrder.totalPrice, product.id, product.name, cart.id, cart.placedDate, cart.status, cart.paymentMethod, " +
+        "customerDetails.id) from ProductOrder productOrder join productOrder.product product join productOrder.cart cart " +
+        "left join cart.customerDetails customerDetails ";
+
+    private static final String ALIAS = "productOrder";
+
+    private static final String ORDER_BY_ID = " order by productOrder.id";
+
+    private final EntityManager entityManager;
+
+    public ProductOrderRepositoryWithFilterImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<ProductOrder> findAllByFilter(Long cartId, Long productId, Instant placedFrom, Instant placedTo, Pageable pageable) {
+        Where where = Where.of(cartId, productId, placedFrom, placedTo);
+        TypedQuery<ProductOrder> query = query(SELECT_WITH_TO_ONE_RELATIONSHIPS, where, pageable.getSort(), ProductOrder.class);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(query.getResultList());
+        }
+        query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () ->
+            query(SELECT_COUNT, where, Sort.unsorted(), Long.class).getSingleResult()
+        );
+    }
+
+    @Override
+    public Slice<ProductOrder> findSliceByFilter(Long cartId, Long productId, Instant placedFrom, Instant placedTo, Pageable pageable) {
+        Where where = Where.of(cartId, productId, placedFrom, placedTo);
+        TypedQuery<ProductOrder> query = query(SELECT_WITH_TO_ONE_RELATIONSHIPS, where, pageable.getSort(), ProductOrder.class);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList());
+        }
+        // one more row tells whether there is a next slice
+        List<ProductOrder> content = query
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public Stream<ProductOrder> streamAllByFilter(Long cartId, Long productId, Instant placedFrom, Instant placedTo) {
+        Where where = Where.of(cartId, productId, placedFrom, placedTo);
+        TypedQuery<ProductOrder> query = entityManager.createQuery(
+            SELECT_WITH_TO_ONE_RELATIONSHIPS + where.clause() + ORDER_BY_ID,
+            ProductOrder.class
+        );
+        where.parameters().forEach(query::setParameter);
+        return query
+            .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    @Override
+    public Stream<ProductOrderExportRow> streamExportRowsByFilter(Long cartId, Long productId, Instant placedFrom, Instant placedTo) {
+        Where where = Where.of(cartId, productId, placedFrom, placedTo);
+        TypedQuery<ProductOrderExportRow> query = entityManager.createQuery(
+            SELECT_EXPORT_ROWS + where.clause() + ORDER_BY_ID,
+            ProductOrderExportRow.class
+        );
+        where.parameters().forEach(query::setParameter);
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE).getResultStream();
+    }
+
+    private <T> TypedQuery<T> query(String select, Where where, Sort sort, Class<T> resultClass) {
+        TypedQuery<T> query = entityManager.createQuery(QueryUtils.applySorting(select + where.clause(), sort, ALIAS), resultClass);
+        where.parameters().forEach(query::setParameter);
+        return query;
+    }
+
+    /**
+     * The {@code where} clause of the given filters, and its parameters.
+     */
+    private record Where(String clause, Map<String, Object> parameters) {
+        static Where of(Long cartId, Long productId, Instant placedFrom, Instant placedTo) {
+            List<String> predicates = new ArrayList<>();
+            Map<String, Object> parameters = new HashMap<>();
+            if (cartId != null) {
+                predicates.add("cart.id = :cartId");
+                parameters.put("cartId", cartId);
+            }
+            if (productId != null) {
+                predicates.add("product.id = :productId");
+                parameters.put("productId", productId);
+            }
+            if (placedFrom != null) {
+                predicates.add("cart.placedDate >= :placedFrom");
+                parameters.put("placedFrom", placedFrom);
+            }
+            if (placedTo != null) {
+                predicates.add("cart.placedDate < :placedTo");
+                parameters.put("placedTo", placedTo);
+            }
+            return new Where(predicates.isEmpty() ? "" : "where " + String.join(" and ", predicates), parameters);
+        }
+    }
+}
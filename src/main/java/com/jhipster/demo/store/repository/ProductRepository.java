@@ -1,10 +1,16 @@
 package com.jhipster.demo.store.repository;
 
 import com.jhipster.demo.store.domain.Product;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -35,6 +41,56 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("select product from Product product left join fetch product.productCategory")
     List<Product> findAllWithToOneRelationships();
 
+    @Query("select product from Product product left join fetch product.productCategory where product.id in :ids")
+    List<Product> findAllWithToOneRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+        value = "select new com.jhipster.demo.store.repository.ProductSummary(product.id, product.name, product.price, product.productSize, " +
+        "product.imageHash, productCategory.id, productCategory.name) from Product product left join product.productCategory productCategory",
+        countQuery = "select count(product) from Product product"
+    )
+    Page<ProductSummary> findAllSummaries(Pageable pageable);
+
+    @Query("select product.id from Product product order by product.id")
+    List<Long> findIds(Pageable pageable);
+
     @Query("select product from Product product left join fetch product.productCategory where product.id =:id")
     Optional<Product> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query("select product from Product product left join fetch product.productCategory")
+    Slice<Product> findSliceWithToOneRelationships(Pageable pageable);
+
+    @Query("select product from Product product left join fetch product.productCategory where product.id > :id order by product.id")
+    Slice<Product> findAllAfterId(@Param("id") Long id, Pageable pageable);
+
+    @Query(
+        "select product from Product product left join fetch product.productCategory " +
+        "where product.name > :name or (product.name = :name and product.id > :id) order by product.name, product.id"
+    )
+    Slice<Product> findAllAfterName(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    @Query(
+        "select product from Product product left join fetch product.productCategory " +
+        "where product.price > :price or (product.price = :price and product.id > :id) order by product.price, product.id"
+    )
+    Slice<Product> findAllAfterPrice(@Param("price") BigDecimal price, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Stream the export projection of all the products in id order.
+     * <p>
+     * Projections are not managed, so the persistence context stays empty whatever the number of rows. See
+     * {@link ShoppingCartRepository#streamAllWithToOneRelationships()} for the MySQL streaming requirements.
+     *
+     * @return the stream of rows.
+     */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648") })
+    @Query(
+        "select new com.jhipster.demo.store.repository.ProductExportRow(product.id, product.name, product.description, product.price, " +
+        "product.productSize, product.imageContentType, product.imageHash, productCategory.id, productCategory.name) " +
+        "from Product product left join product.productCategory productCategory order by product.id"
+    )
+    Stream<ProductExportRow> streamAllExportRows();
+
+    @Query("select product.version from Product product where product.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
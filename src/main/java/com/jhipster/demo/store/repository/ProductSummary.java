@@ -0,0 +1,27 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.domain.enumeration.Size;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of a {@link com.jhipster.demo.store.domain.Product} for list views, without its description and image.
+ *
+ * @param id the product id.
+ * @param name the product name.
+ * @param price the product price.
+ * @param productSize the product size.
+ * @param imageHash the hash of the product image, to build its versioned URL.
+ * @param productCategoryId the id of the product category, if any.
+ * @param productCategoryName the name of the product category, if any.
+ */
+public record ProductSummary(
+    Long id,
+    String name,
+    BigDecimal price,
+    Size productSize,
+    String imageHash,
+    Long productCategoryId,
+    String productCategoryName
+)
+    implements Serializable {}
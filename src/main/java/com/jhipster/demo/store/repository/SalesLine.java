@@ -0,0 +1,28 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read-only projection of a {@link com.jhipster.demo.store.domain.ProductOrder} with the fields the sales rollups are keyed by.
+ *
+ * @param cartId the id of the shopping cart.
+ * @param placedDate the date the cart was placed.
+ * @param status the status of the cart.
+ * @param productId the id of the product ordered.
+ * @param productCategoryId the id of the category of the product.
+ * @param quantity the quantity ordered.
+ * @param totalPrice the total price of the line.
+ */
+public record SalesLine(
+    Long cartId,
+    Instant placedDate,
+    OrderStatus status,
+    Long productId,
+    Long productCategoryId,
+    Integer quantity,
+    BigDecimal totalPrice
+)
+    implements Serializable {}
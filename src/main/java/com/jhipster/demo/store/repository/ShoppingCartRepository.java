@@ -1,7 +1,16 @@
 package com.jhipster.demo.store.repository;
 
 import com.jhipster.demo.store.domain.ShoppingCart;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,86 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {}
+public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
+    @Query(
+        value = "select shoppingCart from ShoppingCart shoppingCart left join fetch shoppingCart.customerDetails",
+        countQuery = "select count(shoppingCart) from ShoppingCart shoppingCart"
+    )
+    Page<ShoppingCart> findAllWithToOneRelationships(Pageable pageable);
+
+    @Query("select shoppingCart from ShoppingCart shoppingCart left join fetch shoppingCart.customerDetails")
+    Slice<ShoppingCart> findSliceWithToOneRelationships(Pageable pageable);
+
+    @Query(
+        "select shoppingCart from ShoppingCart shoppingCart left join fetch shoppingCart.customerDetails " +
+        "where shoppingCart.id > :id order by shoppingCart.id"
+    )
+    Slice<ShoppingCart> findAllAfterId(@Param("id") Long id, Pageable pageable);
+
+    @Query(
+        "select shoppingCart from ShoppingCart shoppingCart left join fetch shoppingCart.customerDetails " +
+        "where shoppingCart.placedDate > :placedDate or (shoppingCart.placedDate = :placedDate and shoppingCart.id > :id) " +
+        "order by shoppingCart.placedDate, shoppingCart.id"
+    )
+    Slice<ShoppingCart> findAllAfterPlacedDate(@Param("placedDate") Instant placedDate, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Stream all the shopping carts in id order, read-only.
+     * <p>
+     * The results are backed by a forward-only Hibernate scrollable cursor. The MySQL driver only streams rows with a
+     * fetch size of {@link Integer#MIN_VALUE}; otherwise it buffers the whole result set. The stream must be closed,
+     * and no other statement can run on the connection until it is.
+     *
+     * @return the stream of entities.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    @Query("select shoppingCart from ShoppingCart shoppingCart left join fetch shoppingCart.customerDetails order by shoppingCart.id")
+    Stream<ShoppingCart> streamAllWithToOneRelationships();
+
+    String SELECT_ACCOUNT_CARTS =
+        "select new com.jhipster.demo.store.repository.AccountCartRow(shoppingCart.id, shoppingCart.placedDate, " +
+        "shoppingCart.status, shoppingCart.totalPrice, shoppingCart.paymentMethod) from ShoppingCart shoppingCart " +
+        "join shoppingCart.customerDetails customerDetails join customerDetails.user user where user.login = :login ";
+
+    String ORDER_BY_ACCOUNT_CARTS = " order by shoppingCart.placedDate desc, shoppingCart.id desc";
+
+    /**
+     * Get the most recent carts of the customer of a user, read from the
+     * {@code idx_shopping_cart__customer_details_placed_date} covering index.
+     *
+     * @param login the login of the user.
+     * @param pageable the pagination information, only the size is used.
+     * @return the carts, most recent first.
+     */
+    @Query(SELECT_ACCOUNT_CARTS + ORDER_BY_ACCOUNT_CARTS)
+    Slice<AccountCartRow> findAccountCarts(@Param("login") String login, Pageable pageable);
+
+    /**
+     * Get the carts of the customer of a user placed before a cart, in the order of {@link #findAccountCarts(String, Pageable)}.
+     *
+     * @param login the login of the user.
+     * @param placedDate the placed date of the last cart read.
+     * @param id the id of the last cart read.
+     * @param pageable the pagination information, only the size is used.
+     * @return the carts, most recent first.
+     */
+    @Query(
+        SELECT_ACCOUNT_CARTS +
+        "and (shoppingCart.placedDate < :placedDate or (shoppingCart.placedDate = :placedDate and shoppingCart.id < :id))" +
+        ORDER_BY_ACCOUNT_CARTS
+    )
+    Slice<AccountCartRow> findAccountCartsBefore(
+        @Param("login") String login,
+        @Param("placedDate") Instant placedDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query("select shoppingCart.version from ShoppingCart shoppingCart where shoppingCart.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
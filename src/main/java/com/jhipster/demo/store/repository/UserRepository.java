@@ -2,12 +2,15 @@ package com.jhipster.demo.store.repository;
 
 import com.jhipster.demo.store.domain.User;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -18,6 +21,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     String USERS_BY_LOGIN_CACHE = "usersByLogin";
 
     String USERS_BY_EMAIL_CACHE = "usersByEmail";
+
+    String MISSING_USERS_BY_LOGIN_CACHE = "missingUsersByLogin";
+
+    String MISSING_USERS_BY_EMAIL_CACHE = "missingUsersByEmail";
+
     Optional<User> findOneByActivationKey(String activationKey);
     List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
     Optional<User> findOneByResetKey(String resetKey);
@@ -32,5 +40,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE, unless = "#result == null")
     Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
+    @EntityGraph(attributePaths = "authorities")
+    List<User> findAllWithAuthoritiesByLoginIn(Collection<String> logins);
+
+    /**
+     * Get the logins of the users who placed carts, most recent cart first.
+     *
+     * @param pageable the pagination information, only the size is used.
+     * @return the logins.
+     */
+    @Query(
+        "select user.login from ShoppingCart shoppingCart join shoppingCart.customerDetails customerDetails " +
+        "join customerDetails.user user group by user.login order by max(shoppingCart.placedDate) desc"
+    )
+    List<String> findLoginsByRecentCarts(Pageable pageable);
+
     Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+    @Query("select u from User u")
+    Slice<User> findSliceBy(Pageable pageable);
+
+    @Query("select u from User u where u.id > :id order by u.id")
+    Slice<User> findAllAfterId(@Param("id") Long id, Pageable pageable);
+
+    @Query("select u from User u where u.login > :login or (u.login = :login and u.id > :id) order by u.login, u.id")
+    Slice<User> findAllAfterLogin(@Param("login") String login, @Param("id") Long id, Pageable pageable);
 }
@@ -3,50 +3,122 @@ package com.jhipster.demo.store.security;
 import com.jhipster.demo.store.domain.Authority;
 import com.jhipster.demo.store.domain.User;
 import com.jhipster.demo.store.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * Logins and emails of unknown users are remembered for a short while in the {@code missingUsersByLogin} and
+ * {@code missingUsersByEmail} caches, and concurrent lookups of the same login or email share a single load, so that
+ * bursts of failed authentications do not each reach the database. Coalesced lookups and lookups answered by the
+ * missing users caches are counted as {@code store.security.user-lookups.*} meters.
  */
 @Component("userDetailsService")
 public class DomainUserDetailsService implements UserDetailsService {
 
     private static final Logger LOG = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
+    public static final String COALESCED_METER_NAME = "store.security.user-lookups.coalesced";
+
+    public static final String NEGATIVE_HITS_METER_NAME = "store.security.user-lookups.negative-hits";
+
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final Cache missingUsersByLogin;
+
+    private final Cache missingUsersByEmail;
+
+    private final ConcurrentMap<String, CompletableFuture<Optional<User>>> inFlightLookups = new ConcurrentHashMap<>();
+
+    private final Counter coalescedCounter;
+
+    private final Counter negativeHitsCounter;
+
+    public DomainUserDetailsService(UserRepository userRepository, CacheManager cacheManager, MeterRegistry registry) {
         this.userRepository = userRepository;
+        this.missingUsersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.MISSING_USERS_BY_LOGIN_CACHE));
+        this.missingUsersByEmail = Objects.requireNonNull(cacheManager.getCache(UserRepository.MISSING_USERS_BY_EMAIL_CACHE));
+        this.coalescedCounter = Counter.builder(COALESCED_METER_NAME)
+            .description("User lookups that waited for the same lookup in progress instead of querying the database")
+            .register(registry);
+        this.negativeHitsCounter = Counter.builder(NEGATIVE_HITS_METER_NAME)
+            .description("User lookups answered by the missing users caches")
+            .register(registry);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(final String login) {
         LOG.debug("Authenticating {}", login);
 
         if (new EmailValidator().isValid(login, null)) {
-            return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
+            // the usersByEmail entries stay keyed by the email as typed
+            return lookUp(missingUsersByEmail, login.toLowerCase(Locale.ENGLISH), email ->
+                userRepository.findOneWithAuthoritiesByEmailIgnoreCase(login)
+            )
                 .map(user -> createSpringSecurityUser(login, user))
                 .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
         }
 
         String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
-        return userRepository
-            .findOneWithAuthoritiesByLogin(lowercaseLogin)
+        return lookUp(missingUsersByLogin, lowercaseLogin, userRepository::findOneWithAuthoritiesByLogin)
             .map(user -> createSpringSecurityUser(lowercaseLogin, user))
             .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
     }
 
+    /**
+     * Look up a user unless it is known to be missing, sharing the lookup with the concurrent lookups of the same key.
+     * <p>
+     * No transaction is opened here: the repository queries run in their own, so that the lookups waiting for another
+     * one do not hold a database connection.
+     */
+    private Optional<User> lookUp(Cache missingUsers, String key, Function<String, Optional<User>> loader) {
+        if (missingUsers.get(key) != null) {
+            negativeHitsCounter.increment();
+            return Optional.empty();
+        }
+        String inFlightKey = missingUsers.getName() + ':' + key;
+        CompletableFuture<Optional<User>> lookup = new CompletableFuture<>();
+        CompletableFuture<Optional<User>> inFlight = inFlightLookups.putIfAbsent(inFlightKey, lookup);
+        if (inFlight != null) {
+            coalescedCounter.increment();
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            Optional<User> user = loader.apply(key);
+            if (user.isEmpty()) {
+                missingUsers.put(key, Boolean.TRUE);
+            }
+            lookup.complete(user);
+            return user;
+        } catch (RuntimeException e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLookups.remove(inFlightKey, lookup);
+        }
+    }
+
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
         if (!user.isActivated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
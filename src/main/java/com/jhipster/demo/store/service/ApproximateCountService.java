@@ -0,0 +1,63 @@
+package com.jhipster.demo.store.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service keeping the row counts used by paginated listings, so that listings do not run a count query per request.
+ * <p>
+ * The first request for a count computes it; afterwards counts are refreshed in the background every
+ * {@code application.pagination.approximate-count-refresh-seconds}, and requests read the last known value.
+ */
+@Service
+public class ApproximateCountService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ApproximateCountService.class);
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Get the last known count for a listing.
+     *
+     * @param name the name of the counted listing.
+     * @param counter the exact count query, run on first use and on each refresh.
+     * @return the cached count.
+     */
+    public long getCount(String name, LongSupplier counter) {
+        return counts.computeIfAbsent(name, key -> new CachedCount(counter)).value.get();
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.pagination.approximate-count-refresh-seconds:60}",
+        fixedDelayString = "${application.pagination.approximate-count-refresh-seconds:60}",
+        timeUnit = TimeUnit.SECONDS
+    )
+    public void refreshCounts() {
+        counts.forEach((name, count) -> {
+            try {
+                count.value.set(count.counter.getAsLong());
+            } catch (RuntimeException e) {
+                LOG.warn("Could not refresh count of {}: {}", name, e.getMessage());
+            }
+        });
+    }
+
+    private static final class CachedCount {
+
+        private final LongSupplier counter;
+
+        private final AtomicLong value;
+
+        private CachedCount(LongSupplier counter) {
+            this.counter = counter;
+            this.value = new AtomicLong(counter.getAsLong());
+        }
+    }
+}
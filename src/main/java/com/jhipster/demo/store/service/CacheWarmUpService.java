@@ -0,0 +1,250 @@
+package com.jhipster.demo.store.service;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import com.jhipster.demo.store.domain.User;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Preloads the hot cache regions at startup: the {@code Product} and {@code ProductCategory} second-level cache regions,
+ * and {@code usersByLogin} with the users of the most recent carts.
+ * <p>
+ * The warm-up runs in the {@link ApplicationReadyEvent} listener, before Spring Boot moves the readiness state to
+ * {@code ACCEPTING_TRAFFIC}: the readiness probe only reports {@code UP} once it is over. Entities are read in batches,
+ * in parallel, each batch in its own read-only transaction; Hibernate puts the entities it loads in their regions.
+ * The queries listing the entities to load run on the same threads as the batches, and whatever is not done within
+ * {@code application.cache.warm-up.time-budget}, listing or loading, is abandoned. Progress is published as
+ * {@code store.cache.warmup.*} meters.
+ */
+@Service
+public class CacheWarmUpService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    public static final String ENTRIES_METER_NAME = "store.cache.warmup.entries";
+
+    public static final String BATCHES_METER_NAME = "store.cache.warmup.batches";
+
+    public static final String DURATION_METER_NAME = "store.cache.warmup.duration";
+
+    private final ProductRepository productRepository;
+
+    private final ProductCategoryRepository productCategoryRepository;
+
+    private final UserRepository userRepository;
+
+    private final CacheManager cacheManager;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ApplicationProperties.Cache.WarmUp properties;
+
+    private final AtomicLong products = new AtomicLong();
+
+    private final AtomicLong productCategories = new AtomicLong();
+
+    private final AtomicLong users = new AtomicLong();
+
+    private final AtomicInteger batchesDone = new AtomicInteger();
+
+    private final AtomicInteger batchesPending = new AtomicInteger();
+
+    private final Timer durationTimer;
+
+    public CacheWarmUpService(
+        ProductRepository productRepository,
+        ProductCategoryRepository productCategoryRepository,
+        UserRepository userRepository,
+        CacheManager cacheManager,
+        TransactionTemplate transactionTemplate,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.productRepository = productRepository;
+        this.productCategoryRepository = productCategoryRepository;
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionTemplate.getTransactionManager()));
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getCache().getWarmUp();
+        registerEntriesGauge(registry, "Product", products);
+        registerEntriesGauge(registry, "ProductCategory", productCategories);
+        registerEntriesGauge(registry, UserRepository.USERS_BY_LOGIN_CACHE, users);
+        Gauge.builder(BATCHES_METER_NAME, batchesDone, AtomicInteger::get)
+            .description("Batches of entities loaded by the cache warm-up")
+            .tag("state", "done")
+            .baseUnit("batches")
+            .register(registry);
+        Gauge.builder(BATCHES_METER_NAME, batchesPending, AtomicInteger::get)
+            .description("Batches of entities waiting to be loaded by the cache warm-up")
+            .tag("state", "pending")
+            .baseUnit("batches")
+            .register(registry);
+        this.durationTimer = Timer.builder(DURATION_METER_NAME)
+            .description("Time spent warming up the caches at startup")
+            .register(registry);
+    }
+
+    private static void registerEntriesGauge(MeterRegistry registry, String region, AtomicLong entries) {
+        Gauge.builder(ENTRIES_METER_NAME, entries, AtomicLong::get)
+            .description("Entries loaded in a cache region by the cache warm-up")
+            .tag("region", region)
+            .baseUnit("entries")
+            .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            warmUp();
+        } catch (DataAccessException e) {
+            LOG.warn("Could not warm up the caches: {}", e.getMessage());
+        } finally {
+            sample.stop(durationTimer);
+        }
+    }
+
+    /**
+     * Load the hot entities in their cache regions, within the time budget.
+     *
+     * @return {@code true} if every batch was loaded, {@code false} if some were abandoned or failed.
+     */
+    public boolean warmUp() {
+        LOG.debug("Request to warm up the caches");
+        long deadline = System.nanoTime() + properties.getTimeBudget().toNanos();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-warm-up-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()), threadFactory);
+        try {
+            Future<List<Long>> productIds = executor.submit(() ->
+                readOnlyTransactionTemplate.execute(status ->
+                    productRepository.findIds(PageRequest.ofSize(Math.max(1, properties.getMaxProducts())))
+                )
+            );
+            Future<List<String>> logins = executor.submit(() ->
+                readOnlyTransactionTemplate.execute(status ->
+                    userRepository.findLoginsByRecentCarts(PageRequest.ofSize(Math.max(1, properties.getUsers())))
+                )
+            );
+            List<Supplier<Integer>> batches = new ArrayList<>();
+            batches.add(() -> count(productCategories, productCategoryRepository.findAll().size()));
+            List<Long> listedProductIds = awaitListing(productIds, deadline);
+            for (List<Long> ids : partition(listedProductIds)) {
+                batches.add(() -> count(products, productRepository.findAllWithToOneRelationshipsByIdIn(ids).size()));
+            }
+            List<String> listedLogins = awaitListing(logins, deadline);
+            Cache usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+            if (usersByLogin != null) {
+                for (List<String> batch : partition(listedLogins)) {
+                    batches.add(() -> count(users, cacheUsers(usersByLogin, userRepository.findAllWithAuthoritiesByLoginIn(batch))));
+                }
+            }
+            boolean complete = runBatches(executor, batches, deadline);
+            return complete && listedProductIds != null && listedLogins != null;
+        } catch (TimeoutException e) {
+            LOG.warn("Cache warm-up ran out of its {} budget listing the entities to load", properties.getTimeBudget());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the entities listed, or {@code null} if the listing failed, in which case their batches are skipped.
+     */
+    private <T> List<T> awaitListing(Future<List<T>> listing, long deadline) throws InterruptedException, TimeoutException {
+        try {
+            return listing.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            LOG.warn("Could not list the entities to warm up: {}", e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    private boolean runBatches(ExecutorService executor, List<Supplier<Integer>> batches, long deadline) throws InterruptedException {
+        batchesPending.set(batches.size());
+        List<Future<Integer>> futures = new ArrayList<>(batches.size());
+        for (Supplier<Integer> batch : batches) {
+            futures.add(executor.submit(() -> readOnlyTransactionTemplate.execute(status -> batch.get())));
+        }
+        boolean complete = true;
+        for (Future<Integer> future : futures) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                LOG.warn("Cache warm-up ran out of its {} budget, {} batches not loaded", properties.getTimeBudget(), batchesPending.get());
+                return false;
+            } catch (ExecutionException e) {
+                LOG.warn("Could not load a cache warm-up batch: {}", e.getCause().getMessage());
+                complete = false;
+            } finally {
+                batchesPending.decrementAndGet();
+            }
+        }
+        LOG.info(
+            "Warmed up the caches with {} products, {} product categories and {} users",
+            products.get(),
+            productCategories.get(),
+            users.get()
+        );
+        return complete;
+    }
+
+    private int count(AtomicLong entries, int loaded) {
+        entries.addAndGet(loaded);
+        batchesDone.incrementAndGet();
+        return loaded;
+    }
+
+    private static int cacheUsers(Cache usersByLogin, List<User> loaded) {
+        // same entries as UserRepository#findOneWithAuthoritiesByLogin
+        loaded.forEach(user -> usersByLogin.put(user.getLogin(), user));
+        return loaded.size();
+    }
+
+    private <T> List<List<T>> partition(List<T> values) {
+        List<List<T>> batches = new ArrayList<>();
+        if (values == null) {
+            return batches;
+        }
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < values.size(); from += batchSize) {
+            batches.add(List.copyOf(values.subList(from, Math.min(values.size(), from + batchSize))));
+        }
+        return batches;
+    }
+}
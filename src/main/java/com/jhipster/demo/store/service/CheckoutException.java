@@ -0,0 +1,20 @@
+package com.jhipster.demo.store.service;
+
+/**
+ * Thrown when a checkout cannot be placed as requested.
+ */
+public class CheckoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public CheckoutException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
@@ -0,0 +1,101 @@
+package com.jhipster.demo.store.service;
+
+import com.jhipster.demo.store.domain.CustomerDetails;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.repository.CustomerDetailsRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.service.dto.CheckoutDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Places a {@link ShoppingCart} and all its {@link ProductOrder}s in a single transaction.
+ * <p>
+ * Prices are taken from the products, never from the client: each line is checked against the current
+ * {@link Product#getPrice()} and the line and cart totals are computed here. Order line ids come from a pooled
+ * generator, so Hibernate inserts the lines in JDBC batches, which the MySQL driver rewrites to multi-row inserts.
+ */
+@Service
+@Transactional
+public class CheckoutService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CheckoutService.class);
+
+    private final ShoppingCartService shoppingCartService;
+
+    private final ProductRepository productRepository;
+
+    private final CustomerDetailsRepository customerDetailsRepository;
+
+    private final ProductOrderService productOrderService;
+
+    public CheckoutService(
+        ShoppingCartService shoppingCartService,
+        ProductRepository productRepository,
+        CustomerDetailsRepository customerDetailsRepository,
+        ProductOrderService productOrderService
+    ) {
+        this.shoppingCartService = shoppingCartService;
+        this.productRepository = productRepository;
+        this.customerDetailsRepository = customerDetailsRepository;
+        this.productOrderService = productOrderService;
+    }
+
+    /**
+     * Place a shopping cart with its order lines.
+     *
+     * @param checkout the cart to place.
+     * @return the placed cart, with its order lines.
+     * @throws CheckoutException if the customer or a product does not exist, or if a price is not the current one.
+     */
+    public ShoppingCart checkout(CheckoutDTO checkout) {
+        LOG.debug("Request to checkout : {}", checkout);
+        CustomerDetails customerDetails = customerDetailsRepository
+            .findById(checkout.customerDetailsId())
+            .orElseThrow(() -> new CheckoutException("Customer not found", "customernotfound"));
+        Map<Long, Product> products = productRepository
+            .findAllById(checkout.lines().stream().map(CheckoutDTO.Line::productId).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<ProductOrder> orders = new ArrayList<>(checkout.lines().size());
+        BigDecimal cartTotal = BigDecimal.ZERO;
+        for (CheckoutDTO.Line line : checkout.lines()) {
+            Product product = products.get(line.productId());
+            if (product == null) {
+                throw new CheckoutException("Product " + line.productId() + " not found", "productnotfound");
+            }
+            if (product.getPrice().compareTo(line.price()) != 0) {
+                throw new CheckoutException("Price of product " + product.getId() + " has changed", "pricechanged");
+            }
+            BigDecimal lineTotal = product.getPrice().multiply(BigDecimal.valueOf(line.quantity()));
+            orders.add(new ProductOrder().product(product).quantity(line.quantity()).totalPrice(lineTotal));
+            cartTotal = cartTotal.add(lineTotal);
+        }
+
+        ShoppingCart cart = shoppingCartService.save(
+            new ShoppingCart()
+                .placedDate(Instant.now())
+                .status(OrderStatus.PENDING)
+                .totalPrice(cartTotal)
+                .paymentMethod(checkout.paymentMethod())
+                .paymentReference(checkout.paymentReference())
+                .customerDetails(customerDetails)
+        );
+        orders.forEach(cart::addOrder);
+        productOrderService.saveAll(orders);
+        return cart;
+    }
+}
@@ -2,11 +2,17 @@ package com.jhipster.demo.store.service;
 
 import com.jhipster.demo.store.domain.CustomerDetails;
 import com.jhipster.demo.store.repository.CustomerDetailsRepository;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,10 +25,30 @@ public class CustomerDetailsService {
 
     private static final Logger LOG = LoggerFactory.getLogger(CustomerDetailsService.class);
 
+    /**
+     * Sort keys supported by {@link #findAllAfter(KeysetCursor, int)}, with their accessor.
+     */
+    public static final Map<String, Function<CustomerDetails, Object>> KEYSET_SORT_KEYS = Map.of(
+        "id",
+        CustomerDetails::getId,
+        "country",
+        CustomerDetails::getCountry
+    );
+
     private final CustomerDetailsRepository customerDetailsRepository;
 
-    public CustomerDetailsService(CustomerDetailsRepository customerDetailsRepository) {
+    private final ApproximateCountService approximateCountService;
+
+    private final EntityVersionService entityVersionService;
+
+    public CustomerDetailsService(
+        CustomerDetailsRepository customerDetailsRepository,
+        ApproximateCountService approximateCountService,
+        EntityVersionService entityVersionService
+    ) {
         this.customerDetailsRepository = customerDetailsRepository;
+        this.approximateCountService = approximateCountService;
+        this.entityVersionService = entityVersionService;
     }
 
     /**
@@ -33,7 +59,7 @@ public class CustomerDetailsService {
      */
     public CustomerDetails save(CustomerDetails customerDetails) {
         LOG.debug("Request to save CustomerDetails : {}", customerDetails);
-        return customerDetailsRepository.save(customerDetails);
+        return recordWrite(customerDetailsRepository.save(customerDetails));
     }
 
     /**
@@ -44,7 +70,7 @@ public class CustomerDetailsService {
      */
     public CustomerDetails update(CustomerDetails customerDetails) {
         LOG.debug("Request to update CustomerDetails : {}", customerDetails);
-        return customerDetailsRepository.save(customerDetails);
+        return recordWrite(customerDetailsRepository.save(customerDetails));
     }
 
     /**
@@ -80,7 +106,8 @@ public class CustomerDetailsService {
 
                 return existingCustomerDetails;
             })
-            .map(customerDetailsRepository::save);
+            .map(customerDetailsRepository::save)
+            .map(this::recordWrite);
     }
 
     /**
@@ -104,6 +131,48 @@ public class CustomerDetailsService {
         return customerDetailsRepository.findAllWithEagerRelationships(pageable);
     }
 
+    /**
+     * Get a slice of the customerDetails, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CustomerDetails> findAllSlice(Pageable pageable) {
+        LOG.debug("Request to get a slice of CustomerDetails");
+        return customerDetailsRepository.findSliceWithToOneRelationships(pageable);
+    }
+
+    /**
+     * Get the approximate number of customerDetails, refreshed in the background.
+     *
+     * @return the approximate number of entities.
+     */
+    @Transactional(readOnly = true)
+    public long countApproximately() {
+        return approximateCountService.getCount(CustomerDetails.class.getName(), customerDetailsRepository::count);
+    }
+
+    /**
+     * Get the customerDetails following the given cursor, ordered by the cursor key then id.
+     *
+     * @param cursor the position after which to start.
+     * @param size the maximum number of entities to return.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CustomerDetails> findAllAfter(KeysetCursor cursor, int size) {
+        LOG.debug("Request to get CustomerDetails after : {}", cursor);
+        if (cursor.isFirst()) {
+            return customerDetailsRepository.findSliceWithToOneRelationships(PageRequest.of(0, size, keysetSort(cursor.key())));
+        }
+        Pageable pageable = PageRequest.ofSize(size);
+        return switch (cursor.key()) {
+            case "country" -> customerDetailsRepository.findAllAfterCountry(cursor.value(), cursor.id(), pageable);
+            default -> customerDetailsRepository.findAllAfterId(cursor.id(), pageable);
+        };
+    }
+
     /**
      * Get one customerDetails by id.
      *
@@ -116,6 +185,18 @@ public class CustomerDetailsService {
         return customerDetailsRepository.findOneWithEagerRelationships(id);
     }
 
+    /**
+     * Get the current version of one customerDetails by id, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity, or empty if it does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of CustomerDetails : {}", id);
+        return customerDetailsRepository.findVersionById(id);
+    }
+
     /**
      * Delete the customerDetails by id.
      *
@@ -124,5 +205,15 @@ public class CustomerDetailsService {
     public void delete(Long id) {
         LOG.debug("Request to delete CustomerDetails : {}", id);
         customerDetailsRepository.deleteById(id);
+        entityVersionService.recordWrite(EntityVersionService.CUSTOMER_DETAILS);
+    }
+
+    private static Sort keysetSort(String key) {
+        return "id".equals(key) ? Sort.by("id") : Sort.by(key, "id");
+    }
+
+    private CustomerDetails recordWrite(CustomerDetails customerDetails) {
+        entityVersionService.recordWrite(EntityVersionService.CUSTOMER_DETAILS);
+        return customerDetails;
     }
 }
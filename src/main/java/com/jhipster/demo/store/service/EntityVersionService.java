@@ -0,0 +1,144 @@
+package com.jhipster.demo.store.service;
+
+import com.jhipster.demo.store.service.event.ProductCategoryChangedEvent;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import com.jhipster.demo.store.service.event.ProductsSavedEvent;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping the versions ETags are built from, so conditional reads can be answered without loading the data.
+ * <p>
+ * Entity versions are the JPA {@code @Version} counters; they are read from the database by the callers, as any node
+ * may have written the entity. Collection versions are counters bumped after every committed write to a table; they
+ * are qualified with the start time of this node, so they never repeat across restarts. Writes made through the
+ * services of this node are seen once they commit, those of the other nodes once the
+ * {@link com.jhipster.demo.store.service.cache.CacheInvalidationService} reads them from the invalidation log.
+ */
+@Service
+public class EntityVersionService {
+
+    public static final String PRODUCT = "product";
+
+    public static final String PRODUCT_CATEGORY = "product_category";
+
+    public static final String CUSTOMER_DETAILS = "customer_details";
+
+    public static final String SHOPPING_CART = "shopping_cart";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final Map<String, AtomicLong> collectionVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Capture the current versions of a table and of the tables its representation embeds.
+     * <p>
+     * Take the stamp before reading, so an ETag never claims data newer than what was read.
+     *
+     * @param table the table of the entity.
+     * @param dependencies the tables embedded in the representation of the entity.
+     * @return the stamp.
+     */
+    public Stamp stamp(String table, String... dependencies) {
+        String dependencyVersions = Arrays.stream(dependencies)
+            .map(dependency -> Long.toString(collectionVersion(dependency).get()))
+            .collect(Collectors.joining("."));
+        return new Stamp(table, collectionVersion(table).get(), dependencyVersions);
+    }
+
+    /**
+     * Record a write to a table, once the current transaction commits.
+     *
+     * @param table the written table.
+     */
+    public void recordWrite(String table) {
+        afterCommit(() -> written(table));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        written(PRODUCT);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsSaved(ProductsSavedEvent event) {
+        written(PRODUCT);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCategoryChanged(ProductCategoryChangedEvent event) {
+        written(PRODUCT_CATEGORY);
+    }
+
+    private void written(String table) {
+        collectionVersion(table).incrementAndGet();
+    }
+
+    private AtomicLong collectionVersion(String table) {
+        return collectionVersions.computeIfAbsent(table, key -> new AtomicLong());
+    }
+
+    private static String tag(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * The versions of a table and of its dependencies at one point in time, building strong ETags.
+     */
+    public final class Stamp {
+
+        private final String table;
+
+        private final long collectionVersion;
+
+        private final String dependencyVersions;
+
+        private Stamp(String table, long collectionVersion, String dependencyVersions) {
+            this.table = table;
+            this.collectionVersion = collectionVersion;
+            this.dependencyVersions = dependencyVersions;
+        }
+
+        /**
+         * @return the ETag of any listing of the table.
+         */
+        public String collectionTag() {
+            return tag(table + "-" + epoch + "." + collectionVersion + suffix());
+        }
+
+        /**
+         * @param id the id of the entity.
+         * @param version the version of the entity, as read from the database.
+         * @return the ETag of the entity.
+         */
+        public String entityTag(Long id, Long version) {
+            return tag(table + "-" + id + "-" + version + (dependencyVersions.isEmpty() ? "" : "-" + epoch + suffix()));
+        }
+
+        private String suffix() {
+            return dependencyVersions.isEmpty() ? "" : "." + dependencyVersions;
+        }
+    }
+}
@@ -2,11 +2,14 @@ package com.jhipster.demo.store.service;
 
 import com.jhipster.demo.store.domain.ProductCategory;
 import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.service.event.ProductCategoryChangedEvent;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +24,18 @@ public class ProductCategoryService {
 
     private final ProductCategoryRepository productCategoryRepository;
 
-    public ProductCategoryService(ProductCategoryRepository productCategoryRepository) {
+    private final ApproximateCountService approximateCountService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductCategoryService(
+        ProductCategoryRepository productCategoryRepository,
+        ApproximateCountService approximateCountService,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.productCategoryRepository = productCategoryRepository;
+        this.approximateCountService = approximateCountService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -33,7 +46,7 @@ public class ProductCategoryService {
      */
     public ProductCategory save(ProductCategory productCategory) {
         LOG.debug("Request to save ProductCategory : {}", productCategory);
-        return productCategoryRepository.save(productCategory);
+        return publishSaved(productCategoryRepository.save(productCategory));
     }
 
     /**
@@ -44,7 +57,7 @@ public class ProductCategoryService {
      */
     public ProductCategory update(ProductCategory productCategory) {
         LOG.debug("Request to update ProductCategory : {}", productCategory);
-        return productCategoryRepository.save(productCategory);
+        return publishSaved(productCategoryRepository.save(productCategory));
     }
 
     /**
@@ -68,7 +81,8 @@ public class ProductCategoryService {
 
                 return existingProductCategory;
             })
-            .map(productCategoryRepository::save);
+            .map(productCategoryRepository::save)
+            .map(this::publishSaved);
     }
 
     /**
@@ -83,6 +97,28 @@ public class ProductCategoryService {
         return productCategoryRepository.findAll(pageable);
     }
 
+    /**
+     * Get a slice of the productCategories, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ProductCategory> findAllSlice(Pageable pageable) {
+        LOG.debug("Request to get a slice of ProductCategories");
+        return productCategoryRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Get the approximate number of productCategories, refreshed in the background.
+     *
+     * @return the approximate number of entities.
+     */
+    @Transactional(readOnly = true)
+    public long countApproximately() {
+        return approximateCountService.getCount(ProductCategory.class.getName(), productCategoryRepository::count);
+    }
+
     /**
      * Get one productCategory by id.
      *
@@ -95,6 +131,18 @@ public class ProductCategoryService {
         return productCategoryRepository.findById(id);
     }
 
+    /**
+     * Get the current version of one productCategory by id, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity, or empty if it does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of ProductCategory : {}", id);
+        return productCategoryRepository.findVersionById(id);
+    }
+
     /**
      * Delete the productCategory by id.
      *
@@ -103,5 +151,11 @@ public class ProductCategoryService {
     public void delete(Long id) {
         LOG.debug("Request to delete ProductCategory : {}", id);
         productCategoryRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductCategoryChangedEvent.deleted(id));
+    }
+
+    private ProductCategory publishSaved(ProductCategory productCategory) {
+        eventPublisher.publishEvent(ProductCategoryChangedEvent.saved(productCategory));
+        return productCategory;
     }
 }
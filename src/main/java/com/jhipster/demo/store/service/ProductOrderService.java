@@ -1,13 +1,21 @@
 package com.jhipster.demo.store.service;
 
 import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.repository.ProductOrderExportRow;
 import com.jhipster.demo.store.repository.ProductOrderRepository;
+import com.jhipster.demo.store.service.event.ProductOrdersCreatedEvent;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,8 +30,36 @@ public class ProductOrderService {
 
     private final ProductOrderRepository productOrderRepository;
 
-    public ProductOrderService(ProductOrderRepository productOrderRepository) {
+    private final ApproximateCountService approximateCountService;
+
+    private final EntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductOrderService(
+        ProductOrderRepository productOrderRepository,
+        ApproximateCountService approximateCountService,
+        EntityManager entityManager,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.productOrderRepository = productOrderRepository;
+        this.approximateCountService = approximateCountService;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Filter on the order lines. {@code null} values do not filter.
+     *
+     * @param cartId the cart of the order lines.
+     * @param productId the product of the order lines.
+     * @param placedFrom the lower bound of the cart placed date, inclusive.
+     * @param placedTo the upper bound of the cart placed date, exclusive.
+     */
+    public record Filter(Long cartId, Long productId, Instant placedFrom, Instant placedTo) {
+        public boolean isEmpty() {
+            return cartId == null && productId == null && placedFrom == null && placedTo == null;
+        }
     }
 
     /**
@@ -34,7 +70,24 @@ public class ProductOrderService {
      */
     public ProductOrder save(ProductOrder productOrder) {
         LOG.debug("Request to save ProductOrder : {}", productOrder);
-        return productOrderRepository.save(productOrder);
+        ProductOrder result = productOrderRepository.save(productOrder);
+        eventPublisher.publishEvent(new ProductOrdersCreatedEvent(List.of(result)));
+        return result;
+    }
+
+    /**
+     * Save productOrders in bulk.
+     * <p>
+     * The inserts are sent in JDBC batches, and a single {@link ProductOrdersCreatedEvent} is published for all of them.
+     *
+     * @param productOrders the entities to save.
+     * @return the persisted entities.
+     */
+    public List<ProductOrder> saveAll(List<ProductOrder> productOrders) {
+        LOG.debug("Request to save {} ProductOrders", productOrders.size());
+        List<ProductOrder> result = productOrderRepository.saveAll(productOrders);
+        eventPublisher.publishEvent(new ProductOrdersCreatedEvent(result));
+        return result;
     }
 
     /**
@@ -73,14 +126,102 @@ public class ProductOrderService {
     }
 
     /**
-     * Get all the productOrders.
+     * Get the productOrders matching a filter.
      *
+     * @param filter the filter.
+     * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public List<ProductOrder> findAll() {
-        LOG.debug("Request to get all ProductOrders");
-        return productOrderRepository.findAll();
+    public Page<ProductOrder> findAll(Filter filter, Pageable pageable) {
+        LOG.debug("Request to get all ProductOrders : {}", filter);
+        return productOrderRepository.findAllByFilter(
+            filter.cartId(),
+            filter.productId(),
+            filter.placedFrom(),
+            filter.placedTo(),
+            pageable
+        );
+    }
+
+    /**
+     * Get a slice of the productOrders matching a filter, without counting them.
+     *
+     * @param filter the filter.
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ProductOrder> findAllSlice(Filter filter, Pageable pageable) {
+        LOG.debug("Request to get a slice of ProductOrders : {}", filter);
+        return productOrderRepository.findSliceByFilter(
+            filter.cartId(),
+            filter.productId(),
+            filter.placedFrom(),
+            filter.placedTo(),
+            pageable
+        );
+    }
+
+    /**
+     * Get the approximate number of productOrders, refreshed in the background.
+     *
+     * @return the approximate number of entities.
+     */
+    @Transactional(readOnly = true)
+    public long countApproximately() {
+        return approximateCountService.getCount(ProductOrder.class.getName(), productOrderRepository::count);
+    }
+
+    /**
+     * Hand every productOrder matching a filter to the given action, in id order, without holding them all in memory.
+     * <p>
+     * Each entity and its relationships are detached from the persistence context once handled, so memory stays flat
+     * whatever the number of rows. The action runs while the underlying cursor is open and must not query the database.
+     *
+     * @param filter the filter.
+     * @param action the action to apply to each entity.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Filter filter, Consumer<ProductOrder> action) {
+        LOG.debug("Request to stream all ProductOrders : {}", filter);
+        try (
+            Stream<ProductOrder> productOrders = productOrderRepository.streamAllByFilter(
+                filter.cartId(),
+                filter.productId(),
+                filter.placedFrom(),
+                filter.placedTo()
+            )
+        ) {
+            productOrders.forEach(productOrder -> {
+                action.accept(productOrder);
+                detach(productOrder);
+            });
+        }
+    }
+
+    /**
+     * Hand the export row of every productOrder matching a filter to the given action, in id order, without holding
+     * them all in memory.
+     * <p>
+     * The action runs while the underlying cursor is open and must not query the database.
+     *
+     * @param filter the filter.
+     * @param action the action to apply to each row.
+     */
+    @Transactional(readOnly = true)
+    public void streamExportRows(Filter filter, Consumer<ProductOrderExportRow> action) {
+        LOG.debug("Request to stream the export of ProductOrders : {}", filter);
+        try (
+            Stream<ProductOrderExportRow> rows = productOrderRepository.streamExportRowsByFilter(
+                filter.cartId(),
+                filter.productId(),
+                filter.placedFrom(),
+                filter.placedTo()
+            )
+        ) {
+            rows.forEach(action);
+        }
     }
 
     /**
@@ -113,4 +254,20 @@ public class ProductOrderService {
         LOG.debug("Request to delete ProductOrder : {}", id);
         productOrderRepository.deleteById(id);
     }
+
+    private void detach(ProductOrder productOrder) {
+        entityManager.detach(productOrder);
+        if (productOrder.getProduct() != null) {
+            entityManager.detach(productOrder.getProduct());
+            if (productOrder.getProduct().getProductCategory() != null) {
+                entityManager.detach(productOrder.getProduct().getProductCategory());
+            }
+        }
+        if (productOrder.getCart() != null) {
+            entityManager.detach(productOrder.getCart());
+            if (productOrder.getCart().getCustomerDetails() != null) {
+                entityManager.detach(productOrder.getCart().getCustomerDetails());
+            }
+        }
+    }
 }
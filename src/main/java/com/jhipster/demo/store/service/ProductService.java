@@ -1,12 +1,38 @@
 package com.jhipster.demo.store.service;
 
 import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.repository.ProductExportRow;
 import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.ProductSummary;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import com.jhipster.demo.store.service.event.ProductsSavedEvent;
+import com.jhipster.demo.store.service.search.ProductFacetService;
+import com.jhipster.demo.store.service.storage.BlobStore;
+import com.jhipster.demo.store.service.storage.ImageVariant;
+import com.jhipster.demo.store.service.storage.ProductImageVariantService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,10 +45,49 @@ public class ProductService {
 
     private static final Logger LOG = LoggerFactory.getLogger(ProductService.class);
 
+    /**
+     * Sort keys supported by {@link #findAllAfter(KeysetCursor, int)}, with their accessor.
+     */
+    public static final Map<String, Function<Product, Object>> KEYSET_SORT_KEYS = Map.of(
+        "id",
+        Product::getId,
+        "name",
+        Product::getName,
+        "price",
+        Product::getPrice
+    );
+
+    /**
+     * Types of the {@link #KEYSET_SORT_KEYS} whose value is not a string.
+     */
+    public static final Map<String, Class<?>> KEYSET_VALUE_TYPES = Map.of("price", BigDecimal.class);
+
     private final ProductRepository productRepository;
 
-    public ProductService(ProductRepository productRepository) {
+    private final BlobStore blobStore;
+
+    private final ApproximateCountService approximateCountService;
+
+    private final ProductImageVariantService productImageVariantService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ProductFacetService productFacetService;
+
+    public ProductService(
+        ProductRepository productRepository,
+        BlobStore blobStore,
+        ApproximateCountService approximateCountService,
+        ProductImageVariantService productImageVariantService,
+        ApplicationEventPublisher eventPublisher,
+        ProductFacetService productFacetService
+    ) {
         this.productRepository = productRepository;
+        this.blobStore = blobStore;
+        this.approximateCountService = approximateCountService;
+        this.productImageVariantService = productImageVariantService;
+        this.eventPublisher = eventPublisher;
+        this.productFacetService = productFacetService;
     }
 
     /**
@@ -33,7 +98,27 @@ public class ProductService {
      */
     public Product save(Product product) {
         LOG.debug("Request to save Product : {}", product);
-        return productRepository.save(product);
+        storeImage(product);
+        return publishSaved(productRepository.save(product));
+    }
+
+    /**
+     * Save products in bulk.
+     * <p>
+     * The inserts are sent in JDBC batches, and a single {@link ProductsSavedEvent} is published for all of them. The
+     * products are new: the variants of their images, uploaded or stored beforehand with {@link #storeImageContent},
+     * are generated once they are saved.
+     *
+     * @param products the entities to save.
+     * @return the persisted entities.
+     */
+    public List<Product> saveAll(List<Product> products) {
+        LOG.debug("Request to save {} Products", products.size());
+        products.forEach(this::storeImageContent);
+        List<Product> saved = productRepository.saveAll(products);
+        saved.forEach(product -> productImageVariantService.scheduleVariants(product.getImageHash()));
+        eventPublisher.publishEvent(new ProductsSavedEvent(saved));
+        return saved;
     }
 
     /**
@@ -44,7 +129,12 @@ public class ProductService {
      */
     public Product update(Product product) {
         LOG.debug("Request to update Product : {}", product);
-        return productRepository.save(product);
+        if (product.getImage() == null) {
+            // the hash is not accepted from clients, keep the stored image
+            product.setImageHash(productRepository.findById(product.getId()).map(Product::getImageHash).orElse(null));
+        }
+        storeImage(product);
+        return publishSaved(productRepository.save(product));
     }
 
     /**
@@ -71,16 +161,18 @@ public class ProductService {
                 if (product.getProductSize() != null) {
                     existingProduct.setProductSize(product.getProductSize());
                 }
-                if (product.getImage() != null) {
-                    existingProduct.setImage(product.getImage());
-                }
                 if (product.getImageContentType() != null) {
                     existingProduct.setImageContentType(product.getImageContentType());
                 }
+                if (product.getImage() != null) {
+                    existingProduct.setImage(product.getImage());
+                    storeImage(existingProduct);
+                }
 
                 return existingProduct;
             })
-            .map(productRepository::save);
+            .map(productRepository::save)
+            .map(this::publishSaved);
     }
 
     /**
@@ -104,6 +196,100 @@ public class ProductService {
         return productRepository.findAllWithEagerRelationships(pageable);
     }
 
+    /**
+     * Get the products matching a facet filter, in id order.
+     * <p>
+     * Matches and their total are computed from the in-memory facet index, only the requested page is read.
+     *
+     * @param filter the facet filter.
+     * @param pageable the pagination information, only the page number and size are used.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Product> findAllByFacets(ProductFacetService.Filter filter, Pageable pageable) {
+        LOG.debug("Request to get Products by facets : {}", filter);
+        Page<Long> ids = productFacetService.findIds(filter, pageable);
+        Map<Long, Product> products = productRepository
+            .findAllWithToOneRelationshipsByIdIn(ids.getContent())
+            .stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return new PageImpl<>(
+            ids.getContent().stream().map(products::get).filter(Objects::nonNull).toList(),
+            pageable,
+            ids.getTotalElements()
+        );
+    }
+
+    /**
+     * Get the summaries of all the products, read without their description and image.
+     *
+     * @param pageable the pagination information.
+     * @return the list of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductSummary> findAllSummaries(Pageable pageable) {
+        LOG.debug("Request to get all Product summaries");
+        return productRepository.findAllSummaries(pageable);
+    }
+
+    /**
+     * Get a slice of the products, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Product> findAllSlice(Pageable pageable) {
+        LOG.debug("Request to get a slice of Products");
+        return productRepository.findSliceWithToOneRelationships(pageable);
+    }
+
+    /**
+     * Hand the export row of every product to the given action, in id order, without holding them all in memory.
+     * <p>
+     * The action runs while the underlying cursor is open and must not query the database.
+     *
+     * @param action the action to apply to each row.
+     */
+    @Transactional(readOnly = true)
+    public void streamExportRows(Consumer<ProductExportRow> action) {
+        LOG.debug("Request to stream the export of all Products");
+        try (Stream<ProductExportRow> rows = productRepository.streamAllExportRows()) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * Get the approximate number of products, refreshed in the background.
+     *
+     * @return the approximate number of entities.
+     */
+    @Transactional(readOnly = true)
+    public long countApproximately() {
+        return approximateCountService.getCount(Product.class.getName(), productRepository::count);
+    }
+
+    /**
+     * Get the products following the given cursor, ordered by the cursor key then id.
+     *
+     * @param cursor the position after which to start.
+     * @param size the maximum number of entities to return.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Product> findAllAfter(KeysetCursor cursor, int size) {
+        LOG.debug("Request to get Products after : {}", cursor);
+        if (cursor.isFirst()) {
+            return productRepository.findSliceWithToOneRelationships(PageRequest.of(0, size, keysetSort(cursor.key())));
+        }
+        Pageable pageable = PageRequest.ofSize(size);
+        return switch (cursor.key()) {
+            case "name" -> productRepository.findAllAfterName(cursor.value(), cursor.id(), pageable);
+            case "price" -> productRepository.findAllAfterPrice(cursor.decimalValue(), cursor.id(), pageable);
+            default -> productRepository.findAllAfterId(cursor.id(), pageable);
+        };
+    }
+
     /**
      * Get one product by id.
      *
@@ -116,6 +302,64 @@ public class ProductService {
         return productRepository.findOneWithEagerRelationships(id);
     }
 
+    /**
+     * Get the products with the given ids, with their category.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities found, in no particular order.
+     */
+    @Transactional(readOnly = true)
+    public List<Product> findAllByIds(Collection<Long> ids) {
+        LOG.debug("Request to get Products : {}", ids);
+        return productRepository.findAllWithToOneRelationshipsByIdIn(ids);
+    }
+
+    /**
+     * Get the current version of one product by id, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity, or empty if it does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of Product : {}", id);
+        return productRepository.findVersionById(id);
+    }
+
+    /**
+     * Get the image of the "id" product.
+     *
+     * @param id the id of the product.
+     * @return the product, if it exists and has an image.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Product> findOneWithImage(Long id) {
+        LOG.debug("Request to get image of Product : {}", id);
+        return productRepository.findById(id).filter(product -> product.getImageHash() != null);
+    }
+
+    /**
+     * Get a generated variant of an image.
+     *
+     * @param imageHash the image hash of a product.
+     * @param variant the variant.
+     * @return the stored variant, or empty if it has not been generated yet.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductImageVariantService.StoredVariant> findImageVariant(String imageHash, ImageVariant variant) {
+        return productImageVariantService.findVariant(imageHash, variant);
+    }
+
+    /**
+     * Get the stored content for an image hash.
+     *
+     * @param imageHash the image hash of a product.
+     * @return the stored blob, if present.
+     */
+    public Optional<BlobStore.Blob> findImageContent(String imageHash) {
+        return blobStore.find(imageHash);
+    }
+
     /**
      * Delete the product by id.
      *
@@ -124,5 +368,45 @@ public class ProductService {
     public void delete(Long id) {
         LOG.debug("Request to delete Product : {}", id);
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
+    }
+
+    private Product publishSaved(Product product) {
+        eventPublisher.publishEvent(ProductChangedEvent.saved(product));
+        return product;
+    }
+
+    /**
+     * Move the uploaded image bytes of a product to the blob store ahead of saving it, keeping only their hash on the
+     * entity, so that callers holding many products until they save them, such as imports, do not hold their images.
+     *
+     * @param product the product, not saved yet.
+     * @throws UncheckedIOException if the image could not be stored.
+     */
+    public void storeImageContent(Product product) {
+        if (product.getImage() == null) {
+            return;
+        }
+        try {
+            product.setImageHash(blobStore.put(new ByteArrayInputStream(product.getImage())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image of Product " + product.getId(), e);
+        }
+        product.setImage(null);
+    }
+
+    /**
+     * Move uploaded image bytes to the blob store, keeping only their hash on the entity.
+     */
+    private void storeImage(Product product) {
+        if (product.getImage() == null) {
+            return;
+        }
+        storeImageContent(product);
+        productImageVariantService.scheduleVariants(product.getImageHash());
+    }
+
+    private static Sort keysetSort(String key) {
+        return "id".equals(key) ? Sort.by("id") : Sort.by(key, "id");
     }
 }
@@ -1,11 +1,32 @@
 package com.jhipster.demo.store.service;
 
 import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.repository.AccountCartRow;
+import com.jhipster.demo.store.repository.AccountOrderLineRow;
+import com.jhipster.demo.store.repository.ProductOrderRepository;
 import com.jhipster.demo.store.repository.ShoppingCartRepository;
+import com.jhipster.demo.store.service.analytics.SalesRollupService;
+import com.jhipster.demo.store.service.dto.AccountOrderDTO;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
+import com.jhipster.demo.store.service.event.ShoppingCartStatusChangedEvent;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,10 +39,51 @@ public class ShoppingCartService {
 
     private static final Logger LOG = LoggerFactory.getLogger(ShoppingCartService.class);
 
+    /**
+     * Sort keys supported by {@link #findAllAfter(KeysetCursor, int)}, with their accessor.
+     */
+    public static final Map<String, Function<ShoppingCart, Object>> KEYSET_SORT_KEYS = Map.of(
+        "id",
+        ShoppingCart::getId,
+        "placedDate",
+        ShoppingCart::getPlacedDate
+    );
+
+    /**
+     * Types of the {@link #KEYSET_SORT_KEYS} whose value is not a string.
+     */
+    public static final Map<String, Class<?>> KEYSET_VALUE_TYPES = Map.of("placedDate", Instant.class);
+
     private final ShoppingCartRepository shoppingCartRepository;
 
-    public ShoppingCartService(ShoppingCartRepository shoppingCartRepository) {
+    private final EntityVersionService entityVersionService;
+
+    private final ApproximateCountService approximateCountService;
+
+    private final EntityManager entityManager;
+
+    private final SalesRollupService salesRollupService;
+
+    private final ProductOrderRepository productOrderRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ShoppingCartService(
+        ShoppingCartRepository shoppingCartRepository,
+        EntityVersionService entityVersionService,
+        ApproximateCountService approximateCountService,
+        EntityManager entityManager,
+        SalesRollupService salesRollupService,
+        ProductOrderRepository productOrderRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.shoppingCartRepository = shoppingCartRepository;
+        this.entityVersionService = entityVersionService;
+        this.approximateCountService = approximateCountService;
+        this.entityManager = entityManager;
+        this.salesRollupService = salesRollupService;
+        this.productOrderRepository = productOrderRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -32,7 +94,9 @@ public class ShoppingCartService {
      */
     public ShoppingCart save(ShoppingCart shoppingCart) {
         LOG.debug("Request to save ShoppingCart : {}", shoppingCart);
-        return shoppingCartRepository.save(shoppingCart);
+        ShoppingCart result = shoppingCartRepository.save(shoppingCart);
+        recordChange(result.getId(), null, SalesRollupService.Placement.of(result));
+        return recordWrite(result);
     }
 
     /**
@@ -43,7 +107,10 @@ public class ShoppingCartService {
      */
     public ShoppingCart update(ShoppingCart shoppingCart) {
         LOG.debug("Request to update ShoppingCart : {}", shoppingCart);
-        return shoppingCartRepository.save(shoppingCart);
+        SalesRollupService.Placement previous = placement(shoppingCart.getId());
+        ShoppingCart result = shoppingCartRepository.save(shoppingCart);
+        recordChange(result.getId(), previous, SalesRollupService.Placement.of(result));
+        return recordWrite(result);
     }
 
     /**
@@ -58,6 +125,7 @@ public class ShoppingCartService {
         return shoppingCartRepository
             .findById(shoppingCart.getId())
             .map(existingShoppingCart -> {
+                SalesRollupService.Placement previous = SalesRollupService.Placement.of(existingShoppingCart);
                 if (shoppingCart.getPlacedDate() != null) {
                     existingShoppingCart.setPlacedDate(shoppingCart.getPlacedDate());
                 }
@@ -74,20 +142,125 @@ public class ShoppingCartService {
                     existingShoppingCart.setPaymentReference(shoppingCart.getPaymentReference());
                 }
 
-                return existingShoppingCart;
+                ShoppingCart result = shoppingCartRepository.save(existingShoppingCart);
+                recordChange(result.getId(), previous, SalesRollupService.Placement.of(result));
+                return result;
             })
-            .map(shoppingCartRepository::save);
+            .map(this::recordWrite);
     }
 
     /**
      * Get all the shoppingCarts.
      *
+     * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public List<ShoppingCart> findAll() {
+    public Page<ShoppingCart> findAll(Pageable pageable) {
         LOG.debug("Request to get all ShoppingCarts");
-        return shoppingCartRepository.findAll();
+        return shoppingCartRepository.findAllWithToOneRelationships(pageable);
+    }
+
+    /**
+     * Get a slice of the shoppingCarts, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ShoppingCart> findAllSlice(Pageable pageable) {
+        LOG.debug("Request to get a slice of ShoppingCarts");
+        return shoppingCartRepository.findSliceWithToOneRelationships(pageable);
+    }
+
+    /**
+     * Get the approximate number of shoppingCarts, refreshed in the background.
+     *
+     * @return the approximate number of entities.
+     */
+    @Transactional(readOnly = true)
+    public long countApproximately() {
+        return approximateCountService.getCount(ShoppingCart.class.getName(), shoppingCartRepository::count);
+    }
+
+    /**
+     * Get the shoppingCarts following the given cursor, ordered by the cursor key then id.
+     *
+     * @param cursor the position after which to start.
+     * @param size the maximum number of entities to return.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ShoppingCart> findAllAfter(KeysetCursor cursor, int size) {
+        LOG.debug("Request to get ShoppingCarts after : {}", cursor);
+        if (cursor.isFirst()) {
+            return shoppingCartRepository.findSliceWithToOneRelationships(PageRequest.of(0, size, keysetSort(cursor.key())));
+        }
+        Pageable pageable = PageRequest.ofSize(size);
+        return switch (cursor.key()) {
+            case "placedDate" -> shoppingCartRepository.findAllAfterPlacedDate(cursor.instantValue(), cursor.id(), pageable);
+            default -> shoppingCartRepository.findAllAfterId(cursor.id(), pageable);
+        };
+    }
+
+    /**
+     * Get the carts of the customer of a user, with their lines, most recent first.
+     * <p>
+     * Reads the carts then their lines, two queries whatever the page size.
+     *
+     * @param login the login of the user.
+     * @param cursor the position after which to start, on the {@code placedDate} key.
+     * @param size the maximum number of carts to return.
+     * @return the slice of carts.
+     */
+    @Transactional(readOnly = true)
+    public Slice<AccountOrderDTO> findAccountOrders(String login, KeysetCursor cursor, int size) {
+        LOG.debug("Request to get the ShoppingCarts of {} after : {}", login, cursor);
+        Pageable pageable = PageRequest.ofSize(size);
+        Slice<AccountCartRow> carts = cursor.isFirst()
+            ? shoppingCartRepository.findAccountCarts(login, pageable)
+            : shoppingCartRepository.findAccountCartsBefore(login, cursor.instantValue(), cursor.id(), pageable);
+        List<Long> cartIds = carts.map(AccountCartRow::id).getContent();
+        Map<Long, List<AccountOrderDTO.Line>> lines = cartIds.isEmpty()
+            ? Map.of()
+            : productOrderRepository
+                .findAccountOrderLinesByCartIdIn(cartIds)
+                .stream()
+                .collect(
+                    Collectors.groupingBy(AccountOrderLineRow::cartId, Collectors.mapping(ShoppingCartService::line, Collectors.toList()))
+                );
+        return carts.map(cart ->
+            new AccountOrderDTO(
+                cart.id(),
+                cart.placedDate(),
+                cart.status(),
+                cart.totalPrice(),
+                cart.paymentMethod(),
+                lines.getOrDefault(cart.id(), List.of())
+            )
+        );
+    }
+
+    /**
+     * Hand every shoppingCart to the given action, in id order, without holding them all in memory.
+     * <p>
+     * Each entity is detached from the persistence context once handled, so memory stays flat whatever the number of rows.
+     * The action runs while the underlying cursor is open and must not query the database.
+     *
+     * @param action the action to apply to each entity.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<ShoppingCart> action) {
+        LOG.debug("Request to stream all ShoppingCarts");
+        try (Stream<ShoppingCart> shoppingCarts = shoppingCartRepository.streamAllWithToOneRelationships()) {
+            shoppingCarts.forEach(shoppingCart -> {
+                action.accept(shoppingCart);
+                entityManager.detach(shoppingCart);
+                if (shoppingCart.getCustomerDetails() != null) {
+                    entityManager.detach(shoppingCart.getCustomerDetails());
+                }
+            });
+        }
     }
 
     /**
@@ -102,6 +275,18 @@ public class ShoppingCartService {
         return shoppingCartRepository.findById(id);
     }
 
+    /**
+     * Get the current version of one shoppingCart by id, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity, or empty if it does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of ShoppingCart : {}", id);
+        return shoppingCartRepository.findVersionById(id);
+    }
+
     /**
      * Delete the shoppingCart by id.
      *
@@ -109,6 +294,36 @@ public class ShoppingCartService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete ShoppingCart : {}", id);
+        recordChange(id, placement(id), null);
         shoppingCartRepository.deleteById(id);
+        entityVersionService.recordWrite(EntityVersionService.SHOPPING_CART);
+    }
+
+    private ShoppingCart recordWrite(ShoppingCart shoppingCart) {
+        entityVersionService.recordWrite(EntityVersionService.SHOPPING_CART);
+        return shoppingCart;
+    }
+
+    private void recordChange(Long id, SalesRollupService.Placement previous, SalesRollupService.Placement current) {
+        salesRollupService.recordChange(id, previous, current);
+        OrderStatus previousStatus = previous == null ? null : previous.status();
+        OrderStatus currentStatus = current == null ? null : current.status();
+        if (previousStatus != currentStatus) {
+            eventPublisher.publishEvent(
+                new ShoppingCartStatusChangedEvent(id, previousStatus, currentStatus, productOrderRepository.findProductIdsByCartId(id))
+            );
+        }
+    }
+
+    private SalesRollupService.Placement placement(Long id) {
+        return shoppingCartRepository.findById(id).map(SalesRollupService.Placement::of).orElse(null);
+    }
+
+    private static AccountOrderDTO.Line line(AccountOrderLineRow row) {
+        return new AccountOrderDTO.Line(row.id(), row.productId(), row.productName(), row.quantity(), row.totalPrice());
+    }
+
+    private static Sort keysetSort(String key) {
+        return "id".equals(key) ? Sort.by("id") : Sort.by(key, "id");
     }
 }
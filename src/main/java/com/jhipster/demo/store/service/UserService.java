@@ -7,21 +7,30 @@ import com.jhipster.demo.store.repository.AuthorityRepository;
 import com.jhipster.demo.store.repository.UserRepository;
 import com.jhipster.demo.store.security.AuthoritiesConstants;
 import com.jhipster.demo.store.security.SecurityUtils;
+import com.jhipster.demo.store.service.cache.CacheInvalidationService;
 import com.jhipster.demo.store.service.dto.AdminUserDTO;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
 import com.jhipster.demo.store.service.dto.UserDTO;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -33,6 +42,16 @@ public class UserService {
 
     private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
 
+    /**
+     * Sort keys supported by {@link #getAllManagedUsersAfter(KeysetCursor, int)}, with their accessor.
+     */
+    public static final Map<String, Function<AdminUserDTO, Object>> KEYSET_SORT_KEYS = Map.of(
+        "id",
+        AdminUserDTO::getId,
+        "login",
+        AdminUserDTO::getLogin
+    );
+
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
@@ -41,16 +60,24 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final ApproximateCountService approximateCountService;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        ApproximateCountService approximateCountService,
+        CacheInvalidationService cacheInvalidationService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.approximateCountService = approximateCountService;
+        this.cacheInvalidationService = cacheInvalidationService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -275,6 +302,47 @@ public class UserService {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
     }
 
+    /**
+     * Get a slice of the users, without counting them.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of users.
+     */
+    @Transactional(readOnly = true)
+    public Slice<AdminUserDTO> getAllManagedUsersSlice(Pageable pageable) {
+        return userRepository.findSliceBy(pageable).map(AdminUserDTO::new);
+    }
+
+    /**
+     * Get the approximate number of users, refreshed in the background.
+     *
+     * @return the approximate number of users.
+     */
+    @Transactional(readOnly = true)
+    public long countManagedUsersApproximately() {
+        return approximateCountService.getCount(User.class.getName(), userRepository::count);
+    }
+
+    /**
+     * Get the users following the given cursor, ordered by the cursor key then id.
+     *
+     * @param cursor the position after which to start.
+     * @param size the maximum number of users to return.
+     * @return the slice of users.
+     */
+    @Transactional(readOnly = true)
+    public Slice<AdminUserDTO> getAllManagedUsersAfter(KeysetCursor cursor, int size) {
+        Slice<User> users;
+        if (cursor.isFirst()) {
+            users = userRepository.findSliceBy(PageRequest.of(0, size, "id".equals(cursor.key()) ? Sort.by("id") : Sort.by(cursor.key(), "id")));
+        } else if ("login".equals(cursor.key())) {
+            users = userRepository.findAllAfterLogin(cursor.value(), cursor.id(), PageRequest.ofSize(size));
+        } else {
+            users = userRepository.findAllAfterId(cursor.id(), PageRequest.ofSize(size));
+        }
+        return users.map(AdminUserDTO::new);
+    }
+
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
@@ -317,8 +385,32 @@ public class UserService {
 
     private void clearUserCaches(User user) {
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
+        cacheInvalidationService.invalidateCacheEntry(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
+        evictMissingUser(UserRepository.MISSING_USERS_BY_LOGIN_CACHE, user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
+            cacheInvalidationService.invalidateCacheEntry(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail());
+            evictMissingUser(UserRepository.MISSING_USERS_BY_EMAIL_CACHE, user.getEmail());
+        }
+    }
+
+    private void evictMissingUser(String cacheName, String loginOrEmail) {
+        // same keys as DomainUserDetailsService
+        String key = loginOrEmail.toLowerCase(Locale.ENGLISH);
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName));
+        // evicted once the user is committed, a lookup running before would remember it as missing again
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        cache.evictIfPresent(key);
+                    }
+                }
+            );
+        } else {
+            cache.evictIfPresent(key);
         }
+        cacheInvalidationService.invalidateCacheEntry(cacheName, key);
     }
 }
@@ -0,0 +1,379 @@
+package com.jhipster.demo.store.service.analytics;
+
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.service.event.ProductOrdersCreatedEvent;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Ranks the best-selling products over sliding windows, in memory, from the order lines as they are created.
+ * <p>
+ * Each {@link Window} is a ring of panes, each pane a {@link CountMinSketch} of the units sold during its time slice.
+ * The window keeps the sum of its panes, subtracting a pane as it expires, and the {@value #TOP_K} products with the
+ * highest estimates. The ranking is rebuilt from the candidates of the live panes when a pane expires, and published
+ * as an immutable list, so reading it costs no computation.
+ * <p>
+ * Every minute, each node checkpoints the panes of the orders it recorded to its own rows of the
+ * {@code best_seller_pane} table, then reads the rows of the other nodes, including those written before a restart,
+ * and merges them into its windows, replacing what it read the previous time. A node never writes what it read, so
+ * the nodes add up their sales without overwriting or counting each other twice.
+ */
+@Service
+public class BestSellerService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BestSellerService.class);
+
+    /**
+     * Number of products ranked in each window.
+     */
+    public static final int TOP_K = 100;
+
+    static final int SKETCH_WIDTH = 1024;
+
+    private static final String UPSERT_PANE_SQL =
+        "insert into best_seller_pane (window_name, pane_start, node_id, sketch, candidates) values (?, ?, ?, ?, ?) as pane " +
+        "on duplicate key update sketch = pane.sketch, candidates = pane.candidates";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<Window, SlidingWindow> windows = new EnumMap<>(Window.class);
+
+    private Clock clock = Clock.systemUTC();
+
+    public BestSellerService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (Window window : Window.values()) {
+            windows.put(window, new SlidingWindow(window));
+        }
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            mergeOtherNodes(clock.instant());
+        } catch (DataAccessException e) {
+            LOG.warn("Could not restore the best sellers: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductOrdersCreated(ProductOrdersCreatedEvent event) {
+        Instant now = clock.instant();
+        windows.values().forEach(window -> window.record(now, event.productOrders()));
+    }
+
+    /**
+     * Get the best-selling products of a window.
+     *
+     * @param window the window.
+     * @param size the maximum number of products to return, at most {@value #TOP_K}.
+     * @return the products with their estimated units sold, best first.
+     */
+    public List<BestSeller> findBestSellers(Window window, int size) {
+        List<BestSeller> ranking = windows.get(window).ranking;
+        return ranking.size() <= size ? ranking : ranking.subList(0, size);
+    }
+
+    /**
+     * Expire the panes that left their window, save the panes changed since the last checkpoint and merge the panes of
+     * the other nodes.
+     * <p>
+     * This is scheduled to get fired every minute.
+     */
+    @Scheduled(initialDelay = 1, fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void checkpoint() {
+        Instant now = clock.instant();
+        for (SlidingWindow window : windows.values()) {
+            List<Object[]> rows = window.advance(now, nodeId);
+            try {
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPSERT_PANE_SQL, rows);
+                }
+                jdbcTemplate.update(
+                    "delete from best_seller_pane where window_name = ? and pane_start <= ?",
+                    window.window.name(),
+                    window.window.paneStart(now) - window.window.span()
+                );
+            } catch (DataAccessException e) {
+                LOG.warn("Could not checkpoint the best sellers of the last {}: {}", window.window.getLabel(), e.getMessage());
+                window.markDirty();
+            }
+        }
+        try {
+            mergeOtherNodes(now);
+        } catch (DataAccessException e) {
+            LOG.warn("Could not merge the best sellers of the other nodes: {}", e.getMessage());
+        }
+    }
+
+    private void mergeOtherNodes(Instant now) {
+        Map<Window, Map<Long, Pane>> panes = new EnumMap<>(Window.class);
+        jdbcTemplate.query(
+            "select window_name, pane_start, sketch, candidates from best_seller_pane where node_id <> ?",
+            rs -> {
+                Pane pane = panes
+                    .computeIfAbsent(Window.valueOf(rs.getString("window_name")), window -> new HashMap<>())
+                    .computeIfAbsent(rs.getLong("pane_start"), start -> new Pane(start, new CountMinSketch(SKETCH_WIDTH)));
+                pane.sketch.add(CountMinSketch.fromBytes(SKETCH_WIDTH, rs.getBytes("sketch")));
+                byte[] candidateBytes = rs.getBytes("candidates");
+                long[] candidates = new long[candidateBytes.length / Long.BYTES];
+                ByteBuffer.wrap(candidateBytes).asLongBuffer().get(candidates);
+                Arrays.stream(candidates).forEach(pane.candidates::add);
+            },
+            nodeId
+        );
+        windows.forEach((window, slidingWindow) -> slidingWindow.merge(now, panes.getOrDefault(window, Map.of())));
+        LOG.debug("Merged the best seller panes of the other nodes: {}", panes.values().stream().mapToInt(Map::size).sum());
+    }
+
+    /**
+     * Sliding windows of the ranking, made of panes of equal duration.
+     */
+    public enum Window {
+        HOUR("1h", Duration.ofMinutes(5), 12),
+        DAY("24h", Duration.ofHours(1), 24),
+        WEEK("7d", Duration.ofHours(6), 28);
+
+        private final String label;
+
+        private final long paneMillis;
+
+        private final int paneCount;
+
+        Window(String label, Duration pane, int paneCount) {
+            this.label = label;
+            this.paneMillis = pane.toMillis();
+            this.paneCount = paneCount;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static Optional<Window> fromLabel(String label) {
+            return Arrays.stream(values()).filter(window -> window.label.equals(label)).findFirst();
+        }
+
+        long paneStart(Instant instant) {
+            long millis = instant.toEpochMilli();
+            return millis - Math.floorMod(millis, paneMillis);
+        }
+
+        long span() {
+            return paneMillis * paneCount;
+        }
+    }
+
+    /**
+     * A ranked product.
+     *
+     * @param productId the id of the product.
+     * @param units the estimated number of units sold in the window.
+     */
+    public record BestSeller(Long productId, long units) {}
+
+    private static final class Pane {
+
+        private final long start;
+
+        /**
+         * Units sold through this node.
+         */
+        private final CountMinSketch sketch;
+
+        /**
+         * Products that entered the ranking while this pane was current.
+         */
+        private final Set<Long> candidates = new HashSet<>();
+
+        /**
+         * Pane of the other nodes, as of the last merge.
+         */
+        private Pane others;
+
+        private boolean dirty;
+
+        Pane(long start, CountMinSketch sketch) {
+            this.start = start;
+            this.sketch = sketch;
+        }
+
+        Object[] toRow(Window window, String nodeId) {
+            ByteBuffer buffer = ByteBuffer.allocate(candidates.size() * Long.BYTES);
+            candidates.forEach(buffer::putLong);
+            return new Object[] { window.name(), start, nodeId, sketch.toBytes(), buffer.array() };
+        }
+    }
+
+    private static final class SlidingWindow {
+
+        private static final Comparator<Map.Entry<Long, Integer>> BEST_FIRST = Map.Entry.<Long, Integer>comparingByValue()
+            .reversed()
+            .thenComparing(Map.Entry.comparingByKey());
+
+        private final Window window;
+
+        private final ArrayDeque<Pane> panes = new ArrayDeque<>();
+
+        private final CountMinSketch total = new CountMinSketch(SKETCH_WIDTH);
+
+        private final Map<Long, Integer> top = new HashMap<>();
+
+        private volatile List<BestSeller> ranking = List.of();
+
+        SlidingWindow(Window window) {
+            this.window = window;
+        }
+
+        synchronized void record(Instant now, List<ProductOrder> productOrders) {
+            Pane pane = rotate(now);
+            for (ProductOrder productOrder : productOrders) {
+                if (productOrder.getProduct() == null || productOrder.getQuantity() == null || productOrder.getQuantity() <= 0) {
+                    continue;
+                }
+                long productId = productOrder.getProduct().getId();
+                pane.sketch.add(productId, productOrder.getQuantity());
+                total.add(productId, productOrder.getQuantity());
+                if (offer(productId, total.estimate(productId))) {
+                    pane.candidates.add(productId);
+                }
+            }
+            pane.dirty = true;
+            publish();
+        }
+
+        /**
+         * @return the rows of the panes changed since the last call.
+         */
+        synchronized List<Object[]> advance(Instant now, String nodeId) {
+            rotate(now);
+            List<Object[]> rows = new ArrayList<>();
+            for (Pane pane : panes) {
+                if (pane.dirty) {
+                    rows.add(pane.toRow(window, nodeId));
+                    pane.dirty = false;
+                }
+            }
+            return rows;
+        }
+
+        synchronized void markDirty() {
+            panes.forEach(pane -> pane.dirty = true);
+        }
+
+        /**
+         * Replace the panes of the other nodes with the given ones.
+         */
+        synchronized void merge(Instant now, Map<Long, Pane> others) {
+            TreeMap<Long, Pane> byStart = new TreeMap<>();
+            for (Pane pane : panes) {
+                if (pane.others != null) {
+                    total.subtract(pane.others.sketch);
+                    pane.others = null;
+                }
+                byStart.put(pane.start, pane);
+            }
+            others.forEach((start, other) -> {
+                byStart.computeIfAbsent(start, s -> new Pane(s, new CountMinSketch(SKETCH_WIDTH))).others = other;
+                total.add(other.sketch);
+            });
+            panes.clear();
+            panes.addAll(byStart.values());
+            rotate(now);
+            rebuildTop();
+        }
+
+        private Pane rotate(Instant now) {
+            long start = window.paneStart(now);
+            boolean expired = false;
+            while (!panes.isEmpty() && panes.peekFirst().start <= start - window.span()) {
+                Pane pane = panes.pollFirst();
+                total.subtract(pane.sketch);
+                if (pane.others != null) {
+                    total.subtract(pane.others.sketch);
+                }
+                expired = true;
+            }
+            if (panes.isEmpty() || panes.peekLast().start < start) {
+                panes.addLast(new Pane(start, new CountMinSketch(SKETCH_WIDTH)));
+            }
+            if (expired) {
+                rebuildTop();
+            }
+            return panes.peekLast();
+        }
+
+        private boolean offer(long productId, int estimate) {
+            if (top.containsKey(productId) || top.size() < TOP_K) {
+                top.put(productId, estimate);
+                return true;
+            }
+            Map.Entry<Long, Integer> last = Collections.max(top.entrySet(), BEST_FIRST);
+            if (estimate <= last.getValue()) {
+                return false;
+            }
+            top.remove(last.getKey());
+            top.put(productId, estimate);
+            return true;
+        }
+
+        private void rebuildTop() {
+            Set<Long> candidates = new HashSet<>(top.keySet());
+            for (Pane pane : panes) {
+                candidates.addAll(pane.candidates);
+                if (pane.others != null) {
+                    candidates.addAll(pane.others.candidates);
+                }
+            }
+            top.clear();
+            for (Long productId : candidates) {
+                int estimate = total.estimate(productId);
+                if (estimate > 0) {
+                    offer(productId, estimate);
+                }
+            }
+            publish();
+        }
+
+        private void publish() {
+            ranking = top
+                .entrySet()
+                .stream()
+                .sorted(BEST_FIRST)
+                .map(entry -> new BestSeller(entry.getKey(), entry.getValue()))
+                .toList();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.jhipster.demo.store.service.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sparse symmetric matrix of the number of carts each pair of products was ordered together in, keyed by primitive
+ * product ids.
+ * <p>
+ * Products are found through an open-addressing table of {@code long} keys. Each product has a row of its neighbours,
+ * sorted by id in a {@code long[]} with their counts in a parallel {@code int[]}, and the first
+ * {@value #RANKING_SIZE} neighbours by count, ranked when the row changes so that reads only copy them. Counts
+ * dropping to zero are kept until {@link #compact()}.
+ * <p>
+ * Writes take an exclusive lock, reads a shared one.
+ */
+final class CoOccurrenceIndex {
+
+    /**
+     * Number of neighbours ranked per product.
+     */
+    static final int RANKING_SIZE = 50;
+
+    /**
+     * Carts with more distinct products are ignored: they are bulk orders, and their pairs grow quadratically.
+     */
+    static final int MAX_CART_PRODUCTS = 200;
+
+    private static final long[] NO_IDS = {};
+
+    private static final int[] NO_COUNTS = {};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private RowTable rows = new RowTable(16);
+
+    /**
+     * Count, or uncount, the pairs of products of a cart.
+     *
+     * @param productIds the ids of the products of the cart, duplicates and non positive ids are ignored.
+     * @param delta {@code 1} to count the cart, {@code -1} to uncount it.
+     * @return {@code false} if the cart was ignored, having too many products.
+     */
+    boolean addCart(long[] productIds, int delta) {
+        long[] ids = Arrays.stream(productIds).filter(id -> id > 0).sorted().distinct().toArray();
+        if (ids.length > MAX_CART_PRODUCTS) {
+            return false;
+        }
+        if (ids.length < 2) {
+            return true;
+        }
+        lock.writeLock().lock();
+        try {
+            for (long id : ids) {
+                Row row = rows.get(id);
+                if (row == null) {
+                    if (delta < 0) {
+                        continue;
+                    }
+                    row = new Row();
+                    rows = rows.put(id, row);
+                }
+                for (long neighbour : ids) {
+                    if (neighbour != id) {
+                        row.add(neighbour, delta);
+                    }
+                }
+                row.rank();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the products most often ordered with a product.
+     *
+     * @param productId the id of the product.
+     * @param limit the maximum number of products to return, at most {@value #RANKING_SIZE}.
+     * @return the products with the number of carts they share with the product, most shared first then by id.
+     */
+    List<CoOccurrenceService.RelatedProduct> related(long productId, int limit) {
+        Row row;
+        lock.readLock().lock();
+        try {
+            row = rows.get(productId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (row == null) {
+            return List.of();
+        }
+        Ranking ranking = row.ranking;
+        int size = Math.min(limit, ranking.ids.length);
+        List<CoOccurrenceService.RelatedProduct> related = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            related.add(new CoOccurrenceService.RelatedProduct(ranking.ids[i], ranking.counts[i]));
+        }
+        return related;
+    }
+
+    /**
+     * Drop the pairs whose count fell to zero and the products left without neighbours, and trim the rows to their size.
+     *
+     * @return the number of pairs left, each counted once per product.
+     */
+    long compact() {
+        lock.writeLock().lock();
+        try {
+            RowTable compacted = new RowTable(16);
+            long pairs = 0;
+            for (int slot = 0; slot < rows.keys.length; slot++) {
+                Row row = rows.values[slot];
+                if (row != null && row.compact()) {
+                    compacted = compacted.put(rows.keys[slot], row);
+                    pairs += row.size;
+                }
+            }
+            rows = compacted;
+            return pairs;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record Ranking(long[] ids, int[] counts) {}
+
+    private static final class Row {
+
+        private long[] neighbours = new long[4];
+
+        private int[] counts = new int[4];
+
+        private int size;
+
+        private volatile Ranking ranking = new Ranking(NO_IDS, NO_COUNTS);
+
+        void add(long neighbour, int delta) {
+            int index = Arrays.binarySearch(neighbours, 0, size, neighbour);
+            if (index >= 0) {
+                counts[index] = Math.max(0, counts[index] + delta);
+                return;
+            }
+            if (delta <= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == neighbours.length) {
+                neighbours = Arrays.copyOf(neighbours, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            System.arraycopy(neighbours, index, neighbours, index + 1, size - index);
+            System.arraycopy(counts, index, counts, index + 1, size - index);
+            neighbours[index] = neighbour;
+            counts[index] = delta;
+            size++;
+        }
+
+        void rank() {
+            // count in the high bits, rank of the id reversed in the low bits: descending order is by count then by id
+            long[] keys = new long[size];
+            int length = 0;
+            for (int i = 0; i < size; i++) {
+                if (counts[i] > 0) {
+                    keys[length++] = ((long) counts[i] << 32) | (size - 1 - i);
+                }
+            }
+            Arrays.sort(keys, 0, length);
+            int rankingSize = Math.min(length, RANKING_SIZE);
+            long[] ids = new long[rankingSize];
+            int[] rankedCounts = new int[rankingSize];
+            for (int i = 0; i < rankingSize; i++) {
+                long key = keys[length - 1 - i];
+                ids[i] = neighbours[size - 1 - (int) key];
+                rankedCounts[i] = (int) (key >>> 32);
+            }
+            ranking = new Ranking(ids, rankedCounts);
+        }
+
+        /**
+         * @return {@code false} if the row has no neighbour left.
+         */
+        boolean compact() {
+            int length = 0;
+            for (int i = 0; i < size; i++) {
+                if (counts[i] > 0) {
+                    neighbours[length] = neighbours[i];
+                    counts[length] = counts[i];
+                    length++;
+                }
+            }
+            size = length;
+            neighbours = Arrays.copyOf(neighbours, Math.max(length, 1));
+            counts = Arrays.copyOf(counts, Math.max(length, 1));
+            return length > 0;
+        }
+    }
+
+    /**
+     * Open-addressing hash table of the rows by product id, with linear probing; {@code 0} marks an empty slot.
+     */
+    private static final class RowTable {
+
+        private final long[] keys;
+
+        private final Row[] values;
+
+        private int size;
+
+        RowTable(int capacity) {
+            keys = new long[capacity];
+            values = new Row[capacity];
+        }
+
+        Row get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return this table, or a larger copy if this one was too full.
+         */
+        RowTable put(long key, Row value) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                RowTable grown = new RowTable(keys.length * 2);
+                for (int slot = 0; slot < keys.length; slot++) {
+                    if (keys[slot] != 0) {
+                        grown.put(keys[slot], values[slot]);
+                    }
+                }
+                return grown.put(key, value);
+            }
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+            return this;
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.jhipster.demo.store.service.analytics;
+
+import com.jhipster.demo.store.repository.ProductOrderRepository;
+import com.jhipster.demo.store.repository.SalesLine;
+import com.jhipster.demo.store.service.event.ShoppingCartStatusChangedEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Answers "frequently bought together" from an in-memory {@link CoOccurrenceIndex} of the products ordered in the same
+ * carts.
+ * <p>
+ * The index counts the carts whose status is one of {@link SalesRollupService#COUNTED_STATUSES}. It is built from the
+ * order lines at startup, then follows the carts entering or leaving those statuses on this node, and is compacted
+ * every night. It is rebuilt from the database every hour, which catches up on the carts changed on other nodes and on
+ * the order lines added to a cart after it was counted. Carts changed while it is being built are replayed onto the
+ * new index.
+ */
+@Service
+public class CoOccurrenceService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CoOccurrenceService.class);
+
+    /**
+     * Maximum number of related products returned for a product.
+     */
+    public static final int MAX_RELATED = CoOccurrenceIndex.RANKING_SIZE;
+
+    private final ProductOrderRepository productOrderRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object rebuildLock = new Object();
+
+    private final Object writeLock = new Object();
+
+    // replaced under writeLock
+    private volatile CoOccurrenceIndex index = new CoOccurrenceIndex();
+
+    // the carts changed since the running rebuild started, guarded by writeLock, null when no rebuild is running
+    private List<CartChange> changesDuringRebuild;
+
+    public CoOccurrenceService(ProductOrderRepository productOrderRepository, TransactionTemplate transactionTemplate) {
+        this.productOrderRepository = productOrderRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            LOG.warn("Could not build the co-occurrence index: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShoppingCartStatusChanged(ShoppingCartStatusChangedEvent event) {
+        boolean wasCounted = event.previous() != null && SalesRollupService.COUNTED_STATUSES.contains(event.previous());
+        boolean isCounted = event.current() != null && SalesRollupService.COUNTED_STATUSES.contains(event.current());
+        if (wasCounted != isCounted) {
+            long[] productIds = event.productIds().stream().filter(Objects::nonNull).mapToLong(Long::longValue).toArray();
+            CartChange change = new CartChange(productIds, isCounted ? 1 : -1);
+            synchronized (writeLock) {
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(change);
+                }
+                index.addCart(change.productIds(), change.delta());
+            }
+        }
+    }
+
+    /**
+     * Get the products most often ordered in the same cart as a product.
+     *
+     * @param productId the id of the product.
+     * @param limit the maximum number of products to return, at most {@value #MAX_RELATED}.
+     * @return the related products, most shared carts first.
+     */
+    public List<RelatedProduct> findRelated(Long productId, int limit) {
+        return index.related(productId, limit);
+    }
+
+    /**
+     * Build the index from the order lines of the counted carts, and replace the current one.
+     *
+     * @return the number of carts counted.
+     */
+    public long rebuild() {
+        LOG.debug("Request to build the co-occurrence index");
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                CoOccurrenceIndex rebuilt = new CoOccurrenceIndex();
+                Long carts = transactionTemplate.execute(status -> {
+                    try (Stream<SalesLine> lines = productOrderRepository.streamSalesLinesByStatus(SalesRollupService.COUNTED_STATUSES)) {
+                        CartCollector collector = new CartCollector(rebuilt);
+                        lines.forEach(collector::accept);
+                        return collector.finish();
+                    }
+                });
+                synchronized (writeLock) {
+                    // a cart committed just before the lines were read may be counted twice, until the next rebuild
+                    changesDuringRebuild.forEach(change -> rebuilt.addCart(change.productIds(), change.delta()));
+                    index = rebuilt;
+                    LOG.info("Built the co-occurrence index from {} carts, replayed {} changes", carts, changesDuringRebuild.size());
+                }
+                return carts == null ? 0 : carts;
+            } finally {
+                synchronized (writeLock) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuild the index, catching up on the carts changed on other nodes and on the lines added to counted carts.
+     * <p>
+     * This is scheduled to get fired every hour.
+     */
+    @Scheduled(initialDelay = 1, fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            LOG.warn("Could not rebuild the co-occurrence index, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the pairs of products no longer ordered together, and release the memory they held.
+     * <p>
+     * This is scheduled to get fired every day, at 02:30 (am).
+     */
+    @Scheduled(cron = "0 30 2 * * ?")
+    public void compact() {
+        LOG.debug("Request to compact the co-occurrence index");
+        LOG.info("Compacted the co-occurrence index to {} pairs", index.compact());
+    }
+
+    /**
+     * A product ordered with another.
+     *
+     * @param productId the id of the product.
+     * @param carts the number of counted carts both products were ordered in.
+     */
+    public record RelatedProduct(Long productId, int carts) {}
+
+    private record CartChange(long[] productIds, int delta) {}
+
+    /**
+     * Gathers the lines of each cart, read contiguously, and adds the cart to the index when its last line is read.
+     */
+    private static final class CartCollector {
+
+        private final CoOccurrenceIndex index;
+
+        private Long cartId;
+
+        private long[] productIds = new long[16];
+
+        private int size;
+
+        private long carts;
+
+        CartCollector(CoOccurrenceIndex index) {
+            this.index = index;
+        }
+
+        void accept(SalesLine line) {
+            if (!line.cartId().equals(cartId)) {
+                flush();
+                cartId = line.cartId();
+            }
+            if (size == productIds.length) {
+                productIds = Arrays.copyOf(productIds, size * 2);
+            }
+            productIds[size++] = line.productId();
+        }
+
+        long finish() {
+            flush();
+            return carts;
+        }
+
+        private void flush() {
+            if (size > 0) {
+                index.addCart(Arrays.copyOf(productIds, size), 1);
+                carts++;
+                size = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.jhipster.demo.store.service.analytics;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Count-Min sketch over {@code long} keys: a fixed-size table of counters estimating the count of any key, never
+ * under, and over by at most {@code e / width} of the total count with probability {@code 1 - e^-depth}.
+ * <p>
+ * Sketches of the same size can be added to and subtracted from each other, which is how sliding windows are kept.
+ */
+final class CountMinSketch {
+
+    private static final long[] SEEDS = { 0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L };
+
+    static final int DEPTH = SEEDS.length;
+
+    private final int width;
+
+    private final int[] counters;
+
+    /**
+     * @param width the number of counters per row, a power of two.
+     */
+    CountMinSketch(int width) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two: " + width);
+        }
+        this.width = width;
+        this.counters = new int[DEPTH * width];
+    }
+
+    /**
+     * Read a sketch written by {@link #toBytes()}.
+     *
+     * @param width the number of counters per row of the written sketch.
+     * @param bytes the written sketch.
+     * @return the sketch.
+     */
+    static CountMinSketch fromBytes(int width, byte[] bytes) {
+        CountMinSketch sketch = new CountMinSketch(width);
+        ByteBuffer.wrap(bytes).asIntBuffer().get(sketch.counters);
+        return sketch;
+    }
+
+    void add(long key, int count) {
+        for (int row = 0; row < DEPTH; row++) {
+            counters[row * width + index(key, row)] += count;
+        }
+    }
+
+    int estimate(long key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters[row * width + index(key, row)]);
+        }
+        return estimate;
+    }
+
+    void add(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+    }
+
+    void subtract(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] -= other.counters[i];
+        }
+    }
+
+    byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(counters.length * Integer.BYTES);
+        buffer.asIntBuffer().put(counters);
+        return buffer.array();
+    }
+
+    private int index(long key, int row) {
+        // splitmix64 finalizer, one seed per row
+        long hash = key ^ SEEDS[row];
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash = hash ^ (hash >>> 31);
+        return (int) hash & (width - 1);
+    }
+}
@@ -0,0 +1,380 @@
+package com.jhipster.demo.store.service.analytics;
+
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.repository.ProductOrderRepository;
+import com.jhipster.demo.store.repository.SalesLine;
+import com.jhipster.demo.store.service.dto.RevenueDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the {@code sales_rollup} table: units, revenue and number of carts per hour and per day, order status and
+ * product, with the totals of each category and of all products.
+ * <p>
+ * Rollups count the carts whose status is one of {@link #COUNTED_STATUSES}. They are updated in the transaction that
+ * moves a cart into, out of or between those statuses, from the order lines of the cart at that time. Order lines
+ * changed afterwards are caught up by {@link #reconcile()}, which rebuilds the last two days every night, and
+ * {@link #backfill(LocalDate, LocalDate)} rebuilds any range of days.
+ * <p>
+ * Rebuilds hold the {@code sales_rollup_rebuild} MySQL named lock until their transaction completes, so that the
+ * reconciliation fired on every node at the same time, or a backfill running meanwhile, rebuild one after the other,
+ * each replacing the rows of the previous one, instead of deadlocking or adding their rows to each other.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SalesRollupService.class);
+
+    /**
+     * Statuses of the carts counted in the rollups.
+     */
+    public static final Set<OrderStatus> COUNTED_STATUSES = Set.of(OrderStatus.PAID, OrderStatus.COMPLETED);
+
+    /**
+     * Id standing for all the products, or all the categories, in the rollup keys.
+     */
+    private static final long ALL = 0L;
+
+    private static final String REBUILD_LOCK = "sales_rollup_rebuild";
+
+    private static final int REBUILD_LOCK_TIMEOUT_SECONDS = 600;
+
+    private static final String UPSERT_SQL =
+        "insert into sales_rollup (granularity, bucket_start, order_status, product_id, product_category_id, units, revenue, " +
+        "order_count) values (?, ?, ?, ?, ?, ?, ?, ?) as delta on duplicate key update units = sales_rollup.units + delta.units, " +
+        "revenue = sales_rollup.revenue + delta.revenue, order_count = sales_rollup.order_count + delta.order_count";
+
+    private final ProductOrderRepository productOrderRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesRollupService(
+        ProductOrderRepository productOrderRepository,
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate
+    ) {
+        this.productOrderRepository = productOrderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Update the rollups after a cart changed, if it entered, left or moved within the counted statuses.
+     *
+     * @param cartId the id of the cart.
+     * @param previous the status and date of the cart before the change, or {@code null} if it did not exist.
+     * @param current the status and date of the cart after the change, or {@code null} if it is being deleted.
+     */
+    @Transactional
+    public void recordChange(Long cartId, Placement previous, Placement current) {
+        boolean wasCounted = previous != null && COUNTED_STATUSES.contains(previous.status());
+        boolean isCounted = current != null && COUNTED_STATUSES.contains(current.status());
+        if ((!wasCounted && !isCounted) || Objects.equals(previous, current)) {
+            return;
+        }
+        List<SalesLine> lines = productOrderRepository.findSalesLinesByCartId(cartId);
+        if (lines.isEmpty()) {
+            return;
+        }
+        LOG.debug("Request to roll up ShoppingCart {} : {} -> {}", cartId, previous, current);
+        Contributions contributions = new Contributions();
+        if (wasCounted) {
+            contributions.addCart(previous.status(), previous.placedDate(), lines, -1);
+        }
+        if (isCounted) {
+            contributions.addCart(current.status(), current.placedDate(), lines, 1);
+        }
+        write(contributions);
+    }
+
+    /**
+     * Get the sales between two instants, read from the rollups.
+     * <p>
+     * Daily rollups are read when both bounds fall on a day, hourly ones otherwise.
+     *
+     * @param from the start of the range, inclusive, on an hour.
+     * @param to the end of the range, exclusive, on an hour.
+     * @param groupBy the dimensions to group by, at most one of {@link Dimension#HOUR} and {@link Dimension#DAY}.
+     * @return the sales of each group, ordered by the grouped dimensions.
+     * @throws IllegalArgumentException if the range or the dimensions are invalid.
+     */
+    @Transactional(readOnly = true)
+    public List<RevenueDTO> findRevenue(Instant from, Instant to, Set<Dimension> groupBy) {
+        LOG.debug("Request to get revenue from {} to {} by {}", from, to, groupBy);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (!Granularity.HOUR.isAligned(from) || !Granularity.HOUR.isAligned(to)) {
+            throw new IllegalArgumentException("from and to must fall on an hour");
+        }
+        if (groupBy.contains(Dimension.HOUR) && groupBy.contains(Dimension.DAY)) {
+            throw new IllegalArgumentException("Cannot group by both hour and day");
+        }
+        boolean byPeriod = groupBy.contains(Dimension.HOUR) || groupBy.contains(Dimension.DAY);
+        boolean byProduct = groupBy.contains(Dimension.PRODUCT);
+        boolean byCategory = byProduct || groupBy.contains(Dimension.CATEGORY);
+        boolean byStatus = groupBy.contains(Dimension.STATUS);
+        Granularity granularity = groupBy.contains(Dimension.HOUR) ||
+            (!groupBy.contains(Dimension.DAY) && !(Granularity.DAY.isAligned(from) && Granularity.DAY.isAligned(to)))
+            ? Granularity.HOUR
+            : Granularity.DAY;
+
+        List<String> columns = new ArrayList<>();
+        if (byPeriod) {
+            columns.add("bucket_start");
+        }
+        if (byProduct) {
+            columns.add("product_id");
+        }
+        if (byCategory) {
+            columns.add("product_category_id");
+        }
+        if (byStatus) {
+            columns.add("order_status");
+        }
+        String level = byProduct
+            ? "product_id <> 0"
+            : byCategory ? "product_id = 0 and product_category_id <> 0" : "product_id = 0 and product_category_id = 0";
+        String grouping = String.join(", ", columns);
+        String sql =
+            "select " +
+            (columns.isEmpty() ? "" : grouping + ", ") +
+            "sum(units) as units, sum(revenue) as revenue, sum(order_count) as order_count from sales_rollup " +
+            "where granularity = ? and bucket_start >= ? and bucket_start < ? and " +
+            level +
+            (columns.isEmpty() ? "" : " group by " + grouping + " order by " + grouping);
+        return jdbcTemplate.query(
+            sql,
+            (rs, rowNum) ->
+                new RevenueDTO(
+                    byPeriod ? Instant.ofEpochSecond(rs.getLong("bucket_start")) : null,
+                    byProduct ? rs.getLong("product_id") : null,
+                    byCategory ? rs.getLong("product_category_id") : null,
+                    byStatus ? OrderStatus.valueOf(rs.getString("order_status")) : null,
+                    rs.getLong("units"),
+                    Objects.requireNonNullElse(rs.getBigDecimal("revenue"), BigDecimal.ZERO),
+                    rs.getLong("order_count")
+                ),
+            granularity.name(),
+            from.getEpochSecond(),
+            to.getEpochSecond()
+        );
+    }
+
+    /**
+     * Rebuild the rollups of a range of days, each day in its own transaction unless one is already active.
+     *
+     * @param from the first day, UTC, inclusive.
+     * @param to the last day, UTC, exclusive.
+     * @return the number of carts rolled up.
+     */
+    public long backfill(LocalDate from, LocalDate to) {
+        LOG.debug("Request to rebuild sales rollups from {} to {}", from, to);
+        long carts = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            Instant start = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+            Instant end = start.plus(1, ChronoUnit.DAYS);
+            carts += transactionTemplate.execute(status -> rebuild(start, end));
+        }
+        LOG.info("Rebuilt sales rollups from {} to {} with {} carts", from, to, carts);
+        return carts;
+    }
+
+    /**
+     * Rebuild the rollups of the previous and current day, catching up on order lines changed after their cart was paid.
+     * <p>
+     * This is scheduled to get fired every day, at 02:00 (am).
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void reconcile() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        try {
+            backfill(today.minusDays(1), today.plusDays(1));
+        } catch (DataAccessException e) {
+            LOG.warn("Sales rollup reconciliation failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private long rebuild(Instant from, Instant to) {
+        lockRebuilds();
+        // locks the rebuilt range, so that carts paid meanwhile are added once this transaction commits
+        for (Granularity granularity : Granularity.values()) {
+            jdbcTemplate.update(
+                "delete from sales_rollup where granularity = ? and bucket_start >= ? and bucket_start < ?",
+                granularity.name(),
+                from.getEpochSecond(),
+                to.getEpochSecond()
+            );
+        }
+        Contributions contributions = new Contributions();
+        long carts = 0;
+        List<SalesLine> cart = new ArrayList<>();
+        // rows are written once the cursor is closed, as MySQL cannot run another statement while it is open
+        try (Stream<SalesLine> lines = productOrderRepository.streamSalesLines(COUNTED_STATUSES, from, to)) {
+            Iterator<SalesLine> iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                SalesLine line = iterator.next();
+                if (!cart.isEmpty() && !cart.get(0).cartId().equals(line.cartId())) {
+                    contributions.addCart(cart.get(0).status(), cart.get(0).placedDate(), cart, 1);
+                    carts++;
+                    cart.clear();
+                }
+                cart.add(line);
+            }
+        }
+        if (!cart.isEmpty()) {
+            contributions.addCart(cart.get(0).status(), cart.get(0).placedDate(), cart, 1);
+            carts++;
+        }
+        write(contributions);
+        return carts;
+    }
+
+    private void lockRebuilds() {
+        Integer locked = jdbcTemplate.queryForObject("select get_lock(?, ?)", Integer.class, REBUILD_LOCK, REBUILD_LOCK_TIMEOUT_SECONDS);
+        if (!Integer.valueOf(1).equals(locked)) {
+            throw new CannotAcquireLockException("Timed out waiting for another sales rollup rebuild");
+        }
+        // the lock belongs to the connection, which is still bound to the transaction after it completes
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    jdbcTemplate.queryForObject("select release_lock(?)", Integer.class, REBUILD_LOCK);
+                }
+            }
+        );
+    }
+
+    private void write(Contributions contributions) {
+        List<Object[]> rows = new ArrayList<>(contributions.totals.size());
+        contributions.totals.forEach((key, totals) ->
+            rows.add(
+                new Object[] {
+                    key.granularity().name(),
+                    key.bucketStart(),
+                    key.status().name(),
+                    key.productId(),
+                    key.productCategoryId(),
+                    totals.units,
+                    totals.revenue,
+                    totals.orders,
+                }
+            )
+        );
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    /**
+     * Time buckets of the rollups, aligned on UTC.
+     */
+    public enum Granularity {
+        HOUR(ChronoUnit.HOURS),
+        DAY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Granularity(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        long bucketStart(Instant instant) {
+            return instant.truncatedTo(unit).getEpochSecond();
+        }
+
+        boolean isAligned(Instant instant) {
+            return instant.truncatedTo(unit).equals(instant);
+        }
+    }
+
+    /**
+     * Dimensions a revenue report can be grouped by.
+     */
+    public enum Dimension {
+        HOUR,
+        DAY,
+        PRODUCT,
+        CATEGORY,
+        STATUS,
+    }
+
+    /**
+     * The fields of a cart its rollups are keyed by.
+     *
+     * @param status the status of the cart.
+     * @param placedDate the date the cart was placed.
+     */
+    public record Placement(OrderStatus status, Instant placedDate) {
+        public static Placement of(ShoppingCart shoppingCart) {
+            return new Placement(shoppingCart.getStatus(), shoppingCart.getPlacedDate());
+        }
+    }
+
+    private record Key(Granularity granularity, long bucketStart, OrderStatus status, long productId, long productCategoryId) {}
+
+    private static final class Totals {
+
+        private long units;
+
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        private long orders;
+    }
+
+    /**
+     * Changes to apply to the rollups, summed per key.
+     */
+    private static final class Contributions {
+
+        private final Map<Key, Totals> totals = new LinkedHashMap<>();
+
+        void addCart(OrderStatus status, Instant placedDate, List<SalesLine> lines, int sign) {
+            for (Granularity granularity : Granularity.values()) {
+                long bucketStart = granularity.bucketStart(placedDate);
+                Set<Key> counted = new HashSet<>();
+                for (SalesLine line : lines) {
+                    for (Key key : List.of(
+                        new Key(granularity, bucketStart, status, line.productId(), line.productCategoryId()),
+                        new Key(granularity, bucketStart, status, ALL, line.productCategoryId()),
+                        new Key(granularity, bucketStart, status, ALL, ALL)
+                    )) {
+                        Totals keyTotals = totals.computeIfAbsent(key, k -> new Totals());
+                        keyTotals.units += (long) sign * line.quantity();
+                        keyTotals.revenue = sign > 0
+                            ? keyTotals.revenue.add(line.totalPrice())
+                            : keyTotals.revenue.subtract(line.totalPrice());
+                        if (counted.add(key)) {
+                            keyTotals.orders += sign;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Sales analytics: rollup tables maintained as carts are paid, and best-seller rankings and products bought together
+ * kept in memory from order lines.
+ */
+package com.jhipster.demo.store.service.analytics;
@@ -0,0 +1,67 @@
+package com.jhipster.demo.store.service.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines one at a time, holding at most {@code maxLineLength} characters in memory.
+ * <p>
+ * Lines may end with {@code \n} or {@code \r\n}. A longer line is skipped up to its end and reported with a
+ * {@link LineTooLongException}, after which reading can go on with the next line.
+ */
+class BoundedLineReader {
+
+    private final Reader reader;
+
+    private final int maxLineLength;
+
+    BoundedLineReader(Reader reader, int maxLineLength) {
+        this.reader = reader;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * @return the next line, without its line break, or {@code null} at the end of the input.
+     * @throws LineTooLongException if the line is longer than allowed; it was skipped.
+     * @throws IOException if the input cannot be read.
+     */
+    String next() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder line = new StringBuilder();
+        while (c != -1 && c != '\n') {
+            if (line.length() == maxLineLength) {
+                skipLine();
+                throw new LineTooLongException(maxLineLength);
+            }
+            line.append((char) c);
+            c = reader.read();
+        }
+        int last = line.length() - 1;
+        if (last >= 0 && line.charAt(last) == '\r') {
+            line.setLength(last);
+        }
+        return line.toString();
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = reader.read();
+        } while (c != -1 && c != '\n');
+    }
+
+    /**
+     * Thrown when a line is longer than allowed.
+     */
+    static class LineTooLongException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        LineTooLongException(int maxLineLength) {
+            super("Line longer than " + maxLineLength + " characters");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.jhipster.demo.store.service.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads delimited records one at a time, holding a single record of bounded size in memory.
+ * <p>
+ * Fields may be quoted with {@code "}, in which case they can contain the separator, line breaks and doubled quotes.
+ * Lines may end with {@code \n} or {@code \r\n}.
+ */
+class CsvRecordReader {
+
+    private final Reader reader;
+
+    private final char separator;
+
+    private final int maxFieldLength;
+
+    private final int maxFields;
+
+    CsvRecordReader(Reader reader, char separator, int maxFieldLength, int maxFields) {
+        this.reader = reader;
+        this.separator = separator;
+        this.maxFieldLength = maxFieldLength;
+        this.maxFields = maxFields;
+    }
+
+    /**
+     * @return the fields of the next record, or {@code null} at the end of the input.
+     * @throws IOException if the input cannot be read, ends inside a quoted field, or has a field longer than allowed or
+     * more fields in a record than allowed.
+     */
+    List<String> next() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                append(field, c);
+            } else if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == separator) {
+                if (fields.size() == maxFields - 1) {
+                    throw new IOException("Record with more than " + maxFields + " fields");
+                }
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c != '\r') {
+                append(field, c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private void append(StringBuilder field, int c) throws IOException {
+        if (field.length() == maxFieldLength) {
+            throw new IOException("Field longer than " + maxFieldLength + " characters");
+        }
+        field.append((char) c);
+    }
+}
@@ -0,0 +1,355 @@
+package com.jhipster.demo.store.service.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.service.ProductService;
+import com.jhipster.demo.store.service.dto.ProductImportReportDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports products from a CSV or NDJSON stream.
+ * <p>
+ * Rows are parsed and validated one at a time, then written in batches of {@value #BATCH_SIZE}, each in its own
+ * transaction, so memory stays flat whatever the size of the input. Images are moved to the blob store as soon as their
+ * row is validated, a batch only holds their hashes. A batch rejected by the database is replayed row by row to report
+ * the offending rows, the others being imported; the images of rejected rows are collected with the other orphan
+ * blobs. Product categories are resolved from a map loaded once per import.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductImportService.class);
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    static final int BATCH_SIZE = 500;
+
+    private static final char CSV_SEPARATOR = ';';
+
+    private static final int MAX_FIELD_LENGTH = 1 << 16;
+
+    private static final int MAX_FIELDS = 256;
+
+    /**
+     * Leaves room for a product with an image of about 6 MB, encoded in base64.
+     */
+    static final int MAX_LINE_LENGTH = 1 << 23;
+
+    private final ProductService productService;
+
+    private final ProductCategoryRepository productCategoryRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    public ProductImportService(
+        ProductService productService,
+        ProductCategoryRepository productCategoryRepository,
+        TransactionTemplate transactionTemplate,
+        Validator validator,
+        ObjectMapper objectMapper
+    ) {
+        this.productService = productService;
+        this.productCategoryRepository = productCategoryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Import products from CSV, laid out as {@code config/liquibase/fake-data/product.csv}.
+     * <p>
+     * The first record names the columns, separated by {@code ;}. The {@code id}, {@code image} and
+     * {@code image_content_type} columns are ignored. The category is given by {@code product_category_id}, or by name
+     * in a {@code product_category} column.
+     *
+     * @param input the CSV content.
+     * @param charset the charset of the content.
+     * @return the import report.
+     * @throws IllegalArgumentException if a required column is missing.
+     */
+    public ProductImportReportDTO importCsv(InputStream input, Charset charset) {
+        LOG.debug("Request to import Products from CSV");
+        Run run = new Run();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, charset));
+        CsvRecordReader records = new CsvRecordReader(reader, CSV_SEPARATOR, MAX_FIELD_LENGTH, MAX_FIELDS);
+        try {
+            List<String> header = records.next();
+            if (header == null) {
+                return run.finish();
+            }
+            Map<String, Integer> columns = columns(header);
+            List<String> fields;
+            while ((fields = records.next()) != null) {
+                long row = run.nextRow();
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                try {
+                    run.add(row, fromCsv(fields, columns, run));
+                } catch (IllegalArgumentException e) {
+                    run.reject(row, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            run.reject(run.nextRow(), "Import stopped: " + e.getMessage());
+        }
+        return run.finish();
+    }
+
+    /**
+     * Import products from NDJSON, one product per line in the JSON format of {@code POST /api/products}.
+     * <p>
+     * Ids and versions are ignored. The category is given by its {@code id}, or by its {@code name}. Lines longer than
+     * {@value #MAX_LINE_LENGTH} characters are rejected without being held in memory.
+     *
+     * @param input the NDJSON content.
+     * @param charset the charset of the content.
+     * @return the import report.
+     */
+    public ProductImportReportDTO importNdjson(InputStream input, Charset charset) {
+        LOG.debug("Request to import Products from NDJSON");
+        Run run = new Run();
+        BoundedLineReader lines = new BoundedLineReader(new BufferedReader(new InputStreamReader(input, charset)), MAX_LINE_LENGTH);
+        try {
+            while (true) {
+                String line;
+                try {
+                    line = lines.next();
+                } catch (BoundedLineReader.LineTooLongException e) {
+                    run.reject(run.nextRow(), e.getMessage());
+                    continue;
+                }
+                if (line == null) {
+                    break;
+                }
+                long row = run.nextRow();
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Product product = objectMapper.readValue(line, Product.class);
+                    product.setId(null);
+                    product.setVersion(null);
+                    ProductCategory category = product.getProductCategory();
+                    if (category != null) {
+                        product.setProductCategory(run.category(category.getId(), category.getName()));
+                    }
+                    run.add(row, product);
+                } catch (JsonProcessingException e) {
+                    run.reject(row, "Invalid JSON: " + e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    run.reject(row, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            run.reject(run.nextRow(), "Import stopped: " + e.getMessage());
+        }
+        return run.finish();
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).strip().toLowerCase(Locale.ROOT);
+            // drop the byte order mark some spreadsheets write
+            columns.putIfAbsent(i == 0 && name.startsWith("\uFEFF") ? name.substring(1) : name, i);
+        }
+        for (String required : List.of("name", "price", "product_size")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Missing column: " + required);
+            }
+        }
+        if (!columns.containsKey("product_category_id") && !columns.containsKey("product_category")) {
+            throw new IllegalArgumentException("Missing column: product_category_id or product_category");
+        }
+        return columns;
+    }
+
+    private static Product fromCsv(List<String> fields, Map<String, Integer> columns, Run run) {
+        Product product = new Product()
+            .name(field(fields, columns, "name"))
+            .description(field(fields, columns, "description"))
+            .price(parse(fields, columns, "price", BigDecimal::new))
+            .productSize(parse(fields, columns, "product_size", value -> Size.valueOf(value.toUpperCase(Locale.ROOT))));
+        product.setProductCategory(
+            run.category(parse(fields, columns, "product_category_id", Long::valueOf), field(fields, columns, "product_category"))
+        );
+        return product;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static <T> T parse(List<String> fields, Map<String, Integer> columns, String column, Function<String, T> parser) {
+        String value = field(fields, columns, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value.strip());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value, e);
+        }
+    }
+
+    /**
+     * State of one import: category lookups, the pending batch and the counters.
+     */
+    private final class Run {
+
+        private final long start = System.nanoTime();
+
+        private final Map<Long, ProductCategory> categoriesById = new HashMap<>();
+
+        private final Map<String, ProductCategory> categoriesByName = new HashMap<>();
+
+        private final List<Product> batch = new ArrayList<>(BATCH_SIZE);
+
+        private final List<Long> batchRows = new ArrayList<>(BATCH_SIZE);
+
+        private final List<ProductImportReportDTO.RowError> errors = new ArrayList<>();
+
+        private long rows;
+
+        private long imported;
+
+        private long rejected;
+
+        Run() {
+            productCategoryRepository
+                .findAll()
+                .forEach(category -> {
+                    categoriesById.put(category.getId(), category);
+                    categoriesByName.putIfAbsent(category.getName(), category);
+                });
+        }
+
+        long nextRow() {
+            return ++rows;
+        }
+
+        ProductCategory category(Long id, String name) {
+            if (id != null) {
+                ProductCategory category = categoriesById.get(id);
+                if (category == null) {
+                    throw new IllegalArgumentException("Unknown product category id: " + id);
+                }
+                return category;
+            }
+            if (name != null) {
+                ProductCategory category = categoriesByName.get(name);
+                if (category == null) {
+                    throw new IllegalArgumentException("Unknown product category: " + name);
+                }
+                return category;
+            }
+            return null;
+        }
+
+        void add(long row, Product product) {
+            Set<ConstraintViolation<Product>> violations = validator.validate(product);
+            if (!violations.isEmpty()) {
+                reject(
+                    row,
+                    violations
+                        .stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "))
+                );
+                return;
+            }
+            try {
+                productService.storeImageContent(product);
+            } catch (UncheckedIOException e) {
+                reject(row, e.getMessage());
+                return;
+            }
+            batch.add(product);
+            batchRows.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            rejected++;
+            if (errors.size() < ProductImportReportDTO.MAX_ERRORS) {
+                errors.add(new ProductImportReportDTO.RowError(row, message));
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> productService.saveAll(batch));
+                imported += batch.size();
+            } catch (DataAccessException | TransactionException e) {
+                LOG.debug("Batch rejected, replaying it row by row: {}", e.getMessage());
+                for (int i = 0; i < batch.size(); i++) {
+                    saveOne(batchRows.get(i), batch.get(i));
+                }
+            } finally {
+                batch.clear();
+                batchRows.clear();
+            }
+        }
+
+        private void saveOne(long row, Product product) {
+            // the rolled back batch may have assigned them
+            product.setId(null);
+            product.setVersion(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> productService.saveAll(List.of(product)));
+                imported++;
+            } catch (DataAccessException | TransactionException e) {
+                reject(row, e.getMostSpecificCause().getMessage());
+            }
+        }
+
+        ProductImportReportDTO finish() {
+            flush();
+            long elapsedNanos = System.nanoTime() - start;
+            double rowsPerSecond = elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+            LOG.info("Imported {} of {} product rows in {} ms ({} rows/s)", imported, rows, elapsedNanos / 1_000_000, (long) rowsPerSecond);
+            return new ProductImportReportDTO(rows, imported, rejected, elapsedNanos / 1_000_000, rowsPerSecond, List.copyOf(errors));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Bulk writes streamed from request bodies, applied in batched transactions.
+ */
+package com.jhipster.demo.store.service.bulk;
@@ -0,0 +1,141 @@
+package com.jhipster.demo.store.service.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Collects the second-level cache entries a session invalidates, the same ones Hibernate evicts or replaces locally:
+ * updated and deleted entities, and updated and removed collections. Inserts invalidate nothing, but those of the
+ * {@link CacheInvalidationService#READ_MODEL_ENTITIES} are logged too, so that the other nodes add them to their read
+ * models.
+ * <p>
+ * The invalidations of a transaction are written to the log in one batch just before it commits, on its connection,
+ * so that they are committed, or rolled back, with the changes.
+ */
+class CacheInvalidationListener
+    implements
+        PostInsertEventListener,
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final Map<SharedSessionContractImplementor, PendingInvalidations> pending = Collections.synchronizedMap(new WeakHashMap<>());
+
+    CacheInvalidationListener(CacheInvalidationService cacheInvalidationService) {
+        this.cacheInvalidationService = cacheInvalidationService;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (CacheInvalidationService.READ_MODEL_ENTITIES.contains(event.getPersister().getEntityName())) {
+            onEntityChange(event.getSession(), event.getPersister(), event.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        onEntityChange(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        onEntityChange(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        onCollectionChange(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        onCollectionChange(event);
+    }
+
+    private void onEntityChange(EventSource session, EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            record(
+                session,
+                new CacheInvalidationService.Invalidation(
+                    CacheInvalidationService.Kind.ENTITY,
+                    persister.getEntityName(),
+                    CacheInvalidationService.identifierToString(persister, id)
+                )
+            );
+        }
+    }
+
+    private void onCollectionChange(AbstractCollectionEvent event) {
+        Object ownerId = event.getAffectedOwnerIdOrNull();
+        if (ownerId == null) {
+            return;
+        }
+        String role = event.getCollection().getRole();
+        CollectionPersister persister = event.getSession().getFactory().getMappingMetamodel().getCollectionDescriptor(role);
+        if (persister.hasCache()) {
+            record(
+                event.getSession(),
+                new CacheInvalidationService.Invalidation(
+                    CacheInvalidationService.Kind.COLLECTION,
+                    role,
+                    CacheInvalidationService.identifierToString(persister.getOwnerEntityPersister(), ownerId)
+                )
+            );
+        }
+    }
+
+    private void record(EventSource session, CacheInvalidationService.Invalidation invalidation) {
+        PendingInvalidations invalidations = pending.computeIfAbsent(session, s -> {
+            PendingInvalidations created = new PendingInvalidations();
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) created);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) created);
+            return created;
+        });
+        invalidations.invalidations.add(invalidation);
+    }
+
+    private final class PendingInvalidations implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+        private final Set<CacheInvalidationService.Invalidation> invalidations = new LinkedHashSet<>();
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            pending.remove(session);
+            session.doWork(connection -> cacheInvalidationService.write(connection, invalidations));
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+            pending.remove(session);
+        }
+    }
+}
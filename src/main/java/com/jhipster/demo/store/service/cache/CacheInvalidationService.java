@@ -0,0 +1,494 @@
+package com.jhipster.demo.store.service.cache;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import com.jhipster.demo.store.domain.CustomerDetails;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.service.EntityVersionService;
+import com.jhipster.demo.store.service.event.ProductCategoryChangedEvent;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import com.jhipster.demo.store.service.event.ProductsSavedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the caches of the nodes sharing the database coherent, through the {@code cache_invalidation} table.
+ * <p>
+ * Each node logs the cache entries it invalidates: the second-level cache entries of the entities and collections its
+ * transactions change, written by the {@link CacheInvalidationListener} in the same transactions, and the entries of
+ * the Spring caches it evicts. Every {@code application.cache.invalidation.poll-millis}, each node reads the entries
+ * logged by the other nodes since its last read, in batches, and evicts them from its own caches.
+ * <p>
+ * The in-memory read models of a node, such as the catalog snapshot, the search index and the collection versions of
+ * the ETags, are kept up to date by the events of its own writes. The writes of the other nodes reach them through the
+ * same log: inserts of the entities they are built from are logged as well, and once a poll has evicted the changed
+ * entities, they are loaded again and published as local events, a {@link ProductsSavedEvent} for the products and a
+ * {@link ProductCategoryChangedEvent} per product category, or recorded as writes to the {@link EntityVersionService}.
+ * <p>
+ * Log ids are allocated when rows are inserted but become visible when their transaction commits, possibly after a
+ * greater id. The ids skipped by a read are read again for {@code application.cache.invalidation.gap-timeout-seconds}.
+ * <p>
+ * A transaction of a node may read an entry before another node changes it and put it in the caches after the
+ * invalidation was applied, Hibernate's {@code putFromLoad} only guards against the local writes. Each invalidation of
+ * the other nodes is therefore applied again {@code application.cache.invalidation.second-eviction-millis} later, by
+ * the first poll after that delay.
+ * <p>
+ * A node reads the log from its last id when it is created, as soon as the second-level cache exists, so that no
+ * invalidation logged while the rest of the application starts, and fills the caches, is skipped.
+ */
+@Service
+public class CacheInvalidationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    public static final String LOGGED_METER_NAME = "store.cache.invalidation.logged";
+
+    public static final String APPLIED_METER_NAME = "store.cache.invalidation.applied";
+
+    private static final String INSERT_SQL = "insert into cache_invalidation (node_id, kind, name, entity_key) values (?, ?, ?, ?)";
+
+    private static final int MAX_GAPS = 1000;
+
+    /**
+     * The entities the read models of a node are built from, whose inserts are logged as well.
+     */
+    static final Set<String> READ_MODEL_ENTITIES = Set.of(
+        Product.class.getName(),
+        ProductCategory.class.getName(),
+        CustomerDetails.class.getName(),
+        ShoppingCart.class.getName()
+    );
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final CacheManager cacheManager;
+
+    private final ProductRepository productRepository;
+
+    private final ProductCategoryRepository productCategoryRepository;
+
+    private final EntityVersionService entityVersionService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private final Counter loggedCounter;
+
+    private final Counter appliedCounter;
+
+    private Long lastSeenId;
+
+    /**
+     * Ids skipped by a read, with the {@link System#nanoTime()} after which they are given up.
+     */
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+
+    /**
+     * Invalidations applied once, in the order of their {@link System#nanoTime()} for the second eviction.
+     */
+    private final Deque<SecondEviction> secondEvictions = new ArrayDeque<>();
+
+    /**
+     * Read model entities changed by the other nodes, not published yet.
+     */
+    private final RemoteChanges remoteChanges = new RemoteChanges();
+
+    public CacheInvalidationService(
+        JdbcTemplate jdbcTemplate,
+        EntityManagerFactory entityManagerFactory,
+        CacheManager cacheManager,
+        ProductRepository productRepository,
+        ProductCategoryRepository productCategoryRepository,
+        EntityVersionService entityVersionService,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cacheManager = cacheManager;
+        this.productRepository = productRepository;
+        this.productCategoryRepository = productCategoryRepository;
+        this.entityVersionService = entityVersionService;
+        this.eventPublisher = eventPublisher;
+        this.properties = applicationProperties.getCache().getInvalidation();
+        this.loggedCounter = Counter.builder(LOGGED_METER_NAME)
+            .description("Cache invalidations logged for the other nodes")
+            .register(registry);
+        this.appliedCounter = Counter.builder(APPLIED_METER_NAME)
+            .description("Cache invalidations of the other nodes applied to this node")
+            .register(registry);
+        if (properties.isEnabled()) {
+            CacheInvalidationListener listener = new CacheInvalidationListener(this);
+            EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            listeners.appendListeners(EventType.POST_INSERT, listener);
+            listeners.appendListeners(EventType.POST_UPDATE, listener);
+            listeners.appendListeners(EventType.POST_DELETE, listener);
+            listeners.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+            listeners.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+            try {
+                startAfterLastId();
+            } catch (DataAccessException e) {
+                LOG.warn("Could not read the cache invalidation log, will retry: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.cache.invalidation.poll-millis:200}",
+        fixedDelayString = "${application.cache.invalidation.poll-millis:200}"
+    )
+    public void scheduledPoll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            poll();
+        } catch (DataAccessException e) {
+            LOG.warn("Could not read the cache invalidation log: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Evict from this node's caches the entries invalidated by the other nodes since the last poll, then publish the
+     * read model entities they changed.
+     *
+     * @return the number of invalidations applied.
+     */
+    public synchronized int poll() {
+        if (lastSeenId == null) {
+            startAfterLastId();
+            // the invalidations logged since this node started are lost, as may be the entries they invalidated
+            sessionFactory.getCache().evictAllRegions();
+            cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+            READ_MODEL_ENTITIES.forEach(remoteChanges::addAll);
+        }
+        long now = System.nanoTime();
+        while (!secondEvictions.isEmpty() && secondEvictions.peekFirst().dueNanos() - now <= 0) {
+            apply(secondEvictions.pollFirst().invalidation());
+        }
+        int applied = 0;
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long secondEvictionDue = now + TimeUnit.MILLISECONDS.toNanos(properties.getSecondEvictionMillis());
+        List<LoggedInvalidation> rows;
+        do {
+            rows = read(batchSize);
+            for (LoggedInvalidation row : rows) {
+                see(row.id());
+                if (!nodeId.equals(row.nodeId())) {
+                    apply(row.invalidation());
+                    secondEvictions.addLast(new SecondEviction(secondEvictionDue, row.invalidation()));
+                    remoteChanges.add(row.invalidation());
+                    applied++;
+                }
+            }
+        } while (rows.size() == batchSize);
+        gaps.values().removeIf(deadline -> deadline - now < 0);
+        appliedCounter.increment(applied);
+        // kept until published, a failed load is retried by the next poll
+        publish(remoteChanges);
+        remoteChanges.clear();
+        return applied;
+    }
+
+    /**
+     * Delete the invalidations older than {@code application.cache.invalidation.retention-minutes}.
+     * <p>
+     * This is scheduled to get fired every 10 minutes.
+     */
+    @Scheduled(initialDelay = 10, fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void purge() {
+        try {
+            int deleted = jdbcTemplate.update(
+                "delete from cache_invalidation where created_date < current_timestamp(3) - interval ? minute",
+                properties.getRetentionMinutes()
+            );
+            LOG.debug("Purged {} cache invalidations", deleted);
+        } catch (DataAccessException e) {
+            LOG.warn("Could not purge the cache invalidation log: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Evict an entry of a Spring cache on the other nodes, once the current transaction, if any, commits.
+     *
+     * @param cacheName the name of the cache.
+     * @param key the key of the entry.
+     */
+    public void invalidateCacheEntry(String cacheName, String key) {
+        log(new Invalidation(Kind.CACHE, cacheName, key));
+    }
+
+    /**
+     * Evict all the entities of a type from the second-level cache of every node, after they were changed without
+     * Hibernate.
+     *
+     * @param entityClass the type of the entities.
+     */
+    public void invalidateEntities(Class<?> entityClass) {
+        sessionFactory.getCache().evictEntityData(entityClass);
+        log(new Invalidation(Kind.ENTITY, entityClass.getName(), null));
+    }
+
+    /**
+     * Write invalidations to the log, on a connection of the transaction that caused them.
+     */
+    void write(Connection connection, Collection<Invalidation> invalidations) throws SQLException {
+        if (!properties.isEnabled() || invalidations.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            for (Invalidation invalidation : invalidations) {
+                insert.setString(1, nodeId);
+                insert.setString(2, invalidation.kind().name());
+                insert.setString(3, invalidation.name());
+                insert.setString(4, invalidation.key());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        loggedCounter.increment(invalidations.size());
+    }
+
+    private void publish(RemoteChanges changes) {
+        String productEntity = Product.class.getName();
+        if (changes.contains(productEntity)) {
+            Set<Long> ids = changes.ids(productEntity);
+            List<Product> saved = ids == null
+                ? productRepository.findAllWithToOneRelationships()
+                : productRepository.findAllWithToOneRelationshipsByIdIn(ids);
+            if (!saved.isEmpty()) {
+                eventPublisher.publishEvent(new ProductsSavedEvent(saved));
+            }
+            // all the products only change together without Hibernate, through updates: deletes are logged by id
+            if (ids != null) {
+                Set<Long> deleted = new HashSet<>(ids);
+                saved.forEach(product -> deleted.remove(product.getId()));
+                deleted.forEach(id -> eventPublisher.publishEvent(ProductChangedEvent.deleted(id)));
+            }
+        }
+        String productCategoryEntity = ProductCategory.class.getName();
+        if (changes.contains(productCategoryEntity)) {
+            Set<Long> ids = changes.ids(productCategoryEntity);
+            List<ProductCategory> saved = ids == null ? productCategoryRepository.findAll() : productCategoryRepository.findAllById(ids);
+            Set<Long> deleted = ids == null ? new HashSet<>() : new HashSet<>(ids);
+            for (ProductCategory productCategory : saved) {
+                deleted.remove(productCategory.getId());
+                eventPublisher.publishEvent(ProductCategoryChangedEvent.saved(productCategory));
+            }
+            deleted.forEach(id -> eventPublisher.publishEvent(ProductCategoryChangedEvent.deleted(id)));
+        }
+        if (changes.contains(CustomerDetails.class.getName())) {
+            entityVersionService.recordWrite(EntityVersionService.CUSTOMER_DETAILS);
+        }
+        if (changes.contains(ShoppingCart.class.getName())) {
+            entityVersionService.recordWrite(EntityVersionService.SHOPPING_CART);
+        }
+    }
+
+    private synchronized void startAfterLastId() {
+        // the caches are only filled from now on, earlier invalidations do not concern them
+        lastSeenId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from cache_invalidation", Long.class);
+        LOG.debug("Cache node {} reads invalidations after {}", nodeId, lastSeenId);
+    }
+
+    private void log(Invalidation invalidation) {
+        if (properties.isEnabled()) {
+            jdbcTemplate.update(INSERT_SQL, nodeId, invalidation.kind().name(), invalidation.name(), invalidation.key());
+            loggedCounter.increment();
+        }
+    }
+
+    private List<LoggedInvalidation> read(int batchSize) {
+        StringBuilder sql = new StringBuilder("select id, node_id, kind, name, entity_key from cache_invalidation where id > ?");
+        List<Object> args = new ArrayList<>();
+        args.add(lastSeenId);
+        if (!gaps.isEmpty()) {
+            sql.append(" or id in (").append(String.join(", ", Collections.nCopies(gaps.size(), "?"))).append(')');
+            args.addAll(gaps.keySet());
+        }
+        sql.append(" order by id limit ?");
+        args.add(batchSize);
+        return jdbcTemplate.query(
+            sql.toString(),
+            (rs, rowNum) ->
+                new LoggedInvalidation(
+                    rs.getLong("id"),
+                    rs.getString("node_id"),
+                    new Invalidation(Kind.valueOf(rs.getString("kind")), rs.getString("name"), rs.getString("entity_key"))
+                ),
+            args.toArray()
+        );
+    }
+
+    private void see(long id) {
+        if (id <= lastSeenId) {
+            gaps.remove(id);
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getGapTimeoutSeconds());
+        for (long gap = lastSeenId + 1; gap < id && gaps.size() < MAX_GAPS; gap++) {
+            gaps.put(gap, deadline);
+        }
+        lastSeenId = id;
+    }
+
+    private void apply(Invalidation invalidation) {
+        try {
+            switch (invalidation.kind()) {
+                case ENTITY -> {
+                    if (invalidation.key() == null) {
+                        sessionFactory.getCache().evictEntityData(invalidation.name());
+                    } else {
+                        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(invalidation.name());
+                        Object id = identifierFromString(persister, invalidation.key());
+                        sessionFactory.getCache().evictEntityData(invalidation.name(), id);
+                    }
+                }
+                case COLLECTION -> {
+                    if (invalidation.key() == null) {
+                        sessionFactory.getCache().evictCollectionData(invalidation.name());
+                    } else {
+                        CollectionPersister persister = sessionFactory.getMappingMetamodel().getCollectionDescriptor(invalidation.name());
+                        Object ownerId = identifierFromString(persister.getOwnerEntityPersister(), invalidation.key());
+                        sessionFactory.getCache().evictCollectionData(invalidation.name(), ownerId);
+                    }
+                }
+                case CACHE -> {
+                    Cache cache = cacheManager.getCache(invalidation.name());
+                    if (cache == null) {
+                        return;
+                    }
+                    if (invalidation.key() == null) {
+                        cache.clear();
+                    } else {
+                        cache.evict(invalidation.key());
+                    }
+                }
+            }
+        } catch (HibernateException | IllegalArgumentException e) {
+            // logged by a node running another version of the model
+            LOG.warn("Could not apply cache invalidation {}: {}", invalidation, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static String identifierToString(EntityPersister persister, Object id) {
+        return ((JavaType<Object>) persister.getIdentifierMapping().getJavaType()).toString(id);
+    }
+
+    private static Object identifierFromString(EntityPersister persister, String key) {
+        return persister.getIdentifierMapping().getJavaType().fromString(key);
+    }
+
+    /**
+     * What is invalidated.
+     */
+    public enum Kind {
+        /**
+         * Entities of the second-level cache, by entity name.
+         */
+        ENTITY,
+        /**
+         * Collections of the second-level cache, by role.
+         */
+        COLLECTION,
+        /**
+         * Entries of a Spring cache, by cache name.
+         */
+        CACHE
+    }
+
+    /**
+     * An invalidated cache entry.
+     *
+     * @param kind the kind of cache.
+     * @param name the entity name, collection role or cache name.
+     * @param key the id of the entity or collection owner, or the key of the cache entry; {@code null} for all of them.
+     */
+    record Invalidation(Kind kind, String name, String key) {}
+
+    private record LoggedInvalidation(long id, String nodeId, Invalidation invalidation) {}
+
+    private record SecondEviction(long dueNanos, Invalidation invalidation) {}
+
+    /**
+     * The read model entities changed by the other nodes, by entity name: their ids, or {@code null} for all of them.
+     */
+    private static final class RemoteChanges {
+
+        private final Map<String, Set<Long>> ids = new HashMap<>();
+
+        private final Set<String> all = new HashSet<>();
+
+        void add(Invalidation invalidation) {
+            if (invalidation.kind() != Kind.ENTITY || !READ_MODEL_ENTITIES.contains(invalidation.name())) {
+                return;
+            }
+            if (invalidation.key() == null) {
+                all.add(invalidation.name());
+            } else {
+                ids.computeIfAbsent(invalidation.name(), name -> new HashSet<>()).add(Long.valueOf(invalidation.key()));
+            }
+        }
+
+        void addAll(String entityName) {
+            all.add(entityName);
+        }
+
+        boolean contains(String entityName) {
+            return all.contains(entityName) || ids.containsKey(entityName);
+        }
+
+        Set<Long> ids(String entityName) {
+            return all.contains(entityName) ? null : ids.get(entityName);
+        }
+
+        void clear() {
+            ids.clear();
+            all.clear();
+        }
+    }
+}
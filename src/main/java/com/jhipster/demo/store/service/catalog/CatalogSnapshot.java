@@ -0,0 +1,249 @@
+package com.jhipster.demo.store.service.catalog;
+
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import java.text.Collator;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Immutable copy of the products and product categories.
+ * <p>
+ * Snapshots are never modified once published: a write produces a new snapshot sharing the unchanged entities. The
+ * entities held here are detached copies that must be treated as read-only.
+ * <p>
+ * Pages are sorted as the database sorts them, so that paging through a snapshot refresh neither skips nor repeats
+ * entities: text ignores case and accents, as the {@code utf8mb4_0900_ai_ci} collation of the columns.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<String> TEXT_ORDER = textOrder();
+
+    private static final Map<String, Comparator<Product>> PRODUCT_SORT_KEYS = Map.of(
+        "id",
+        Comparator.comparing(Product::getId),
+        "name",
+        Comparator.comparing(Product::getName, Comparator.nullsFirst(TEXT_ORDER)),
+        "description",
+        Comparator.comparing(Product::getDescription, Comparator.nullsFirst(TEXT_ORDER)),
+        "price",
+        Comparator.comparing(Product::getPrice, Comparator.nullsFirst(Comparator.naturalOrder())),
+        "productSize",
+        Comparator.comparing(Product::getProductSize, Comparator.nullsFirst(Comparator.naturalOrder()))
+    );
+
+    private static final Map<String, Comparator<ProductCategory>> CATEGORY_SORT_KEYS = Map.of(
+        "id",
+        Comparator.comparing(ProductCategory::getId),
+        "name",
+        Comparator.comparing(ProductCategory::getName, Comparator.nullsFirst(TEXT_ORDER)),
+        "description",
+        Comparator.comparing(ProductCategory::getDescription, Comparator.nullsFirst(TEXT_ORDER))
+    );
+
+    private final long version;
+
+    private final Instant loadedAt;
+
+    private final Map<Long, Product> products;
+
+    private final Map<Long, ProductCategory> categories;
+
+    private final Map<Sort, List<Product>> sortedProducts = new ConcurrentHashMap<>();
+
+    private final Map<Sort, List<ProductCategory>> sortedCategories = new ConcurrentHashMap<>();
+
+    private CatalogSnapshot(long version, Instant loadedAt, Map<Long, Product> products, Map<Long, ProductCategory> categories) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.products = products;
+        this.categories = categories;
+    }
+
+    /**
+     * Build a snapshot from entities read from the database.
+     *
+     * @param version the version of the snapshot.
+     * @param loadedAt when the entities were read.
+     * @param products the products, with their category.
+     * @param categories the product categories.
+     * @return the snapshot.
+     */
+    static CatalogSnapshot of(long version, Instant loadedAt, Collection<Product> products, Collection<ProductCategory> categories) {
+        Map<Long, ProductCategory> categoryCopies = categories
+            .stream()
+            .map(CatalogSnapshot::copyOf)
+            .collect(Collectors.toUnmodifiableMap(ProductCategory::getId, Function.identity()));
+        Map<Long, Product> productCopies = products
+            .stream()
+            .map(product -> copyOf(product, categoryCopies))
+            .collect(Collectors.toUnmodifiableMap(Product::getId, Function.identity()));
+        return new CatalogSnapshot(version, loadedAt, productCopies, categoryCopies);
+    }
+
+    /**
+     * @return a new snapshot where the product is replaced, or removed if {@code product} is {@code null}.
+     */
+    CatalogSnapshot withProduct(long newVersion, Long productId, Product product) {
+        Map<Long, Product> newProducts = new HashMap<>(products);
+        if (product == null) {
+            newProducts.remove(productId);
+        } else {
+            newProducts.put(productId, copyOf(product, categories));
+        }
+        return new CatalogSnapshot(newVersion, loadedAt, Map.copyOf(newProducts), categories);
+    }
+
+    /**
+     * @return a new snapshot where the given products are added or replaced.
+     */
+    CatalogSnapshot withProducts(long newVersion, Collection<Product> changed) {
+        Map<Long, Product> newProducts = new HashMap<>(products);
+        changed.forEach(product -> newProducts.put(product.getId(), copyOf(product, categories)));
+        return new CatalogSnapshot(newVersion, loadedAt, Map.copyOf(newProducts), categories);
+    }
+
+    /**
+     * @return a new snapshot where the category, and the products referencing it, are replaced, or the category removed
+     * if {@code category} is {@code null}.
+     */
+    CatalogSnapshot withCategory(long newVersion, Long categoryId, ProductCategory category) {
+        Map<Long, ProductCategory> newCategories = new HashMap<>(categories);
+        if (category == null) {
+            newCategories.remove(categoryId);
+        } else {
+            newCategories.put(categoryId, copyOf(category));
+        }
+        Map<Long, ProductCategory> publishedCategories = Map.copyOf(newCategories);
+        Map<Long, Product> newProducts = new HashMap<>(products);
+        products.forEach((id, product) -> {
+            if (product.getProductCategory() != null && categoryId.equals(product.getProductCategory().getId())) {
+                newProducts.put(id, copyOf(product, publishedCategories));
+            }
+        });
+        return new CatalogSnapshot(newVersion, loadedAt, Map.copyOf(newProducts), publishedCategories);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return when the entities were last fully read from the database; incremental updates do not change it.
+     */
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public int getProductCount() {
+        return products.size();
+    }
+
+    public int getCategoryCount() {
+        return categories.size();
+    }
+
+    public Optional<Product> findProduct(Long id) {
+        return Optional.ofNullable(products.get(id));
+    }
+
+    public Optional<ProductCategory> findCategory(Long id) {
+        return Optional.ofNullable(categories.get(id));
+    }
+
+    /**
+     * Get a page of products.
+     *
+     * @param pageable the pagination information.
+     * @return the page, or empty if the requested sort is not supported in memory.
+     */
+    public Optional<Page<Product>> findProducts(Pageable pageable) {
+        return page(products.values(), sortedProducts, PRODUCT_SORT_KEYS, Product::getId, pageable);
+    }
+
+    /**
+     * Get a page of product categories.
+     *
+     * @param pageable the pagination information.
+     * @return the page, or empty if the requested sort is not supported in memory.
+     */
+    public Optional<Page<ProductCategory>> findCategories(Pageable pageable) {
+        return page(categories.values(), sortedCategories, CATEGORY_SORT_KEYS, ProductCategory::getId, pageable);
+    }
+
+    private static <T> Optional<Page<T>> page(
+        Collection<T> values,
+        Map<Sort, List<T>> sortedCache,
+        Map<String, Comparator<T>> sortKeys,
+        Function<T, Long> id,
+        Pageable pageable
+    ) {
+        Sort sort = pageable.getSort();
+        if (sort.stream().anyMatch(order -> !sortKeys.containsKey(order.getProperty()))) {
+            return Optional.empty();
+        }
+        List<T> sorted = sortedCache.computeIfAbsent(sort, key -> {
+            Comparator<T> comparator = null;
+            for (Sort.Order order : key) {
+                Comparator<T> next = sortKeys.get(order.getProperty());
+                next = order.isDescending() ? next.reversed() : next;
+                comparator = comparator == null ? next : comparator.thenComparing(next);
+            }
+            Comparator<T> byId = Comparator.comparing(id);
+            List<T> list = new ArrayList<>(values);
+            list.sort(comparator == null ? byId : comparator.thenComparing(byId));
+            return List.copyOf(list);
+        });
+        if (pageable.isUnpaged()) {
+            return Optional.of(new PageImpl<>(sorted));
+        }
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return Optional.of(new PageImpl<>(sorted.subList(from, to), pageable, sorted.size()));
+    }
+
+    private static Comparator<String> textOrder() {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        return collator::compare;
+    }
+
+    private static ProductCategory copyOf(ProductCategory category) {
+        return new ProductCategory()
+            .id(category.getId())
+            .name(category.getName())
+            .description(category.getDescription())
+            .version(category.getVersion());
+    }
+
+    private static Product copyOf(Product product, Map<Long, ProductCategory> categories) {
+        Product copy = new Product()
+            .id(product.getId())
+            .name(product.getName())
+            .description(product.getDescription())
+            .price(product.getPrice())
+            .productSize(product.getProductSize())
+            .imageContentType(product.getImageContentType())
+            .imageHash(product.getImageHash())
+            .version(product.getVersion());
+        if (product.getProductCategory() != null) {
+            ProductCategory category = categories.get(product.getProductCategory().getId());
+            copy.setProductCategory(category != null ? category : copyOf(product.getProductCategory()));
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,212 @@
+package com.jhipster.demo.store.service.catalog;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.service.event.ProductCategoryChangedEvent;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import com.jhipster.demo.store.service.event.ProductsSavedEvent;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serves catalog reads from an immutable {@link CatalogSnapshot}, swapped atomically on every committed write.
+ * <p>
+ * Readers only dereference the current snapshot, without locks, Hibernate or the database. Writers copy the snapshot
+ * with the change applied and publish it, one at a time. The snapshot is also fully reloaded every
+ * {@code application.catalog.refresh-seconds}, to pick up changes made outside this node's services; if it was not
+ * reloaded for more than {@code application.catalog.max-staleness-seconds}, reads fall back to the database. The changes
+ * applied while a reload reads the database are recorded and replayed onto the reloaded snapshot, as the reload may
+ * have read the rows before they were committed.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final ProductRepository productRepository;
+
+    private final ProductCategoryRepository productCategoryRepository;
+
+    private final ApplicationProperties.Catalog properties;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+
+    private final Object reloadLock = new Object();
+
+    private final Object writeLock = new Object();
+
+    // the changes applied since the running reload started, guarded by writeLock, null when no reload is running
+    private List<UnaryOperator<CatalogSnapshot>> changesDuringReload;
+
+    private Clock clock = Clock.systemUTC();
+
+    public CatalogSnapshotService(
+        ProductRepository productRepository,
+        ProductCategoryRepository productCategoryRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.productRepository = productRepository;
+        this.productCategoryRepository = productCategoryRepository;
+        this.properties = applicationProperties.getCatalog();
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduledRefresh();
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.catalog.refresh-seconds:60}",
+        fixedDelayString = "${application.catalog.refresh-seconds:60}",
+        timeUnit = TimeUnit.SECONDS
+    )
+    public void scheduledRefresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (DataAccessException e) {
+            LOG.warn("Could not reload the catalog snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the snapshot from the database.
+     *
+     * @return the new snapshot.
+     */
+    public CatalogSnapshot refresh() {
+        synchronized (reloadLock) {
+            synchronized (writeLock) {
+                changesDuringReload = new ArrayList<>();
+            }
+            try {
+                Instant loadedAt = clock.instant();
+                List<ProductCategory> categories = productCategoryRepository.findAll();
+                List<Product> products = productRepository.findAllWithToOneRelationships();
+                synchronized (writeLock) {
+                    CatalogSnapshot current = snapshot.get();
+                    long version = current == null ? 1 : current.getVersion() + 1;
+                    CatalogSnapshot loaded = CatalogSnapshot.of(version, loadedAt, products, categories);
+                    for (UnaryOperator<CatalogSnapshot> change : changesDuringReload) {
+                        loaded = change.apply(loaded);
+                    }
+                    snapshot.set(loaded);
+                    LOG.debug(
+                        "Loaded catalog snapshot {} with {} products, replayed {} changes",
+                        loaded.getVersion(),
+                        loaded.getProductCount(),
+                        changesDuringReload.size()
+                    );
+                    return loaded;
+                }
+            } finally {
+                synchronized (writeLock) {
+                    changesDuringReload = null;
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        apply(current -> current.withProduct(current.getVersion() + 1, event.productId(), event.product()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsSaved(ProductsSavedEvent event) {
+        apply(current -> current.withProducts(current.getVersion() + 1, event.products()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCategoryChanged(ProductCategoryChangedEvent event) {
+        apply(current -> current.withCategory(current.getVersion() + 1, event.productCategoryId(), event.productCategory()));
+    }
+
+    private void apply(UnaryOperator<CatalogSnapshot> change) {
+        synchronized (writeLock) {
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+            CatalogSnapshot current = snapshot.get();
+            if (current != null) {
+                snapshot.set(change.apply(current));
+            }
+        }
+    }
+
+    /**
+     * @return the current snapshot, even if stale, or empty if none was loaded yet.
+     */
+    public Optional<CatalogSnapshot> getSnapshot() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    /**
+     * Get a page of products from the snapshot.
+     *
+     * @param pageable the pagination information.
+     * @return the page, or empty if the snapshot cannot answer and the database must be used.
+     */
+    public Optional<Page<Product>> findProducts(Pageable pageable) {
+        return freshSnapshot().flatMap(current -> current.findProducts(pageable));
+    }
+
+    /**
+     * Get a product from the snapshot.
+     *
+     * @param id the id of the product.
+     * @return the product, or empty if the snapshot does not have it and the database must be used.
+     */
+    public Optional<Product> findProduct(Long id) {
+        return freshSnapshot().flatMap(current -> current.findProduct(id));
+    }
+
+    /**
+     * Get a page of product categories from the snapshot.
+     *
+     * @param pageable the pagination information.
+     * @return the page, or empty if the snapshot cannot answer and the database must be used.
+     */
+    public Optional<Page<ProductCategory>> findCategories(Pageable pageable) {
+        return freshSnapshot().flatMap(current -> current.findCategories(pageable));
+    }
+
+    private Optional<CatalogSnapshot> freshSnapshot() {
+        CatalogSnapshot current = snapshot.get();
+        if (current == null || !properties.isEnabled()) {
+            return Optional.empty();
+        }
+        Duration age = Duration.between(current.getLoadedAt(), clock.instant());
+        if (age.getSeconds() > properties.getMaxStalenessSeconds()) {
+            LOG.debug("Catalog snapshot {} is stale, reading from the database", current.getVersion());
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+}
@@ -0,0 +1,94 @@
+package com.jhipster.demo.store.service.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.service.event.ProductCategoryChangedEvent;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import com.jhipster.demo.store.service.event.ProductsSavedEvent;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache of pre-rendered UTF-8 JSON fragments for the catalog entities served from the {@link CatalogSnapshot}.
+ * <p>
+ * A fragment is rendered once with the application {@link ObjectMapper}, so it is byte for byte what Jackson would
+ * write, and reused as long as the snapshot hands out the same instance. Snapshot instances are never mutated: a write
+ * replaces them, and the committed write also evicts the fragment here.
+ */
+@Service
+public class JsonFragmentCache {
+
+    private record Fragment(Object source, byte[] json) {}
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Fragment> productFragments = new ConcurrentHashMap<>();
+
+    private final Map<Long, Fragment> categoryFragments = new ConcurrentHashMap<>();
+
+    public JsonFragmentCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Wrap snapshot products in a response body written from their cached fragments.
+     *
+     * @param products the products, as returned by the {@link CatalogSnapshotService}.
+     * @return the response body.
+     */
+    public JsonFragmentList<Product> products(List<Product> products) {
+        return new JsonFragmentList<>(products, product -> fragment(productFragments, product.getId(), product));
+    }
+
+    /**
+     * Wrap snapshot categories in a response body written from their cached fragments.
+     *
+     * @param categories the categories, as returned by the {@link CatalogSnapshotService}.
+     * @return the response body.
+     */
+    public JsonFragmentList<ProductCategory> categories(List<ProductCategory> categories) {
+        return new JsonFragmentList<>(categories, category -> fragment(categoryFragments, category.getId(), category));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        productFragments.remove(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsSaved(ProductsSavedEvent event) {
+        event.products().forEach(product -> productFragments.remove(product.getId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCategoryChanged(ProductCategoryChangedEvent event) {
+        categoryFragments.remove(event.productCategoryId());
+        // Product fragments embed their category.
+        productFragments.clear();
+    }
+
+    /**
+     * @return the number of cached fragments.
+     */
+    public int size() {
+        return productFragments.size() + categoryFragments.size();
+    }
+
+    private byte[] fragment(Map<Long, Fragment> fragments, Long id, Object source) throws IOException {
+        if (id == null) {
+            return objectMapper.writeValueAsBytes(source);
+        }
+        Fragment cached = fragments.get(id);
+        if (cached != null && cached.source() == source) {
+            return cached.json();
+        }
+        byte[] json = objectMapper.writeValueAsBytes(source);
+        fragments.put(id, new Fragment(source, json));
+        return json;
+    }
+}
@@ -0,0 +1,58 @@
+package com.jhipster.demo.store.service.catalog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * A list response body whose elements are written as pre-rendered JSON fragments instead of being serialized again.
+ *
+ * @param <T> the element type.
+ */
+public final class JsonFragmentList<T> extends AbstractList<T> {
+
+    /**
+     * Renders an element to UTF-8 JSON.
+     */
+    @FunctionalInterface
+    interface Renderer<T> {
+        byte[] render(T element) throws IOException;
+    }
+
+    private final List<T> elements;
+
+    private final Renderer<T> renderer;
+
+    JsonFragmentList(List<T> elements, Renderer<T> renderer) {
+        this.elements = List.copyOf(elements);
+        this.renderer = renderer;
+    }
+
+    @Override
+    public T get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * Write the elements as a JSON array, concatenating their fragments.
+     *
+     * @param out the stream to write to.
+     * @throws IOException if an element cannot be rendered or the stream cannot be written.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(renderer.render(elements.get(i)));
+        }
+        out.write(']');
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Immutable in-memory read model of the catalog, kept up to date from service events.
+ */
+package com.jhipster.demo.store.service.catalog;
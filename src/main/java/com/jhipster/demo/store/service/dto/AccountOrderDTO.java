@@ -0,0 +1,39 @@
+package com.jhipster.demo.store.service.dto;
+
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.domain.enumeration.PaymentMethod;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A cart of the current user, with its lines, for the order history.
+ *
+ * @param id the cart id.
+ * @param placedDate the date the cart was placed.
+ * @param status the status of the cart.
+ * @param totalPrice the total price of the cart.
+ * @param paymentMethod the payment method of the cart.
+ * @param lines the lines of the cart.
+ */
+public record AccountOrderDTO(
+    Long id,
+    Instant placedDate,
+    OrderStatus status,
+    BigDecimal totalPrice,
+    PaymentMethod paymentMethod,
+    List<Line> lines
+)
+    implements Serializable {
+    /**
+     * A line of a cart.
+     *
+     * @param id the order line id.
+     * @param productId the id of the product ordered.
+     * @param productName the name of the product ordered.
+     * @param quantity the quantity ordered.
+     * @param totalPrice the total price of the line.
+     */
+    public record Line(Long id, Long productId, String productName, Integer quantity, BigDecimal totalPrice) implements Serializable {}
+}
@@ -0,0 +1,14 @@
+package com.jhipster.demo.store.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A best-selling product.
+ *
+ * @param productId the id of the product.
+ * @param name the name of the product, if it still exists.
+ * @param price the price of the product, if it still exists.
+ * @param units the estimated number of units sold in the window.
+ */
+public record BestSellerDTO(Long productId, String name, BigDecimal price, long units) implements Serializable {}
@@ -0,0 +1,38 @@
+package com.jhipster.demo.store.service.dto;
+
+import com.jhipster.demo.store.domain.enumeration.PaymentMethod;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A shopping cart to place, with all its order lines.
+ * <p>
+ * Totals are not part of the request: they are computed from the current product prices.
+ *
+ * @param customerDetailsId the id of the customer placing the cart.
+ * @param paymentMethod the payment method.
+ * @param paymentReference the payment reference, if any.
+ * @param lines the order lines.
+ */
+public record CheckoutDTO(
+    @NotNull Long customerDetailsId,
+    @NotNull PaymentMethod paymentMethod,
+    String paymentReference,
+    @NotEmpty List<@Valid @NotNull Line> lines
+) implements Serializable {
+    /**
+     * An order line.
+     *
+     * @param productId the id of the ordered product.
+     * @param quantity the ordered quantity.
+     * @param price the unit price shown to the customer, checked against the current product price.
+     */
+    public record Line(@NotNull Long productId, @NotNull @Min(1) Integer quantity, @NotNull @DecimalMin("0") BigDecimal price)
+        implements Serializable {}
+}
@@ -0,0 +1,101 @@
+package com.jhipster.demo.store.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by {@code (key, id)}, used for keyset (seek) pagination.
+ * <p>
+ * A cursor names the sort key and holds the key value and id of the last row returned; the next page starts strictly
+ * after it. The first page is represented by a cursor without value nor id. Cursors are handed to clients as an opaque
+ * URL-safe token, see {@link #encode()}.
+ *
+ * @param key the sort key, a property name of the listed entity.
+ * @param value the sort key value of the last row, or {@code null} for the first page.
+ * @param id the id of the last row, or {@code null} for the first page.
+ */
+public record KeysetCursor(String key, String value, Long id) implements Serializable {
+    private static final char SEPARATOR = '\n';
+
+    /**
+     * Largest exponent accepted in a decimal value, so that a forged one cannot expand to a huge plain number.
+     */
+    private static final int MAX_DECIMAL_SCALE = 64;
+
+    public static KeysetCursor first(String key) {
+        return new KeysetCursor(key, null, null);
+    }
+
+    public static KeysetCursor after(String key, Object value, Long id) {
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value);
+        return new KeysetCursor(key, text, id);
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public BigDecimal decimalValue() {
+        return new BigDecimal(value);
+    }
+
+    public Instant instantValue() {
+        return Instant.parse(value);
+    }
+
+    /**
+     * Check that the value can be read with the accessor of its type, {@link #decimalValue()} for {@link BigDecimal}
+     * keys and {@link #instantValue()} for {@link Instant} keys; any value can be read as a {@link String}.
+     *
+     * @param type the type of the key.
+     * @return {@code true} if the cursor is the first page or its value can be read as the given type.
+     */
+    public boolean hasValueOfType(Class<?> type) {
+        if (isFirst()) {
+            return true;
+        }
+        if (value == null) {
+            return false;
+        }
+        try {
+            if (type == BigDecimal.class) {
+                return Math.abs(decimalValue().scale()) <= MAX_DECIMAL_SCALE;
+            }
+            if (type == Instant.class) {
+                instantValue();
+            }
+            return true;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    public String encode() {
+        String raw = isFirst() ? key : key + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token the opaque token.
+     * @return the cursor.
+     * @throws IllegalArgumentException if the token is not a valid cursor.
+     */
+    public static KeysetCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int first = raw.indexOf(SEPARATOR);
+        if (first < 0) {
+            return first(raw);
+        }
+        int second = raw.indexOf(SEPARATOR, first + 1);
+        if (second < 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new KeysetCursor(raw.substring(0, first), raw.substring(second + 1), Long.valueOf(raw.substring(first + 1, second)));
+    }
+}
@@ -0,0 +1,16 @@
+package com.jhipster.demo.store.service.dto;
+
+import com.jhipster.demo.store.domain.enumeration.Size;
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Number of products matching a facet filter, in total and for each facet value.
+ * <p>
+ * The count of a facet value is computed with the filters on the other facets applied.
+ *
+ * @param total the number of products matching the whole filter.
+ * @param productSize the number of matching products per size.
+ * @param category the number of matching products per category id.
+ */
+public record ProductFacetCountsDTO(long total, Map<Size, Long> productSize, Map<Long, Long> category) implements Serializable {}
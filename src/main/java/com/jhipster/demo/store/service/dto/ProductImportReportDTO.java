@@ -0,0 +1,33 @@
+package com.jhipster.demo.store.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import.
+ *
+ * @param rows the number of rows read.
+ * @param imported the number of products created.
+ * @param rejected the number of rows rejected.
+ * @param elapsedMillis the duration of the import.
+ * @param rowsPerSecond the rows read per second.
+ * @param errors the rejected rows, at most {@link #MAX_ERRORS} of them.
+ */
+public record ProductImportReportDTO(
+    long rows,
+    long imported,
+    long rejected,
+    long elapsedMillis,
+    double rowsPerSecond,
+    List<RowError> errors
+) implements Serializable {
+    public static final int MAX_ERRORS = 1000;
+
+    /**
+     * A rejected row.
+     *
+     * @param row the number of the row in the input, starting at 1 with the first data row.
+     * @param message why the row was rejected.
+     */
+    public record RowError(long row, String message) implements Serializable {}
+}
@@ -0,0 +1,14 @@
+package com.jhipster.demo.store.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A product frequently bought together with another.
+ *
+ * @param productId the id of the product.
+ * @param name the name of the product, if it still exists.
+ * @param price the price of the product, if it still exists.
+ * @param carts the number of paid or completed carts both products were ordered in.
+ */
+public record RelatedProductDTO(Long productId, String name, BigDecimal price, int carts) implements Serializable {}
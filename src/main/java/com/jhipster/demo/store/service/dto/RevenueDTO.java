@@ -0,0 +1,28 @@
+package com.jhipster.demo.store.service.dto;
+
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Sales of one group of a revenue report. Dimensions the report is not grouped by are {@code null}.
+ *
+ * @param period the start of the hour or day, when grouped by time.
+ * @param productId the product, when grouped by product.
+ * @param productCategoryId the product category, when grouped by product or category.
+ * @param status the cart status, when grouped by status.
+ * @param units the number of units sold.
+ * @param revenue the revenue.
+ * @param orderCount the number of carts.
+ */
+public record RevenueDTO(
+    Instant period,
+    Long productId,
+    Long productCategoryId,
+    OrderStatus status,
+    long units,
+    BigDecimal revenue,
+    long orderCount
+)
+    implements Serializable {}
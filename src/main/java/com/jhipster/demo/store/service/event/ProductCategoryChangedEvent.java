@@ -0,0 +1,27 @@
+package com.jhipster.demo.store.service.event;
+
+import com.jhipster.demo.store.domain.ProductCategory;
+
+/**
+ * Published by {@link com.jhipster.demo.store.service.ProductCategoryService} when a product category is written or deleted,
+ * and by the {@link com.jhipster.demo.store.service.cache.CacheInvalidationService} when another node did.
+ * <p>
+ * Listeners should use {@link org.springframework.transaction.event.TransactionalEventListener} so they only see
+ * committed changes.
+ *
+ * @param productCategoryId the id of the product category.
+ * @param productCategory the product category as written, or {@code null} if it was deleted.
+ */
+public record ProductCategoryChangedEvent(Long productCategoryId, ProductCategory productCategory) {
+    public static ProductCategoryChangedEvent saved(ProductCategory productCategory) {
+        return new ProductCategoryChangedEvent(productCategory.getId(), productCategory);
+    }
+
+    public static ProductCategoryChangedEvent deleted(Long productCategoryId) {
+        return new ProductCategoryChangedEvent(productCategoryId, null);
+    }
+
+    public boolean isDeleted() {
+        return productCategory == null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.jhipster.demo.store.service.event;
+
+import com.jhipster.demo.store.domain.Product;
+
+/**
+ * Published by {@link com.jhipster.demo.store.service.ProductService} when a product is written or deleted, and by the
+ * {@link com.jhipster.demo.store.service.cache.CacheInvalidationService} when another node deleted it.
+ * <p>
+ * Listeners should use {@link org.springframework.transaction.event.TransactionalEventListener} so they only see
+ * committed changes.
+ *
+ * @param productId the id of the product.
+ * @param product the product as written, or {@code null} if it was deleted.
+ */
+public record ProductChangedEvent(Long productId, Product product) {
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), product);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+
+    public boolean isDeleted() {
+        return product == null;
+    }
+}
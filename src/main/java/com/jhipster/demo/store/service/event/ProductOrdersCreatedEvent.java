@@ -0,0 +1,14 @@
+package com.jhipster.demo.store.service.event;
+
+import com.jhipster.demo.store.domain.ProductOrder;
+import java.util.List;
+
+/**
+ * Published by {@link com.jhipster.demo.store.service.ProductOrderService} when order lines are created.
+ * <p>
+ * Listeners should use {@link org.springframework.transaction.event.TransactionalEventListener} so they only see
+ * committed changes.
+ *
+ * @param productOrders the order lines as written.
+ */
+public record ProductOrdersCreatedEvent(List<ProductOrder> productOrders) {}
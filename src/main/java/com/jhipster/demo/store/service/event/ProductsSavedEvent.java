@@ -0,0 +1,16 @@
+package com.jhipster.demo.store.service.event;
+
+import com.jhipster.demo.store.domain.Product;
+import java.util.List;
+
+/**
+ * Published by {@link com.jhipster.demo.store.service.ProductService} when products are written in bulk, instead of one
+ * {@link ProductChangedEvent} per product, so that listeners can apply the whole batch at once, and by the
+ * {@link com.jhipster.demo.store.service.cache.CacheInvalidationService} with the products other nodes wrote.
+ * <p>
+ * Listeners should use {@link org.springframework.transaction.event.TransactionalEventListener} so they only see
+ * committed changes.
+ *
+ * @param products the products as written.
+ */
+public record ProductsSavedEvent(List<Product> products) {}
@@ -0,0 +1,18 @@
+package com.jhipster.demo.store.service.event;
+
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import java.util.List;
+
+/**
+ * Published by {@link com.jhipster.demo.store.service.ShoppingCartService} when the status of a cart changes, or when a
+ * cart is deleted.
+ * <p>
+ * Listeners should use {@link org.springframework.transaction.event.TransactionalEventListener} so they only see
+ * committed changes.
+ *
+ * @param cartId the id of the cart.
+ * @param previous the status before the change, or {@code null} if the cart did not exist.
+ * @param current the status after the change, or {@code null} if the cart was deleted.
+ * @param productIds the ids of the products ordered in the cart, without duplicates.
+ */
+public record ShoppingCartStatusChangedEvent(Long cartId, OrderStatus previous, OrderStatus current, List<Long> productIds) {}
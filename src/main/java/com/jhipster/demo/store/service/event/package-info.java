@@ -0,0 +1,4 @@
+/**
+ * Application events published by services when catalog or order data changes, for in-memory read models to follow.
+ */
+package com.jhipster.demo.store.service.event;
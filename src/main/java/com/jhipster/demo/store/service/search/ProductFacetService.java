@@ -0,0 +1,424 @@
+package com.jhipster.demo.store.service.search;
+
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.service.dto.ProductFacetCountsDTO;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import com.jhipster.demo.store.service.event.ProductsSavedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Faceted filtering of products on size, category and price, answered from in-memory bitmaps.
+ * <p>
+ * Each size and category has a bitmap of the ids of its products, and prices are kept in a sorted map of bitmaps, so a
+ * filter is a union within each facet and an intersection across facets. Facet counts are computed with the filters of
+ * the other facets applied, so a client can tell how many products each additional choice would return.
+ * <p>
+ * The index is built from the database when the application is ready, then follows committed product changes.
+ */
+@Service
+public class ProductFacetService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductFacetService.class);
+
+    public static final String MEMORY_METER_NAME = "store.product.facets.memory";
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+
+    public ProductFacetService(ProductRepository productRepository, MeterRegistry registry) {
+        this.productRepository = productRepository;
+        Gauge.builder(MEMORY_METER_NAME, this, ProductFacetService::estimateMemoryBytes)
+            .description("Estimated heap used by the product facet bitmaps")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    /**
+     * Filter on the product facets. Empty collections and {@code null} bounds do not filter.
+     *
+     * @param productSizes the accepted sizes.
+     * @param categoryIds the accepted category ids.
+     * @param minPrice the minimum price, inclusive.
+     * @param maxPrice the maximum price, inclusive.
+     */
+    public record Filter(Collection<Size> productSizes, Collection<Long> categoryIds, BigDecimal minPrice, BigDecimal maxPrice) {
+        public boolean isEmpty() {
+            return (productSizes == null || productSizes.isEmpty()) &&
+                (categoryIds == null || categoryIds.isEmpty()) &&
+                minPrice == null &&
+                maxPrice == null;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            LOG.warn("Could not build the product facet index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the whole index from the database.
+     */
+    public void rebuild() {
+        Index rebuilt = new Index();
+        for (Product product : productRepository.findAllWithToOneRelationships()) {
+            rebuilt.add(product);
+        }
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.info("Indexed {} products for faceted filtering", rebuilt.documents.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.remove(event.productId());
+            if (!event.isDeleted()) {
+                index.add(event.product());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsSaved(ProductsSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.products().forEach(product -> {
+                index.remove(product.getId());
+                index.add(product);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the ids of the products matching a filter, in id order.
+     *
+     * @param filter the filter.
+     * @param pageable the pagination information, only the page number and size are used.
+     * @return the page of product ids, with the total number of matches.
+     */
+    public Page<Long> findIds(Filter filter, Pageable pageable) {
+        List<Long> ids;
+        long total;
+        lock.readLock().lock();
+        try {
+            LongBitmap matches = index.match(filter.productSizes(), filter.categoryIds(), filter.minPrice(), filter.maxPrice());
+            total = matches.cardinality();
+            ids = matches.ids(pageable.getOffset(), pageable.getPageSize());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    /**
+     * Count the products matching a filter, in total and for each facet value.
+     *
+     * @param filter the filter.
+     * @return the counts.
+     */
+    public ProductFacetCountsDTO count(Filter filter) {
+        lock.readLock().lock();
+        try {
+            long total = index.match(filter.productSizes(), filter.categoryIds(), filter.minPrice(), filter.maxPrice()).cardinality();
+
+            LongBitmap anySize = index.match(null, filter.categoryIds(), filter.minPrice(), filter.maxPrice());
+            Map<Size, Long> productSizes = new EnumMap<>(Size.class);
+            for (Size size : Size.values()) {
+                LongBitmap bitmap = index.bySize.get(size);
+                productSizes.put(size, bitmap == null ? 0 : anySize.intersectionSize(bitmap));
+            }
+
+            LongBitmap anyCategory = index.match(filter.productSizes(), null, filter.minPrice(), filter.maxPrice());
+            Map<Long, Long> categories = new LinkedHashMap<>();
+            new TreeMap<>(index.byCategory).forEach((categoryId, bitmap) -> {
+                long count = anyCategory.intersectionSize(bitmap);
+                if (count > 0) {
+                    categories.put(categoryId, count);
+                }
+            });
+            return new ProductFacetCountsDTO(total, productSizes, categories);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the estimated heap used by the bitmaps, in bytes.
+     */
+    public long estimateMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            return index.estimateMemoryBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index state, only accessed under {@link #lock}.
+     */
+    private static final class Index {
+
+        // rough per-entry overhead of the maps holding the bitmaps
+        private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+        private final LongBitmap all = new LongBitmap();
+
+        private final Map<Size, LongBitmap> bySize = new EnumMap<>(Size.class);
+
+        private final Map<Long, LongBitmap> byCategory = new HashMap<>();
+
+        private final NavigableMap<BigDecimal, LongBitmap> byPrice = new TreeMap<>();
+
+        private final Map<Long, Document> documents = new HashMap<>();
+
+        void add(Product product) {
+            long id = product.getId();
+            Long categoryId = product.getProductCategory() != null ? product.getProductCategory().getId() : null;
+            Document document = new Document(product.getProductSize(), categoryId, product.getPrice());
+            all.set(id);
+            if (document.size() != null) {
+                bySize.computeIfAbsent(document.size(), key -> new LongBitmap()).set(id);
+            }
+            if (document.categoryId() != null) {
+                byCategory.computeIfAbsent(document.categoryId(), key -> new LongBitmap()).set(id);
+            }
+            if (document.price() != null) {
+                byPrice.computeIfAbsent(document.price(), key -> new LongBitmap()).set(id);
+            }
+            documents.put(id, document);
+        }
+
+        void remove(Long productId) {
+            Document document = documents.remove(productId);
+            if (document == null) {
+                return;
+            }
+            all.clear(productId);
+            clear(bySize, document.size(), productId);
+            clear(byCategory, document.categoryId(), productId);
+            clear(byPrice, document.price(), productId);
+        }
+
+        LongBitmap match(Collection<Size> sizes, Collection<Long> categoryIds, BigDecimal minPrice, BigDecimal maxPrice) {
+            LongBitmap result = all.copy();
+            if (sizes != null && !sizes.isEmpty()) {
+                result.and(union(sizes.stream().map(bySize::get).toList()));
+            }
+            if (categoryIds != null && !categoryIds.isEmpty()) {
+                result.and(union(categoryIds.stream().map(byCategory::get).toList()));
+            }
+            if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+                return new LongBitmap();
+            }
+            if (minPrice != null || maxPrice != null) {
+                NavigableMap<BigDecimal, LongBitmap> range = byPrice;
+                if (minPrice != null) {
+                    range = range.tailMap(minPrice, true);
+                }
+                if (maxPrice != null) {
+                    range = range.headMap(maxPrice, true);
+                }
+                result.and(union(range.values()));
+            }
+            return result;
+        }
+
+        long estimateMemoryBytes() {
+            long bytes = all.estimateMemoryBytes();
+            for (Map<?, LongBitmap> bitmaps : List.<Map<?, LongBitmap>>of(bySize, byCategory, byPrice)) {
+                for (LongBitmap bitmap : bitmaps.values()) {
+                    bytes += bitmap.estimateMemoryBytes() + ENTRY_OVERHEAD_BYTES;
+                }
+            }
+            return bytes + (long) documents.size() * ENTRY_OVERHEAD_BYTES;
+        }
+
+        private static LongBitmap union(Collection<LongBitmap> bitmaps) {
+            LongBitmap result = new LongBitmap();
+            for (LongBitmap bitmap : bitmaps) {
+                if (bitmap != null) {
+                    result.or(bitmap);
+                }
+            }
+            return result;
+        }
+
+        private static <K> void clear(Map<K, LongBitmap> bitmaps, K key, long id) {
+            if (key == null) {
+                return;
+            }
+            LongBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                bitmap.clear(id);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Set of product ids, as {@link BitSet}s over consecutive chunks of {@code 2^16} ids kept in id order: any id fits,
+     * including ids beyond the {@code int} range of a single {@link BitSet}, and sparse ids only cost their chunks.
+     */
+    static final class LongBitmap {
+
+        private static final int CHUNK_BITS = 16;
+
+        private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+        // rough overhead of a chunk entry in the tree map
+        private static final int CHUNK_OVERHEAD_BYTES = 48;
+
+        private final NavigableMap<Long, BitSet> chunks = new TreeMap<>();
+
+        void set(long id) {
+            chunks.computeIfAbsent(id >>> CHUNK_BITS, key -> new BitSet()).set((int) (id & CHUNK_MASK));
+        }
+
+        void clear(long id) {
+            BitSet chunk = chunks.get(id >>> CHUNK_BITS);
+            if (chunk != null) {
+                chunk.clear((int) (id & CHUNK_MASK));
+                if (chunk.isEmpty()) {
+                    chunks.remove(id >>> CHUNK_BITS);
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return chunks.isEmpty();
+        }
+
+        long cardinality() {
+            long cardinality = 0;
+            for (BitSet chunk : chunks.values()) {
+                cardinality += chunk.cardinality();
+            }
+            return cardinality;
+        }
+
+        LongBitmap copy() {
+            LongBitmap copy = new LongBitmap();
+            chunks.forEach((key, chunk) -> copy.chunks.put(key, (BitSet) chunk.clone()));
+            return copy;
+        }
+
+        void and(LongBitmap other) {
+            Iterator<Map.Entry<Long, BitSet>> iterator = chunks.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, BitSet> entry = iterator.next();
+                BitSet otherChunk = other.chunks.get(entry.getKey());
+                if (otherChunk == null) {
+                    iterator.remove();
+                } else {
+                    entry.getValue().and(otherChunk);
+                    if (entry.getValue().isEmpty()) {
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+
+        void or(LongBitmap other) {
+            other.chunks.forEach((key, chunk) -> chunks.computeIfAbsent(key, k -> new BitSet()).or(chunk));
+        }
+
+        long intersectionSize(LongBitmap other) {
+            long size = 0;
+            for (Map.Entry<Long, BitSet> entry : chunks.entrySet()) {
+                BitSet otherChunk = other.chunks.get(entry.getKey());
+                if (otherChunk != null) {
+                    BitSet intersection = (BitSet) entry.getValue().clone();
+                    intersection.and(otherChunk);
+                    size += intersection.cardinality();
+                }
+            }
+            return size;
+        }
+
+        /**
+         * @param offset the number of ids to skip.
+         * @param limit the maximum number of ids to return.
+         * @return the ids, in ascending order.
+         */
+        List<Long> ids(long offset, int limit) {
+            List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+            long skip = offset;
+            for (Map.Entry<Long, BitSet> entry : chunks.entrySet()) {
+                BitSet chunk = entry.getValue();
+                int cardinality = chunk.cardinality();
+                if (skip >= cardinality) {
+                    skip -= cardinality;
+                    continue;
+                }
+                long base = entry.getKey() << CHUNK_BITS;
+                for (int bit = chunk.nextSetBit(0); bit >= 0 && ids.size() < limit; bit = chunk.nextSetBit(bit + 1)) {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        ids.add(base + bit);
+                    }
+                }
+                if (ids.size() == limit) {
+                    break;
+                }
+            }
+            return ids;
+        }
+
+        long estimateMemoryBytes() {
+            long bytes = 0;
+            for (BitSet chunk : chunks.values()) {
+                bytes += chunk.size() / Byte.SIZE + CHUNK_OVERHEAD_BYTES;
+            }
+            return bytes;
+        }
+    }
+
+    private record Document(Size size, Long categoryId, BigDecimal price) {}
+}
@@ -0,0 +1,300 @@
+package com.jhipster.demo.store.service.search;
+
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.ProductSummary;
+import com.jhipster.demo.store.service.event.ProductCategoryChangedEvent;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import com.jhipster.demo.store.service.event.ProductsSavedEvent;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Full-text search over products, answered from an in-memory inverted index.
+ * <p>
+ * Product names, descriptions and category names are tokenized (lowercased, accents removed) into terms kept in a
+ * sorted map, so every query term also matches the indexed terms it is a prefix of. A product matches when all query
+ * terms match; it is scored by the weight of the field each term was found in, with exact terms ranking above prefixes.
+ * <p>
+ * The index is built from the database when the application is ready, then follows committed product and category
+ * changes. Searches never touch the database.
+ */
+@Service
+public class ProductSearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductSearchService.class);
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final float NAME_WEIGHT = 3f;
+
+    private static final float CATEGORY_WEIGHT = 2f;
+
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    private final ProductRepository productRepository;
+
+    private final ProductCategoryRepository productCategoryRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+
+    public ProductSearchService(ProductRepository productRepository, ProductCategoryRepository productCategoryRepository) {
+        this.productRepository = productRepository;
+        this.productCategoryRepository = productCategoryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            LOG.warn("Could not build the product search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the whole index from the database.
+     */
+    public void rebuild() {
+        Index rebuilt = new Index();
+        for (ProductCategory productCategory : productCategoryRepository.findAll()) {
+            rebuilt.categoryNames.put(productCategory.getId(), productCategory.getName());
+        }
+        for (Product product : productRepository.findAllWithToOneRelationships()) {
+            rebuilt.add(product);
+        }
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.info("Indexed {} products for search", rebuilt.documents.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.remove(event.productId());
+            if (!event.isDeleted()) {
+                index.add(event.product());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsSaved(ProductsSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.products().forEach(product -> {
+                index.remove(product.getId());
+                index.add(product);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCategoryChanged(ProductCategoryChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.renameCategory(event.productCategoryId(), event.isDeleted() ? null : event.productCategory().getName());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search products.
+     *
+     * @param query the words to look for, the last ones may be incomplete.
+     * @param pageable the pagination information, only the page number and size are used.
+     * @return the page of matching products, best matches first.
+     */
+    public Page<ProductSummary> search(String query, Pageable pageable) {
+        LOG.debug("Request to search Products : {}", query);
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        List<ProductSummary> matches;
+        lock.readLock().lock();
+        try {
+            matches = index.search(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(matches.subList(from, to), pageable, matches.size());
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String term : NON_WORD.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Index state, only accessed under {@link #lock}.
+     */
+    private static final class Index {
+
+        private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+        private final Map<Long, Document> documents = new HashMap<>();
+
+        private final Map<Long, String> categoryNames = new HashMap<>();
+
+        void add(Product product) {
+            Long categoryId = product.getProductCategory() != null ? product.getProductCategory().getId() : null;
+            // the name carried by the product may come from a request body, only category events and rebuilds set it
+            String categoryName = categoryNames.get(categoryId);
+            ProductSummary summary = new ProductSummary(
+                product.getId(),
+                product.getName(),
+                product.getPrice(),
+                product.getProductSize(),
+                product.getImageHash(),
+                categoryId,
+                categoryName
+            );
+            Document document = new Document(summary, product.getDescription(), new HashMap<>());
+            addTerms(document, product.getName(), NAME_WEIGHT);
+            addTerms(document, categoryName, CATEGORY_WEIGHT);
+            addTerms(document, product.getDescription(), DESCRIPTION_WEIGHT);
+            document.terms().forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(product.getId(), weight));
+            documents.put(product.getId(), document);
+        }
+
+        void remove(Long productId) {
+            Document document = documents.remove(productId);
+            if (document == null) {
+                return;
+            }
+            document.terms().keySet().forEach(term -> {
+                Map<Long, Float> posting = postings.get(term);
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            });
+        }
+
+        void renameCategory(Long categoryId, String name) {
+            if (name == null) {
+                categoryNames.remove(categoryId);
+            } else {
+                categoryNames.put(categoryId, name);
+            }
+            List<Document> affected = documents
+                .values()
+                .stream()
+                .filter(document -> Objects.equals(document.summary().productCategoryId(), categoryId))
+                .toList();
+            for (Document document : affected) {
+                ProductSummary summary = document.summary();
+                remove(summary.id());
+                add(document.toProduct());
+            }
+        }
+
+        List<ProductSummary> search(List<String> terms) {
+            Map<Long, Float> scores = null;
+            for (String term : terms) {
+                Map<Long, Float> termScores = new HashMap<>();
+                postings
+                    .subMap(term, true, term + Character.MAX_VALUE, true)
+                    .forEach((indexedTerm, posting) -> {
+                        float factor = indexedTerm.equals(term) ? 1f : PREFIX_FACTOR;
+                        posting.forEach((id, weight) -> termScores.merge(id, weight * factor, Math::max));
+                    });
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            Map<Long, Float> finalScores = scores;
+            return finalScores
+                .keySet()
+                .stream()
+                .map(documents::get)
+                .map(Document::summary)
+                .sorted(
+                    Comparator.comparing((ProductSummary summary) -> finalScores.get(summary.id()))
+                        .reversed()
+                        .thenComparing(ProductSummary::name, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(ProductSummary::id)
+                )
+                .toList();
+        }
+
+        private static void addTerms(Document document, String text, float weight) {
+            for (String term : tokenize(text)) {
+                document.terms().merge(term, weight, Float::sum);
+            }
+        }
+    }
+
+    private record Document(ProductSummary summary, String description, Map<String, Float> terms) {
+        Product toProduct() {
+            Product product = new Product()
+                .id(summary.id())
+                .name(summary.name())
+                .description(description)
+                .price(summary.price())
+                .productSize(summary.productSize())
+                .imageHash(summary.imageHash());
+            if (summary.productCategoryId() != null) {
+                product.setProductCategory(new ProductCategory().id(summary.productCategoryId()));
+            }
+            return product;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * In-memory search over the catalog, kept up to date from service events.
+ */
+package com.jhipster.demo.store.service.search;
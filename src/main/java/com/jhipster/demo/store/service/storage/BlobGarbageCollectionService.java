@@ -0,0 +1,125 @@
+package com.jhipster.demo.store.service.storage;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Deletes the blobs no longer referenced by a product or an image variant, such as replaced or deleted images.
+ * <p>
+ * Blobs are content-addressed and shared between products, so they are not deleted when a product stops using them
+ * but collected later. Only blobs stored more than {@code application.blob-store.orphan-retention-hours} ago are
+ * considered, so that a blob stored by an upload whose transaction has not committed yet is never collected; storing
+ * the same content again refreshes its storage time.
+ */
+@Service
+public class BlobGarbageCollectionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BlobGarbageCollectionService.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final BlobStore blobStore;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationProperties.BlobStore properties;
+
+    public BlobGarbageCollectionService(BlobStore blobStore, JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this.blobStore = blobStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getBlobStore();
+    }
+
+    /**
+     * Delete the variants of images no product uses anymore, then the unreferenced blobs.
+     * <p>
+     * This is scheduled to get fired every day, at 03:00 (am).
+     */
+    @Scheduled(cron = "0 0 3 * * ?")
+    public void collectGarbage() {
+        try {
+            int deleted = collectGarbage(Instant.now().minus(properties.getOrphanRetentionHours(), ChronoUnit.HOURS));
+            if (deleted > 0) {
+                LOG.info("Deleted {} unreferenced blobs", deleted);
+            }
+        } catch (DataAccessException | IOException | UncheckedIOException e) {
+            LOG.warn("Blob garbage collection failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Delete the unreferenced blobs last stored before the given time.
+     *
+     * @param storedBefore the storage time before which unreferenced blobs are deleted.
+     * @return the number of deleted blobs.
+     * @throws IOException if the blobs could not be listed or deleted.
+     */
+    public int collectGarbage(Instant storedBefore) throws IOException {
+        LOG.debug("Request to delete the unreferenced blobs stored before {}", storedBefore);
+        // variants of images no product uses anymore, they are generated again if the image is uploaded again
+        jdbcTemplate.update(
+            "delete from product_image_variant where not exists " +
+            "(select 1 from product where product.image_hash = product_image_variant.source_hash)"
+        );
+        List<String> candidates = new ArrayList<>(BATCH_SIZE);
+        AtomicInteger deleted = new AtomicInteger();
+        blobStore.forEachStoredBefore(storedBefore, hash -> {
+            candidates.add(hash);
+            if (candidates.size() == BATCH_SIZE) {
+                deleted.addAndGet(deleteUnreferenced(candidates));
+                candidates.clear();
+            }
+        });
+        if (!candidates.isEmpty()) {
+            deleted.addAndGet(deleteUnreferenced(candidates));
+        }
+        return deleted.get();
+    }
+
+    private int deleteUnreferenced(List<String> hashes) {
+        String placeholders = String.join(", ", Collections.nCopies(hashes.size(), "?"));
+        Object[] parameters = new Object[hashes.size() * 2];
+        for (int i = 0; i < hashes.size(); i++) {
+            parameters[i] = hashes.get(i);
+            parameters[hashes.size() + i] = hashes.get(i);
+        }
+        Set<String> referenced = new HashSet<>(
+            jdbcTemplate.queryForList(
+                "select image_hash from product where image_hash in (" +
+                placeholders +
+                ") union select variant_hash from product_image_variant where variant_hash in (" +
+                placeholders +
+                ")",
+                String.class,
+                parameters
+            )
+        );
+        int deleted = 0;
+        for (String hash : hashes) {
+            if (!referenced.contains(hash)) {
+                try {
+                    blobStore.delete(hash);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not delete blob " + hash, e);
+                }
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,77 @@
+package com.jhipster.demo.store.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Content-addressed store for binary payloads such as product images.
+ * <p>
+ * Blobs are identified by the lowercase hex SHA-256 of their content, so storing the same bytes twice
+ * yields the same key and only one copy.
+ */
+public interface BlobStore {
+    /**
+     * Store the content of the given stream.
+     * <p>
+     * Storing content that is already present refreshes its storage time.
+     *
+     * @param content the content to store, read until end of stream but not closed.
+     * @return the content hash identifying the blob.
+     * @throws IOException if the content could not be read or persisted.
+     */
+    String put(InputStream content) throws IOException;
+
+    /**
+     * Look up a blob by its content hash.
+     *
+     * @param hash the content hash.
+     * @return the blob, or empty if no blob is stored under this hash.
+     */
+    Optional<Blob> find(String hash);
+
+    /**
+     * Delete the blob stored under the given hash, if any.
+     *
+     * @param hash the content hash.
+     * @throws IOException if the blob exists but could not be removed.
+     */
+    void delete(String hash) throws IOException;
+
+    /**
+     * Hand the hash of every blob last stored before the given time to the given action.
+     *
+     * @param time the storage time before which blobs are listed.
+     * @param action the action to apply to each hash.
+     * @throws IOException if the blobs could not be listed.
+     */
+    void forEachStoredBefore(Instant time, Consumer<String> action) throws IOException;
+
+    /**
+     * A stored blob, readable without loading its content on the heap.
+     */
+    interface Blob {
+        String hash();
+
+        long size();
+
+        /**
+         * Open a stream on the content, to be closed by the caller.
+         *
+         * @return the content stream.
+         * @throws IOException if the content cannot be read.
+         */
+        InputStream openStream() throws IOException;
+
+        /**
+         * Copy the whole content to the given channel.
+         *
+         * @param target the channel to write to, left open.
+         * @throws IOException if reading or writing fails.
+         */
+        void transferTo(WritableByteChannel target) throws IOException;
+    }
+}
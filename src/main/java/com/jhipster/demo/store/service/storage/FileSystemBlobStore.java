@@ -0,0 +1,153 @@
+package com.jhipster.demo.store.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link BlobStore} keeping each blob in its own file under a root directory.
+ * <p>
+ * Files are laid out as {@code <root>/<h[0..2]>/<h[2..4]>/<hash>} to keep directories small. Content is first written
+ * to a temporary file and then moved in place, so readers never observe a partially written blob.
+ */
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileSystemBlobStore.class);
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+
+    private final Path root;
+
+    private final Path tmp;
+
+    public FileSystemBlobStore(Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.tmp = this.root.resolve("tmp");
+        Files.createDirectories(this.tmp);
+        LOG.debug("Blob store initialized in {}", this.root);
+    }
+
+    @Override
+    public String put(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temporary = Files.createTempFile(tmp, "upload-", ".part");
+        try {
+            try (DigestInputStream in = new DigestInputStream(content, digest); OutputStream out = Files.newOutputStream(temporary)) {
+                in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(hash);
+            if (Files.exists(target)) {
+                // referenced again, keep it out of reach of the garbage collection
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                return hash;
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target);
+            } catch (FileAlreadyExistsException e) {
+                // stored concurrently with the same content
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public Optional<Blob> find(String hash) {
+        if (!isValidHash(hash)) {
+            return Optional.empty();
+        }
+        Path path = resolve(hash);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(new FileBlob(hash, path));
+    }
+
+    @Override
+    public void delete(String hash) throws IOException {
+        if (isValidHash(hash)) {
+            Files.deleteIfExists(resolve(hash));
+        }
+    }
+
+    @Override
+    public void forEachStoredBefore(Instant time, Consumer<String> action) throws IOException {
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String hash = path.getFileName().toString();
+                if (isValidHash(hash) && Files.isRegularFile(path) && Files.getLastModifiedTime(path).toInstant().isBefore(time)) {
+                    action.accept(hash);
+                }
+            }
+        }
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    private Path resolve(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record FileBlob(String hash, Path path) implements Blob {
+        @Override
+        public long size() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(WritableByteChannel target) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                long position = 0;
+                // transferTo may move fewer bytes than requested, typically when the target is a socket
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.jhipster.demo.store.service.storage;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Optional;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Derived renditions of a product image, generated in the background by {@link ProductImageVariantService}.
+ * <p>
+ * Images are scaled down to fit a square of {@link #getMaxDimension()} pixels, keeping their aspect ratio, and never
+ * scaled up. Opaque images are encoded as JPEG, images with transparency as PNG.
+ */
+public enum ImageVariant {
+    THUMB(200, 0.75f),
+    WEB(1280, 0.85f);
+
+    private static final String JPEG = "jpeg";
+
+    private static final String PNG = "png";
+
+    private final int maxDimension;
+
+    private final float jpegQuality;
+
+    ImageVariant(int maxDimension, float jpegQuality) {
+        this.maxDimension = maxDimension;
+        this.jpegQuality = jpegQuality;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /**
+     * @return the name of the variant, as used in the {@code variant} request parameter.
+     */
+    public String parameterValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Find a variant by its request parameter value.
+     *
+     * @param value the request parameter value.
+     * @return the variant, or empty if there is none with that name.
+     */
+    public static Optional<ImageVariant> fromParameterValue(String value) {
+        for (ImageVariant variant : values()) {
+            if (variant.parameterValue().equals(value)) {
+                return Optional.of(variant);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Render this variant of an image.
+     *
+     * @param source the decoded original image.
+     * @return the encoded variant.
+     * @throws IOException if the variant cannot be encoded.
+     */
+    public Rendition render(BufferedImage source) throws IOException {
+        boolean alpha = source.getColorModel().hasAlpha();
+        double scale = Math.min(1d, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (alpha) {
+            ImageIO.write(target, PNG, output);
+            return new Rendition(output.toByteArray(), "image/png", width, height);
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(JPEG).next();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(target, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return new Rendition(output.toByteArray(), "image/jpeg", width, height);
+    }
+
+    /**
+     * An encoded variant.
+     *
+     * @param content the encoded bytes.
+     * @param contentType the media type of the encoded bytes.
+     * @param width the width in pixels.
+     * @param height the height in pixels.
+     */
+    public record Rendition(byte[] content, String contentType, int width, int height) {}
+}
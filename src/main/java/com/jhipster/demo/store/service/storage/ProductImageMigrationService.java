@@ -0,0 +1,115 @@
+package com.jhipster.demo.store.service.storage;
+
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.service.EntityVersionService;
+import com.jhipster.demo.store.service.cache.CacheInvalidationService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves product images still stored in the legacy {@code product.image} column into the {@link BlobStore}.
+ * <p>
+ * Rows are migrated in small batches, each in its own transaction: the image is copied to the blob store, then
+ * {@code image_hash} is set and the legacy column cleared. Each committed batch is recorded as a write to the product
+ * collection, so that its ETags change. The job polls until no legacy image is left, which also covers databases
+ * where Liquibase runs asynchronously and the {@code image_hash} column appears after startup.
+ */
+@Service
+public class ProductImageMigrationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductImageMigrationService.class);
+
+    private static final int BATCH_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlobStore blobStore;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final ProductImageVariantService productImageVariantService;
+
+    private final EntityVersionService entityVersionService;
+
+    private volatile boolean completed;
+
+    public ProductImageMigrationService(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        BlobStore blobStore,
+        CacheInvalidationService cacheInvalidationService,
+        ProductImageVariantService productImageVariantService,
+        EntityVersionService entityVersionService
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.blobStore = blobStore;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.productImageVariantService = productImageVariantService;
+        this.entityVersionService = entityVersionService;
+    }
+
+    /**
+     * Migrate legacy images until none are left.
+     * <p>
+     * This is scheduled to get fired one minute after startup, then every 10 minutes until done.
+     */
+    @Scheduled(initialDelay = 1, fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void migrateLegacyImages() {
+        if (completed) {
+            return;
+        }
+        try {
+            long migrated = 0;
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> migrateBatch());
+                migrated += batch;
+            } while (batch == BATCH_SIZE);
+            completed = true;
+            if (migrated > 0) {
+                // rows were changed behind Hibernate's back, on every node
+                cacheInvalidationService.invalidateEntities(Product.class);
+                LOG.info("Moved {} legacy product images to the blob store", migrated);
+            }
+        } catch (DataAccessException | IllegalStateException e) {
+            LOG.warn("Legacy product image migration failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int migrateBatch() {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "select id from product where image is not null and image_hash is null limit " + BATCH_SIZE,
+            Long.class
+        );
+        for (Long id : ids) {
+            String hash = jdbcTemplate.query("select image from product where id = ?", rs -> {
+                if (!rs.next()) {
+                    return null;
+                }
+                try (InputStream image = rs.getBinaryStream(1)) {
+                    return blobStore.put(image);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not store legacy image of Product " + id, e);
+                }
+            }, id);
+            jdbcTemplate.update("update product set image_hash = ?, image = null where id = ?", hash, id);
+            productImageVariantService.scheduleVariants(hash);
+        }
+        if (!ids.isEmpty()) {
+            entityVersionService.recordWrite(EntityVersionService.PRODUCT);
+        }
+        return ids.size();
+    }
+}
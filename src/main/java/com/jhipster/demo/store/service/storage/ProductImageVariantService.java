@@ -0,0 +1,218 @@
+package com.jhipster.demo.store.service.storage;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Generates the {@link ImageVariant}s of product images on the {@code taskExecutor}.
+ * <p>
+ * Variants are stored in the {@link BlobStore} next to the original and indexed by the original hash in the
+ * {@code product_image_variant} table, so identical uploads share their variants. Images are only ever decoded on
+ * the executor: until a variant exists, readers fall back to the original. Images larger than
+ * {@code application.blob-store.max-image-pixels} are never decoded and get no variants.
+ */
+@Service
+public class ProductImageVariantService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductImageVariantService.class);
+
+    public static final String QUEUE_METER_NAME = "store.product.image.variants.queue";
+
+    public static final String PROCESSING_METER_NAME = "store.product.image.variants.processing";
+
+    private final BlobStore blobStore;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Executor taskExecutor;
+
+    private final long maxImagePixels;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Timer processingTimer;
+
+    public ProductImageVariantService(
+        BlobStore blobStore,
+        JdbcTemplate jdbcTemplate,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.blobStore = blobStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskExecutor = taskExecutor;
+        this.maxImagePixels = applicationProperties.getBlobStore().getMaxImagePixels();
+        Gauge.builder(QUEUE_METER_NAME, pending, AtomicInteger::get)
+            .description("Product images waiting for their variants to be generated")
+            .baseUnit("images")
+            .register(registry);
+        this.processingTimer = Timer.builder(PROCESSING_METER_NAME)
+            .description("Time spent generating the variants of a product image")
+            .register(registry);
+    }
+
+    /**
+     * Generate the variants of an image in the background, once the current transaction, if any, has committed.
+     *
+     * @param sourceHash the hash of the original image.
+     */
+    public void scheduleVariants(String sourceHash) {
+        if (sourceHash == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        submit(sourceHash);
+                    }
+                }
+            );
+        } else {
+            submit(sourceHash);
+        }
+    }
+
+    /**
+     * Find a generated variant of an image.
+     *
+     * @param sourceHash the hash of the original image.
+     * @param variant the variant.
+     * @return the stored variant, or empty if it has not been generated yet.
+     */
+    public Optional<StoredVariant> findVariant(String sourceHash, ImageVariant variant) {
+        List<StoredVariant> variants = jdbcTemplate.query(
+            "select variant_hash, content_type from product_image_variant where source_hash = ? and variant = ?",
+            (rs, rowNum) -> new StoredVariant(rs.getString(1), rs.getString(2)),
+            sourceHash,
+            variant.parameterValue()
+        );
+        return variants.stream().findFirst();
+    }
+
+    /**
+     * @return the number of images waiting for their variants.
+     */
+    public int getQueueDepth() {
+        return pending.get();
+    }
+
+    private void submit(String sourceHash) {
+        pending.incrementAndGet();
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    processingTimer.record(() -> generateVariants(sourceHash));
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            LOG.warn("Could not schedule variants of image {}: {}", sourceHash, e.getMessage());
+        }
+    }
+
+    private void generateVariants(String sourceHash) {
+        try {
+            Optional<BlobStore.Blob> original = blobStore.find(sourceHash);
+            if (original.isEmpty()) {
+                return;
+            }
+            BufferedImage image;
+            try (InputStream content = original.orElseThrow().openStream()) {
+                image = decode(content, maxImagePixels);
+            }
+            if (image == null) {
+                LOG.debug("Image {} has no readable format or is too large, no variant generated", sourceHash);
+                return;
+            }
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (findVariant(sourceHash, variant).isEmpty()) {
+                    storeVariant(sourceHash, variant, variant.render(image));
+                }
+            }
+        } catch (IOException | DataAccessException e) {
+            LOG.warn("Could not generate variants of image {}: {}", sourceHash, e.getMessage());
+        }
+    }
+
+    /**
+     * Decode an image, unless it is larger than the given number of pixels: the dimensions are read from the header
+     * first, so that a small upload declaring huge dimensions is never decoded.
+     *
+     * @param content the encoded image.
+     * @param maxPixels the largest number of pixels to decode.
+     * @return the decoded image, or {@code null} if its format is not readable or it is too large.
+     * @throws IOException if the image cannot be read.
+     */
+    static BufferedImage decode(InputStream content, long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    LOG.warn("Image of {} pixels exceeds the limit of {} pixels, not decoded", pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void storeVariant(String sourceHash, ImageVariant variant, ImageVariant.Rendition rendition) throws IOException {
+        String variantHash = blobStore.put(new ByteArrayInputStream(rendition.content()));
+        try {
+            jdbcTemplate.update(
+                "insert into product_image_variant (source_hash, variant, variant_hash, content_type) values (?, ?, ?, ?)",
+                sourceHash,
+                variant.parameterValue(),
+                variantHash,
+                rendition.contentType()
+            );
+        } catch (DuplicateKeyException e) {
+            LOG.debug("Variant {} of image {} was generated concurrently", variant, sourceHash);
+        }
+    }
+
+    /**
+     * A variant stored in the {@link BlobStore}.
+     *
+     * @param hash the hash of the variant content.
+     * @param contentType the media type of the variant.
+     */
+    public record StoredVariant(String hash, String contentType) {}
+}
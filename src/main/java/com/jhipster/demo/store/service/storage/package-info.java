@@ -0,0 +1,4 @@
+/**
+ * Content-addressed binary storage, kept out of the relational model.
+ */
+package com.jhipster.demo.store.service.storage;
@@ -4,19 +4,30 @@ import com.jhipster.demo.store.domain.User;
 import com.jhipster.demo.store.repository.UserRepository;
 import com.jhipster.demo.store.security.SecurityUtils;
 import com.jhipster.demo.store.service.MailService;
+import com.jhipster.demo.store.service.ShoppingCartService;
 import com.jhipster.demo.store.service.UserService;
+import com.jhipster.demo.store.service.dto.AccountOrderDTO;
 import com.jhipster.demo.store.service.dto.AdminUserDTO;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
 import com.jhipster.demo.store.service.dto.PasswordChangeDTO;
 import com.jhipster.demo.store.web.rest.errors.*;
+import com.jhipster.demo.store.web.rest.util.KeysetPaginationUtil;
 import com.jhipster.demo.store.web.rest.vm.KeyAndPasswordVM;
 import com.jhipster.demo.store.web.rest.vm.ManagedUserVM;
 import jakarta.validation.Valid;
 import java.util.*;
+import java.util.function.Function;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * REST controller for managing the current user's account.
@@ -34,16 +45,36 @@ public class AccountResource {
 
     private static final Logger LOG = LoggerFactory.getLogger(AccountResource.class);
 
+    private static final String ORDER_ENTITY_NAME = "shoppingCart";
+
+    private static final int MAX_ORDER_PAGE_SIZE = 100;
+
+    /**
+     * Sort keys of the order history, with their accessor: only the placed date, most recent first.
+     */
+    private static final Map<String, Function<AccountOrderDTO, Object>> ORDER_SORT_KEYS = Map.of(
+        "placedDate",
+        AccountOrderDTO::placedDate
+    );
+
     private final UserRepository userRepository;
 
     private final UserService userService;
 
     private final MailService mailService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    private final ShoppingCartService shoppingCartService;
+
+    public AccountResource(
+        UserRepository userRepository,
+        UserService userService,
+        MailService mailService,
+        ShoppingCartService shoppingCartService
+    ) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.mailService = mailService;
+        this.shoppingCartService = shoppingCartService;
     }
 
     /**
@@ -92,6 +123,46 @@ public class AccountResource {
             .orElseThrow(() -> new AccountResourceException("User could not be found"));
     }
 
+    /**
+     * {@code GET  /account/orders} : get the carts of the current user, with their lines, most recent first.
+     * <p>
+     * Follow the {@code next} link to get the following pages.
+     *
+     * @param after the opaque cursor of the page, absent for the first page.
+     * @param size the number of carts per page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of carts in body,
+     * or with status {@code 400 (Bad Request)} if the cursor or the size is invalid.
+     * @throws RuntimeException {@code 500 (Internal Server Error)} if the user login wasn't found.
+     */
+    @GetMapping("/account/orders")
+    public ResponseEntity<List<AccountOrderDTO>> getAccountOrders(
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAM, required = false) String after,
+        @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        String userLogin = SecurityUtils.getCurrentUserLogin()
+            .orElseThrow(() -> new AccountResourceException("Current user login not found"));
+        LOG.debug("REST request to get the orders of {}", userLogin);
+        if (size < 1 || size > MAX_ORDER_PAGE_SIZE) {
+            throw new BadRequestAlertException("size must be between 1 and " + MAX_ORDER_PAGE_SIZE, ORDER_ENTITY_NAME, "sizeinvalid");
+        }
+        KeysetCursor cursor = KeysetPaginationUtil.resolveCursor(
+            after,
+            PageRequest.of(0, size, Sort.by("placedDate")),
+            ORDER_SORT_KEYS,
+            ShoppingCartService.KEYSET_VALUE_TYPES,
+            ORDER_ENTITY_NAME
+        );
+        Slice<AccountOrderDTO> slice = shoppingCartService.findAccountOrders(userLogin, cursor, size);
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            cursor,
+            ORDER_SORT_KEYS.get(cursor.key()),
+            AccountOrderDTO::id
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
     /**
      * {@code POST  /account} : update the current user information.
      *
@@ -0,0 +1,90 @@
+package com.jhipster.demo.store.web.rest;
+
+import com.jhipster.demo.store.security.AuthoritiesConstants;
+import com.jhipster.demo.store.service.analytics.SalesRollupService;
+import com.jhipster.demo.store.service.dto.RevenueDTO;
+import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for sales analytics, served from the sales rollups.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AnalyticsResource.class);
+
+    private static final String ENTITY_NAME = "revenue";
+
+    private final SalesRollupService salesRollupService;
+
+    public AnalyticsResource(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    /**
+     * {@code GET  /analytics/revenue} : get the revenue of the paid and completed carts placed in a range.
+     *
+     * @param from the start of the range, inclusive, on an hour.
+     * @param to the end of the range, exclusive, on an hour.
+     * @param groupBy the dimensions to group by, among {@code hour} or {@code day}, {@code product}, {@code category} and {@code status}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the revenue of each group in body,
+     * or with status {@code 400 (Bad Request)} if the range or the dimensions are invalid.
+     */
+    @GetMapping("/revenue")
+    public ResponseEntity<List<RevenueDTO>> getRevenue(
+        @RequestParam(name = "from") Instant from,
+        @RequestParam(name = "to") Instant to,
+        @RequestParam(name = "groupBy", required = false) List<String> groupBy
+    ) {
+        LOG.debug("REST request to get revenue from {} to {} by {}", from, to, groupBy);
+        try {
+            return ResponseEntity.ok(salesRollupService.findRevenue(from, to, dimensions(groupBy)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "queryinvalid");
+        }
+    }
+
+    /**
+     * {@code POST  /analytics/revenue/_backfill} : rebuild the sales rollups of a range of days from the orders.
+     *
+     * @param from the first day, UTC, inclusive.
+     * @param to the last day, UTC, exclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of carts rolled up in body,
+     * or with status {@code 400 (Bad Request)} if the range is invalid.
+     */
+    @PostMapping("/revenue/_backfill")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Long> backfillRevenue(@RequestParam(name = "from") LocalDate from, @RequestParam(name = "to") LocalDate to) {
+        LOG.debug("REST request to rebuild sales rollups from {} to {}", from, to);
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("from must be before to", ENTITY_NAME, "daterangeinvalid");
+        }
+        return ResponseEntity.ok(salesRollupService.backfill(from, to));
+    }
+
+    private static Set<SalesRollupService.Dimension> dimensions(List<String> groupBy) {
+        Set<SalesRollupService.Dimension> dimensions = EnumSet.noneOf(SalesRollupService.Dimension.class);
+        if (groupBy != null) {
+            for (String dimension : groupBy) {
+                try {
+                    dimensions.add(SalesRollupService.Dimension.valueOf(dimension.strip().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown dimension " + dimension, e);
+                }
+            }
+        }
+        return dimensions;
+    }
+}
@@ -0,0 +1,49 @@
+package com.jhipster.demo.store.web.rest;
+
+import com.jhipster.demo.store.service.catalog.CatalogSnapshot;
+import com.jhipster.demo.store.service.catalog.CatalogSnapshotService;
+import java.time.Instant;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint of the in-memory catalog snapshot, exposed on {@code /management/catalog}.
+ * <p>
+ * {@code GET} describes the current snapshot, {@code POST} reloads it from the database.
+ */
+@Component
+@Endpoint(id = "catalog")
+public class CatalogEndpoint {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    public CatalogEndpoint(CatalogSnapshotService catalogSnapshotService) {
+        this.catalogSnapshotService = catalogSnapshotService;
+    }
+
+    @ReadOperation
+    public CatalogSnapshotInfo snapshot() {
+        return catalogSnapshotService.getSnapshot().map(CatalogSnapshotInfo::of).orElse(null);
+    }
+
+    @WriteOperation
+    public CatalogSnapshotInfo refresh() {
+        return CatalogSnapshotInfo.of(catalogSnapshotService.refresh());
+    }
+
+    /**
+     * Description of a catalog snapshot.
+     *
+     * @param version the version of the snapshot, incremented on every change.
+     * @param loadedAt when the snapshot was last fully read from the database.
+     * @param products the number of products.
+     * @param productCategories the number of product categories.
+     */
+    public record CatalogSnapshotInfo(long version, Instant loadedAt, int products, int productCategories) {
+        static CatalogSnapshotInfo of(CatalogSnapshot snapshot) {
+            return new CatalogSnapshotInfo(snapshot.getVersion(), snapshot.getLoadedAt(), snapshot.getProductCount(), snapshot.getCategoryCount());
+        }
+    }
+}
@@ -3,7 +3,12 @@ package com.jhipster.demo.store.web.rest;
 import com.jhipster.demo.store.domain.CustomerDetails;
 import com.jhipster.demo.store.repository.CustomerDetailsRepository;
 import com.jhipster.demo.store.service.CustomerDetailsService;
+import com.jhipster.demo.store.service.EntityVersionService;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
 import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
+import com.jhipster.demo.store.web.rest.util.ETagUtil;
+import com.jhipster.demo.store.web.rest.util.KeysetPaginationUtil;
+import com.jhipster.demo.store.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -11,14 +16,17 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -42,9 +50,16 @@ public class CustomerDetailsResource {
 
     private final CustomerDetailsRepository customerDetailsRepository;
 
-    public CustomerDetailsResource(CustomerDetailsService customerDetailsService, CustomerDetailsRepository customerDetailsRepository) {
+    private final EntityVersionService entityVersionService;
+
+    public CustomerDetailsResource(
+        CustomerDetailsService customerDetailsService,
+        CustomerDetailsRepository customerDetailsRepository,
+        EntityVersionService entityVersionService
+    ) {
         this.customerDetailsService = customerDetailsService;
         this.customerDetailsRepository = customerDetailsRepository;
+        this.entityVersionService = entityVersionService;
     }
 
     /**
@@ -90,6 +105,10 @@ public class CustomerDetailsResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
+        if (customerDetails.getVersion() == null) {
+            throw new BadRequestAlertException("A version is required", ENTITY_NAME, "versionnull");
+        }
+
         if (!customerDetailsRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
@@ -141,14 +160,32 @@ public class CustomerDetailsResource {
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customerDetails in body.
+     * @param count {@code true} (default) for an exact total, {@code false} to skip the count query, {@code approximate} for a cached total.
+     * @param request the current request, used to evaluate {@code If-None-Match} against the version of the customerDetails table.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customerDetails in body,
+     * or with status {@code 304 (Not Modified)} if no customerDetails was written since the client copy.
      */
     @GetMapping("")
     public ResponseEntity<List<CustomerDetails>> getAllCustomerDetails(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") String count,
+        WebRequest request
     ) {
         LOG.debug("REST request to get a page of CustomerDetails");
+        String etag = entityVersionService.stamp(EntityVersionService.CUSTOMER_DETAILS).collectionTag();
+        if (ETagUtil.isNotModified(request, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        SlicePaginationUtil.CountMode countMode = SlicePaginationUtil.CountMode.parse(count, ENTITY_NAME);
+        if (countMode != SlicePaginationUtil.CountMode.EXACT) {
+            Slice<CustomerDetails> slice = customerDetailsService.findAllSlice(pageable);
+            OptionalLong total = countMode == SlicePaginationUtil.CountMode.APPROXIMATE
+                ? OptionalLong.of(customerDetailsService.countApproximately())
+                : OptionalLong.empty();
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice, total);
+            return ResponseEntity.ok().headers(headers).eTag(etag).body(slice.getContent());
+        }
         Page<CustomerDetails> page;
         if (eagerload) {
             page = customerDetailsService.findAllWithEagerRelationships(pageable);
@@ -156,20 +193,59 @@ public class CustomerDetailsResource {
             page = customerDetailsService.findAll(pageable);
         }
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().headers(headers).eTag(etag).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /customer-details?after=:cursor} : get a page of customerDetails using keyset pagination.
+     * <p>
+     * Pass an empty cursor for the first page, optionally with {@code sort} set to one of
+     * {@link CustomerDetailsService#KEYSET_SORT_KEYS} (ascending), then follow the {@code next} link.
+     *
+     * @param after the opaque cursor of the page, empty for the first page.
+     * @param pageable the pagination information, only the size and the first sort order are used.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customerDetails in body.
+     */
+    @GetMapping(value = "", params = KeysetPaginationUtil.AFTER_PARAM)
+    public ResponseEntity<List<CustomerDetails>> getAllCustomerDetailsAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAM) String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a keyset page of CustomerDetails");
+        KeysetCursor cursor = KeysetPaginationUtil.resolveCursor(after, pageable, CustomerDetailsService.KEYSET_SORT_KEYS, ENTITY_NAME);
+        Slice<CustomerDetails> slice = customerDetailsService.findAllAfter(cursor, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            cursor,
+            CustomerDetailsService.KEYSET_SORT_KEYS.get(cursor.key()),
+            CustomerDetails::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
     }
 
     /**
      * {@code GET  /customer-details/:id} : get the "id" customerDetails.
      *
      * @param id the id of the customerDetails to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the customerDetails, or with status {@code 404 (Not Found)}.
+     * @param request the current request, used to evaluate {@code If-None-Match} against the version of the customerDetails.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the customerDetails,
+     * or with status {@code 304 (Not Modified)} if the client copy is current, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerDetails> getCustomerDetails(@PathVariable("id") Long id) {
+    public ResponseEntity<CustomerDetails> getCustomerDetails(@PathVariable("id") Long id, WebRequest request) {
         LOG.debug("REST request to get CustomerDetails : {}", id);
+        EntityVersionService.Stamp stamp = entityVersionService.stamp(EntityVersionService.CUSTOMER_DETAILS);
+        if (ETagUtil.isConditional(request)) {
+            Optional<String> currentTag = customerDetailsService.findVersion(id).map(version -> stamp.entityTag(id, version));
+            if (currentTag.isPresent() && ETagUtil.isNotModified(request, currentTag.orElseThrow())) {
+                return ETagUtil.notModified(currentTag.orElseThrow());
+            }
+        }
         Optional<CustomerDetails> customerDetails = customerDetailsService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(customerDetails);
+        HttpHeaders headers = new HttpHeaders();
+        customerDetails.ifPresent(c -> headers.setETag(stamp.entityTag(id, c.getVersion())));
+        return ResponseUtil.wrapOrNotFound(customerDetails, headers);
     }
 
     /**
@@ -0,0 +1,235 @@
+package com.jhipster.demo.store.web.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jhipster.demo.store.repository.ProductExportRow;
+import com.jhipster.demo.store.repository.ProductOrderExportRow;
+import com.jhipster.demo.store.service.ProductOrderService;
+import com.jhipster.demo.store.service.ProductService;
+import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller exporting the catalog and the orders as CSV or NDJSON.
+ * <p>
+ * Rows are read from a forward-only cursor as unmanaged projections and written as they come, gzipped when the client
+ * accepts it, so an export runs in constant memory whatever its size. The CSV layout matches the one accepted by
+ * {@code POST /api/products/_bulk}.
+ */
+@RestController
+@RequestMapping("/api/exports")
+public class ExportResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExportResource.class);
+
+    private static final String ENTITY_NAME = "export";
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final char CSV_SEPARATOR = ';';
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final List<Column<ProductExportRow>> PRODUCT_COLUMNS = List.of(
+        new Column<>("id", ProductExportRow::id),
+        new Column<>("name", ProductExportRow::name),
+        new Column<>("description", ProductExportRow::description),
+        new Column<>("price", ProductExportRow::price),
+        new Column<>("product_size", ProductExportRow::productSize),
+        new Column<>("image_content_type", ProductExportRow::imageContentType),
+        new Column<>("image_hash", ProductExportRow::imageHash),
+        new Column<>("product_category_id", ProductExportRow::productCategoryId),
+        new Column<>("product_category", ProductExportRow::productCategoryName)
+    );
+
+    private static final List<Column<ProductOrderExportRow>> PRODUCT_ORDER_COLUMNS = List.of(
+        new Column<>("id", ProductOrderExportRow::id),
+        new Column<>("quantity", ProductOrderExportRow::quantity),
+        new Column<>("total_price", ProductOrderExportRow::totalPrice),
+        new Column<>("product_id", ProductOrderExportRow::productId),
+        new Column<>("product_name", ProductOrderExportRow::productName),
+        new Column<>("cart_id", ProductOrderExportRow::cartId),
+        new Column<>("placed_date", ProductOrderExportRow::placedDate),
+        new Column<>("status", ProductOrderExportRow::status),
+        new Column<>("payment_method", ProductOrderExportRow::paymentMethod),
+        new Column<>("customer_details_id", ProductOrderExportRow::customerDetailsId)
+    );
+
+    private final ProductService productService;
+
+    private final ProductOrderService productOrderService;
+
+    private final ObjectMapper objectMapper;
+
+    public ExportResource(ProductService productService, ProductOrderService productOrderService, ObjectMapper objectMapper) {
+        this.productService = productService;
+        this.productOrderService = productOrderService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@code GET  /exports/products} : export all the products, in id order.
+     *
+     * @param format {@code csv} (default) or {@code ndjson}.
+     * @param acceptEncoding the encodings accepted by the client, the export is gzipped if {@code gzip} is one of them.
+     * @param response the response to write the export to.
+     * @throws IOException if the export cannot be written.
+     */
+    @GetMapping("/products")
+    public void exportProducts(
+        @RequestParam(name = "format", required = false, defaultValue = "csv") String format,
+        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        HttpServletResponse response
+    ) throws IOException {
+        LOG.debug("REST request to export Products as {}", format);
+        export("products", format, acceptEncoding, response, ProductExportRow.class, PRODUCT_COLUMNS, productService::streamExportRows);
+    }
+
+    /**
+     * {@code GET  /exports/orders} : export the productOrders, optionally filtered, in id order.
+     *
+     * @param format {@code csv} (default) or {@code ndjson}.
+     * @param cartId the cart to filter on.
+     * @param productId the product to filter on.
+     * @param placedFrom the lower bound of the cart placed date, inclusive.
+     * @param placedTo the upper bound of the cart placed date, exclusive.
+     * @param acceptEncoding the encodings accepted by the client, the export is gzipped if {@code gzip} is one of them.
+     * @param response the response to write the export to.
+     * @throws IOException if the export cannot be written.
+     */
+    @GetMapping("/orders")
+    public void exportProductOrders(
+        @RequestParam(name = "format", required = false, defaultValue = "csv") String format,
+        @RequestParam(name = "cartId", required = false) Long cartId,
+        @RequestParam(name = "productId", required = false) Long productId,
+        @RequestParam(name = "placedFrom", required = false) Instant placedFrom,
+        @RequestParam(name = "placedTo", required = false) Instant placedTo,
+        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        HttpServletResponse response
+    ) throws IOException {
+        LOG.debug("REST request to export ProductOrders as {}", format);
+        ProductOrderService.Filter filter = ProductOrderResource.filter(cartId, productId, placedFrom, placedTo);
+        export("orders", format, acceptEncoding, response, ProductOrderExportRow.class, PRODUCT_ORDER_COLUMNS, action ->
+            productOrderService.streamExportRows(filter, action)
+        );
+    }
+
+    private <T> void export(
+        String name,
+        String format,
+        String acceptEncoding,
+        HttpServletResponse response,
+        Class<T> type,
+        List<Column<T>> columns,
+        Consumer<Consumer<T>> rows
+    ) throws IOException {
+        boolean csv = switch (format) {
+            case "csv" -> true;
+            case "ndjson" -> false;
+            default -> throw new BadRequestAlertException("Unknown export format " + format, ENTITY_NAME, "formatinvalid");
+        };
+        response.setContentType(csv ? TEXT_CSV_VALUE : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        String filename = name + (csv ? ".csv" : ".ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        OutputStream out = response.getOutputStream();
+        if (acceptsGzip(acceptEncoding)) {
+            // set before the first byte is written, so that the server does not compress again
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        if (csv) {
+            writeCsv(out, columns, rows);
+        } else {
+            writeNdjson(out, type, rows);
+        }
+    }
+
+    private static <T> void writeCsv(OutputStream out, List<Column<T>> columns, Consumer<Consumer<T>> rows) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            for (int i = 0; i < columns.size(); i++) {
+                writeCsvField(writer, i, columns.get(i).name());
+            }
+            writer.write('\n');
+            rows.accept(row -> {
+                try {
+                    for (int i = 0; i < columns.size(); i++) {
+                        writeCsvField(writer, i, columns.get(i).value().apply(row));
+                    }
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static void writeCsvField(Writer writer, int index, Object value) throws IOException {
+        if (index > 0) {
+            writer.write(CSV_SEPARATOR);
+        }
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(CSV_SEPARATOR) < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private <T> void writeNdjson(OutputStream out, Class<T> type, Consumer<Consumer<T>> rows) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            rows.accept(row -> {
+                try {
+                    writer.writeValue(generator, row);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] parts = encoding.split(";");
+            if (parts[0].strip().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].strip().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private record Column<T>(String name, Function<T, Object> value) {}
+}
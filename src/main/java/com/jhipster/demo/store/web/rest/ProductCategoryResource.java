@@ -2,8 +2,13 @@ package com.jhipster.demo.store.web.rest;
 
 import com.jhipster.demo.store.domain.ProductCategory;
 import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.service.EntityVersionService;
 import com.jhipster.demo.store.service.ProductCategoryService;
+import com.jhipster.demo.store.service.catalog.CatalogSnapshotService;
+import com.jhipster.demo.store.service.catalog.JsonFragmentCache;
 import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
+import com.jhipster.demo.store.web.rest.util.ETagUtil;
+import com.jhipster.demo.store.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -11,14 +16,17 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -42,9 +50,24 @@ public class ProductCategoryResource {
 
     private final ProductCategoryRepository productCategoryRepository;
 
-    public ProductCategoryResource(ProductCategoryService productCategoryService, ProductCategoryRepository productCategoryRepository) {
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    private final JsonFragmentCache jsonFragmentCache;
+
+    private final EntityVersionService entityVersionService;
+
+    public ProductCategoryResource(
+        ProductCategoryService productCategoryService,
+        ProductCategoryRepository productCategoryRepository,
+        CatalogSnapshotService catalogSnapshotService,
+        JsonFragmentCache jsonFragmentCache,
+        EntityVersionService entityVersionService
+    ) {
         this.productCategoryService = productCategoryService;
         this.productCategoryRepository = productCategoryRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.jsonFragmentCache = jsonFragmentCache;
+        this.entityVersionService = entityVersionService;
     }
 
     /**
@@ -90,6 +113,10 @@ public class ProductCategoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
+        if (productCategory.getVersion() == null) {
+            throw new BadRequestAlertException("A version is required", ENTITY_NAME, "versionnull");
+        }
+
         if (!productCategoryRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
@@ -140,29 +167,64 @@ public class ProductCategoryResource {
      * {@code GET  /product-categories} : get all the productCategories.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of productCategories in body.
+     * @param count {@code true} (default) for an exact total, {@code false} to skip the count query, {@code approximate} for a cached total.
+     * @param request the current request, used to evaluate {@code If-None-Match} against the version of the productCategory table.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of productCategories in body,
+     * or with status {@code 304 (Not Modified)} if no productCategory was written since the client copy.
      */
     @GetMapping("")
     public ResponseEntity<List<ProductCategory>> getAllProductCategories(
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") String count,
+        WebRequest request
     ) {
         LOG.debug("REST request to get a page of ProductCategories");
+        String etag = entityVersionService.stamp(EntityVersionService.PRODUCT_CATEGORY).collectionTag();
+        if (ETagUtil.isNotModified(request, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        SlicePaginationUtil.CountMode countMode = SlicePaginationUtil.CountMode.parse(count, ENTITY_NAME);
+        if (countMode != SlicePaginationUtil.CountMode.EXACT) {
+            Slice<ProductCategory> slice = productCategoryService.findAllSlice(pageable);
+            OptionalLong total = countMode == SlicePaginationUtil.CountMode.APPROXIMATE
+                ? OptionalLong.of(productCategoryService.countApproximately())
+                : OptionalLong.empty();
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice, total);
+            return ResponseEntity.ok().headers(headers).eTag(etag).body(slice.getContent());
+        }
+        Optional<Page<ProductCategory>> snapshotPage = catalogSnapshotService.findCategories(pageable);
+        if (snapshotPage.isPresent()) {
+            Page<ProductCategory> page = snapshotPage.orElseThrow();
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).eTag(etag).body(jsonFragmentCache.categories(page.getContent()));
+        }
         Page<ProductCategory> page = productCategoryService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().headers(headers).eTag(etag).body(page.getContent());
     }
 
     /**
      * {@code GET  /product-categories/:id} : get the "id" productCategory.
      *
      * @param id the id of the productCategory to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the productCategory, or with status {@code 404 (Not Found)}.
+     * @param request the current request, used to evaluate {@code If-None-Match} against the version of the productCategory.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the productCategory,
+     * or with status {@code 304 (Not Modified)} if the client copy is current, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductCategory> getProductCategory(@PathVariable("id") Long id) {
+    public ResponseEntity<ProductCategory> getProductCategory(@PathVariable("id") Long id, WebRequest request) {
         LOG.debug("REST request to get ProductCategory : {}", id);
+        EntityVersionService.Stamp stamp = entityVersionService.stamp(EntityVersionService.PRODUCT_CATEGORY);
+        if (ETagUtil.isConditional(request)) {
+            Optional<String> currentTag = productCategoryService.findVersion(id).map(version -> stamp.entityTag(id, version));
+            if (currentTag.isPresent() && ETagUtil.isNotModified(request, currentTag.orElseThrow())) {
+                return ETagUtil.notModified(currentTag.orElseThrow());
+            }
+        }
         Optional<ProductCategory> productCategory = productCategoryService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(productCategory);
+        HttpHeaders headers = new HttpHeaders();
+        productCategory.ifPresent(c -> headers.setETag(stamp.entityTag(id, c.getVersion())));
+        return ResponseUtil.wrapOrNotFound(productCategory, headers);
     }
 
     /**
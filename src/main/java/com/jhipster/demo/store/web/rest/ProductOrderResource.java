@@ -1,22 +1,39 @@
 package com.jhipster.demo.store.web.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.jhipster.demo.store.domain.ProductOrder;
 import com.jhipster.demo.store.repository.ProductOrderRepository;
 import com.jhipster.demo.store.service.ProductOrderService;
 import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
+import com.jhipster.demo.store.web.rest.util.SlicePaginationUtil;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -37,9 +54,16 @@ public class ProductOrderResource {
 
     private final ProductOrderRepository productOrderRepository;
 
-    public ProductOrderResource(ProductOrderService productOrderService, ProductOrderRepository productOrderRepository) {
+    private final ObjectMapper objectMapper;
+
+    public ProductOrderResource(
+        ProductOrderService productOrderService,
+        ProductOrderRepository productOrderRepository,
+        ObjectMapper objectMapper
+    ) {
         this.productOrderService = productOrderService;
         this.productOrderRepository = productOrderRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -131,17 +155,85 @@ public class ProductOrderResource {
     }
 
     /**
-     * {@code GET  /product-orders} : get all the productOrders.
+     * {@code GET  /product-orders} : get the productOrders, optionally filtered by cart, product and cart placed date.
      *
-     * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param pageable the pagination information.
+     * @param count {@code true} (default) for an exact total, {@code false} to skip the count query, {@code approximate} for a cached total.
+     * @param cartId the cart of the productOrders.
+     * @param productId the product of the productOrders.
+     * @param placedFrom the lower bound of the cart placed date, inclusive.
+     * @param placedTo the upper bound of the cart placed date, exclusive.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of productOrders in body.
      */
     @GetMapping("")
-    public List<ProductOrder> getAllProductOrders(
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+    public ResponseEntity<List<ProductOrder>> getAllProductOrders(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") String count,
+        @RequestParam(name = "cartId", required = false) Long cartId,
+        @RequestParam(name = "productId", required = false) Long productId,
+        @RequestParam(name = "placedFrom", required = false) Instant placedFrom,
+        @RequestParam(name = "placedTo", required = false) Instant placedTo
     ) {
-        LOG.debug("REST request to get all ProductOrders");
-        return productOrderService.findAll();
+        LOG.debug("REST request to get a page of ProductOrders");
+        ProductOrderService.Filter filter = filter(cartId, productId, placedFrom, placedTo);
+        SlicePaginationUtil.CountMode countMode = SlicePaginationUtil.CountMode.parse(count, ENTITY_NAME);
+        if (countMode != SlicePaginationUtil.CountMode.EXACT) {
+            Slice<ProductOrder> slice = productOrderService.findAllSlice(filter, pageable);
+            OptionalLong total = countMode == SlicePaginationUtil.CountMode.APPROXIMATE && filter.isEmpty()
+                ? OptionalLong.of(productOrderService.countApproximately())
+                : OptionalLong.empty();
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice, total);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        Page<ProductOrder> page = productOrderService.findAll(filter, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /product-orders} with {@code Accept: application/x-ndjson} : stream the productOrders, one JSON document per line.
+     * <p>
+     * Takes the same filters as {@link #getAllProductOrders}. Rows are read through a database cursor and written as they arrive,
+     * so the response size does not depend on memory.
+     *
+     * @param cartId the cart of the productOrders.
+     * @param productId the product of the productOrders.
+     * @param placedFrom the lower bound of the cart placed date, inclusive.
+     * @param placedTo the upper bound of the cart placed date, exclusive.
+     * @param response the response to write to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllProductOrders(
+        @RequestParam(name = "cartId", required = false) Long cartId,
+        @RequestParam(name = "productId", required = false) Long productId,
+        @RequestParam(name = "placedFrom", required = false) Instant placedFrom,
+        @RequestParam(name = "placedTo", required = false) Instant placedTo,
+        HttpServletResponse response
+    ) throws IOException {
+        LOG.debug("REST request to stream ProductOrders");
+        ProductOrderService.Filter filter = filter(cartId, productId, placedFrom, placedTo);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ObjectWriter writer = objectMapper.writerFor(ProductOrder.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            productOrderService.streamAll(filter, productOrder -> {
+                try {
+                    writer.writeValue(generator, productOrder);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    static ProductOrderService.Filter filter(Long cartId, Long productId, Instant placedFrom, Instant placedTo) {
+        if (placedFrom != null && placedTo != null && !placedFrom.isBefore(placedTo)) {
+            throw new BadRequestAlertException("placedFrom must be before placedTo", ENTITY_NAME, "daterangeinvalid");
+        }
+        return new ProductOrderService.Filter(cartId, productId, placedFrom, placedTo);
     }
 
     /**
@@ -1,24 +1,62 @@
 package com.jhipster.demo.store.web.rest;
 
+import com.jhipster.demo.store.config.ApplicationProperties;
 import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.enumeration.Size;
 import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.ProductSummary;
+import com.jhipster.demo.store.service.EntityVersionService;
 import com.jhipster.demo.store.service.ProductService;
+import com.jhipster.demo.store.service.analytics.BestSellerService;
+import com.jhipster.demo.store.service.analytics.CoOccurrenceService;
+import com.jhipster.demo.store.service.bulk.ProductImportService;
+import com.jhipster.demo.store.service.catalog.CatalogSnapshotService;
+import com.jhipster.demo.store.service.catalog.JsonFragmentCache;
+import com.jhipster.demo.store.service.dto.BestSellerDTO;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
+import com.jhipster.demo.store.service.dto.ProductFacetCountsDTO;
+import com.jhipster.demo.store.service.dto.ProductImportReportDTO;
+import com.jhipster.demo.store.service.dto.RelatedProductDTO;
+import com.jhipster.demo.store.service.search.ProductFacetService;
+import com.jhipster.demo.store.service.search.ProductSearchService;
+import com.jhipster.demo.store.service.storage.BlobStore;
+import com.jhipster.demo.store.service.storage.ImageVariant;
+import com.jhipster.demo.store.service.storage.ProductImageVariantService;
 import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
+import com.jhipster.demo.store.web.rest.util.ETagUtil;
+import com.jhipster.demo.store.web.rest.util.KeysetPaginationUtil;
+import com.jhipster.demo.store.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -42,9 +80,48 @@ public class ProductResource {
 
     private final ProductRepository productRepository;
 
-    public ProductResource(ProductService productService, ProductRepository productRepository) {
+    private final ApplicationProperties applicationProperties;
+
+    private final ProductSearchService productSearchService;
+
+    private final ProductFacetService productFacetService;
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    private final JsonFragmentCache jsonFragmentCache;
+
+    private final EntityVersionService entityVersionService;
+
+    private final ProductImportService productImportService;
+
+    private final BestSellerService bestSellerService;
+
+    private final CoOccurrenceService coOccurrenceService;
+
+    public ProductResource(
+        ProductService productService,
+        ProductRepository productRepository,
+        ApplicationProperties applicationProperties,
+        ProductSearchService productSearchService,
+        ProductFacetService productFacetService,
+        CatalogSnapshotService catalogSnapshotService,
+        JsonFragmentCache jsonFragmentCache,
+        EntityVersionService entityVersionService,
+        ProductImportService productImportService,
+        BestSellerService bestSellerService,
+        CoOccurrenceService coOccurrenceService
+    ) {
         this.productService = productService;
         this.productRepository = productRepository;
+        this.applicationProperties = applicationProperties;
+        this.productSearchService = productSearchService;
+        this.productFacetService = productFacetService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.jsonFragmentCache = jsonFragmentCache;
+        this.entityVersionService = entityVersionService;
+        this.productImportService = productImportService;
+        this.bestSellerService = bestSellerService;
+        this.coOccurrenceService = coOccurrenceService;
     }
 
     /**
@@ -66,6 +143,34 @@ public class ProductResource {
             .body(product);
     }
 
+    /**
+     * {@code POST  /products/_bulk} : Import products from a CSV or NDJSON body, read as a stream.
+     * <p>
+     * Invalid rows are skipped and reported, the other rows are imported.
+     *
+     * @param contentType the type of the body, {@code text/csv} or {@code application/x-ndjson}.
+     * @param body the products to import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the import report in body,
+     * or with status {@code 400 (Bad Request)} if the CSV header lacks a required column.
+     */
+    @PostMapping(value = "/_bulk", consumes = { ProductImportService.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<ProductImportReportDTO> importProducts(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+        InputStream body
+    ) {
+        LOG.debug("REST request to import Products : {}", contentType);
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        ProductImportReportDTO report;
+        try {
+            report = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? productImportService.importNdjson(body, charset)
+                : productImportService.importCsv(body, charset);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importheaderinvalid");
+        }
+        return ResponseEntity.ok(report);
+    }
+
     /**
      * {@code PUT  /products/:id} : Updates an existing product.
      *
@@ -89,6 +194,10 @@ public class ProductResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
+        if (product.getVersion() == null) {
+            throw new BadRequestAlertException("A version is required", ENTITY_NAME, "versionnull");
+        }
+
         if (!productRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
@@ -140,14 +249,52 @@ public class ProductResource {
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
+     * @param count {@code true} (default) for an exact total, {@code false} to skip the count query, {@code approximate} for a cached total.
+     * @param productSizes the accepted sizes; with any facet filter, products are read in id order from the facet index.
+     * @param categoryIds the accepted category ids.
+     * @param minPrice the minimum price, inclusive.
+     * @param maxPrice the maximum price, inclusive.
+     * @param request the current request, used to evaluate {@code If-None-Match} against the version of the product table.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body,
+     * or with status {@code 304 (Not Modified)} if no product or category was written since the client copy.
      */
     @GetMapping("")
     public ResponseEntity<List<Product>> getAllProducts(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") String count,
+        @RequestParam(name = "productSize", required = false) List<Size> productSizes,
+        @RequestParam(name = "category", required = false) List<Long> categoryIds,
+        @RequestParam(name = "minPrice", required = false) BigDecimal minPrice,
+        @RequestParam(name = "maxPrice", required = false) BigDecimal maxPrice,
+        WebRequest request
     ) {
         LOG.debug("REST request to get a page of Products");
+        String etag = productStamp().collectionTag();
+        if (ETagUtil.isNotModified(request, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        ProductFacetService.Filter filter = facetFilter(productSizes, categoryIds, minPrice, maxPrice);
+        if (!filter.isEmpty()) {
+            Page<Product> page = productService.findAllByFacets(filter, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).eTag(etag).body(page.getContent());
+        }
+        SlicePaginationUtil.CountMode countMode = SlicePaginationUtil.CountMode.parse(count, ENTITY_NAME);
+        if (countMode != SlicePaginationUtil.CountMode.EXACT) {
+            Slice<Product> slice = productService.findAllSlice(pageable);
+            OptionalLong total = countMode == SlicePaginationUtil.CountMode.APPROXIMATE
+                ? OptionalLong.of(productService.countApproximately())
+                : OptionalLong.empty();
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice, total);
+            return ResponseEntity.ok().headers(headers).eTag(etag).body(slice.getContent());
+        }
+        Optional<Page<Product>> snapshotPage = catalogSnapshotService.findProducts(pageable);
+        if (snapshotPage.isPresent()) {
+            Page<Product> page = snapshotPage.orElseThrow();
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).eTag(etag).body(jsonFragmentCache.products(page.getContent()));
+        }
         Page<Product> page;
         if (eagerload) {
             page = productService.findAllWithEagerRelationships(pageable);
@@ -155,20 +302,310 @@ public class ProductResource {
             page = productService.findAll(pageable);
         }
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).eTag(etag).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /products/_facets} : count the products matching a facet filter, in total and per facet value.
+     *
+     * @param productSizes the accepted sizes.
+     * @param categoryIds the accepted category ids.
+     * @param minPrice the minimum price, inclusive.
+     * @param maxPrice the maximum price, inclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the counts in body.
+     */
+    @GetMapping("/_facets")
+    public ResponseEntity<ProductFacetCountsDTO> countProductFacets(
+        @RequestParam(name = "productSize", required = false) List<Size> productSizes,
+        @RequestParam(name = "category", required = false) List<Long> categoryIds,
+        @RequestParam(name = "minPrice", required = false) BigDecimal minPrice,
+        @RequestParam(name = "maxPrice", required = false) BigDecimal maxPrice
+    ) {
+        LOG.debug("REST request to count Product facets");
+        return ResponseEntity.ok(productFacetService.count(facetFilter(productSizes, categoryIds, minPrice, maxPrice)));
+    }
+
+    /**
+     * {@code GET  /products/summary} : get the summaries of all the products, for list views.
+     *
+     * @param pageable the pagination information.
+     * @param request the current request, used to evaluate {@code If-None-Match} against the version of the product table.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of product summaries in body,
+     * or with status {@code 304 (Not Modified)} if no product or category was written since the client copy.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<List<ProductSummary>> getAllProductSummaries(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        WebRequest request
+    ) {
+        LOG.debug("REST request to get a page of Product summaries");
+        String etag = productStamp().collectionTag();
+        if (ETagUtil.isNotModified(request, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        Page<ProductSummary> page = productService.findAllSummaries(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).eTag(etag).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /products/_search?q=:query} : search the products, best matches first.
+     * <p>
+     * Words are matched against product names, descriptions and category names; each word also matches longer words
+     * it is a prefix of.
+     *
+     * @param query the words to search for.
+     * @param pageable the pagination information, sorting is by relevance.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of matching product summaries in body.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<ProductSummary>> searchProducts(
+        @RequestParam("q") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to search for a page of Products for query {}", query);
+        Page<ProductSummary> page = productSearchService.search(query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /products/best-sellers?window=:window} : get the best-selling products of a sliding window.
+     * <p>
+     * The units are estimates, never under the units actually sold; the ranking is kept in memory and may lag the
+     * orders by a few seconds.
+     *
+     * @param window the window, {@code 1h}, {@code 24h} or {@code 7d}.
+     * @param size the number of products to return, at most {@value BestSellerService#TOP_K}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the best sellers in body, best first,
+     * or with status {@code 400 (Bad Request)} if the window or the size is invalid.
+     */
+    @GetMapping("/best-sellers")
+    public ResponseEntity<List<BestSellerDTO>> getBestSellers(
+        @RequestParam(name = "window", defaultValue = "24h") String window,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        LOG.debug("REST request to get the best sellers of the last {}", window);
+        BestSellerService.Window sellerWindow = BestSellerService.Window.fromLabel(window).orElseThrow(() ->
+            new BadRequestAlertException("Unknown window " + window, ENTITY_NAME, "windowinvalid")
+        );
+        if (size < 1 || size > BestSellerService.TOP_K) {
+            throw new BadRequestAlertException("size must be between 1 and " + BestSellerService.TOP_K, ENTITY_NAME, "sizeinvalid");
+        }
+        List<BestSellerService.BestSeller> ranking = bestSellerService.findBestSellers(sellerWindow, size);
+        Map<Long, Product> products = findCatalogProducts(ranking.stream().map(BestSellerService.BestSeller::productId).toList());
+        List<BestSellerDTO> bestSellers = ranking
+            .stream()
+            .map(bestSeller -> {
+                Optional<Product> product = Optional.ofNullable(products.get(bestSeller.productId()));
+                return new BestSellerDTO(
+                    bestSeller.productId(),
+                    product.map(Product::getName).orElse(null),
+                    product.map(Product::getPrice).orElse(null),
+                    bestSeller.units()
+                );
+            })
+            .toList();
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(10, TimeUnit.SECONDS)).body(bestSellers);
+    }
+
+    /**
+     * {@code GET  /products/:id/related} : get the products most often bought together with the "id" product.
+     *
+     * @param id the id of the product.
+     * @param limit the number of products to return, at most {@value CoOccurrenceService#MAX_RELATED}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the related products in body, most shared carts
+     * first, or with status {@code 400 (Bad Request)} if the limit is invalid.
+     */
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<RelatedProductDTO>> getRelatedProducts(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        LOG.debug("REST request to get the Products related to Product : {}", id);
+        if (limit < 1 || limit > CoOccurrenceService.MAX_RELATED) {
+            throw new BadRequestAlertException(
+                "limit must be between 1 and " + CoOccurrenceService.MAX_RELATED,
+                ENTITY_NAME,
+                "limitinvalid"
+            );
+        }
+        List<CoOccurrenceService.RelatedProduct> relatedProducts = coOccurrenceService.findRelated(id, limit);
+        Map<Long, Product> products = findCatalogProducts(
+            relatedProducts.stream().map(CoOccurrenceService.RelatedProduct::productId).toList()
+        );
+        List<RelatedProductDTO> related = relatedProducts
+            .stream()
+            .map(relatedProduct -> {
+                Optional<Product> product = Optional.ofNullable(products.get(relatedProduct.productId()));
+                return new RelatedProductDTO(
+                    relatedProduct.productId(),
+                    product.map(Product::getName).orElse(null),
+                    product.map(Product::getPrice).orElse(null),
+                    relatedProduct.carts()
+                );
+            })
+            .toList();
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(10, TimeUnit.SECONDS)).body(related);
+    }
+
+    /**
+     * {@code GET  /products?after=:cursor} : get a page of products using keyset pagination.
+     * <p>
+     * Pass an empty cursor for the first page, optionally with {@code sort} set to one of
+     * {@link ProductService#KEYSET_SORT_KEYS} (ascending), then follow the {@code next} link.
+     *
+     * @param after the opaque cursor of the page, empty for the first page.
+     * @param pageable the pagination information, only the size and the first sort order are used.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
+     */
+    @GetMapping(value = "", params = KeysetPaginationUtil.AFTER_PARAM)
+    public ResponseEntity<List<Product>> getAllProductsAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAM) String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a keyset page of Products");
+        KeysetCursor cursor = KeysetPaginationUtil.resolveCursor(
+            after,
+            pageable,
+            ProductService.KEYSET_SORT_KEYS,
+            ProductService.KEYSET_VALUE_TYPES,
+            ENTITY_NAME
+        );
+        Slice<Product> slice = productService.findAllAfter(cursor, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            cursor,
+            ProductService.KEYSET_SORT_KEYS.get(cursor.key()),
+            Product::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
     /**
      * {@code GET  /products/:id} : get the "id" product.
      *
      * @param id the id of the product to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the product, or with status {@code 404 (Not Found)}.
+     * @param request the current request, used to evaluate {@code If-None-Match} against the version of the product.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the product,
+     * or with status {@code 304 (Not Modified)} if the client copy is current, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProduct(@PathVariable("id") Long id) {
+    public ResponseEntity<Product> getProduct(@PathVariable("id") Long id, WebRequest request) {
         LOG.debug("REST request to get Product : {}", id);
-        Optional<Product> product = productService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(product);
+        EntityVersionService.Stamp stamp = productStamp();
+        if (ETagUtil.isConditional(request)) {
+            Optional<String> currentTag = productService.findVersion(id).map(version -> stamp.entityTag(id, version));
+            if (currentTag.isPresent() && ETagUtil.isNotModified(request, currentTag.orElseThrow())) {
+                return ETagUtil.notModified(currentTag.orElseThrow());
+            }
+        }
+        Optional<Product> product = catalogSnapshotService.findProduct(id).or(() -> productService.findOne(id));
+        HttpHeaders headers = new HttpHeaders();
+        product.ifPresent(p -> headers.setETag(stamp.entityTag(id, p.getVersion())));
+        return ResponseUtil.wrapOrNotFound(product, headers);
+    }
+
+    /**
+     * Products embed their category, so their ETags also depend on the version of the category table.
+     */
+    private EntityVersionService.Stamp productStamp() {
+        return entityVersionService.stamp(EntityVersionService.PRODUCT, EntityVersionService.PRODUCT_CATEGORY);
+    }
+
+    /**
+     * {@code GET  /products/:id/image} : stream the image of the "id" product.
+     * <p>
+     * The content hash is used as a strong ETag. When {@code v} matches the current hash, the response is immutable
+     * and may be cached for {@code application.blob-store.cache-max-age-seconds}; otherwise clients must revalidate.
+     * With {@code variant}, a scaled down rendition is served once it has been generated in the background; until then
+     * the original is served and must be revalidated.
+     *
+     * @param id the id of the product whose image to retrieve.
+     * @param version the image hash the client expects, as exposed by {@code imageHash}.
+     * @param variantName the optional {@link ImageVariant} to retrieve, {@code thumb} or {@code web}.
+     * @param request the current request, used to evaluate {@code If-None-Match}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the image bytes in body,
+     * or with status {@code 304 (Not Modified)} if the client copy is current,
+     * or with status {@code 404 (Not Found)} if the product has no image.
+     */
+    @GetMapping("/{id}/image")
+    public ResponseEntity<StreamingResponseBody> getProductImage(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "v", required = false) String version,
+        @RequestParam(name = "variant", required = false) String variantName,
+        WebRequest request
+    ) {
+        LOG.debug("REST request to get image of Product : {}", id);
+        Optional<ImageVariant> variant = Optional.ofNullable(variantName).map(name ->
+            ImageVariant.fromParameterValue(name).orElseThrow(() ->
+                new BadRequestAlertException("Invalid image variant", ENTITY_NAME, "variantinvalid")
+            )
+        );
+        Optional<Product> product = productService.findOneWithImage(id);
+        if (product.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String imageHash = product.orElseThrow().getImageHash();
+        String contentType = product.orElseThrow().getImageContentType();
+        Optional<ProductImageVariantService.StoredVariant> storedVariant = variant.flatMap(v -> productService.findImageVariant(imageHash, v));
+        Optional<BlobStore.Blob> image;
+        if (storedVariant.isPresent()) {
+            contentType = storedVariant.orElseThrow().contentType();
+            image = productService.findImageContent(storedVariant.orElseThrow().hash());
+        } else {
+            image = productService.findImageContent(imageHash);
+        }
+        if (image.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        BlobStore.Blob content = image.orElseThrow();
+        String etag = "\"" + content.hash() + "\"";
+        // a variant is derived from the original only, so it is as immutable as the original hash it is requested for
+        boolean immutable = imageHash.equals(version) && (variant.isEmpty() || storedVariant.isPresent());
+        CacheControl cacheControl = immutable
+            ? CacheControl.maxAge(applicationProperties.getBlobStore().getCacheMaxAgeSeconds(), TimeUnit.SECONDS).cachePublic().immutable()
+            : CacheControl.noCache().cachePublic();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(cacheControl)
+            .contentType(imageMediaType(contentType))
+            .contentLength(content.size())
+            .body(outputStream -> content.transferTo(Channels.newChannel(outputStream)));
+    }
+
+    /**
+     * Build the facet filter of a request, rejecting an inverted price range.
+     */
+    private static ProductFacetService.Filter facetFilter(
+        List<Size> productSizes,
+        List<Long> categoryIds,
+        BigDecimal minPrice,
+        BigDecimal maxPrice
+    ) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new BadRequestAlertException("minPrice must not be greater than maxPrice", ENTITY_NAME, "pricerangeinvalid");
+        }
+        return new ProductFacetService.Filter(productSizes, categoryIds, minPrice, maxPrice);
+    }
+
+    /**
+     * Only serve uploaded content with its declared type when it is an image, so it cannot be rendered as a page.
+     */
+    private static MediaType imageMediaType(String contentType) {
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if ("image".equals(mediaType.getType()) && !mediaType.isWildcardSubtype()) {
+                return mediaType;
+            }
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Invalid image content type {}", contentType);
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
     }
 
     /**
@@ -185,4 +622,17 @@ public class ProductResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private Map<Long, Product> findCatalogProducts(List<Long> ids) {
+        Map<Long, Product> products = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            catalogSnapshotService.findProduct(id).ifPresentOrElse(product -> products.put(id, product), () -> missing.add(id));
+        }
+        // one query for the products the snapshot does not have, rather than one per product
+        if (!missing.isEmpty()) {
+            productService.findAllByIds(missing).forEach(product -> products.put(product.getId(), product));
+        }
+        return products;
+    }
 }
@@ -1,22 +1,46 @@
 package com.jhipster.demo.store.web.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.jhipster.demo.store.domain.ShoppingCart;
 import com.jhipster.demo.store.repository.ShoppingCartRepository;
+import com.jhipster.demo.store.service.CheckoutException;
+import com.jhipster.demo.store.service.CheckoutService;
+import com.jhipster.demo.store.service.EntityVersionService;
 import com.jhipster.demo.store.service.ShoppingCartService;
+import com.jhipster.demo.store.service.dto.CheckoutDTO;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
 import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
+import com.jhipster.demo.store.web.rest.util.ETagUtil;
+import com.jhipster.demo.store.web.rest.util.KeysetPaginationUtil;
+import com.jhipster.demo.store.web.rest.util.SlicePaginationUtil;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -37,9 +61,24 @@ public class ShoppingCartResource {
 
     private final ShoppingCartRepository shoppingCartRepository;
 
-    public ShoppingCartResource(ShoppingCartService shoppingCartService, ShoppingCartRepository shoppingCartRepository) {
+    private final EntityVersionService entityVersionService;
+
+    private final ObjectMapper objectMapper;
+
+    private final CheckoutService checkoutService;
+
+    public ShoppingCartResource(
+        ShoppingCartService shoppingCartService,
+        ShoppingCartRepository shoppingCartRepository,
+        EntityVersionService entityVersionService,
+        ObjectMapper objectMapper,
+        CheckoutService checkoutService
+    ) {
         this.shoppingCartService = shoppingCartService;
         this.shoppingCartRepository = shoppingCartRepository;
+        this.entityVersionService = entityVersionService;
+        this.objectMapper = objectMapper;
+        this.checkoutService = checkoutService;
     }
 
     /**
@@ -61,6 +100,31 @@ public class ShoppingCartResource {
             .body(shoppingCart);
     }
 
+    /**
+     * {@code POST  /shopping-carts/checkout} : Place a new shoppingCart with all its order lines.
+     * <p>
+     * The cart is created as {@link com.jhipster.demo.store.domain.enumeration.OrderStatus#PENDING PENDING}, and its total and
+     * the totals of its lines are computed from the current product prices.
+     *
+     * @param checkout the cart to place.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new shoppingCart and its order lines,
+     * or with status {@code 400 (Bad Request)} if the customer or a product does not exist, or if a price is not the current one.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/checkout")
+    public ResponseEntity<ShoppingCart> checkout(@Valid @RequestBody CheckoutDTO checkout) throws URISyntaxException {
+        LOG.debug("REST request to checkout : {}", checkout);
+        ShoppingCart shoppingCart;
+        try {
+            shoppingCart = checkoutService.checkout(checkout);
+        } catch (CheckoutException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        }
+        return ResponseEntity.created(new URI("/api/shopping-carts/" + shoppingCart.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, shoppingCart.getId().toString()))
+            .body(shoppingCart);
+    }
+
     /**
      * {@code PUT  /shopping-carts/:id} : Updates an existing shoppingCart.
      *
@@ -84,6 +148,10 @@ public class ShoppingCartResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
+        if (shoppingCart.getVersion() == null) {
+            throw new BadRequestAlertException("A version is required", ENTITY_NAME, "versionnull");
+        }
+
         if (!shoppingCartRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
@@ -133,25 +201,127 @@ public class ShoppingCartResource {
     /**
      * {@code GET  /shopping-carts} : get all the shoppingCarts.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of shoppingCarts in body.
+     * @param pageable the pagination information.
+     * @param count {@code true} (default) for an exact total, {@code false} to skip the count query, {@code approximate} for a cached total.
+     * @param request the current request, used to evaluate {@code If-None-Match} against the version of the shoppingCart table.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of shoppingCarts in body,
+     * or with status {@code 304 (Not Modified)} if no shoppingCart or customerDetails was written since the client copy.
      */
     @GetMapping("")
-    public List<ShoppingCart> getAllShoppingCarts() {
-        LOG.debug("REST request to get all ShoppingCarts");
-        return shoppingCartService.findAll();
+    public ResponseEntity<List<ShoppingCart>> getAllShoppingCarts(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") String count,
+        WebRequest request
+    ) {
+        LOG.debug("REST request to get a page of ShoppingCarts");
+        String etag = shoppingCartStamp().collectionTag();
+        if (ETagUtil.isNotModified(request, etag)) {
+            return ETagUtil.notModified(etag);
+        }
+        SlicePaginationUtil.CountMode countMode = SlicePaginationUtil.CountMode.parse(count, ENTITY_NAME);
+        if (countMode != SlicePaginationUtil.CountMode.EXACT) {
+            Slice<ShoppingCart> slice = shoppingCartService.findAllSlice(pageable);
+            OptionalLong total = countMode == SlicePaginationUtil.CountMode.APPROXIMATE
+                ? OptionalLong.of(shoppingCartService.countApproximately())
+                : OptionalLong.empty();
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice, total);
+            return ResponseEntity.ok().headers(headers).eTag(etag).body(slice.getContent());
+        }
+        Page<ShoppingCart> page = shoppingCartService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).eTag(etag).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /shopping-carts?after=:cursor} : get a page of shoppingCarts using keyset pagination.
+     * <p>
+     * Pass an empty cursor for the first page, optionally with {@code sort} set to one of
+     * {@link ShoppingCartService#KEYSET_SORT_KEYS} (ascending), then follow the {@code next} link.
+     *
+     * @param after the opaque cursor of the page, empty for the first page.
+     * @param pageable the pagination information, only the size and the first sort order are used.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of shoppingCarts in body.
+     */
+    @GetMapping(value = "", params = KeysetPaginationUtil.AFTER_PARAM)
+    public ResponseEntity<List<ShoppingCart>> getAllShoppingCartsAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAM) String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a keyset page of ShoppingCarts");
+        KeysetCursor cursor = KeysetPaginationUtil.resolveCursor(
+            after,
+            pageable,
+            ShoppingCartService.KEYSET_SORT_KEYS,
+            ShoppingCartService.KEYSET_VALUE_TYPES,
+            ENTITY_NAME
+        );
+        Slice<ShoppingCart> slice = shoppingCartService.findAllAfter(cursor, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            cursor,
+            ShoppingCartService.KEYSET_SORT_KEYS.get(cursor.key()),
+            ShoppingCart::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /shopping-carts} with {@code Accept: application/x-ndjson} : stream all the shoppingCarts, one JSON document per line.
+     * <p>
+     * Rows are read through a database cursor and written as they arrive, so the response size does not depend on memory.
+     *
+     * @param response the response to write to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllShoppingCarts(HttpServletResponse response) throws IOException {
+        LOG.debug("REST request to stream all ShoppingCarts");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ObjectWriter writer = objectMapper.writerFor(ShoppingCart.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            shoppingCartService.streamAll(shoppingCart -> {
+                try {
+                    writer.writeValue(generator, shoppingCart);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
     }
 
     /**
      * {@code GET  /shopping-carts/:id} : get the "id" shoppingCart.
      *
      * @param id the id of the shoppingCart to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the shoppingCart, or with status {@code 404 (Not Found)}.
+     * @param request the current request, used to evaluate {@code If-None-Match} against the version of the shoppingCart.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the shoppingCart,
+     * or with status {@code 304 (Not Modified)} if the client copy is current, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ShoppingCart> getShoppingCart(@PathVariable("id") Long id) {
+    public ResponseEntity<ShoppingCart> getShoppingCart(@PathVariable("id") Long id, WebRequest request) {
         LOG.debug("REST request to get ShoppingCart : {}", id);
+        EntityVersionService.Stamp stamp = shoppingCartStamp();
+        if (ETagUtil.isConditional(request)) {
+            Optional<String> currentTag = shoppingCartService.findVersion(id).map(version -> stamp.entityTag(id, version));
+            if (currentTag.isPresent() && ETagUtil.isNotModified(request, currentTag.orElseThrow())) {
+                return ETagUtil.notModified(currentTag.orElseThrow());
+            }
+        }
         Optional<ShoppingCart> shoppingCart = shoppingCartService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(shoppingCart);
+        HttpHeaders headers = new HttpHeaders();
+        shoppingCart.ifPresent(c -> headers.setETag(stamp.entityTag(id, c.getVersion())));
+        return ResponseUtil.wrapOrNotFound(shoppingCart, headers);
+    }
+
+    /**
+     * Shopping carts embed their customerDetails, so their ETags also depend on the version of the customerDetails table.
+     */
+    private EntityVersionService.Stamp shoppingCartStamp() {
+        return entityVersionService.stamp(EntityVersionService.SHOPPING_CART, EntityVersionService.CUSTOMER_DETAILS);
     }
 
     /**
@@ -7,9 +7,12 @@ import com.jhipster.demo.store.security.AuthoritiesConstants;
 import com.jhipster.demo.store.service.MailService;
 import com.jhipster.demo.store.service.UserService;
 import com.jhipster.demo.store.service.dto.AdminUserDTO;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
 import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
 import com.jhipster.demo.store.web.rest.errors.EmailAlreadyUsedException;
 import com.jhipster.demo.store.web.rest.errors.LoginAlreadyUsedException;
+import com.jhipster.demo.store.web.rest.util.KeysetPaginationUtil;
+import com.jhipster.demo.store.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 import java.net.URI;
@@ -20,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -160,21 +164,64 @@ public class UserResource {
      * {@code GET /admin/users} : get all users with all the details - calling this are only allowed for the administrators.
      *
      * @param pageable the pagination information.
+     * @param count {@code true} (default) for an exact total, {@code false} to skip the count query, {@code approximate} for a cached total.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-    public ResponseEntity<List<AdminUserDTO>> getAllUsers(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<AdminUserDTO>> getAllUsers(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAM, required = false, defaultValue = "true") String count
+    ) {
         LOG.debug("REST request to get all User for an admin");
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
         }
 
+        SlicePaginationUtil.CountMode countMode = SlicePaginationUtil.CountMode.parse(count, "userManagement");
+        if (countMode != SlicePaginationUtil.CountMode.EXACT) {
+            final Slice<AdminUserDTO> slice = userService.getAllManagedUsersSlice(pageable);
+            OptionalLong total = countMode == SlicePaginationUtil.CountMode.APPROXIMATE
+                ? OptionalLong.of(userService.countManagedUsersApproximately())
+                : OptionalLong.empty();
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice, total);
+            return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+        }
+
         final Page<AdminUserDTO> page = userService.getAllManagedUsers(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET /admin/users?after=:cursor} : get a page of users using keyset pagination - calling this are only allowed for the administrators.
+     * <p>
+     * Pass an empty cursor for the first page, optionally with {@code sort} set to one of
+     * {@link UserService#KEYSET_SORT_KEYS} (ascending), then follow the {@code next} link.
+     *
+     * @param after the opaque cursor of the page, empty for the first page.
+     * @param pageable the pagination information, only the size and the first sort order are used.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the users.
+     */
+    @GetMapping(value = "/users", params = KeysetPaginationUtil.AFTER_PARAM)
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<AdminUserDTO>> getAllUsersAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAM) String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a keyset page of User for an admin");
+        KeysetCursor cursor = KeysetPaginationUtil.resolveCursor(after, pageable, UserService.KEYSET_SORT_KEYS, "userManagement");
+        Slice<AdminUserDTO> slice = userService.getAllManagedUsersAfter(cursor, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            cursor,
+            UserService.KEYSET_SORT_KEYS.get(cursor.key()),
+            AdminUserDTO::getId
+        );
+        return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+    }
+
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
         return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
@@ -0,0 +1,59 @@
+package com.jhipster.demo.store.web.rest.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utility class for answering conditional GET requests before any data is read.
+ * <p>
+ * Responses built with an ETag are also checked by Spring MVC once the body is known; this class only decides
+ * whether the body needs to be read at all.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {}
+
+    /**
+     * @param request the current request.
+     * @return whether the request carries an {@code If-None-Match} header, so checking the current version is useful.
+     */
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    /**
+     * Check whether the {@code If-None-Match} header of a request matches a strong ETag, using the weak comparison
+     * of RFC 9110.
+     *
+     * @param request the current request.
+     * @param etag the quoted ETag.
+     * @return whether the client copy is current.
+     */
+    public static boolean isNotModified(WebRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param etag the quoted ETag.
+     * @param <T> the body type.
+     * @return a {@code 304 (Not Modified)} response carrying the ETag.
+     */
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+}
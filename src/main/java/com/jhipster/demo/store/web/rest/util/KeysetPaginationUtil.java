@@ -0,0 +1,114 @@
+package com.jhipster.demo.store.web.rest.util;
+
+import com.jhipster.demo.store.service.dto.KeysetCursor;
+import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor based) pagination.
+ * <p>
+ * Clients enter keyset mode with an empty {@code after} parameter and follow the {@code next} relation of the
+ * <a href="https://tools.ietf.org/html/rfc5988">Link header</a> to get the following pages. No total count is
+ * computed, so page latency does not depend on how deep the client paginates.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAM = "after";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Resolve the cursor of the requested page, on sort keys whose values are all strings.
+     *
+     * @param after the {@code after} request parameter, empty for the first page.
+     * @param pageable the pagination information; its first sort order selects the key of the first page.
+     * @param sortKeys the supported sort keys.
+     * @param entityName the entity name, used in error responses.
+     * @return the cursor.
+     * @throws BadRequestAlertException if the cursor or the sort is not supported.
+     */
+    public static KeysetCursor resolveCursor(String after, Pageable pageable, Map<String, ?> sortKeys, String entityName) {
+        return resolveCursor(after, pageable, sortKeys, Map.of(), entityName);
+    }
+
+    /**
+     * Resolve the cursor of the requested page.
+     *
+     * @param after the {@code after} request parameter, empty for the first page.
+     * @param pageable the pagination information; its first sort order selects the key of the first page.
+     * @param sortKeys the supported sort keys.
+     * @param valueTypes the type of the sort keys whose value is not a string, see {@link KeysetCursor#hasValueOfType}.
+     * @param entityName the entity name, used in error responses.
+     * @return the cursor.
+     * @throws BadRequestAlertException if the cursor or the sort is not supported.
+     */
+    public static KeysetCursor resolveCursor(
+        String after,
+        Pageable pageable,
+        Map<String, ?> sortKeys,
+        Map<String, Class<?>> valueTypes,
+        String entityName
+    ) {
+        KeysetCursor cursor;
+        if (after == null || after.isEmpty()) {
+            Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+            if (order.isDescending()) {
+                throw new BadRequestAlertException("Keyset pagination only supports ascending order", entityName, "sortinvalid");
+            }
+            cursor = KeysetCursor.first(order.getProperty());
+        } else {
+            try {
+                cursor = KeysetCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+            }
+        }
+        if (!sortKeys.containsKey(cursor.key())) {
+            throw new BadRequestAlertException("Keyset pagination is not supported on " + cursor.key(), entityName, "sortinvalid");
+        }
+        if (!cursor.hasValueOfType(valueTypes.getOrDefault(cursor.key(), String.class))) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+        return cursor;
+    }
+
+    /**
+     * Generate the pagination headers of a keyset page.
+     *
+     * @param uriBuilder the URI builder of the current request.
+     * @param slice the page content.
+     * @param cursor the cursor the page was read from.
+     * @param sortKey the accessor of the cursor key value.
+     * @param id the accessor of the id.
+     * @param <T> the type of the listed elements.
+     * @return the HTTP headers, with a {@code next} link if there are more elements.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Slice<T> slice,
+        KeysetCursor cursor,
+        Function<T, Object> sortKey,
+        Function<T, Long> id
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        List<T> content = slice.getContent();
+        if (slice.hasNext() && !content.isEmpty()) {
+            T last = content.get(content.size() - 1);
+            KeysetCursor next = KeysetCursor.after(cursor.key(), sortKey.apply(last), id.apply(last));
+            String link = uriBuilder
+                .replaceQueryParam(AFTER_PARAM, next.encode())
+                .replaceQueryParam("size", slice.getSize())
+                .replaceQueryParam("page")
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,95 @@
+package com.jhipster.demo.store.web.rest.util;
+
+import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling pagination without a count query.
+ * <p>
+ * With {@code count=false} a page is read as a {@link Slice}: one extra row is fetched to detect a next page and
+ * no {@code X-Total-Count} header is sent. With {@code count=approximate} the total is read from a cache refreshed in
+ * the background and flagged with the {@code X-Total-Count-Approximate} header.
+ */
+public final class SlicePaginationUtil {
+
+    public static final String COUNT_PARAM = "count";
+
+    private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+
+    private static final String HEADER_X_TOTAL_COUNT_APPROXIMATE = "X-Total-Count-Approximate";
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    /**
+     * How the total of a paginated listing is computed.
+     */
+    public enum CountMode {
+        EXACT,
+        NONE,
+        APPROXIMATE;
+
+        /**
+         * Parse the {@code count} request parameter.
+         *
+         * @param count the parameter value: {@code true}, {@code false} or {@code approximate}.
+         * @param entityName the entity name, used in error responses.
+         * @return the count mode.
+         * @throws BadRequestAlertException if the value is not supported.
+         */
+        public static CountMode parse(String count, String entityName) {
+            return switch (count.toLowerCase(Locale.ROOT)) {
+                case "true", "exact" -> EXACT;
+                case "false", "none" -> NONE;
+                case "approximate" -> APPROXIMATE;
+                default -> throw new BadRequestAlertException("Invalid count mode", entityName, "countinvalid");
+            };
+        }
+    }
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate the pagination headers of a slice.
+     *
+     * @param uriBuilder the URI builder of the current request.
+     * @param slice the page content.
+     * @param total the approximate total, or empty to omit it.
+     * @param <T> the type of the listed elements.
+     * @return the HTTP headers, with {@code next}, {@code prev} and {@code first} links.
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice, OptionalLong total) {
+        HttpHeaders headers = new HttpHeaders();
+        total.ifPresent(value -> {
+            headers.add(HEADER_X_TOTAL_COUNT, Long.toString(value));
+            headers.add(HEADER_X_TOTAL_COUNT_APPROXIMATE, Boolean.TRUE.toString());
+        });
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev"));
+        }
+        links.add(prepareLink(uriBuilder, 0, pageSize, "first"));
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String link = uriBuilder
+            .replaceQueryParam("page", Integer.toString(pageNumber))
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return String.format(HEADER_LINK_FORMAT, link, relType);
+    }
+}
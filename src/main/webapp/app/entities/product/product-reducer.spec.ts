@@ -108,7 +108,13 @@ describe('Entities reducer tests', () => {
 
   describe('Successes', () => {
     it('should fetch all entities', () => {
-      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }], headers: { 'x-total-count': 123 } };
+      const payload = {
+        data: [
+          { id: 1, name: 'fake1', price: 10, productSize: 'S', imageHash: null, productCategoryId: 3, productCategoryName: 'fake3' },
+          { id: 2, name: 'fake2', price: 20, productSize: 'M', imageHash: null, productCategoryId: null, productCategoryName: null },
+        ],
+        headers: { 'x-total-count': 123 },
+      };
       expect(
         reducer(undefined, {
           type: getEntities.fulfilled.type,
@@ -118,7 +124,10 @@ describe('Entities reducer tests', () => {
         ...initialState,
         loading: false,
         totalItems: payload.headers['x-total-count'],
-        entities: payload.data,
+        entities: [
+          { id: 1, name: 'fake1', price: 10, productSize: 'S', imageHash: null, productCategory: { id: 3, name: 'fake3' } },
+          { id: 2, name: 'fake2', price: 20, productSize: 'M', imageHash: null, productCategory: undefined },
+        ],
       });
     });
 
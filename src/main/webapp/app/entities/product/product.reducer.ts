@@ -3,6 +3,7 @@ import { createAsyncThunk, isFulfilled, isPending } from '@reduxjs/toolkit';
 import { cleanEntity } from 'app/shared/util/entity-utils';
 import { EntityState, IQueryParams, createEntitySlice, serializeAxiosError } from 'app/shared/reducers/reducer.utils';
 import { IProduct, defaultValue } from 'app/shared/model/product.model';
+import { IProductSummary } from 'app/shared/model/product-summary.model';
 
 const initialState: EntityState<IProduct> = {
   loading: false,
@@ -16,13 +17,22 @@ const initialState: EntityState<IProduct> = {
 
 const apiUrl = 'api/products';
 
+const toProduct = (summary: IProductSummary): IProduct => ({
+  id: summary.id,
+  name: summary.name,
+  price: summary.price,
+  productSize: summary.productSize,
+  imageHash: summary.imageHash,
+  productCategory: summary.productCategoryId ? { id: summary.productCategoryId, name: summary.productCategoryName } : undefined,
+});
+
 // Actions
 
 export const getEntities = createAsyncThunk(
   'product/fetch_entity_list',
   async ({ page, size, sort }: IQueryParams) => {
-    const requestUrl = `${apiUrl}?${sort ? `page=${page}&size=${size}&sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
-    return axios.get<IProduct[]>(requestUrl);
+    const requestUrl = `${apiUrl}/summary?${sort ? `page=${page}&size=${size}&sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
+    return axios.get<IProductSummary[]>(requestUrl);
   },
   { serializeError: serializeAxiosError },
 );
@@ -99,7 +109,7 @@ export const ProductSlice = createEntitySlice({
         return {
           ...state,
           loading: false,
-          entities: data,
+          entities: data.map(toProduct),
           totalItems: parseInt(headers['x-total-count'], 10),
         };
       })
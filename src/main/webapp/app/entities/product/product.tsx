@@ -1,7 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { Link, useLocation, useNavigate } from 'react-router-dom';
 import { Button, Table } from 'reactstrap';
-import { JhiItemCount, JhiPagination, Translate, byteSize, getPaginationState, openFile } from 'react-jhipster';
+import { JhiItemCount, JhiPagination, Translate, getPaginationState } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import { faSort, faSortDown, faSortUp } from '@fortawesome/free-solid-svg-icons';
 import { ASC, DESC, ITEMS_PER_PAGE, SORT } from 'app/shared/util/pagination.constants';
@@ -115,10 +115,6 @@ export const Product = () => {
                 <th className="hand" onClick={sort('name')}>
                   <Translate contentKey="storeApp.product.name">Name</Translate> <FontAwesomeIcon icon={getSortIconByFieldName('name')} />
                 </th>
-                <th className="hand" onClick={sort('description')}>
-                  <Translate contentKey="storeApp.product.description">Description</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('description')} />
-                </th>
                 <th className="hand" onClick={sort('price')}>
                   <Translate contentKey="storeApp.product.price">Price</Translate>{' '}
                   <FontAwesomeIcon icon={getSortIconByFieldName('price')} />
@@ -127,9 +123,8 @@ export const Product = () => {
                   <Translate contentKey="storeApp.product.productSize">Product Size</Translate>{' '}
                   <FontAwesomeIcon icon={getSortIconByFieldName('productSize')} />
                 </th>
-                <th className="hand" onClick={sort('image')}>
-                  <Translate contentKey="storeApp.product.image">Image</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('image')} />
+                <th>
+                  <Translate contentKey="storeApp.product.image">Image</Translate>
                 </th>
                 <th>
                   <Translate contentKey="storeApp.product.productCategory">Product Category</Translate> <FontAwesomeIcon icon="sort" />
@@ -146,23 +141,16 @@ export const Product = () => {
                     </Button>
                   </td>
                   <td>{product.name}</td>
-                  <td>{product.description}</td>
                   <td>{product.price}</td>
                   <td>
                     <Translate contentKey={`storeApp.Size.${product.productSize}`} />
                   </td>
                   <td>
-                    {product.image ? (
+                    {product.imageHash ? (
                       <div>
-                        {product.imageContentType ? (
-                          <a onClick={openFile(product.imageContentType, product.image)}>
-                            <img src={`data:${product.imageContentType};base64,${product.image}`} style={{ maxHeight: '30px' }} />
-                            &nbsp;
-                          </a>
-                        ) : null}
-                        <span>
-                          {product.imageContentType}, {byteSize(product.image)}
-                        </span>
+                        <a href={`api/products/${product.id}/image?variant=web&v=${product.imageHash}`} target="_blank" rel="noopener noreferrer">
+                          <img src={`api/products/${product.id}/image?variant=thumb&v=${product.imageHash}`} style={{ maxHeight: '30px' }} loading="lazy" />
+                        </a>
                       </div>
                     ) : null}
                   </td>
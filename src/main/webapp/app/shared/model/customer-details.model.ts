@@ -10,6 +10,7 @@ export interface ICustomerDetails {
   city?: string;
   country?: string;
   user?: IUser;
+  version?: number;
 }
 
 export const defaultValue: Readonly<ICustomerDetails> = {};
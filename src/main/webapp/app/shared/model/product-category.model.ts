@@ -2,6 +2,7 @@ export interface IProductCategory {
   id?: number;
   name?: string;
   description?: string | null;
+  version?: number;
 }
 
 export const defaultValue: Readonly<IProductCategory> = {};
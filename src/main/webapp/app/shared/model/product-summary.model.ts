@@ -0,0 +1,11 @@
+import { Size } from 'app/shared/model/enumerations/size.model';
+
+export interface IProductSummary {
+  id: number;
+  name: string;
+  price: number;
+  productSize: keyof typeof Size;
+  imageHash?: string | null;
+  productCategoryId?: number | null;
+  productCategoryName?: string | null;
+}
@@ -9,7 +9,9 @@ export interface IProduct {
   productSize?: keyof typeof Size;
   imageContentType?: string | null;
   image?: string | null;
+  imageHash?: string | null;
   productCategory?: IProductCategory;
+  version?: number;
 }
 
 export const defaultValue: Readonly<IProduct> = {};
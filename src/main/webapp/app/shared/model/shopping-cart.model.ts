@@ -11,6 +11,7 @@ export interface IShoppingCart {
   paymentMethod?: keyof typeof PaymentMethod;
   paymentReference?: string | null;
   customerDetails?: ICustomerDetails;
+  version?: number;
 }
 
 export const defaultValue: Readonly<IShoppingCart> = {};
@@ -0,0 +1,170 @@
+package com.jhipster.demo.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.stream.Stream;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Test class for the {@link CacheConfiguration}.
+ */
+class CacheConfigurationTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheConfiguration cacheConfiguration;
+
+    @BeforeEach
+    void setUp() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        applicationProperties = new ApplicationProperties();
+        cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+    }
+
+    @Test
+    void testRegionName() {
+        assertThat(CacheConfiguration.regionName("com.jhipster.demo.store.domain.ProductCategory.products")).isEqualTo(
+            "ProductCategory.products"
+        );
+        assertThat(CacheConfiguration.regionName("usersByLogin")).isEqualTo("usersByLogin");
+    }
+
+    @Test
+    void testUnlistedRegionUsesDefaults() {
+        org.ehcache.config.CacheConfiguration<?, ?> configuration = ehcacheConfiguration("Product");
+
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP)).isNull();
+    }
+
+    @Test
+    void testRegionTiers() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setHeapSize(DataSize.ofMegabytes(8));
+        region.setOffHeapSize(DataSize.ofMegabytes(64));
+        region.setTimeToIdle(Duration.ofMinutes(10));
+        applicationProperties.getCache().getRegions().put("Product", region);
+
+        org.ehcache.config.CacheConfiguration<?, ?> configuration = ehcacheConfiguration("Product");
+
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(MemoryUnit.B);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(8L << 20);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(64L << 20);
+        assertThat(configuration.getExpiryPolicy().getExpiryForAccess(1L, () -> "product")).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testRegionHeapEntries() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setHeapEntries(5000L);
+        region.setTimeToLive(Duration.ofHours(1));
+        applicationProperties.getCache().getRegions().put("Product", region);
+
+        org.ehcache.config.CacheConfiguration<?, ?> configuration = ehcacheConfiguration("Product");
+
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(5000);
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation(1L, "product")).isEqualTo(Duration.ofHours(1));
+        assertThat(configuration.getExpiryPolicy().getExpiryForAccess(1L, () -> "product")).isNull();
+    }
+
+    @Test
+    void testRegionWithHeapEntriesAndSize() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setHeapEntries(5000L);
+        region.setHeapSize(DataSize.ofMegabytes(8));
+        applicationProperties.getCache().getRegions().put("Product", region);
+
+        assertThatThrownBy(() -> cacheConfiguration.regionConfiguration("Product")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testRegionWithTimeToLiveAndTimeToIdle() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setHeapEntries(5000L);
+        region.setTimeToLive(Duration.ofHours(1));
+        region.setTimeToIdle(Duration.ofMinutes(10));
+        applicationProperties.getCache().getRegions().put("Product", region);
+
+        assertThatThrownBy(() -> cacheConfiguration.regionConfiguration("Product")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testRegionDiskTier() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setHeapEntries(1000L);
+        region.setOffHeapSize(DataSize.ofMegabytes(64));
+        region.setDiskSize(DataSize.ofMegabytes(256));
+        applicationProperties.getCache().getRegions().put("Product", region);
+
+        org.ehcache.config.CacheConfiguration<?, ?> configuration = ehcacheConfiguration("Product");
+
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(256L << 20);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.DISK).isPersistent()).isFalse();
+    }
+
+    @Test
+    void testOffHeapCap() {
+        applicationProperties.getCache().setMaxOffHeapSize(DataSize.ofMegabytes(64));
+        for (String regionName : new String[] { "Product", "ProductCategory.products" }) {
+            ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+            region.setOffHeapSize(DataSize.ofMegabytes(48));
+            applicationProperties.getCache().getRegions().put(regionName, region);
+        }
+
+        assertThatThrownBy(() -> cacheConfiguration.jCacheManager(mock(ObjectProvider.class)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("max-off-heap-size");
+    }
+
+    @Test
+    void testDiskTierWithoutDiskPath() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setDiskSize(DataSize.ofMegabytes(256));
+        applicationProperties.getCache().getRegions().put("Product", region);
+
+        assertThatThrownBy(() -> cacheConfiguration.jCacheManager(mock(ObjectProvider.class)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("disk-path");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRegionSizeIsReadFromTheTierStatistics() {
+        applicationProperties.getCache().setManagerName("cache-configuration-test");
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<JCacheManagerCustomizer> customizers = mock(ObjectProvider.class);
+        when(customizers.orderedStream()).thenReturn(Stream.of(cacheConfiguration.cacheManagerCustomizer(meterRegistry)));
+
+        try (javax.cache.CacheManager cacheManager = cacheConfiguration.jCacheManager(customizers)) {
+            javax.cache.Cache<Object, Object> products = cacheManager.getCache("com.jhipster.demo.store.domain.Product");
+            for (long id = 1; id <= 3; id++) {
+                products.put(id, "product " + id);
+            }
+
+            Gauge size = meterRegistry.get(CacheConfiguration.REGION_METER_PREFIX + "size").tag("region", "Product").gauge();
+            assertThat(size.value()).isEqualTo(3);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private org.ehcache.config.CacheConfiguration<?, ?> ehcacheConfiguration(String regionName) {
+        return cacheConfiguration.regionConfiguration(regionName).unwrap(org.ehcache.config.CacheConfiguration.class);
+    }
+}
@@ -52,8 +52,8 @@ public class ProductAsserts {
             .satisfies(a -> assertThat(a.getDescription()).as("check description").isEqualTo(expected.getDescription()))
             .satisfies(a -> assertThat(a.getPrice()).as("check price").usingComparator(bigDecimalCompareTo).isEqualTo(expected.getPrice()))
             .satisfies(a -> assertThat(a.getProductSize()).as("check productSize").isEqualTo(expected.getProductSize()))
-            .satisfies(a -> assertThat(a.getImage()).as("check image").isEqualTo(expected.getImage()))
-            .satisfies(a -> assertThat(a.getImageContentType()).as("check image contenty type").isEqualTo(expected.getImageContentType()));
+            .satisfies(a -> assertThat(a.getImageContentType()).as("check image contenty type").isEqualTo(expected.getImageContentType()))
+            .satisfies(a -> assertThat(a.getImageHash()).as("check imageHash").isEqualTo(expected.getImageHash()));
     }
 
     /**
@@ -0,0 +1,62 @@
+package com.jhipster.demo.store.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.web.rest.ProductOrderResourceIT;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the JDBC batching of the {@link ProductOrder} inserts, counted with the Hibernate statistics.
+ */
+@IntegrationTest
+@Transactional
+class ProductOrderBatchInsertIT {
+
+    private static final int LINES = 100;
+
+    /**
+     * Each id allocation of the pooled sequence reads and updates its table, and 100 lines need at most 3 of them.
+     */
+    private static final int ID_ALLOCATION_STATEMENTS = 6;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testOrderLinesAreInsertedInBatches() {
+        // persists the product and the cart of the line
+        ProductOrder line = ProductOrderResourceIT.createEntity(em);
+        em.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            for (int i = 0; i < LINES; i++) {
+                em.persist(new ProductOrder().quantity(1).totalPrice(BigDecimal.TEN).product(line.getProduct()).cart(line.getCart()));
+            }
+            em.flush();
+
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(LINES);
+            // one statement per batch instead of one per line
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(LINES / batchSize + ID_ALLOCATION_STATEMENTS);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
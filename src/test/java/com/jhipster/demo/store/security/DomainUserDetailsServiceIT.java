@@ -7,6 +7,7 @@ import com.jhipster.demo.store.IntegrationTest;
 import com.jhipster.demo.store.domain.User;
 import com.jhipster.demo.store.repository.UserRepository;
 import com.jhipster.demo.store.service.UserService;
+import com.jhipster.demo.store.service.dto.AdminUserDTO;
 import java.util.Locale;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -16,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -31,6 +33,7 @@ class DomainUserDetailsServiceIT {
     private static final String USER_TWO_EMAIL = "test-user-two@localhost";
     private static final String USER_THREE_LOGIN = "test-user-three";
     private static final String USER_THREE_EMAIL = "test-user-three@localhost";
+    private static final String USER_FOUR_LOGIN = "test-user-four";
 
     @Autowired
     private UserRepository userRepository;
@@ -133,4 +136,21 @@ class DomainUserDetailsServiceIT {
             domainUserDetailsService.loadUserByUsername(USER_THREE_LOGIN)
         );
     }
+
+    @Test
+    void assertThatMissingUserIsFoundOnceCreated() {
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(USER_FOUR_LOGIN)
+        );
+
+        AdminUserDTO userFour = new AdminUserDTO();
+        userFour.setLogin(USER_FOUR_LOGIN);
+        userService.createUser(userFour);
+        try {
+            UserDetails userDetails = domainUserDetailsService.loadUserByUsername(USER_FOUR_LOGIN);
+            assertThat(userDetails.getUsername()).isEqualTo(USER_FOUR_LOGIN);
+        } finally {
+            userService.deleteUser(USER_FOUR_LOGIN);
+        }
+    }
 }
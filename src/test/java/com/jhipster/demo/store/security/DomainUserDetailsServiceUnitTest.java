@@ -0,0 +1,106 @@
+package com.jhipster.demo.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jhipster.demo.store.domain.User;
+import com.jhipster.demo.store.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Test class for the {@link DomainUserDetailsService}.
+ */
+class DomainUserDetailsServiceUnitTest {
+
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private DomainUserDetailsService domainUserDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        domainUserDetailsService = new DomainUserDetailsService(
+            userRepository,
+            new ConcurrentMapCacheManager(UserRepository.MISSING_USERS_BY_LOGIN_CACHE, UserRepository.MISSING_USERS_BY_EMAIL_CACHE),
+            meterRegistry
+        );
+    }
+
+    @Test
+    void testUnknownLoginIsRememberedAsMissing() {
+        when(userRepository.findOneWithAuthoritiesByLogin("unknown")).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+                domainUserDetailsService.loadUserByUsername("Unknown")
+            );
+        }
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("unknown");
+        assertThat(meterRegistry.get(DomainUserDetailsService.NEGATIVE_HITS_METER_NAME).counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testUnknownEmailIsRememberedAsMissing() {
+        when(userRepository.findOneWithAuthoritiesByEmailIgnoreCase("unknown@localhost")).thenReturn(Optional.empty());
+
+        for (String email : new String[] { "unknown@localhost", "UNKNOWN@localhost" }) {
+            assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+                domainUserDetailsService.loadUserByUsername(email)
+            );
+        }
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByEmailIgnoreCase("unknown@localhost");
+        assertThat(meterRegistry.get(DomainUserDetailsService.NEGATIVE_HITS_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testConcurrentLookupsAreCoalesced() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findOneWithAuthoritiesByLogin("user")).thenAnswer(invocation -> {
+            loading.countDown();
+            assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+            return Optional.of(user("user"));
+        });
+
+        CompletableFuture<UserDetails> first = CompletableFuture.supplyAsync(() -> domainUserDetailsService.loadUserByUsername("user"));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<UserDetails> second = CompletableFuture.supplyAsync(() -> domainUserDetailsService.loadUserByUsername("user"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.get(DomainUserDetailsService.COALESCED_METER_NAME).counter().count() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS).getUsername()).isEqualTo("user");
+        assertThat(second.get(10, TimeUnit.SECONDS).getUsername()).isEqualTo("user");
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("user");
+        assertThat(meterRegistry.get(DomainUserDetailsService.COALESCED_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    private static User user(String login) {
+        User user = new User();
+        user.setLogin(login);
+        user.setPassword("password");
+        user.setActivated(true);
+        return user;
+    }
+}
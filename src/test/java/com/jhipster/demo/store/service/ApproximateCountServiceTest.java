@@ -0,0 +1,42 @@
+package com.jhipster.demo.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ApproximateCountService}.
+ */
+class ApproximateCountServiceTest {
+
+    private final ApproximateCountService approximateCountService = new ApproximateCountService();
+
+    @Test
+    void testCountIsCachedUntilRefresh() {
+        AtomicLong rows = new AtomicLong(3);
+
+        assertThat(approximateCountService.getCount("entity", rows::get)).isEqualTo(3);
+        rows.set(5);
+        assertThat(approximateCountService.getCount("entity", rows::get)).isEqualTo(3);
+
+        approximateCountService.refreshCounts();
+        assertThat(approximateCountService.getCount("entity", rows::get)).isEqualTo(5);
+    }
+
+    @Test
+    void testRefreshKeepsLastValueOnFailure() {
+        AtomicLong rows = new AtomicLong(3);
+        approximateCountService.getCount("entity", () -> {
+            if (rows.get() < 0) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return rows.get();
+        });
+        rows.set(-1);
+
+        approximateCountService.refreshCounts();
+
+        assertThat(approximateCountService.getCount("entity", rows::get)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,130 @@
+package com.jhipster.demo.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.User;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Test class for the {@link CacheWarmUpService}.
+ */
+class CacheWarmUpServiceTest {
+
+    private ProductRepository productRepository;
+
+    private ProductCategoryRepository productCategoryRepository;
+
+    private UserRepository userRepository;
+
+    private CacheManager cacheManager;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private CacheWarmUpService cacheWarmUpService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productCategoryRepository = mock(ProductCategoryRepository.class);
+        userRepository = mock(UserRepository.class);
+        cacheManager = new ConcurrentMapCacheManager(UserRepository.USERS_BY_LOGIN_CACHE);
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getWarmUp().setBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        cacheWarmUpService = new CacheWarmUpService(
+            productRepository,
+            productCategoryRepository,
+            userRepository,
+            cacheManager,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            applicationProperties,
+            meterRegistry
+        );
+    }
+
+    @Test
+    void testWarmUpLoadsBatches() {
+        when(productCategoryRepository.findAll()).thenReturn(List.of(new ProductCategory().id(1L)));
+        when(productRepository.findIds(any())).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(productRepository.findAllWithToOneRelationshipsByIdIn(anyCollection())).thenAnswer(invocation ->
+            invocation.<Collection<Long>>getArgument(0).stream().map(id -> new Product().id(id)).toList()
+        );
+        when(userRepository.findLoginsByRecentCarts(any())).thenReturn(List.of("alice", "bob"));
+        when(userRepository.findAllWithAuthoritiesByLoginIn(anyCollection())).thenReturn(List.of(user("alice"), user("bob")));
+
+        assertThat(cacheWarmUpService.warmUp()).isTrue();
+
+        verify(productRepository, times(3)).findAllWithToOneRelationshipsByIdIn(anyCollection());
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("alice", User.class)).isNotNull();
+        assertThat(entries("Product")).isEqualTo(5);
+        assertThat(entries("ProductCategory")).isEqualTo(1);
+        assertThat(entries(UserRepository.USERS_BY_LOGIN_CACHE)).isEqualTo(2);
+        assertThat(meterRegistry.get(CacheWarmUpService.BATCHES_METER_NAME).tag("state", "done").gauge().value()).isEqualTo(5);
+        assertThat(meterRegistry.get(CacheWarmUpService.BATCHES_METER_NAME).tag("state", "pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void testWarmUpStopsAtTimeBudget() {
+        applicationProperties.getCache().getWarmUp().setTimeBudget(Duration.ofMillis(50));
+        when(productCategoryRepository.findAll()).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of();
+        });
+        when(productRepository.findIds(any())).thenReturn(List.of());
+        when(userRepository.findLoginsByRecentCarts(any())).thenReturn(List.of());
+
+        long start = System.nanoTime();
+        assertThat(cacheWarmUpService.warmUp()).isFalse();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testWarmUpStopsAtTimeBudgetWhileListing() {
+        applicationProperties.getCache().getWarmUp().setTimeBudget(Duration.ofMillis(50));
+        when(productRepository.findIds(any())).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of();
+        });
+        when(userRepository.findLoginsByRecentCarts(any())).thenReturn(List.of());
+
+        long start = System.nanoTime();
+        assertThat(cacheWarmUpService.warmUp()).isFalse();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    private double entries(String region) {
+        return meterRegistry.get(CacheWarmUpService.ENTRIES_METER_NAME).tag("region", region).gauge().value();
+    }
+
+    private static User user(String login) {
+        User user = new User();
+        user.setLogin(login);
+        return user;
+    }
+}
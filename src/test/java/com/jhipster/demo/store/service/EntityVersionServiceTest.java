@@ -0,0 +1,42 @@
+package com.jhipster.demo.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.service.event.ProductCategoryChangedEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link EntityVersionService}.
+ */
+class EntityVersionServiceTest {
+
+    private final EntityVersionService entityVersionService = new EntityVersionService();
+
+    @Test
+    void testEntityTagFollowsTheVersion() {
+        EntityVersionService.Stamp stamp = entityVersionService.stamp(EntityVersionService.SHOPPING_CART);
+
+        assertThat(stamp.entityTag(1L, 3L)).isEqualTo(stamp.entityTag(1L, 3L)).isNotEqualTo(stamp.entityTag(1L, 4L));
+    }
+
+    @Test
+    void testWritesBumpTheCollection() {
+        String before = entityVersionService.stamp(EntityVersionService.CUSTOMER_DETAILS).collectionTag();
+
+        entityVersionService.recordWrite(EntityVersionService.CUSTOMER_DETAILS);
+
+        assertThat(entityVersionService.stamp(EntityVersionService.CUSTOMER_DETAILS).collectionTag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void testDependencyWritesChangeTheTags() {
+        EntityVersionService.Stamp before = entityVersionService.stamp(EntityVersionService.PRODUCT, EntityVersionService.PRODUCT_CATEGORY);
+
+        entityVersionService.onProductCategoryChanged(ProductCategoryChangedEvent.saved(new ProductCategory().id(1L).version(1L)));
+
+        EntityVersionService.Stamp after = entityVersionService.stamp(EntityVersionService.PRODUCT, EntityVersionService.PRODUCT_CATEGORY);
+        assertThat(after.collectionTag()).isNotEqualTo(before.collectionTag());
+        assertThat(after.entityTag(1L, 0L)).isNotEqualTo(before.entityTag(1L, 0L));
+    }
+}
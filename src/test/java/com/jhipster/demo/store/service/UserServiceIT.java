@@ -6,6 +6,7 @@ import static org.mockito.Mockito.when;
 import com.jhipster.demo.store.IntegrationTest;
 import com.jhipster.demo.store.domain.User;
 import com.jhipster.demo.store.repository.UserRepository;
+import com.jhipster.demo.store.service.dto.AdminUserDTO;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -22,6 +23,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
 
@@ -205,4 +207,20 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional
+    void testMissingUserIsEvictedAfterCommit() {
+        Cache missingUsersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.MISSING_USERS_BY_LOGIN_CACHE));
+        missingUsersByLogin.put(DEFAULT_LOGIN, Boolean.TRUE);
+
+        userService.registerUser(new AdminUserDTO(user), "password");
+
+        assertThat(missingUsersByLogin.get(DEFAULT_LOGIN)).isNotNull();
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertThat(missingUsersByLogin.get(DEFAULT_LOGIN)).isNull();
+    }
 }
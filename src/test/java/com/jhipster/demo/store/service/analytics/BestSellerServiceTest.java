@@ -0,0 +1,143 @@
+package com.jhipster.demo.store.service.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.service.event.ProductOrdersCreatedEvent;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * Test class for the {@link BestSellerService}.
+ */
+class BestSellerServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+
+    private JdbcTemplate jdbcTemplate;
+
+    private BestSellerService bestSellerService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        bestSellerService = new BestSellerService(jdbcTemplate);
+        at(NOW);
+    }
+
+    @Test
+    void testRanksProductsByUnitsSold() {
+        order(1L, 2);
+        order(2L, 5);
+        order(3L, 1);
+        order(1L, 2);
+
+        assertThat(bestSellerService.findBestSellers(BestSellerService.Window.HOUR, 10)).containsExactly(
+            new BestSellerService.BestSeller(2L, 5),
+            new BestSellerService.BestSeller(1L, 4),
+            new BestSellerService.BestSeller(3L, 1)
+        );
+        assertThat(bestSellerService.findBestSellers(BestSellerService.Window.HOUR, 2))
+            .extracting(BestSellerService.BestSeller::productId)
+            .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void testKeepsTheTopProductsOnly() {
+        for (long productId = 1; productId <= BestSellerService.TOP_K + 20; productId++) {
+            order(productId, (int) productId);
+        }
+
+        List<BestSellerService.BestSeller> bestSellers = bestSellerService.findBestSellers(
+            BestSellerService.Window.DAY,
+            BestSellerService.TOP_K
+        );
+        assertThat(bestSellers).hasSize(BestSellerService.TOP_K);
+        assertThat(bestSellers.get(0).productId()).isEqualTo(BestSellerService.TOP_K + 20L);
+        assertThat(bestSellers).extracting(BestSellerService.BestSeller::productId).doesNotContain(1L, 20L);
+    }
+
+    @Test
+    void testExpiresOrdersThatLeftTheWindow() {
+        order(1L, 3);
+        at(NOW.plus(Duration.ofMinutes(30)));
+        order(2L, 1);
+
+        at(NOW.plus(Duration.ofMinutes(70)));
+        bestSellerService.checkpoint();
+
+        assertThat(bestSellerService.findBestSellers(BestSellerService.Window.HOUR, 10)).containsExactly(
+            new BestSellerService.BestSeller(2L, 1)
+        );
+        assertThat(bestSellerService.findBestSellers(BestSellerService.Window.DAY, 10))
+            .extracting(BestSellerService.BestSeller::productId)
+            .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void testCheckpointsOnlyChangedPanes() {
+        order(1L, 1);
+        bestSellerService.checkpoint();
+        verify(jdbcTemplate, times(BestSellerService.Window.values().length)).batchUpdate(anyString(), anyList());
+
+        clearInvocations(jdbcTemplate);
+        bestSellerService.checkpoint();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testMergesThePanesOfOtherNodes() throws Exception {
+        CountMinSketch sketch = new CountMinSketch(BestSellerService.SKETCH_WIDTH);
+        sketch.add(7L, 10);
+        ResultSet otherNode = mock(ResultSet.class);
+        when(otherNode.getString("window_name")).thenReturn(BestSellerService.Window.HOUR.name());
+        when(otherNode.getLong("pane_start")).thenReturn(BestSellerService.Window.HOUR.paneStart(NOW));
+        when(otherNode.getBytes("sketch")).thenReturn(sketch.toBytes());
+        when(otherNode.getBytes("candidates")).thenReturn(ByteBuffer.allocate(Long.BYTES).putLong(7L).array());
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(otherNode);
+            return null;
+        })
+            .when(jdbcTemplate)
+            .query(anyString(), any(RowCallbackHandler.class), anyString());
+
+        order(1L, 2);
+        for (int i = 0; i < 2; i++) {
+            bestSellerService.checkpoint();
+
+            assertThat(bestSellerService.findBestSellers(BestSellerService.Window.HOUR, 10)).containsExactly(
+                new BestSellerService.BestSeller(7L, 10),
+                new BestSellerService.BestSeller(1L, 2)
+            );
+        }
+    }
+
+    private void at(Instant instant) {
+        bestSellerService.setClock(Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private void order(Long productId, int quantity) {
+        ProductOrder productOrder = new ProductOrder().quantity(quantity).product(new Product().id(productId));
+        bestSellerService.onProductOrdersCreated(new ProductOrdersCreatedEvent(List.of(productOrder)));
+    }
+}
@@ -0,0 +1,124 @@
+package com.jhipster.demo.store.service.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.repository.ProductOrderRepository;
+import com.jhipster.demo.store.repository.SalesLine;
+import com.jhipster.demo.store.service.event.ShoppingCartStatusChangedEvent;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Test class for the {@link CoOccurrenceService}.
+ */
+class CoOccurrenceServiceTest {
+
+    private ProductOrderRepository productOrderRepository;
+
+    private CoOccurrenceService coOccurrenceService;
+
+    @BeforeEach
+    void setUp() {
+        productOrderRepository = mock(ProductOrderRepository.class);
+        coOccurrenceService = new CoOccurrenceService(
+            productOrderRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class))
+        );
+    }
+
+    @Test
+    void testRanksProductsBoughtTogether() {
+        complete(1L, 1L, 2L, 3L);
+        complete(2L, 1L, 3L);
+        complete(3L, 1L, 3L, 4L);
+
+        assertThat(coOccurrenceService.findRelated(1L, 10)).containsExactly(
+            new CoOccurrenceService.RelatedProduct(3L, 3),
+            new CoOccurrenceService.RelatedProduct(2L, 1),
+            new CoOccurrenceService.RelatedProduct(4L, 1)
+        );
+        assertThat(coOccurrenceService.findRelated(4L, 1)).containsExactly(new CoOccurrenceService.RelatedProduct(1L, 1));
+        assertThat(coOccurrenceService.findRelated(5L, 10)).isEmpty();
+    }
+
+    @Test
+    void testIgnoresCartsThatAreNotCompleted() {
+        coOccurrenceService.onShoppingCartStatusChanged(
+            new ShoppingCartStatusChangedEvent(1L, null, OrderStatus.PENDING, List.of(1L, 2L))
+        );
+        complete(2L, 1L, 3L);
+        coOccurrenceService.onShoppingCartStatusChanged(
+            new ShoppingCartStatusChangedEvent(2L, OrderStatus.PAID, OrderStatus.COMPLETED, List.of(1L, 3L))
+        );
+
+        assertThat(coOccurrenceService.findRelated(1L, 10)).containsExactly(new CoOccurrenceService.RelatedProduct(3L, 1));
+    }
+
+    @Test
+    void testUncountsRefundedCartsAndCompacts() {
+        complete(1L, 1L, 2L);
+        complete(2L, 1L, 3L);
+        coOccurrenceService.onShoppingCartStatusChanged(
+            new ShoppingCartStatusChangedEvent(1L, OrderStatus.PAID, OrderStatus.REFUNDED, List.of(1L, 2L))
+        );
+
+        assertThat(coOccurrenceService.findRelated(1L, 10)).containsExactly(new CoOccurrenceService.RelatedProduct(3L, 1));
+        assertThat(coOccurrenceService.findRelated(2L, 10)).isEmpty();
+
+        coOccurrenceService.compact();
+
+        assertThat(coOccurrenceService.findRelated(1L, 10)).containsExactly(new CoOccurrenceService.RelatedProduct(3L, 1));
+        assertThat(coOccurrenceService.findRelated(3L, 10)).containsExactly(new CoOccurrenceService.RelatedProduct(1L, 1));
+        complete(3L, 2L, 3L);
+        assertThat(coOccurrenceService.findRelated(3L, 10)).containsExactly(
+            new CoOccurrenceService.RelatedProduct(1L, 1),
+            new CoOccurrenceService.RelatedProduct(2L, 1)
+        );
+    }
+
+    @Test
+    void testRebuildsFromOrderLines() {
+        when(productOrderRepository.streamSalesLinesByStatus(SalesRollupService.COUNTED_STATUSES)).thenReturn(
+            Stream.of(line(1L, 1L), line(1L, 2L), line(1L, 2L), line(2L, 2L), line(2L, 3L))
+        );
+        complete(9L, 7L, 8L);
+
+        assertThat(coOccurrenceService.rebuild()).isEqualTo(2);
+
+        assertThat(coOccurrenceService.findRelated(2L, 10)).containsExactly(
+            new CoOccurrenceService.RelatedProduct(1L, 1),
+            new CoOccurrenceService.RelatedProduct(3L, 1)
+        );
+        assertThat(coOccurrenceService.findRelated(7L, 10)).isEmpty();
+    }
+
+    @Test
+    void testReplaysCartsChangedDuringRebuild() {
+        when(productOrderRepository.streamSalesLinesByStatus(SalesRollupService.COUNTED_STATUSES)).thenAnswer(invocation -> {
+            complete(9L, 7L, 8L);
+            return Stream.of(line(1L, 1L), line(1L, 2L));
+        });
+
+        assertThat(coOccurrenceService.rebuild()).isEqualTo(1);
+
+        assertThat(coOccurrenceService.findRelated(1L, 10)).containsExactly(new CoOccurrenceService.RelatedProduct(2L, 1));
+        assertThat(coOccurrenceService.findRelated(7L, 10)).containsExactly(new CoOccurrenceService.RelatedProduct(8L, 1));
+    }
+
+    private void complete(Long cartId, Long... productIds) {
+        coOccurrenceService.onShoppingCartStatusChanged(
+            new ShoppingCartStatusChangedEvent(cartId, OrderStatus.PENDING, OrderStatus.PAID, List.of(productIds))
+        );
+    }
+
+    private static SalesLine line(Long cartId, Long productId) {
+        return new SalesLine(cartId, null, OrderStatus.PAID, productId, 1L, 1, null);
+    }
+}
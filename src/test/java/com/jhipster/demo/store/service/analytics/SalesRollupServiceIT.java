@@ -0,0 +1,96 @@
+package com.jhipster.demo.store.service.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.repository.ProductOrderRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.ShoppingCartRepository;
+import com.jhipster.demo.store.service.dto.RevenueDTO;
+import com.jhipster.demo.store.web.rest.ProductResourceIT;
+import com.jhipster.demo.store.web.rest.ShoppingCartResourceIT;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link SalesRollupService}, with committed data, as concurrent rebuilds do not share a
+ * transaction.
+ */
+@IntegrationTest
+class SalesRollupServiceIT {
+
+    private static final LocalDate DAY = LocalDate.of(2001, 3, 4);
+
+    private static final Instant PLACED_DATE = Instant.parse("2001-03-04T10:15:00Z");
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private ProductOrderRepository productOrderRepository;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Test
+    void testConcurrentBackfillsCountEachCartOnce() throws Exception {
+        ProductOrder order = transactionTemplate.execute(status -> {
+            Product product = ProductResourceIT.createEntity(em);
+            em.persist(product);
+            ShoppingCart shoppingCart = ShoppingCartResourceIT.createEntity(em).placedDate(PLACED_DATE).status(OrderStatus.COMPLETED);
+            em.persist(shoppingCart);
+            ProductOrder created = new ProductOrder().quantity(3).totalPrice(new BigDecimal("30.00")).product(product).cart(shoppingCart);
+            em.persist(created);
+            return created;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<Long> backfill = () -> salesRollupService.backfill(DAY, DAY.plusDays(1));
+            for (Future<Long> carts : executor.invokeAll(List.of(backfill, backfill), 1, TimeUnit.MINUTES)) {
+                assertThat(carts.get()).isEqualTo(1);
+            }
+
+            List<RevenueDTO> revenue = salesRollupService.findRevenue(
+                Instant.parse("2001-03-04T00:00:00Z"),
+                Instant.parse("2001-03-05T00:00:00Z"),
+                Set.of()
+            );
+            assertThat(revenue).singleElement().satisfies(total -> {
+                assertThat(total.units()).isEqualTo(3);
+                assertThat(total.revenue()).isEqualByComparingTo("30.00");
+                assertThat(total.orderCount()).isEqualTo(1);
+            });
+        } finally {
+            executor.shutdownNow();
+            productOrderRepository.deleteById(order.getId());
+            shoppingCartRepository.deleteById(order.getCart().getId());
+            productRepository.deleteById(order.getProduct().getId());
+            salesRollupService.backfill(DAY, DAY.plusDays(1));
+        }
+    }
+}
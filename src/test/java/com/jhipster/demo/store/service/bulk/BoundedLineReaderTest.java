@@ -0,0 +1,34 @@
+package com.jhipster.demo.store.service.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link BoundedLineReader}.
+ */
+class BoundedLineReaderTest {
+
+    @Test
+    void testLines() throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(new StringReader("first\r\n\nlast"), 8);
+
+        assertThat(lines.next()).isEqualTo("first");
+        assertThat(lines.next()).isEmpty();
+        assertThat(lines.next()).isEqualTo("last");
+        assertThat(lines.next()).isNull();
+    }
+
+    @Test
+    void testLongLineIsSkipped() throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(new StringReader("short\nmuch too long\nnext"), 8);
+
+        assertThat(lines.next()).isEqualTo("short");
+        assertThatExceptionOfType(BoundedLineReader.LineTooLongException.class).isThrownBy(lines::next);
+        assertThat(lines.next()).isEqualTo("next");
+        assertThat(lines.next()).isNull();
+    }
+}
@@ -0,0 +1,50 @@
+package com.jhipster.demo.store.service.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CsvRecordReader}.
+ */
+class CsvRecordReaderTest {
+
+    @Test
+    void testRecords() throws IOException {
+        CsvRecordReader records = reader("name;price\r\n\"Shirt; \"\"linen\"\"\nwhite\";19.99\nlast;", 64, 8);
+
+        assertThat(records.next()).containsExactly("name", "price");
+        assertThat(records.next()).containsExactly("Shirt; \"linen\"\nwhite", "19.99");
+        assertThat(records.next()).containsExactly("last", "");
+        assertThat(records.next()).isNull();
+    }
+
+    @Test
+    void testUnterminatedQuotedField() {
+        CsvRecordReader records = reader("\"open;field\n", 64, 8);
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(records::next).withMessageContaining("Unterminated");
+    }
+
+    @Test
+    void testFieldLengthIsBounded() {
+        CsvRecordReader records = reader("1234;12345\n", 4, 8);
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(records::next).withMessageContaining("longer than 4");
+    }
+
+    @Test
+    void testFieldCountIsBounded() throws IOException {
+        CsvRecordReader records = reader("a;b;c\na;b;c;d\n", 64, 3);
+
+        assertThat(records.next()).containsExactly("a", "b", "c");
+        assertThatExceptionOfType(IOException.class).isThrownBy(records::next).withMessageContaining("more than 3 fields");
+    }
+
+    private static CsvRecordReader reader(String input, int maxFieldLength, int maxFields) {
+        return new CsvRecordReader(new StringReader(input), ';', maxFieldLength, maxFields);
+    }
+}
@@ -0,0 +1,136 @@
+package com.jhipster.demo.store.service.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.service.ProductService;
+import com.jhipster.demo.store.service.dto.ProductImportReportDTO;
+import jakarta.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Test class for the {@link ProductImportService}.
+ */
+class ProductImportServiceTest {
+
+    private ProductService productService;
+
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        ProductCategoryRepository productCategoryRepository = mock(ProductCategoryRepository.class);
+        when(productCategoryRepository.findAll()).thenReturn(List.of(new ProductCategory().id(1L).name("Shirts")));
+        Validator validator = mock(Validator.class);
+        when(validator.validate(any())).thenReturn(Set.of());
+        productImportService = new ProductImportService(
+            productService,
+            productCategoryRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            validator,
+            new ObjectMapper()
+        );
+    }
+
+    @Test
+    void testRejectedBatchIsReplayedRowByRow() {
+        when(productService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            if (products.size() > 1 || "Duplicate".equals(products.get(0).getName())) {
+                throw new DataIntegrityViolationException("Duplicate entry");
+            }
+            return products;
+        });
+
+        ProductImportReportDTO report = productImportService.importCsv(
+            input("name;price;product_size;product_category_id\nLinen;10;M;1\nDuplicate;20;L;1\nWool;30;S;1\n"),
+            StandardCharsets.UTF_8
+        );
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.errors()).extracting(ProductImportReportDTO.RowError::row).containsExactly(2L);
+    }
+
+    @Test
+    void testLongNdjsonLineIsRejected() {
+        when(productService.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        String product = "{\"name\":\"Linen\",\"price\":10,\"productSize\":\"M\",\"productCategory\":{\"id\":1}}";
+        String longProduct = "{\"name\":\"Linen\",\"description\":\"" + "x".repeat(ProductImportService.MAX_LINE_LENGTH) + "\"}";
+
+        ProductImportReportDTO report = productImportService.importNdjson(
+            input(product + "\n" + longProduct + "\n" + product + "\n"),
+            StandardCharsets.UTF_8
+        );
+
+        assertThat(report.rows()).isEqualTo(3);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.errors()).extracting(ProductImportReportDTO.RowError::row).containsExactly(2L);
+    }
+
+    @Test
+    void testImagesAreStoredBeforeTheirRowsAreBatched() {
+        doAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            if (product.getImage() != null) {
+                product.setImageHash("hash-" + product.getImage().length);
+                product.setImage(null);
+            }
+            return null;
+        })
+            .when(productService)
+            .storeImageContent(any(Product.class));
+        when(productService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            assertThat(products).allSatisfy(product -> {
+                assertThat(product.getImage()).isNull();
+                assertThat(product.getImageHash()).isEqualTo("hash-" + (1 << 20));
+            });
+            return products;
+        });
+        int rows = ProductImportService.BATCH_SIZE + 1;
+        byte[] line = (
+            "{\"name\":\"Linen\",\"price\":10,\"productSize\":\"M\",\"productCategory\":{\"id\":1}," +
+            "\"imageContentType\":\"image/png\",\"image\":\"" +
+            Base64.getEncoder().encodeToString(new byte[1 << 20]) +
+            "\"}\n"
+        ).getBytes(StandardCharsets.UTF_8);
+        // the rows share one line, only the rows of a batch could hold their images
+        InputStream input = new SequenceInputStream(
+            Collections.enumeration(Collections.nCopies(rows, line).stream().map(ByteArrayInputStream::new).toList())
+        );
+
+        ProductImportReportDTO report = productImportService.importNdjson(input, StandardCharsets.UTF_8);
+
+        assertThat(report.imported()).isEqualTo(rows);
+        verify(productService, times(rows)).storeImageContent(any(Product.class));
+        verify(productService, times(2)).saveAll(anyList());
+    }
+
+    private static ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,183 @@
+package com.jhipster.demo.store.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.StoreApp;
+import com.jhipster.demo.store.config.AsyncSyncConfiguration;
+import com.jhipster.demo.store.config.JacksonConfiguration;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.ProductSummary;
+import com.jhipster.demo.store.repository.UserRepository;
+import com.jhipster.demo.store.service.EntityVersionService;
+import com.jhipster.demo.store.service.ProductService;
+import com.jhipster.demo.store.service.search.ProductSearchService;
+import com.jhipster.demo.store.web.rest.ProductResourceIT;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link CacheInvalidationService}, with a second application context, node B, sharing the
+ * database of the test context, node A.
+ */
+@IntegrationTest
+class CacheInvalidationIT {
+
+    private static final long SECOND_EVICTION_MILLIS = 500;
+
+    private static ConfigurableApplicationContext nodeB;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @BeforeEach
+    void startNodeB() {
+        if (nodeB == null) {
+            nodeB = new SpringApplicationBuilder(StoreApp.class, JacksonConfiguration.class, AsyncSyncConfiguration.class)
+                .profiles(env.getActiveProfiles())
+                .properties(
+                    "spring.datasource.url=" + env.getProperty("spring.datasource.url"),
+                    "spring.datasource.username=" + env.getProperty("spring.datasource.username"),
+                    "spring.datasource.password=" + env.getProperty("spring.datasource.password", ""),
+                    "spring.liquibase.enabled=false",
+                    "spring.docker.compose.enabled=false",
+                    "application.cache.manager-name=node-b",
+                    "application.cache.invalidation.second-eviction-millis=" + SECOND_EVICTION_MILLIS,
+                    "server.port=0"
+                )
+                .run();
+        }
+    }
+
+    @AfterAll
+    static void stopNodeB() {
+        if (nodeB != null) {
+            nodeB.close();
+            nodeB = null;
+        }
+    }
+
+    @Test
+    void testUpdateOnNodeAEvictsProductOnNodeB() {
+        Product product = transactionTemplate.execute(status -> {
+            Product created = ProductResourceIT.createEntity(em);
+            em.persist(created);
+            return created;
+        });
+        Long id = product.getId();
+        ProductRepository nodeBProductRepository = nodeB.getBean(ProductRepository.class);
+        EntityManagerFactory nodeBEntityManagerFactory = nodeB.getBean(EntityManagerFactory.class);
+        try {
+            assertThat(nodeBProductRepository.findById(id)).isPresent();
+            assertThat(nodeBEntityManagerFactory.getCache().contains(Product.class, id)).isTrue();
+
+            productService.update(product.price(new BigDecimal("42.00")));
+            nodeB.getBean(CacheInvalidationService.class).poll();
+
+            assertThat(nodeBEntityManagerFactory.getCache().contains(Product.class, id)).isFalse();
+            assertThat(nodeBProductRepository.findById(id).orElseThrow().getPrice()).isEqualByComparingTo("42.00");
+        } finally {
+            productRepository.deleteById(id);
+        }
+    }
+
+    @Test
+    void testStaleLoadOnNodeBAfterEvictionIsEvictedAgain() throws Exception {
+        Product product = transactionTemplate.execute(status -> {
+            Product created = ProductResourceIT.createEntity(em);
+            em.persist(created);
+            return created;
+        });
+        Long id = product.getId();
+        BigDecimal price = product.getPrice();
+        ProductRepository nodeBProductRepository = nodeB.getBean(ProductRepository.class);
+        EntityManagerFactory nodeBEntityManagerFactory = nodeB.getBean(EntityManagerFactory.class);
+        CacheInvalidationService nodeBCacheInvalidationService = nodeB.getBean(CacheInvalidationService.class);
+        TransactionTemplate nodeBTransactionTemplate = nodeB.getBean(TransactionTemplate.class);
+        try {
+            BigDecimal stalePrice = nodeBTransactionTemplate.execute(status -> {
+                // the repeatable read snapshot of this transaction is taken before the update on node A
+                nodeBProductRepository.count();
+                CompletableFuture.runAsync(() -> {
+                    productService.update(product.price(new BigDecimal("42.00")));
+                    nodeBCacheInvalidationService.poll();
+                }).join();
+                return nodeBProductRepository.findById(id).orElseThrow().getPrice();
+            });
+            assertThat(stalePrice).isEqualByComparingTo(price);
+
+            Thread.sleep(SECOND_EVICTION_MILLIS);
+            nodeBCacheInvalidationService.poll();
+
+            assertThat(nodeBEntityManagerFactory.getCache().contains(Product.class, id)).isFalse();
+            assertThat(nodeBProductRepository.findById(id).orElseThrow().getPrice()).isEqualByComparingTo("42.00");
+        } finally {
+            productRepository.deleteById(id);
+        }
+    }
+
+    @Test
+    void testProductWritesOnNodeAReachReadModelsOfNodeB() {
+        ProductSearchService nodeBProductSearchService = nodeB.getBean(ProductSearchService.class);
+        EntityVersionService nodeBEntityVersionService = nodeB.getBean(EntityVersionService.class);
+        String etag = nodeBEntityVersionService.stamp(EntityVersionService.PRODUCT).collectionTag();
+
+        Long id = transactionTemplate.execute(status ->
+            productService.save(ProductResourceIT.createEntity(em).name("Remotely indexed")).getId()
+        );
+        try {
+            nodeB.getBean(CacheInvalidationService.class).poll();
+
+            assertThat(nodeBProductSearchService.search("remotely indexed", PageRequest.of(0, 20)))
+                .extracting(ProductSummary::id)
+                .containsExactly(id);
+            assertThat(nodeBEntityVersionService.stamp(EntityVersionService.PRODUCT).collectionTag()).isNotEqualTo(etag);
+        } finally {
+            productService.delete(id);
+        }
+        nodeB.getBean(CacheInvalidationService.class).poll();
+
+        assertThat(nodeBProductSearchService.search("remotely indexed", PageRequest.of(0, 20))).isEmpty();
+    }
+
+    @Test
+    void testCacheEntryInvalidationOnNodeAEvictsEntryOnNodeB() {
+        Cache nodeBUsersByLogin = nodeB.getBean(CacheManager.class).getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        assertThat(nodeBUsersByLogin).isNotNull();
+        nodeBUsersByLogin.put("cache-invalidation", "stale");
+
+        cacheInvalidationService.invalidateCacheEntry(UserRepository.USERS_BY_LOGIN_CACHE, "cache-invalidation");
+        nodeB.getBean(CacheInvalidationService.class).poll();
+
+        assertThat(nodeBUsersByLogin.get("cache-invalidation")).isNull();
+    }
+}
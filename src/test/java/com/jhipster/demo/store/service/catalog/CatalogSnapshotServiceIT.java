@@ -0,0 +1,83 @@
+package com.jhipster.demo.store.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.web.rest.ProductCategoryResourceIT;
+import com.jhipster.demo.store.web.rest.ProductResourceIT;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link CatalogSnapshotService}, with the snapshot enabled, checking that it answers as the
+ * database does.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.catalog.enabled=true")
+@Transactional
+class CatalogSnapshotServiceIT {
+
+    private static final List<String> NAMES = List.of("cherry", "Banana", "éclair", "apple", "Date", "Eclair");
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Test
+    void testSnapshotSortsProductsAsTheDatabase() {
+        for (String name : NAMES) {
+            em.persist(ProductResourceIT.createEntity(em).name(name).description(name.toUpperCase(Locale.ROOT)));
+        }
+        em.flush();
+        catalogSnapshotService.refresh();
+
+        for (Sort sort : List.of(Sort.by("name", "id"), Sort.by(Sort.Order.desc("description"), Sort.Order.asc("id")))) {
+            Pageable pageable = PageRequest.of(0, 1000, sort);
+
+            List<Product> fromSnapshot = catalogSnapshotService.findProducts(pageable).orElseThrow().getContent();
+
+            assertThat(fromSnapshot)
+                .extracting(Product::getId)
+                .containsExactlyElementsOf(productRepository.findAll(pageable).map(Product::getId).getContent());
+        }
+    }
+
+    @Test
+    void testSnapshotSortsProductCategoriesAsTheDatabase() {
+        for (String name : NAMES) {
+            em.persist(ProductCategoryResourceIT.createEntity().name(name).description(name.toUpperCase(Locale.ROOT)));
+        }
+        em.flush();
+        catalogSnapshotService.refresh();
+
+        for (Sort sort : List.of(Sort.by("name", "id"), Sort.by(Sort.Order.desc("description"), Sort.Order.asc("id")))) {
+            Pageable pageable = PageRequest.of(0, 1000, sort);
+
+            List<ProductCategory> fromSnapshot = catalogSnapshotService.findCategories(pageable).orElseThrow().getContent();
+
+            assertThat(fromSnapshot)
+                .extracting(ProductCategory::getId)
+                .containsExactlyElementsOf(productCategoryRepository.findAll(pageable).map(ProductCategory::getId).getContent());
+        }
+    }
+}
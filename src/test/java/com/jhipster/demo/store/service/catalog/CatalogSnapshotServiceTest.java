@@ -0,0 +1,132 @@
+package com.jhipster.demo.store.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.service.event.ProductCategoryChangedEvent;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Test class for the {@link CatalogSnapshotService}.
+ */
+class CatalogSnapshotServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+
+    private final ProductCategory shirts = new ProductCategory().id(1L).name("Shirts");
+
+    private ProductRepository productRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        ProductCategoryRepository productCategoryRepository = mock(ProductCategoryRepository.class);
+        when(productCategoryRepository.findAll()).thenReturn(List.of(shirts));
+        when(productRepository.findAllWithToOneRelationships()).thenReturn(
+            List.of(product(2L, "Linen shirt", "30"), product(1L, "Wool shirt", "50"), product(3L, "Cotton shirt", "10"))
+        );
+        applicationProperties = new ApplicationProperties();
+        catalogSnapshotService = new CatalogSnapshotService(productRepository, productCategoryRepository, applicationProperties);
+        catalogSnapshotService.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testNoSnapshotBeforeFirstLoad() {
+        assertThat(catalogSnapshotService.findProducts(PageRequest.of(0, 20))).isEmpty();
+        assertThat(catalogSnapshotService.findProduct(1L)).isEmpty();
+    }
+
+    @Test
+    void testFindProductsSortsAndPaginates() {
+        catalogSnapshotService.refresh();
+
+        Page<Product> byId = catalogSnapshotService.findProducts(PageRequest.of(0, 2)).orElseThrow();
+        assertThat(byId.getContent()).extracting(Product::getId).containsExactly(1L, 2L);
+        assertThat(byId.getTotalElements()).isEqualTo(3);
+
+        Page<Product> byPriceDesc = catalogSnapshotService.findProducts(PageRequest.of(1, 2, Sort.by("price").descending())).orElseThrow();
+        assertThat(byPriceDesc.getContent()).extracting(Product::getId).containsExactly(3L);
+
+        assertThat(catalogSnapshotService.findProducts(PageRequest.of(0, 2, Sort.by("productCategory.name")))).isEmpty();
+    }
+
+    @Test
+    void testWritesSwapTheSnapshot() {
+        CatalogSnapshot loaded = catalogSnapshotService.refresh();
+
+        catalogSnapshotService.onProductChanged(ProductChangedEvent.saved(product(4L, "Silk shirt", "90")));
+        catalogSnapshotService.onProductChanged(ProductChangedEvent.deleted(1L));
+        catalogSnapshotService.onProductCategoryChanged(ProductCategoryChangedEvent.saved(new ProductCategory().id(1L).name("Tops")));
+
+        CatalogSnapshot current = catalogSnapshotService.getSnapshot().orElseThrow();
+        assertThat(current.getVersion()).isEqualTo(loaded.getVersion() + 3);
+        assertThat(loaded.findProduct(1L)).isPresent();
+        assertThat(current.findProduct(1L)).isEmpty();
+        assertThat(current.findProduct(4L)).map(product -> product.getProductCategory().getName()).contains("Tops");
+        assertThat(current.findProduct(2L)).map(product -> product.getProductCategory().getName()).contains("Tops");
+    }
+
+    @Test
+    void testWritesDuringReloadAreReplayed() {
+        catalogSnapshotService.refresh();
+        List<Product> beforeWrites = List.of(product(1L, "Wool shirt", "50"), product(2L, "Linen shirt", "30"));
+        when(productRepository.findAllWithToOneRelationships()).thenAnswer(invocation -> {
+            // committed after the reload read the products
+            catalogSnapshotService.onProductChanged(ProductChangedEvent.saved(product(4L, "Silk shirt", "90")));
+            catalogSnapshotService.onProductChanged(ProductChangedEvent.saved(product(1L, "Wool shirt", "45")));
+            catalogSnapshotService.onProductChanged(ProductChangedEvent.deleted(2L));
+            return beforeWrites;
+        });
+
+        CatalogSnapshot reloaded = catalogSnapshotService.refresh();
+
+        assertThat(catalogSnapshotService.getSnapshot()).containsSame(reloaded);
+        assertThat(reloaded.findProduct(4L)).isPresent();
+        assertThat(reloaded.findProduct(1L).orElseThrow().getPrice()).isEqualByComparingTo("45");
+        assertThat(reloaded.findProduct(2L)).isEmpty();
+    }
+
+    @Test
+    void testStaleSnapshotIsNotServed() {
+        catalogSnapshotService.refresh();
+        long maxStaleness = applicationProperties.getCatalog().getMaxStalenessSeconds();
+
+        catalogSnapshotService.setClock(Clock.fixed(NOW.plusSeconds(maxStaleness), ZoneOffset.UTC));
+        assertThat(catalogSnapshotService.findProduct(1L)).isPresent();
+
+        catalogSnapshotService.setClock(Clock.fixed(NOW.plusSeconds(maxStaleness + 1), ZoneOffset.UTC));
+        assertThat(catalogSnapshotService.findProduct(1L)).isEmpty();
+    }
+
+    @Test
+    void testDisabledSnapshotIsNotServed() {
+        catalogSnapshotService.refresh();
+        applicationProperties.getCatalog().setEnabled(false);
+
+        assertThat(catalogSnapshotService.findProduct(1L)).isEmpty();
+    }
+
+    private Product product(Long id, String name, String price) {
+        return new Product().id(id).name(name).price(new BigDecimal(price)).productCategory(shirts);
+    }
+}
@@ -0,0 +1,75 @@
+package com.jhipster.demo.store.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.service.event.ProductCategoryChangedEvent;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link JsonFragmentCache}.
+ */
+class JsonFragmentCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final JsonFragmentCache jsonFragmentCache = new JsonFragmentCache(objectMapper);
+
+    private final ProductCategory shirts = new ProductCategory().id(1L).name("Shirts");
+
+    @Test
+    void testFragmentsMatchJackson() throws IOException {
+        List<Product> products = List.of(product(1L, "Wool shirt"), product(2L, "Linen shirt"));
+
+        assertThat(write(jsonFragmentCache.products(products))).isEqualTo(objectMapper.writeValueAsString(products));
+        assertThat(write(jsonFragmentCache.categories(List.of(shirts)))).isEqualTo(objectMapper.writeValueAsString(List.of(shirts)));
+        assertThat(write(jsonFragmentCache.products(List.of()))).isEqualTo("[]");
+    }
+
+    @Test
+    void testFragmentsAreReusedUntilTheWriteIsCommitted() throws IOException {
+        Product product = product(1L, "Wool shirt");
+        write(jsonFragmentCache.products(List.of(product)));
+
+        product.name("Cashmere shirt");
+        assertThat(write(jsonFragmentCache.products(List.of(product)))).contains("Wool shirt");
+
+        jsonFragmentCache.onProductChanged(ProductChangedEvent.saved(product));
+        assertThat(write(jsonFragmentCache.products(List.of(product)))).contains("Cashmere shirt");
+    }
+
+    @Test
+    void testNewInstancesAreRenderedAgain() throws IOException {
+        write(jsonFragmentCache.products(List.of(product(1L, "Wool shirt"))));
+
+        assertThat(write(jsonFragmentCache.products(List.of(product(1L, "Cashmere shirt"))))).contains("Cashmere shirt");
+    }
+
+    @Test
+    void testCategoryWritesEvictProductFragments() throws IOException {
+        write(jsonFragmentCache.products(List.of(product(1L, "Wool shirt"))));
+        write(jsonFragmentCache.categories(List.of(shirts)));
+        assertThat(jsonFragmentCache.size()).isEqualTo(2);
+
+        jsonFragmentCache.onProductCategoryChanged(ProductCategoryChangedEvent.saved(shirts));
+        assertThat(jsonFragmentCache.size()).isZero();
+    }
+
+    private Product product(Long id, String name) {
+        return new Product().id(id).name(name).price(new BigDecimal("30")).productCategory(shirts);
+    }
+
+    private static String write(JsonFragmentList<?> body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jhipster.demo.store.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link KeysetCursor} record.
+ */
+class KeysetCursorTest {
+
+    @Test
+    void testFirstPageRoundTrip() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.first("name").encode());
+
+        assertThat(cursor.isFirst()).isTrue();
+        assertThat(cursor.key()).isEqualTo("name");
+    }
+
+    @Test
+    void testRoundTripKeepsValueWithSeparators() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.after("name", "multi\nline", 42L).encode());
+
+        assertThat(cursor).isEqualTo(new KeysetCursor("name", "multi\nline", 42L));
+    }
+
+    @Test
+    void testDecimalValueIsPlain() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.after("price", new BigDecimal("1E+3"), 1L).encode());
+
+        assertThat(cursor.value()).isEqualTo("1000");
+        assertThat(cursor.decimalValue()).isEqualByComparingTo("1000");
+    }
+
+    @Test
+    void testDecodeRejectsMalformedToken() {
+        assertThatIllegalArgumentException().isThrownBy(() -> KeysetCursor.decode("!!!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> KeysetCursor.decode(KeysetCursor.first("id\nx").encode()));
+    }
+
+    @Test
+    void testHasValueOfType() {
+        assertThat(KeysetCursor.after("price", new BigDecimal("9.99"), 1L).hasValueOfType(BigDecimal.class)).isTrue();
+        assertThat(KeysetCursor.after("placedDate", Instant.EPOCH, 1L).hasValueOfType(Instant.class)).isTrue();
+        assertThat(KeysetCursor.first("price").hasValueOfType(BigDecimal.class)).isTrue();
+        assertThat(new KeysetCursor("price", "free", 1L).hasValueOfType(BigDecimal.class)).isFalse();
+        assertThat(new KeysetCursor("price", "1e-999999", 1L).hasValueOfType(BigDecimal.class)).isFalse();
+        assertThat(new KeysetCursor("placedDate", "yesterday", 1L).hasValueOfType(Instant.class)).isFalse();
+    }
+}
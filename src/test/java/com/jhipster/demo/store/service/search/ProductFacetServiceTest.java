@@ -0,0 +1,98 @@
+package com.jhipster.demo.store.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.service.dto.ProductFacetCountsDTO;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Test class for the {@link ProductFacetService}.
+ */
+class ProductFacetServiceTest {
+
+    private final ProductCategory shirts = new ProductCategory().id(1L);
+
+    private final ProductCategory shoes = new ProductCategory().id(2L);
+
+    private SimpleMeterRegistry registry;
+
+    private ProductFacetService productFacetService;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllWithToOneRelationships()).thenReturn(
+            List.of(product(1L, Size.M, shirts, "10"), product(2L, Size.L, shoes, "50"), product(3L, Size.M, shirts, "30"))
+        );
+        registry = new SimpleMeterRegistry();
+        productFacetService = new ProductFacetService(productRepository, registry);
+        productFacetService.rebuild();
+    }
+
+    @Test
+    void testFindIdsIntersectsFacets() {
+        ProductFacetService.Filter filter = new ProductFacetService.Filter(List.of(Size.M, Size.L), null, null, new BigDecimal("30.00"));
+
+        assertThat(productFacetService.findIds(filter, PageRequest.of(0, 20)).getContent()).containsExactly(1L, 3L);
+        assertThat(productFacetService.findIds(filter, PageRequest.of(1, 1)).getContent()).containsExactly(3L);
+        assertThat(productFacetService.findIds(filter, PageRequest.of(1, 1)).getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void testCountAppliesOtherFacetFilters() {
+        ProductFacetCountsDTO counts = productFacetService.count(new ProductFacetService.Filter(null, List.of(1L), new BigDecimal("20"), null));
+
+        assertThat(counts.total()).isEqualTo(1);
+        assertThat(counts.productSize()).containsEntry(Size.M, 1L).containsEntry(Size.L, 0L);
+        assertThat(counts.category()).containsEntry(1L, 1L).containsEntry(2L, 1L);
+    }
+
+    @Test
+    void testIndexFollowsProductChanges() {
+        productFacetService.onProductChanged(ProductChangedEvent.saved(product(1L, Size.XL, shoes, "10")));
+        productFacetService.onProductChanged(ProductChangedEvent.deleted(3L));
+
+        ProductFacetCountsDTO counts = productFacetService.count(new ProductFacetService.Filter(null, null, null, null));
+        assertThat(counts.total()).isEqualTo(2);
+        assertThat(counts.productSize()).containsEntry(Size.M, 0L).containsEntry(Size.XL, 1L);
+        assertThat(counts.category()).containsOnlyKeys(2L);
+    }
+
+    @Test
+    void testIdsBeyondIntRange() {
+        long id = Integer.MAX_VALUE + 10L;
+        productFacetService.onProductChanged(ProductChangedEvent.saved(product(id, Size.M, shirts, "20")));
+
+        ProductFacetService.Filter filter = new ProductFacetService.Filter(List.of(Size.M), null, null, null);
+        assertThat(productFacetService.findIds(filter, PageRequest.of(0, 20)).getContent()).containsExactly(1L, 3L, id);
+        assertThat(productFacetService.findIds(filter, PageRequest.of(1, 2)).getContent()).containsExactly(id);
+    }
+
+    @Test
+    void testEmptyPriceRange() {
+        ProductFacetService.Filter filter = new ProductFacetService.Filter(null, null, new BigDecimal("50"), new BigDecimal("10"));
+
+        assertThat(productFacetService.findIds(filter, PageRequest.of(0, 20)).getTotalElements()).isZero();
+    }
+
+    @Test
+    void testMemoryGauge() {
+        assertThat(registry.get(ProductFacetService.MEMORY_METER_NAME).gauge().value()).isPositive();
+    }
+
+    private static Product product(Long id, Size size, ProductCategory productCategory, String price) {
+        return new Product().id(id).name("product " + id).productSize(size).productCategory(productCategory).price(new BigDecimal(price));
+    }
+}
@@ -0,0 +1,120 @@
+package com.jhipster.demo.store.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.ProductSummary;
+import com.jhipster.demo.store.service.event.ProductCategoryChangedEvent;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Test class for the {@link ProductSearchService}.
+ */
+class ProductSearchServiceTest {
+
+    private final ProductCategory shirts = new ProductCategory().id(1L).name("Shirts");
+
+    private final ProductCategory shoes = new ProductCategory().id(2L).name("Shoes");
+
+    private ProductSearchService productSearchService;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ProductCategoryRepository productCategoryRepository = mock(ProductCategoryRepository.class);
+        when(productCategoryRepository.findAll()).thenReturn(List.of(shirts, shoes));
+        when(productRepository.findAllWithToOneRelationships()).thenReturn(
+            List.of(
+                product(1L, "Linen shirt", "Light summer shirt", shirts),
+                product(2L, "Running shoe", "Shoe with a soft sole", shoes),
+                product(3L, "Shirt dress", "Café crème linen", shirts)
+            )
+        );
+        productSearchService = new ProductSearchService(productRepository, productCategoryRepository);
+        productSearchService.rebuild();
+    }
+
+    @Test
+    void testTokenize() {
+        assertThat(ProductSearchService.tokenize("Café-Crème, 42cm!")).containsExactly("cafe", "creme", "42cm");
+        assertThat(ProductSearchService.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void testSearchRanksNameMatchesFirst() {
+        assertThat(ids("linen")).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void testSearchMatchesPrefixesAndCategoryNames() {
+        assertThat(ids("sho")).containsExactly(2L);
+        assertThat(ids("shirts")).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void testSearchRequiresAllTerms() {
+        assertThat(ids("linen dress")).containsExactly(3L);
+        assertThat(ids("linen shoe")).isEmpty();
+        assertThat(ids("   ")).isEmpty();
+    }
+
+    @Test
+    void testSearchPaginates() {
+        assertThat(productSearchService.search("shirt", PageRequest.of(1, 1)).getContent()).extracting(ProductSummary::id).hasSize(1);
+        assertThat(productSearchService.search("shirt", PageRequest.of(0, 1)).getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void testIndexFollowsProductChanges() {
+        productSearchService.onProductChanged(ProductChangedEvent.saved(product(1L, "Wool sweater", null, shirts)));
+        productSearchService.onProductChanged(ProductChangedEvent.deleted(2L));
+
+        assertThat(ids("wool")).containsExactly(1L);
+        assertThat(ids("linen")).containsExactly(3L);
+        assertThat(ids("running")).isEmpty();
+    }
+
+    @Test
+    void testProductChangesDoNotRenameCategories() {
+        ProductCategory forged = new ProductCategory().id(1L).name("Spam");
+        productSearchService.onProductChanged(ProductChangedEvent.saved(product(1L, "Linen shirt", null, forged)));
+
+        assertThat(ids("spam")).isEmpty();
+        assertThat(ids("shirts")).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void testIndexFollowsCategoryRenames() {
+        productSearchService.onProductCategoryChanged(ProductCategoryChangedEvent.saved(new ProductCategory().id(2L).name("Sneakers")));
+
+        assertThat(ids("sneakers")).containsExactly(2L);
+        assertThat(productSearchService.search("running", PageRequest.of(0, 20)).getContent())
+            .extracting(ProductSummary::productCategoryName)
+            .containsExactly("Sneakers");
+    }
+
+    private List<Long> ids(String query) {
+        return productSearchService.search(query, PageRequest.of(0, 20)).getContent().stream().map(ProductSummary::id).toList();
+    }
+
+    private static Product product(Long id, String name, String description, ProductCategory productCategory) {
+        return new Product()
+            .id(id)
+            .name(name)
+            .description(description)
+            .price(BigDecimal.TEN)
+            .productSize(Size.M)
+            .productCategory(productCategory);
+    }
+}
@@ -0,0 +1,66 @@
+package com.jhipster.demo.store.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Test class for the {@link BlobGarbageCollectionService}.
+ */
+class BlobGarbageCollectionServiceTest {
+
+    @TempDir
+    private Path root;
+
+    private FileSystemBlobStore blobStore;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private BlobGarbageCollectionService blobGarbageCollectionService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blobStore = new FileSystemBlobStore(root);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        blobGarbageCollectionService = new BlobGarbageCollectionService(blobStore, jdbcTemplate, new ApplicationProperties());
+    }
+
+    @Test
+    void testCollectGarbageDeletesUnreferencedBlobs() throws Exception {
+        String referenced = blobStore.put(new ByteArrayInputStream("referenced".getBytes(StandardCharsets.UTF_8)));
+        String orphan = blobStore.put(new ByteArrayInputStream("orphan".getBytes(StandardCharsets.UTF_8)));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class))).thenReturn(List.of(referenced));
+
+        int deleted = blobGarbageCollectionService.collectGarbage(Instant.now().plus(1, ChronoUnit.MINUTES));
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(blobStore.find(referenced)).isPresent();
+        assertThat(blobStore.find(orphan)).isEmpty();
+    }
+
+    @Test
+    void testCollectGarbageKeepsRecentBlobs() throws Exception {
+        String orphan = blobStore.put(new ByteArrayInputStream("orphan".getBytes(StandardCharsets.UTF_8)));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class))).thenReturn(List.of());
+
+        int deleted = blobGarbageCollectionService.collectGarbage(Instant.now().minus(1, ChronoUnit.HOURS));
+
+        assertThat(deleted).isZero();
+        assertThat(blobStore.find(orphan)).isPresent();
+    }
+}
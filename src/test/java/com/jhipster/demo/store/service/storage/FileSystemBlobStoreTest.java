@@ -0,0 +1,99 @@
+package com.jhipster.demo.store.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for the {@link FileSystemBlobStore}.
+ */
+class FileSystemBlobStoreTest {
+
+    private static final byte[] CONTENT = "hipster".getBytes(StandardCharsets.UTF_8);
+
+    private static final String CONTENT_HASH = "ce8e43836e891296b6253a627eef277be3ae73a39843b4302abbc9bc93585123";
+
+    @TempDir
+    private Path root;
+
+    private FileSystemBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blobStore = new FileSystemBlobStore(root);
+    }
+
+    @Test
+    void testPutReturnsContentHash() throws Exception {
+        assertThat(blobStore.put(new ByteArrayInputStream(CONTENT))).isEqualTo(CONTENT_HASH);
+        assertThat(Files.isRegularFile(root.resolve("ce").resolve("8e").resolve(CONTENT_HASH))).isTrue();
+    }
+
+    @Test
+    void testPutSameContentTwiceKeepsOneCopy() throws Exception {
+        blobStore.put(new ByteArrayInputStream(CONTENT));
+        blobStore.put(new ByteArrayInputStream(CONTENT));
+
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(root.resolve("ce").resolve("8e").resolve(CONTENT_HASH));
+        }
+    }
+
+    @Test
+    void testFindTransfersContent() throws Exception {
+        String hash = blobStore.put(new ByteArrayInputStream(CONTENT));
+
+        BlobStore.Blob blob = blobStore.find(hash).orElseThrow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        blob.transferTo(Channels.newChannel(out));
+
+        assertThat(blob.size()).isEqualTo(CONTENT.length);
+        assertThat(out.toByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void testFindRejectsInvalidHash() {
+        assertThat(blobStore.find(null)).isEmpty();
+        assertThat(blobStore.find("../../etc/passwd")).isEmpty();
+        assertThat(blobStore.find(CONTENT_HASH)).isEmpty();
+    }
+
+    @Test
+    void testDelete() throws Exception {
+        String hash = blobStore.put(new ByteArrayInputStream(CONTENT));
+
+        blobStore.delete(hash);
+
+        assertThat(blobStore.find(hash)).isEmpty();
+    }
+
+    @Test
+    void testForEachStoredBefore() throws Exception {
+        String hash = blobStore.put(new ByteArrayInputStream(CONTENT));
+        Path path = root.resolve("ce").resolve("8e").resolve(CONTENT_HASH);
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+
+        List<String> storedBefore = new ArrayList<>();
+        blobStore.forEachStoredBefore(Instant.now().minus(1, ChronoUnit.DAYS), storedBefore::add);
+        assertThat(storedBefore).containsExactly(hash);
+
+        // storing the same content again refreshes its storage time
+        blobStore.put(new ByteArrayInputStream(CONTENT));
+        storedBefore.clear();
+        blobStore.forEachStoredBefore(Instant.now().minus(1, ChronoUnit.DAYS), storedBefore::add);
+        assertThat(storedBefore).isEmpty();
+    }
+}
@@ -0,0 +1,48 @@
+package com.jhipster.demo.store.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ImageVariant} enum.
+ */
+class ImageVariantTest {
+
+    @Test
+    void testRenderScalesDownKeepingAspectRatio() throws Exception {
+        ImageVariant.Rendition rendition = ImageVariant.THUMB.render(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB));
+
+        assertThat(rendition.width()).isEqualTo(200);
+        assertThat(rendition.height()).isEqualTo(100);
+        assertThat(rendition.contentType()).isEqualTo("image/jpeg");
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(rendition.content()));
+        assertThat(decoded.getWidth()).isEqualTo(200);
+    }
+
+    @Test
+    void testRenderDoesNotScaleUp() throws Exception {
+        ImageVariant.Rendition rendition = ImageVariant.WEB.render(new BufferedImage(300, 400, BufferedImage.TYPE_INT_RGB));
+
+        assertThat(rendition.width()).isEqualTo(300);
+        assertThat(rendition.height()).isEqualTo(400);
+    }
+
+    @Test
+    void testRenderKeepsTransparencyAsPng() throws Exception {
+        ImageVariant.Rendition rendition = ImageVariant.THUMB.render(new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB));
+
+        assertThat(rendition.contentType()).isEqualTo("image/png");
+        assertThat(ImageIO.read(new ByteArrayInputStream(rendition.content())).getColorModel().hasAlpha()).isTrue();
+    }
+
+    @Test
+    void testFromParameterValue() {
+        assertThat(ImageVariant.fromParameterValue("thumb")).contains(ImageVariant.THUMB);
+        assertThat(ImageVariant.fromParameterValue("web")).contains(ImageVariant.WEB);
+        assertThat(ImageVariant.fromParameterValue("THUMB")).isEmpty();
+    }
+}
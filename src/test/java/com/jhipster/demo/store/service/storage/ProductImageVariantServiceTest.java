@@ -0,0 +1,41 @@
+package com.jhipster.demo.store.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ProductImageVariantService}.
+ */
+class ProductImageVariantServiceTest {
+
+    @Test
+    void testDecodeWithinLimit() throws Exception {
+        BufferedImage image = ProductImageVariantService.decode(new ByteArrayInputStream(png(100, 50)), 5000);
+
+        assertThat(image).isNotNull();
+        assertThat(image.getWidth()).isEqualTo(100);
+        assertThat(image.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    void testDecodeRejectsImageAboveLimit() throws Exception {
+        assertThat(ProductImageVariantService.decode(new ByteArrayInputStream(png(100, 51)), 5000)).isNull();
+    }
+
+    @Test
+    void testDecodeIgnoresUnreadableFormat() throws Exception {
+        assertThat(ProductImageVariantService.decode(new ByteArrayInputStream("hipster".getBytes(StandardCharsets.UTF_8)), 5000)).isNull();
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", output);
+        return output.toByteArray();
+    }
+}
@@ -1,21 +1,32 @@
 package com.jhipster.demo.store.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jhipster.demo.store.IntegrationTest;
 import com.jhipster.demo.store.config.Constants;
+import com.jhipster.demo.store.domain.CustomerDetails;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
 import com.jhipster.demo.store.domain.User;
+import com.jhipster.demo.store.domain.enumeration.Gender;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.domain.enumeration.PaymentMethod;
 import com.jhipster.demo.store.repository.AuthorityRepository;
 import com.jhipster.demo.store.repository.UserRepository;
 import com.jhipster.demo.store.security.AuthoritiesConstants;
 import com.jhipster.demo.store.service.UserService;
 import com.jhipster.demo.store.service.dto.AdminUserDTO;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
 import com.jhipster.demo.store.service.dto.PasswordChangeDTO;
 import com.jhipster.demo.store.web.rest.vm.KeyAndPasswordVM;
 import com.jhipster.demo.store.web.rest.vm.ManagedUserVM;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Stream;
@@ -27,6 +38,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -57,6 +69,9 @@ class AccountResourceIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityManager em;
+
     @Autowired
     private MockMvc restAccountMockMvc;
 
@@ -395,6 +410,92 @@ class AccountResourceIT {
         restAccountMockMvc.perform(get("/api/activate?key=wrongActivationKey")).andExpect(status().isInternalServerError());
     }
 
+    @Test
+    @Transactional
+    @WithMockUser("account-orders")
+    void testGetAccountOrders() throws Exception {
+        // Initialize the database: three carts of the user, the first two with lines
+        User user = UserResourceIT.createEntity();
+        user.setLogin("account-orders");
+        em.persist(user);
+        CustomerDetails customerDetails = new CustomerDetails()
+            .gender(Gender.FEMALE)
+            .phone("0123456789")
+            .addressLine1("1 Main Street")
+            .city("Lisbon")
+            .country("Portugal")
+            .user(user);
+        em.persist(customerDetails);
+        Product product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        List<ShoppingCart> carts = new ArrayList<>();
+        for (int day = 1; day <= 3; day++) {
+            ShoppingCart cart = new ShoppingCart()
+                .placedDate(Instant.parse("2026-10-0" + day + "T10:00:00Z"))
+                .status(OrderStatus.PAID)
+                .totalPrice(new BigDecimal("10.00"))
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .customerDetails(customerDetails);
+            em.persist(cart);
+            carts.add(cart);
+        }
+        List<ProductOrder> orders = new ArrayList<>();
+        for (ShoppingCart cart : carts.subList(0, 2)) {
+            ProductOrder order = new ProductOrder().quantity(2).totalPrice(new BigDecimal("10.00")).product(product).cart(cart);
+            em.persist(order);
+            orders.add(order);
+        }
+        em.flush();
+
+        try {
+            restAccountMockMvc
+                .perform(get("/api/account/orders?size=2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$.[0].id").value(carts.get(2).getId().intValue()))
+                .andExpect(jsonPath("$.[0].lines").isEmpty())
+                .andExpect(jsonPath("$.[1].id").value(carts.get(1).getId().intValue()))
+                .andExpect(jsonPath("$.[1].lines.[0].productName").value(product.getName()))
+                .andExpect(jsonPath("$.[1].lines.[0].quantity").value(2))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+
+            // Get the page after the second cart
+            String after = KeysetCursor.after("placedDate", carts.get(1).getPlacedDate(), carts.get(1).getId()).encode();
+            restAccountMockMvc
+                .perform(get("/api/account/orders?size=2&after={after}", after).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$.[0].id").value(carts.get(0).getId().intValue()))
+                .andExpect(jsonPath("$.[0].lines.[0].id").value(orders.get(0).getId().intValue()))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+        } finally {
+            orders.forEach(em::remove);
+            carts.forEach(em::remove);
+            em.remove(customerDetails);
+            em.remove(user);
+            em.flush();
+        }
+    }
+
+    @Test
+    @WithMockUser("account-orders-invalid-size")
+    void testGetAccountOrdersWithInvalidSize() throws Exception {
+        restAccountMockMvc.perform(get("/api/account/orders?size=0").accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser("account-orders-tampered-cursor")
+    void testGetAccountOrdersWithTamperedCursor() throws Exception {
+        restAccountMockMvc
+            .perform(
+                get("/api/account/orders?after={after}", new KeysetCursor("placedDate", "yesterday", 1L).encode()).accept(
+                    MediaType.APPLICATION_JSON
+                )
+            )
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     @WithMockUser("save-account")
@@ -0,0 +1,140 @@
+package com.jhipster.demo.store.web.rest;
+
+import static com.jhipster.demo.store.web.rest.TestUtil.sameNumber;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.security.AuthoritiesConstants;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link AnalyticsResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class AnalyticsResourceIT {
+
+    private static final Instant PLACED_DATE = Instant.parse("2001-02-03T10:15:00Z");
+
+    private static final String REVENUE_API_URL = "/api/analytics/revenue?from=2001-02-03T00:00:00Z&to=2001-02-04T00:00:00Z";
+
+    private static final String BACKFILL_API_URL = "/api/analytics/revenue/_backfill?from=2001-02-03&to=2001-02-04";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restAnalyticsMockMvc;
+
+    private ShoppingCart shoppingCart;
+
+    private Product product;
+
+    @BeforeEach
+    public void initTest() {
+        shoppingCart = ShoppingCartResourceIT.createEntity(em).placedDate(PLACED_DATE).status(OrderStatus.PENDING);
+        product = ProductResourceIT.createEntity(em);
+    }
+
+    private void persistCartWithOrder() {
+        em.persist(product);
+        em.persist(shoppingCart);
+        em.persist(new ProductOrder().quantity(3).totalPrice(new BigDecimal("30.00")).product(product).cart(shoppingCart));
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    void getRevenueFollowsCartStatus() throws Exception {
+        // Initialize the database
+        persistCartWithOrder();
+
+        // Pay the cart
+        restAnalyticsMockMvc
+            .perform(
+                patch("/api/shopping-carts/{id}", shoppingCart.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(new ShoppingCart().id(shoppingCart.getId()).status(OrderStatus.PAID)))
+            )
+            .andExpect(status().isOk());
+
+        restAnalyticsMockMvc
+            .perform(get(REVENUE_API_URL + "&groupBy=product"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].productId").value(product.getId().intValue()))
+            .andExpect(jsonPath("$.[0].productCategoryId").value(product.getProductCategory().getId().intValue()))
+            .andExpect(jsonPath("$.[0].units").value(3))
+            .andExpect(jsonPath("$.[0].revenue").value(sameNumber(new BigDecimal("30"))))
+            .andExpect(jsonPath("$.[0].orderCount").value(1));
+
+        // Refund the cart
+        restAnalyticsMockMvc
+            .perform(
+                patch("/api/shopping-carts/{id}", shoppingCart.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(new ShoppingCart().id(shoppingCart.getId()).status(OrderStatus.REFUNDED)))
+            )
+            .andExpect(status().isOk());
+
+        restAnalyticsMockMvc
+            .perform(get(REVENUE_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].units").value(0))
+            .andExpect(jsonPath("$.[0].revenue").value(sameNumber(BigDecimal.ZERO)))
+            .andExpect(jsonPath("$.[0].orderCount").value(0));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void backfillRevenue() throws Exception {
+        // Initialize the database, bypassing the incremental rollup
+        shoppingCart.setStatus(OrderStatus.COMPLETED);
+        persistCartWithOrder();
+
+        restAnalyticsMockMvc.perform(post(BACKFILL_API_URL)).andExpect(status().isOk()).andExpect(content().string("1"));
+
+        restAnalyticsMockMvc
+            .perform(get(REVENUE_API_URL + "&groupBy=hour,status"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].period").value("2001-02-03T10:00:00Z"))
+            .andExpect(jsonPath("$.[0].status").value(OrderStatus.COMPLETED.toString()))
+            .andExpect(jsonPath("$.[0].units").value(3))
+            .andExpect(jsonPath("$.[0].revenue").value(sameNumber(new BigDecimal("30"))));
+    }
+
+    @Test
+    @Transactional
+    void backfillRevenueIsForAdmins() throws Exception {
+        restAnalyticsMockMvc.perform(post(BACKFILL_API_URL)).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    void getRevenueWithUnalignedRange() throws Exception {
+        restAnalyticsMockMvc
+            .perform(get("/api/analytics/revenue?from=2001-02-03T00:30:00Z&to=2001-02-04T00:00:00Z"))
+            .andExpect(status().isBadRequest());
+    }
+}
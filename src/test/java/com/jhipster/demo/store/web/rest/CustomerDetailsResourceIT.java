@@ -145,7 +145,7 @@ class CustomerDetailsResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedCustomerDetails != null) {
-            customerDetailsRepository.delete(insertedCustomerDetails);
+            customerDetailsRepository.deleteById(insertedCustomerDetails.getId());
             insertedCustomerDetails = null;
         }
     }
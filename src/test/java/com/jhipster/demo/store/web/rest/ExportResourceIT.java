@@ -0,0 +1,105 @@
+package com.jhipster.demo.store.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductOrder;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ExportResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ExportResourceIT {
+
+    private static final String PRODUCTS_API_URL = "/api/exports/products";
+
+    private static final String ORDERS_API_URL = "/api/exports/orders";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restExportMockMvc;
+
+    @Test
+    @Transactional
+    void exportProductsAsCsv() throws Exception {
+        // Initialize the database
+        Product product = ProductResourceIT.createEntity(em).description("Quoted; \"description\"").price(new BigDecimal("12.50"));
+        em.persist(product);
+        em.flush();
+
+        restExportMockMvc
+            .perform(get(PRODUCTS_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("products.csv")))
+            .andExpect(content().string(startsWith("id;name;description;price;product_size;")))
+            .andExpect(content().string(containsString("\n" + product.getId() + ";" + product.getName() + ";")))
+            .andExpect(content().string(containsString(";\"Quoted; \"\"description\"\"\";12.50;")));
+    }
+
+    @Test
+    @Transactional
+    void exportProductOrdersAsNdjson() throws Exception {
+        // Initialize the database
+        ProductOrder productOrder = ProductOrderResourceIT.createEntity(em);
+        em.persist(productOrder);
+        em.flush();
+
+        restExportMockMvc
+            .perform(get(ORDERS_API_URL + "?format=ndjson&cartId={cartId}", productOrder.getCart().getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(containsString("{\"id\":" + productOrder.getId() + ",")))
+            .andExpect(content().string(containsString("\"cartId\":" + productOrder.getCart().getId() + ",")));
+    }
+
+    @Test
+    @Transactional
+    void exportProductOrdersGzipped() throws Exception {
+        // Initialize the database
+        ProductOrder productOrder = ProductOrderResourceIT.createEntity(em);
+        em.persist(productOrder);
+        em.flush();
+
+        byte[] body = restExportMockMvc
+            .perform(get(ORDERS_API_URL + "?cartId={cartId}", productOrder.getCart().getId()).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String csv = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(csv).startsWith("id;quantity;total_price;product_id;").contains("\n" + productOrder.getId() + ";");
+        }
+    }
+
+    @Test
+    @Transactional
+    void exportWithUnknownFormat() throws Exception {
+        restExportMockMvc.perform(get(PRODUCTS_API_URL + "?format=xml")).andExpect(status().isBadRequest());
+    }
+}
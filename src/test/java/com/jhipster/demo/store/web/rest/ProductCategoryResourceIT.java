@@ -88,7 +88,7 @@ class ProductCategoryResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedProductCategory != null) {
-            productCategoryRepository.delete(insertedProductCategory);
+            productCategoryRepository.deleteById(insertedProductCategory.getId());
             insertedProductCategory = null;
         }
     }
@@ -4,7 +4,11 @@ import static com.jhipster.demo.store.domain.ProductOrderAsserts.*;
 import static com.jhipster.demo.store.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.jhipster.demo.store.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -18,6 +22,7 @@ import com.jhipster.demo.store.repository.ProductOrderRepository;
 import com.jhipster.demo.store.service.ProductOrderService;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -241,6 +246,71 @@ class ProductOrderResourceIT {
             .andExpect(jsonPath("$.[*].totalPrice").value(hasItem(sameNumber(DEFAULT_TOTAL_PRICE))));
     }
 
+    @Test
+    @Transactional
+    void getAllProductOrdersFilteredByCartAndProduct() throws Exception {
+        // Initialize the database
+        insertedProductOrder = productOrderRepository.saveAndFlush(productOrder);
+        Long cartId = productOrder.getCart().getId();
+        Long productId = productOrder.getProduct().getId();
+
+        restProductOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?cartId={cartId}&productId={productId}", cartId, productId))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(productOrder.getId().intValue())))
+            .andExpect(jsonPath("$.[*].cart.id").value(everyItem(is(cartId.intValue()))));
+
+        restProductOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?cartId={cartId}", Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"))
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductOrdersFilteredByPlacedDate() throws Exception {
+        // Initialize the database
+        insertedProductOrder = productOrderRepository.saveAndFlush(productOrder);
+        Instant placedDate = productOrder.getCart().getPlacedDate();
+
+        restProductOrderMockMvc
+            .perform(
+                get(ENTITY_API_URL + "?placedFrom={from}&placedTo={to}&count=false&size=2000", placedDate, placedDate.plusSeconds(1))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(productOrder.getId().intValue())));
+
+        restProductOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?placedFrom={from}&size=2000", placedDate.plusSeconds(1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(productOrder.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductOrdersWithInvalidDateRange() throws Exception {
+        Instant now = Instant.now();
+        restProductOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?placedFrom={from}&placedTo={to}", now, now.minusSeconds(1)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void streamAllProductOrders() throws Exception {
+        // Initialize the database
+        insertedProductOrder = productOrderRepository.saveAndFlush(productOrder);
+
+        restProductOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?cartId={cartId}", productOrder.getCart().getId()).accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(containsString("\"id\":" + productOrder.getId() + ",")));
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllProductOrdersWithEagerRelationshipsIsEnabled() throws Exception {
         when(productOrderServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -4,22 +4,38 @@ import static com.jhipster.demo.store.domain.ProductAsserts.*;
 import static com.jhipster.demo.store.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.jhipster.demo.store.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.jhipster.demo.store.IntegrationTest;
 import com.jhipster.demo.store.domain.Product;
 import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
 import com.jhipster.demo.store.domain.enumeration.Size;
 import com.jhipster.demo.store.repository.ProductRepository;
 import com.jhipster.demo.store.service.ProductService;
+import com.jhipster.demo.store.service.analytics.BestSellerService;
+import com.jhipster.demo.store.service.analytics.CoOccurrenceService;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
+import com.jhipster.demo.store.service.event.ProductChangedEvent;
+import com.jhipster.demo.store.service.event.ProductOrdersCreatedEvent;
+import com.jhipster.demo.store.service.event.ShoppingCartStatusChangedEvent;
+import com.jhipster.demo.store.service.search.ProductFacetService;
+import com.jhipster.demo.store.service.search.ProductSearchService;
+import com.jhipster.demo.store.service.storage.BlobStore;
 import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -32,9 +48,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -62,6 +80,8 @@ class ProductResourceIT {
     private static final byte[] UPDATED_IMAGE = TestUtil.createByteArray(1, "1");
     private static final String DEFAULT_IMAGE_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_IMAGE_CONTENT_TYPE = "image/png";
+    private static final String DEFAULT_IMAGE_HASH = "6e340b9cffb37a989ca544e6bb780a2c78901d3fb33738768511a30617afa01d";
+    private static final String UPDATED_IMAGE_HASH = "4bf5122f344554c53bde2ebb8cd2b7e3d1600ad631c385a5d7cce23c7785459a";
 
     private static final String ENTITY_API_URL = "/api/products";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
@@ -81,6 +101,21 @@ class ProductResourceIT {
     @Mock
     private ProductService productServiceMock;
 
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private BestSellerService bestSellerService;
+
+    @Autowired
+    private CoOccurrenceService coOccurrenceService;
+
     @Autowired
     private EntityManager em;
 
@@ -104,7 +139,8 @@ class ProductResourceIT {
             .price(DEFAULT_PRICE)
             .productSize(DEFAULT_PRODUCT_SIZE)
             .image(DEFAULT_IMAGE)
-            .imageContentType(DEFAULT_IMAGE_CONTENT_TYPE);
+            .imageContentType(DEFAULT_IMAGE_CONTENT_TYPE)
+            .imageHash(DEFAULT_IMAGE_HASH);
         // Add required entity
         ProductCategory productCategory;
         if (TestUtil.findAll(em, ProductCategory.class).isEmpty()) {
@@ -131,7 +167,8 @@ class ProductResourceIT {
             .price(UPDATED_PRICE)
             .productSize(UPDATED_PRODUCT_SIZE)
             .image(UPDATED_IMAGE)
-            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
+            .imageHash(UPDATED_IMAGE_HASH);
         // Add required entity
         ProductCategory productCategory;
         if (TestUtil.findAll(em, ProductCategory.class).isEmpty()) {
@@ -153,7 +190,7 @@ class ProductResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedProduct != null) {
-            productRepository.delete(insertedProduct);
+            productRepository.deleteById(insertedProduct.getId());
             insertedProduct = null;
         }
     }
@@ -180,6 +217,31 @@ class ProductResourceIT {
         insertedProduct = returnedProduct;
     }
 
+    @Test
+    @Transactional
+    void createProductStoresImageInBlobStore() throws Exception {
+        // The image is write-only, so add it to the request body by hand
+        ObjectNode body = om.valueToTree(product.imageHash(null));
+        body.put("image", Base64.getEncoder().encodeToString(UPDATED_IMAGE));
+
+        var returnedProduct = om.readValue(
+            restProductMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(body)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.image").doesNotExist())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Product.class
+        );
+
+        // Validate that only the hash is persisted, and the content is in the blob store
+        assertThat(getPersistedProduct(returnedProduct).getImageHash()).isEqualTo(UPDATED_IMAGE_HASH);
+        assertThat(blobStore.find(UPDATED_IMAGE_HASH)).hasValueSatisfying(blob -> assertThat(blob.size()).isEqualTo(UPDATED_IMAGE.length));
+
+        insertedProduct = returnedProduct;
+    }
+
     @Test
     @Transactional
     void createProductWithExistingId() throws Exception {
@@ -197,6 +259,84 @@ class ProductResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void importProductsFromCsv() throws Exception {
+        Long categoryId = product.getProductCategory().getId();
+        long databaseSizeBeforeImport = getRepositoryCount();
+        String csv =
+            "id;name;description;price;product_size;image;image_content_type;product_category_id\n" +
+            "1;Imported product;\"Quoted; \"\"multi-line\"\"\ndescription\";12.50;M;;;" + categoryId + "\n" +
+            "2;;Without name;1;M;;;" + categoryId + "\n" +
+            "3;Unknown size;;1;XXXL;;;" + categoryId + "\n";
+
+        restProductMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows").value(3))
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.errors[0].row").value(2))
+            .andExpect(jsonPath("$.errors[0].message").value(containsString("name")))
+            .andExpect(jsonPath("$.errors[1].row").value(3))
+            .andExpect(jsonPath("$.errors[1].message").value(containsString("product_size")));
+
+        // Validate the imported Product in the database
+        assertIncrementedRepositoryCount(databaseSizeBeforeImport);
+        assertThat(productRepository.findAll())
+            .filteredOn(imported -> "Imported product".equals(imported.getName()))
+            .singleElement()
+            .satisfies(imported -> {
+                assertThat(imported.getDescription()).isEqualTo("Quoted; \"multi-line\"\ndescription");
+                assertThat(imported.getPrice()).isEqualByComparingTo("12.50");
+                assertThat(imported.getProductSize()).isEqualTo(Size.M);
+                assertThat(imported.getProductCategory().getId()).isEqualTo(categoryId);
+            });
+    }
+
+    @Test
+    @Transactional
+    void importProductsFromNdjson() throws Exception {
+        // Initialize the database
+        ProductCategory category = ProductCategoryResourceIT.createEntity().name("Imported category");
+        em.persist(category);
+        em.flush();
+        long databaseSizeBeforeImport = getRepositoryCount();
+        String ndjson =
+            "{\"name\":\"Imported product\",\"price\":3,\"productSize\":\"L\"," +
+            "\"productCategory\":{\"name\":\"Imported category\"}}\n" +
+            "{\"name\":\"Broken\"\n" +
+            "{\"name\":\"Without category\",\"price\":3,\"productSize\":\"L\",\"productCategory\":{\"name\":\"Unknown\"}}\n";
+
+        restProductMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows").value(3))
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.errors[0].row").value(2))
+            .andExpect(jsonPath("$.errors[1].row").value(3));
+
+        // Validate the imported Product in the database
+        assertIncrementedRepositoryCount(databaseSizeBeforeImport);
+        assertThat(productRepository.findAll())
+            .filteredOn(imported -> "Imported product".equals(imported.getName()))
+            .singleElement()
+            .satisfies(imported -> assertThat(imported.getProductCategory().getId()).isEqualTo(category.getId()));
+    }
+
+    @Test
+    @Transactional
+    void importProductsWithoutRequiredColumn() throws Exception {
+        long databaseSizeBeforeImport = getRepositoryCount();
+
+        restProductMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType("text/csv").content("name;price\nImported product;1\n"))
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeImport);
+    }
+
     @Test
     @Transactional
     void checkNameIsRequired() throws Exception {
@@ -262,7 +402,224 @@ class ProductResourceIT {
             .andExpect(jsonPath("$.[*].price").value(hasItem(sameNumber(DEFAULT_PRICE))))
             .andExpect(jsonPath("$.[*].productSize").value(hasItem(DEFAULT_PRODUCT_SIZE.toString())))
             .andExpect(jsonPath("$.[*].imageContentType").value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].image").value(hasItem(Base64.getEncoder().encodeToString(DEFAULT_IMAGE))));
+            .andExpect(jsonPath("$.[*].imageHash").value(hasItem(DEFAULT_IMAGE_HASH)))
+            .andExpect(jsonPath("$.[*].image").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        // Get the page starting right before the product
+        String cursor = KeysetCursor.after("id", product.getId() - 1, product.getId() - 1).encode();
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?after={cursor}&size=1", cursor))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(product.getId().intValue()))
+            .andExpect(jsonPath("$.[0].name").value(DEFAULT_NAME));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsWithKeysetPaginationFirstPage() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&sort=name,asc&size=2000"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(product.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsWithInvalidKeysetPagination() throws Exception {
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?after=!!!")).andExpect(status().isBadRequest());
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?after=&sort=description,asc")).andExpect(status().isBadRequest());
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?after=&sort=name,desc")).andExpect(status().isBadRequest());
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?after={cursor}", new KeysetCursor("price", "1e9999999999", 1L).encode()))
+            .andExpect(status().isBadRequest());
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?after={cursor}", new KeysetCursor("price", "free", 1L).encode()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllProductSummaries() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        // Get all the product summaries
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/summary?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(product.getId().intValue())))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
+            .andExpect(jsonPath("$.[*].price").value(hasItem(sameNumber(DEFAULT_PRICE))))
+            .andExpect(jsonPath("$.[*].productSize").value(hasItem(DEFAULT_PRODUCT_SIZE.toString())))
+            .andExpect(jsonPath("$.[*].imageHash").value(hasItem(DEFAULT_IMAGE_HASH)))
+            .andExpect(jsonPath("$.[*].description").doesNotExist())
+            .andExpect(jsonPath("$.[*].imageContentType").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void searchProducts() throws Exception {
+        // Initialize the database and the search index, which only follows committed changes
+        insertedProduct = productRepository.saveAndFlush(product);
+        productSearchService.onProductChanged(ProductChangedEvent.saved(product));
+
+        try {
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL + "/_search?q={query}", DEFAULT_NAME.substring(0, 4).toLowerCase()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().exists("X-Total-Count"))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(product.getId().intValue())))
+                .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
+        } finally {
+            productSearchService.onProductChanged(ProductChangedEvent.deleted(product.getId()));
+        }
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q={query}", DEFAULT_NAME))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(product.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getBestSellers() throws Exception {
+        // Initialize the database and the best sellers, which only follow committed orders
+        insertedProduct = productRepository.saveAndFlush(product);
+        bestSellerService.onProductOrdersCreated(new ProductOrdersCreatedEvent(List.of(new ProductOrder().quantity(3).product(product))));
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/best-sellers?window=1h&size=" + BestSellerService.TOP_K))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age")))
+            .andExpect(jsonPath("$.[*].productId").value(hasItem(product.getId().intValue())))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
+    }
+
+    @Test
+    @Transactional
+    void getBestSellersWithInvalidWindow() throws Exception {
+        restProductMockMvc.perform(get(ENTITY_API_URL + "/best-sellers?window=2h")).andExpect(status().isBadRequest());
+        restProductMockMvc.perform(get(ENTITY_API_URL + "/best-sellers?size=0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getRelatedProducts() throws Exception {
+        // Initialize the database and the co-occurrence index, which only follows committed carts
+        insertedProduct = productRepository.saveAndFlush(product);
+        Product other = productRepository.saveAndFlush(createUpdatedEntity(em));
+        coOccurrenceService.onShoppingCartStatusChanged(
+            new ShoppingCartStatusChangedEvent(Long.MAX_VALUE, null, OrderStatus.PAID, List.of(product.getId(), other.getId()))
+        );
+
+        try {
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL + "/{id}/related?limit=5", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.[0].productId").value(other.getId().intValue()))
+                .andExpect(jsonPath("$.[0].name").value(UPDATED_NAME))
+                .andExpect(jsonPath("$.[0].carts").value(1));
+        } finally {
+            coOccurrenceService.onShoppingCartStatusChanged(
+                new ShoppingCartStatusChangedEvent(Long.MAX_VALUE, OrderStatus.PAID, null, List.of(product.getId(), other.getId()))
+            );
+        }
+    }
+
+    @Test
+    @Transactional
+    void getRelatedProductsWithInvalidLimit() throws Exception {
+        restProductMockMvc.perform(get(ENTITY_API_URL + "/{id}/related?limit=0", 1L)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByFacets() throws Exception {
+        // Initialize the database and the facet index, which only follows committed changes
+        insertedProduct = productRepository.saveAndFlush(product);
+        productFacetService.onProductChanged(ProductChangedEvent.saved(product));
+        Long categoryId = product.getProductCategory().getId();
+
+        try {
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL + "?productSize={size}&category={category}&minPrice={price}", DEFAULT_PRODUCT_SIZE, categoryId, DEFAULT_PRICE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(product.getId().intValue())));
+
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL + "?productSize={size}&category={category}", UPDATED_PRODUCT_SIZE, categoryId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(not(hasItem(product.getId().intValue()))));
+
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL + "/_facets?category={category}", categoryId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.productSize." + DEFAULT_PRODUCT_SIZE).value(1))
+                .andExpect(jsonPath("$.category." + categoryId).value(1));
+        } finally {
+            productFacetService.onProductChanged(ProductChangedEvent.deleted(product.getId()));
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByFacetsWithInvalidPriceRange() throws Exception {
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?minPrice=10&maxPrice=5")).andExpect(status().isBadRequest());
+        restProductMockMvc.perform(get(ENTITY_API_URL + "/_facets?minPrice=10&maxPrice=5")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsWithoutCount() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?count=false&sort=id,desc&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"first\"")))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(product.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsWithApproximateCount() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?count=approximate&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().string("X-Total-Count-Approximate", "true"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(product.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsWithInvalidCount() throws Exception {
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?count=maybe")).andExpect(status().isBadRequest());
     }
 
     @SuppressWarnings({ "unchecked" })
@@ -299,7 +656,146 @@ class ProductResourceIT {
             .andExpect(jsonPath("$.price").value(sameNumber(DEFAULT_PRICE)))
             .andExpect(jsonPath("$.productSize").value(DEFAULT_PRODUCT_SIZE.toString()))
             .andExpect(jsonPath("$.imageContentType").value(DEFAULT_IMAGE_CONTENT_TYPE))
-            .andExpect(jsonPath("$.image").value(Base64.getEncoder().encodeToString(DEFAULT_IMAGE)));
+            .andExpect(jsonPath("$.imageHash").value(DEFAULT_IMAGE_HASH))
+            .andExpect(jsonPath("$.image").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getProductWithEntityTag() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        String etag = restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID, product.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.version").value(product.getVersion().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID, product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID, product.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    void getProductWithEntityTagAfterWriteFromAnotherNode() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        String etag = restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID, product.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        // a write that did not go through the services of this node
+        em.createNativeQuery("update product set version = version + 1 where id = :id").setParameter("id", product.getId()).executeUpdate();
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID, product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsWithEntityTag() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        String etag = restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getProductImage() throws Exception {
+        // Initialize the database and the blob store
+        assertThat(blobStore.put(new ByteArrayInputStream(DEFAULT_IMAGE))).isEqualTo(DEFAULT_IMAGE_HASH);
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        // Get the product image
+        MvcResult result = restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image?v={hash}", product.getId(), DEFAULT_IMAGE_HASH))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restProductMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_IMAGE_CONTENT_TYPE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + DEFAULT_IMAGE_HASH + "\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getProductImageVariantBeforeGenerationFallsBackToOriginal() throws Exception {
+        // Initialize the database and the blob store, variants are only generated after commit
+        blobStore.put(new ByteArrayInputStream(DEFAULT_IMAGE));
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        // Get the product thumbnail
+        MvcResult result = restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image?variant=thumb&v={hash}", product.getId(), DEFAULT_IMAGE_HASH))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restProductMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + DEFAULT_IMAGE_HASH + "\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getProductImageWithInvalidVariant() throws Exception {
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        restProductMockMvc.perform(get(ENTITY_API_URL_ID + "/image?variant=huge", product.getId())).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getProductImageNotModified() throws Exception {
+        // Initialize the database and the blob store
+        blobStore.put(new ByteArrayInputStream(DEFAULT_IMAGE));
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        // Get the product image with the current ETag
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image", product.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"" + DEFAULT_IMAGE_HASH + "\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingProductImage() throws Exception {
+        // Initialize the database without image
+        insertedProduct = productRepository.saveAndFlush(product.imageHash(null));
+
+        restProductMockMvc.perform(get(ENTITY_API_URL_ID + "/image", product.getId())).andExpect(status().isNotFound());
+        restProductMockMvc.perform(get(ENTITY_API_URL_ID + "/image", Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
     @Test
@@ -327,13 +823,15 @@ class ProductResourceIT {
             .price(UPDATED_PRICE)
             .productSize(UPDATED_PRODUCT_SIZE)
             .image(UPDATED_IMAGE)
-            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
+            .imageHash(UPDATED_IMAGE_HASH);
+        // The image is write-only and its hash read-only, so add the image to the request body by hand
+        ObjectNode body = om.valueToTree(updatedProduct);
+        body.put("image", Base64.getEncoder().encodeToString(UPDATED_IMAGE));
 
         restProductMockMvc
             .perform(
-                put(ENTITY_API_URL_ID, updatedProduct.getId())
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .content(om.writeValueAsBytes(updatedProduct))
+                put(ENTITY_API_URL_ID, updatedProduct.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(body))
             )
             .andExpect(status().isOk());
 
@@ -357,6 +855,32 @@ class ProductResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void putProductWithoutVersion() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        long databaseSizeBeforeUpdate = getRepositoryCount();
+
+        Product updatedProduct = productRepository.findById(product.getId()).orElseThrow();
+        em.detach(updatedProduct);
+        updatedProduct.name(UPDATED_NAME).version(null);
+
+        // Without a version, the update cannot be checked against concurrent writes
+        restProductMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedProduct.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedProduct))
+            )
+            .andExpect(status().isBadRequest());
+
+        // Validate the Product in the database
+        assertSameRepositoryCount(databaseSizeBeforeUpdate);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getName()).isEqualTo(DEFAULT_NAME);
+    }
+
     @Test
     @Transactional
     void putWithIdMismatchProduct() throws Exception {
@@ -437,13 +961,17 @@ class ProductResourceIT {
             .price(UPDATED_PRICE)
             .productSize(UPDATED_PRODUCT_SIZE)
             .image(UPDATED_IMAGE)
-            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
+            .imageHash(UPDATED_IMAGE_HASH);
+        // The image is write-only and its hash read-only, so add the image to the request body by hand
+        ObjectNode body = om.valueToTree(partialUpdatedProduct);
+        body.put("image", Base64.getEncoder().encodeToString(UPDATED_IMAGE));
 
         restProductMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedProduct.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedProduct))
+                    .content(om.writeValueAsBytes(body))
             )
             .andExpect(status().isOk());
 
@@ -453,6 +981,26 @@ class ProductResourceIT {
         assertProductUpdatableFieldsEquals(partialUpdatedProduct, getPersistedProduct(partialUpdatedProduct));
     }
 
+    @Test
+    @Transactional
+    void patchProductIgnoresImageHash() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        // The hash of another blob cannot be assigned without uploading its content
+        ObjectNode body = om.createObjectNode();
+        body.put("id", product.getId());
+        body.put("imageHash", UPDATED_IMAGE_HASH);
+
+        restProductMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, product.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(body))
+            )
+            .andExpect(status().isOk());
+
+        assertThat(getPersistedProduct(product).getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
+    }
+
     @Test
     @Transactional
     void patchNonExistingProduct() throws Exception {
@@ -4,6 +4,7 @@ import static com.jhipster.demo.store.domain.ShoppingCartAsserts.*;
 import static com.jhipster.demo.store.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.jhipster.demo.store.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -11,14 +12,19 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jhipster.demo.store.IntegrationTest;
 import com.jhipster.demo.store.domain.CustomerDetails;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductOrder;
 import com.jhipster.demo.store.domain.ShoppingCart;
 import com.jhipster.demo.store.domain.enumeration.OrderStatus;
 import com.jhipster.demo.store.domain.enumeration.PaymentMethod;
 import com.jhipster.demo.store.repository.ShoppingCartRepository;
+import com.jhipster.demo.store.service.dto.CheckoutDTO;
+import com.jhipster.demo.store.service.dto.KeysetCursor;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -26,6 +32,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -136,7 +143,7 @@ class ShoppingCartResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedShoppingCart != null) {
-            shoppingCartRepository.delete(insertedShoppingCart);
+            shoppingCartRepository.deleteById(insertedShoppingCart.getId());
             insertedShoppingCart = null;
         }
     }
@@ -180,6 +187,95 @@ class ShoppingCartResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void checkoutShoppingCart() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        Product product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        em.flush();
+        CheckoutDTO checkout = new CheckoutDTO(
+            shoppingCart.getCustomerDetails().getId(),
+            DEFAULT_PAYMENT_METHOD,
+            DEFAULT_PAYMENT_REFERENCE,
+            List.of(
+                new CheckoutDTO.Line(product.getId(), 2, product.getPrice()),
+                new CheckoutDTO.Line(product.getId(), 1, product.getPrice())
+            )
+        );
+
+        var returnedShoppingCart = om.readValue(
+            restShoppingCartMockMvc
+                .perform(post(ENTITY_API_URL + "/checkout").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(checkout)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value(OrderStatus.PENDING.toString()))
+                .andExpect(jsonPath("$.totalPrice").value(sameNumber(product.getPrice().multiply(BigDecimal.valueOf(3)))))
+                .andExpect(jsonPath("$.orders.length()").value(2))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            ShoppingCart.class
+        );
+
+        // Validate the ShoppingCart and its lines in the database
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        List<ProductOrder> lines = em
+            .createQuery("select o from ProductOrder o where o.cart.id = :cartId", ProductOrder.class)
+            .setParameter("cartId", returnedShoppingCart.getId())
+            .getResultList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines).allSatisfy(line -> assertThat(line.getProduct().getId()).isEqualTo(product.getId()));
+        assertThat(lines.stream().map(ProductOrder::getTotalPrice).reduce(BigDecimal.ZERO, BigDecimal::add)).isEqualByComparingTo(
+            returnedShoppingCart.getTotalPrice()
+        );
+    }
+
+    @Test
+    @Transactional
+    void checkoutShoppingCartWithOutdatedPrice() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        Product product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        em.flush();
+        CheckoutDTO checkout = new CheckoutDTO(
+            shoppingCart.getCustomerDetails().getId(),
+            DEFAULT_PAYMENT_METHOD,
+            null,
+            List.of(new CheckoutDTO.Line(product.getId(), 1, product.getPrice().add(BigDecimal.ONE)))
+        );
+
+        restShoppingCartMockMvc
+            .perform(post(ENTITY_API_URL + "/checkout").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(checkout)))
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void checkoutShoppingCartWithUnknownProduct() throws Exception {
+        CheckoutDTO checkout = new CheckoutDTO(
+            shoppingCart.getCustomerDetails().getId(),
+            DEFAULT_PAYMENT_METHOD,
+            null,
+            List.of(new CheckoutDTO.Line(Long.MAX_VALUE, 1, BigDecimal.ONE))
+        );
+
+        restShoppingCartMockMvc
+            .perform(post(ENTITY_API_URL + "/checkout").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(checkout)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void checkoutShoppingCartWithoutLines() throws Exception {
+        CheckoutDTO checkout = new CheckoutDTO(shoppingCart.getCustomerDetails().getId(), DEFAULT_PAYMENT_METHOD, null, List.of());
+
+        restShoppingCartMockMvc
+            .perform(post(ENTITY_API_URL + "/checkout").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(checkout)))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void checkPlacedDateIsRequired() throws Exception {
@@ -263,6 +359,73 @@ class ShoppingCartResourceIT {
             .andExpect(jsonPath("$.[*].paymentReference").value(hasItem(DEFAULT_PAYMENT_REFERENCE)));
     }
 
+    @Test
+    @Transactional
+    void getAllShoppingCartsWithoutCount() throws Exception {
+        // Initialize the database
+        insertedShoppingCart = shoppingCartRepository.saveAndFlush(shoppingCart);
+
+        restShoppingCartMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(shoppingCart.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllShoppingCartsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        insertedShoppingCart = shoppingCartRepository.saveAndFlush(shoppingCart);
+
+        // Get the page starting right before the shoppingCart
+        String cursor = KeysetCursor.after("id", shoppingCart.getId() - 1, shoppingCart.getId() - 1).encode();
+        restShoppingCartMockMvc
+            .perform(get(ENTITY_API_URL + "?after={cursor}&size=1", cursor))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(shoppingCart.getId().intValue()))
+            .andExpect(jsonPath("$.[0].placedDate").value(DEFAULT_PLACED_DATE.toString()));
+    }
+
+    @Test
+    @Transactional
+    void getAllShoppingCartsWithKeysetPaginationOnPlacedDate() throws Exception {
+        // Initialize the database
+        insertedShoppingCart = shoppingCartRepository.saveAndFlush(shoppingCart);
+
+        String cursor = KeysetCursor.after("placedDate", DEFAULT_PLACED_DATE.minusSeconds(1), shoppingCart.getId()).encode();
+        restShoppingCartMockMvc
+            .perform(get(ENTITY_API_URL + "?after={cursor}&sort=placedDate,asc&size=2000", cursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(shoppingCart.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllShoppingCartsWithTamperedKeysetCursor() throws Exception {
+        restShoppingCartMockMvc
+            .perform(get(ENTITY_API_URL + "?after={cursor}", new KeysetCursor("placedDate", "yesterday", 1L).encode()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void streamAllShoppingCarts() throws Exception {
+        // Initialize the database
+        insertedShoppingCart = shoppingCartRepository.saveAndFlush(shoppingCart);
+
+        restShoppingCartMockMvc
+            .perform(get(ENTITY_API_URL).accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(containsString("\"id\":" + shoppingCart.getId() + ",")))
+            .andExpect(content().string(containsString("\"paymentReference\":\"" + DEFAULT_PAYMENT_REFERENCE + "\"")));
+    }
+
     @Test
     @Transactional
     void getShoppingCart() throws Exception {